@@ -0,0 +1,36 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    // Code under benchmark - local project dependencies
+    jmh(project(":community-core-engine"))
+    jmh(project(":premium-core-engine"))
+    jmh(testFixtures(project(":community-core-engine")))
+
+    jmh("org.slf4j:slf4j-nop:2.0.9")
+}
+
+// NOTE: This module is PROPRIETARY and not covered by Apache License 2.0
+// It benchmarks premium scanners and is never published.
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+// Run with: ./gradlew :benchmarks:jmh
+// Select benchmarks with: ./gradlew :benchmarks:jmh -Pjmh.includes=GitIgnoreServiceBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Allocation rate and GC count next to each score
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    (findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
@@ -0,0 +1,99 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.service.BaseScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.BeanValidationScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.BuildConfigScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.CdiInjectionScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.DockerCicdScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.JpaAnnotationScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.RestSoapScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.ServletJspScannerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to scan one file with each {@link BaseScanner} subclass, on the kind of file it scans.
+ * Scanners with more than one kind of file are benchmarked once per kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdvancedScannerBenchmark {
+
+    @Param({
+        "BeanValidation",
+        "BuildConfig-maven",
+        "BuildConfig-gradle",
+        "CdiInjection",
+        "DockerCicd",
+        "JpaAnnotation",
+        "RestSoap",
+        "ServletJsp-java",
+        "ServletJsp-jsp"
+    })
+    public String scanner;
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    @Param({"0.0", "0.05", "0.25"})
+    public double javaxDensity;
+
+    private Path directory;
+    private Path file;
+    private BaseScanner<?> baseScanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = SyntheticSources.newDirectory("advanced-scanner");
+        switch (scanner) {
+            case "BeanValidation" -> useJavaFile(new BeanValidationScannerImpl());
+            case "BuildConfig-maven" -> use(new BuildConfigScannerImpl(), "pom.xml",
+                    SyntheticSources.pomXml(lines, javaxDensity));
+            case "BuildConfig-gradle" -> use(new BuildConfigScannerImpl(), "build.gradle",
+                    SyntheticSources.buildGradle(lines, javaxDensity));
+            case "CdiInjection" -> useJavaFile(new CdiInjectionScannerImpl());
+            case "DockerCicd" -> use(new DockerCicdScannerImpl(), "Dockerfile",
+                    SyntheticSources.dockerfile(lines, javaxDensity));
+            case "JpaAnnotation" -> useJavaFile(new JpaAnnotationScannerImpl());
+            case "RestSoap" -> useJavaFile(new RestSoapScannerImpl());
+            case "ServletJsp-java" -> useJavaFile(new ServletJspScannerImpl());
+            case "ServletJsp-jsp" -> use(new ServletJspScannerImpl(), "index.jsp",
+                    SyntheticSources.jsp(lines, javaxDensity));
+            default -> throw new IllegalArgumentException("Unknown scanner: " + scanner);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(directory);
+    }
+
+    @Benchmark
+    public FileScanResult<?> scanFile() {
+        return baseScanner.scanFile(file);
+    }
+
+    private void useJavaFile(BaseScanner<?> javaScanner) throws IOException {
+        use(javaScanner, "Generated.java", SyntheticSources.javaClass(lines, javaxDensity));
+    }
+
+    private void use(BaseScanner<?> fileScanner, String fileName, String content) throws IOException {
+        baseScanner = fileScanner;
+        file = Files.writeString(directory.resolve(fileName), content);
+    }
+}
@@ -0,0 +1,69 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.util.GitIgnoreService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one .gitignore check, averaged over a mix of ignored and kept relative paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GitIgnoreServiceBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"4", "32", "256"})
+    public int patterns;
+
+    private Path root;
+    private GitIgnoreService gitIgnoreService;
+    private final Path[] relativePaths = new Path[PATHS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = SyntheticSources.newDirectory("gitignore");
+        Files.writeString(root.resolve(".gitignore"), SyntheticSources.gitIgnore(patterns));
+        gitIgnoreService = new GitIgnoreService(root);
+        for (int i = 0; i < PATHS; i++) {
+            relativePaths[i] = switch (i % 4) {
+                case 0 -> Path.of("module" + (i % 8), "src/main/java/com/example/Type" + i + ".java");
+                case 1 -> Path.of("generated", "Type" + i + ".java");
+                case 2 -> Path.of("logs", "run" + i + ".log");
+                default -> Path.of("module" + (i % 8), "cache" + (i % patterns), "entry" + i);
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(root);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PATHS)
+    public int isIgnored() {
+        int ignored = 0;
+        for (Path relativePath : relativePaths) {
+            if (gitIgnoreService.isIgnored(relativePath)) {
+                ignored++;
+            }
+        }
+        return ignored;
+    }
+}
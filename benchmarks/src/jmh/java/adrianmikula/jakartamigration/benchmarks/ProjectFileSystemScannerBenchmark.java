@@ -0,0 +1,56 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to find the Java files of a project tree, with the default directory exclusions and
+ * with .gitignore patterns applied on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectFileSystemScannerBenchmark {
+
+    private static final List<String> JAVA_EXTENSIONS = List.of(".java");
+
+    @Param({"1000", "10000"})
+    public int files;
+
+    @Param({"false", "true"})
+    public boolean gitIgnore;
+
+    private Path root;
+    private ProjectFileSystemScanner fileScanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = SyntheticSources.newDirectory("file-system");
+        SyntheticSources.projectTree(root, files);
+        fileScanner = gitIgnore ? ProjectFileSystemScanner.withGitIgnore(root) : new ProjectFileSystemScanner();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(root);
+    }
+
+    @Benchmark
+    public List<Path> findFiles() {
+        return fileScanner.findFiles(root, JAVA_EXTENSIONS);
+    }
+}
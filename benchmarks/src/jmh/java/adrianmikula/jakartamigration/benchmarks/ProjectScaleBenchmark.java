@@ -0,0 +1,106 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.advancedscanning.service.AdvancedScanningModule;
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.service.ImprovedMavenCentralLookupService;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.DependencyAnalysisModuleImpl;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.JakartaMappingServiceImpl;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.MavenDependencyGraphBuilder;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.SimpleNamespaceClassifier;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to scan and analyse whole generated enterprise projects, one cold run per iteration.
+ * Larger projects are run from the JMH jar, e.g. {@code -p javaFiles=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ProjectScaleBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int javaFiles;
+
+    @Param({"0.8"})
+    public double javaxRatio;
+
+    private Path root;
+    private List<Path> sources;
+    private List<Path> poms;
+    private AdvancedScanningModule scanningModule;
+    private CentralMigrationAnalysisStore analysisStore;
+    private DependencyAnalysisModuleImpl analysisModule;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = SyntheticSources.newDirectory("project-scale");
+        SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder().javaFiles(javaFiles).javaxRatio(javaxRatio).build(),
+                root.resolve("project"));
+        sources = new ProjectFileSystemScanner().findFiles(root.resolve("project"), List.of(".java"));
+        try (Stream<Path> files = Files.walk(root.resolve("project"))) {
+            poms = files.filter(file -> file.getFileName().toString().equals("pom.xml")).toList();
+        }
+
+        scanningModule = new AdvancedScanningModule(null);
+        analysisStore = new CentralMigrationAnalysisStore(root.resolve("central.db"));
+        analysisModule = new DependencyAnalysisModuleImpl(
+                new MavenDependencyGraphBuilder(),
+                new SimpleNamespaceClassifier(),
+                new JakartaMappingServiceImpl(),
+                new ImprovedMavenCentralLookupService(),
+                analysisStore);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        analysisStore.close();
+        SyntheticSources.delete(root);
+    }
+
+    @Benchmark
+    public JavaSourceScanResults scanJavaSources() {
+        return scanningModule.scanJavaSources(sources);
+    }
+
+    @Benchmark
+    public void analyzeDependencies(Blackhole blackhole) {
+        MavenDependencyGraphBuilder builder = new MavenDependencyGraphBuilder();
+        DependencyGraph graph = new DependencyGraph();
+        for (Path pom : poms) {
+            DependencyGraph moduleGraph = builder.buildFromMaven(pom);
+            moduleGraph.getNodes().forEach(graph::addNode);
+            moduleGraph.getEdges().forEach(graph::addEdge);
+        }
+        blackhole.consume(analysisModule.identifyNamespaces(graph));
+        blackhole.consume(analysisModule.detectBlockers(graph));
+        blackhole.consume(analysisModule.analyzeTransitiveConflicts(graph));
+    }
+}
@@ -0,0 +1,77 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
+import adrianmikula.jakartamigration.advancedscanning.service.SharedParseScanPipeline;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.CdiInjectionScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.JpaAnnotationScannerImpl;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the shared parse pipeline to scan a generated project, parsing one file at a time
+ * ({@code batchSize=1}) and parsing files in batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SharedParseScanPipelineBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1000", "10000"})
+    public int javaFiles;
+
+    @Param({"0.8"})
+    public double javaxRatio;
+
+    private Path root;
+    private List<Path> sources;
+    private SharedParseScanPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = SyntheticSources.newDirectory("shared-parse");
+        SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder().javaFiles(javaFiles).javaxRatio(javaxRatio).build(),
+                root.resolve("project"));
+        sources = new ProjectFileSystemScanner().findFiles(root.resolve("project"), List.of(".java"));
+
+        pipeline = new SharedParseScanPipeline(ScanMemoryBudget.shared(), ScanExecutor.shared(), batchSize);
+        pipeline.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        pipeline.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(root);
+    }
+
+    @Benchmark
+    public SharedParseScanPipeline.PipelineResult scan() {
+        return pipeline.scan(sources);
+    }
+}
@@ -0,0 +1,68 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.sourcecodescanning.domain.SourceCodeAnalysisResult;
+import adrianmikula.jakartamigration.sourcecodescanning.service.impl.SourceCodeScannerImpl;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read the javax imports of a whole generated project, with a full parse and with the
+ * lexer-only fast import mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SourceCodeProjectScanBenchmark {
+
+    @Param({"AST", "FAST_IMPORTS"})
+    public SourceCodeScannerImpl.Mode mode;
+
+    @Param({"2000", "10000"})
+    public int javaFiles;
+
+    @Param({"0.5"})
+    public double javaxRatio;
+
+    private Path root;
+    private Path project;
+    private SourceCodeScannerImpl scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = SyntheticSources.newDirectory("source-project-scan");
+        project = root.resolve("project");
+        SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder().javaFiles(javaFiles).javaxRatio(javaxRatio).build(),
+                project);
+        scanner = new SourceCodeScannerImpl(mode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(root);
+    }
+
+    @Benchmark
+    public SourceCodeAnalysisResult scanProject() {
+        return scanner.scanProject(project);
+    }
+}
@@ -0,0 +1,59 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import adrianmikula.jakartamigration.sourcecodescanning.domain.FileUsage;
+import adrianmikula.jakartamigration.sourcecodescanning.service.impl.SourceCodeScannerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read the javax imports of one Java file, with a full parse and with the lexer-only
+ * fast import mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SourceCodeScannerBenchmark {
+
+    @Param({"AST", "FAST_IMPORTS"})
+    public SourceCodeScannerImpl.Mode mode;
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    @Param({"0.0", "0.05", "0.25"})
+    public double javaxDensity;
+
+    private Path directory;
+    private Path file;
+    private SourceCodeScannerImpl scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = SyntheticSources.newDirectory("source-scanner");
+        file = Files.writeString(directory.resolve("Generated.java"), SyntheticSources.javaClass(lines, javaxDensity));
+        scanner = new SourceCodeScannerImpl(mode);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticSources.delete(directory);
+    }
+
+    @Benchmark
+    public FileUsage scanFile() {
+        return scanner.scanFile(file);
+    }
+}
@@ -0,0 +1,255 @@
+package adrianmikula.jakartamigration.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generates the source files the benchmarks scan.
+ * <p>
+ * Each generator takes a size in lines and a javax density: the fraction of generated
+ * members, dependencies or elements that reference a {@code javax.*} API. A density of 0
+ * produces files without any {@code javax.} token, which scanners prefilter away. Output is
+ * seeded, so every fork and iteration scans the same files.
+ * <p>
+ * Files are written below {@code build/benchmark-data} of the working directory rather than
+ * the system temp directory, because the file system walk skips {@code /tmp} and some
+ * scanners skip any path containing "tmp" or "temp".
+ */
+public final class SyntheticSources {
+
+    private static final long SEED = 42L;
+
+    private static final String[][] JAVAX_MEMBERS = {
+        {"javax.persistence.Column", "    @Column(name = \"col_%d\")", "    private String field%d;"},
+        {"javax.inject.Inject", "    @Inject", "    private Object field%d;"},
+        {"javax.validation.constraints.NotNull", "    @NotNull", "    private String field%d;"},
+        {"javax.ws.rs.QueryParam", "    @QueryParam(\"q%d\")", "    private String field%d;"},
+        {"javax.servlet.http.HttpServletRequest", null, "    private HttpServletRequest field%d;"},
+    };
+
+    private static final String[] JAVAX_DEPENDENCIES = {
+        "javax.servlet:javax.servlet-api:4.0.1",
+        "javax.persistence:javax.persistence-api:2.2",
+        "javax.validation:validation-api:2.0.1.Final",
+        "javax.ws.rs:javax.ws.rs-api:2.1.1",
+        "javax.inject:javax.inject:1",
+    };
+
+    private SyntheticSources() {
+    }
+
+    /**
+     * Creates an empty directory for one benchmark's files.
+     */
+    public static Path newDirectory(String name) throws IOException {
+        Path parent = Files.createDirectories(Path.of("build", "benchmark-data").toAbsolutePath());
+        return Files.createTempDirectory(parent, name + "-");
+    }
+
+    /**
+     * Deletes a directory created by {@link #newDirectory(String)}.
+     */
+    public static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Generates an entity-like Java class of about the given number of lines, whose fields
+     * are annotated with or typed by a javax API at the given density.
+     */
+    public static String javaClass(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        List<String> body = new ArrayList<>();
+        boolean[] used = new boolean[JAVAX_MEMBERS.length];
+        int field = 0;
+        while (body.size() < lines - JAVAX_MEMBERS.length - 8) {
+            if (random.nextDouble() < javaxDensity) {
+                int member = random.nextInt(JAVAX_MEMBERS.length);
+                used[member] = true;
+                if (JAVAX_MEMBERS[member][1] != null) {
+                    body.add(String.format(JAVAX_MEMBERS[member][1], field));
+                }
+                body.add(String.format(JAVAX_MEMBERS[member][2], field));
+            } else {
+                body.add("    private String field" + field + ";");
+            }
+            body.add("    public Object getField" + field + "() {");
+            body.add("        return field" + field + ";");
+            body.add("    }");
+            body.add("");
+            field++;
+        }
+
+        StringBuilder source = new StringBuilder(lines * 32);
+        source.append("package com.example.generated;\n\n");
+        source.append("import java.util.List;\n");
+        source.append("import java.util.Map;\n");
+        for (int i = 0; i < JAVAX_MEMBERS.length; i++) {
+            if (used[i]) {
+                source.append("import ").append(JAVAX_MEMBERS[i][0]).append(";\n");
+            }
+        }
+        source.append("\npublic class Generated {\n");
+        body.forEach(line -> source.append(line).append('\n'));
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Generates a web.xml whose servlet classes are javax classes at the given density,
+     * in the Java EE namespace unless the density is 0.
+     */
+    public static String webXml(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        StringBuilder xml = new StringBuilder(lines * 48);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append(javaxDensity > 0
+                ? "<web-app xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"3.0\">\n"
+                : "<web-app xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"5.0\">\n");
+        for (int servlet = 0; servlet * 8 < lines - 3; servlet++) {
+            String className = random.nextDouble() < javaxDensity
+                    ? "javax.faces.webapp.FacesServlet"
+                    : "com.example.web.Servlet" + servlet;
+            xml.append("    <servlet>\n");
+            xml.append("        <servlet-name>servlet").append(servlet).append("</servlet-name>\n");
+            xml.append("        <servlet-class>").append(className).append("</servlet-class>\n");
+            xml.append("    </servlet>\n");
+            xml.append("    <servlet-mapping>\n");
+            xml.append("        <servlet-name>servlet").append(servlet).append("</servlet-name>\n");
+            xml.append("        <url-pattern>/s").append(servlet).append("/*</url-pattern>\n");
+            xml.append("    </servlet-mapping>\n");
+        }
+        xml.append("</web-app>\n");
+        return xml.toString();
+    }
+
+    /**
+     * Generates a pom.xml whose dependencies are javax artifacts at the given density.
+     */
+    public static String pomXml(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        StringBuilder xml = new StringBuilder(lines * 40);
+        xml.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+        xml.append("    <modelVersion>4.0.0</modelVersion>\n");
+        xml.append("    <groupId>com.example</groupId>\n");
+        xml.append("    <artifactId>generated</artifactId>\n");
+        xml.append("    <version>1.0.0</version>\n");
+        xml.append("    <dependencies>\n");
+        for (int dependency = 0; dependency * 5 < lines - 8; dependency++) {
+            String[] coordinates = random.nextDouble() < javaxDensity
+                    ? JAVAX_DEPENDENCIES[random.nextInt(JAVAX_DEPENDENCIES.length)].split(":")
+                    : new String[]{"com.example", "library-" + dependency, "1." + dependency};
+            xml.append("        <dependency>\n");
+            xml.append("            <groupId>").append(coordinates[0]).append("</groupId>\n");
+            xml.append("            <artifactId>").append(coordinates[1]).append("</artifactId>\n");
+            xml.append("            <version>").append(coordinates[2]).append("</version>\n");
+            xml.append("        </dependency>\n");
+        }
+        xml.append("    </dependencies>\n");
+        xml.append("</project>\n");
+        return xml.toString();
+    }
+
+    /**
+     * Generates a build.gradle whose dependencies are javax artifacts at the given density.
+     */
+    public static String buildGradle(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        StringBuilder gradle = new StringBuilder(lines * 48);
+        gradle.append("plugins {\n    id 'java'\n}\n\ndependencies {\n");
+        for (int dependency = 0; dependency < lines - 6; dependency++) {
+            String coordinates = random.nextDouble() < javaxDensity
+                    ? JAVAX_DEPENDENCIES[random.nextInt(JAVAX_DEPENDENCIES.length)]
+                    : "com.example:library-" + dependency + ":1." + dependency;
+            gradle.append("    implementation '").append(coordinates).append("'\n");
+        }
+        gradle.append("}\n");
+        return gradle.toString();
+    }
+
+    /**
+     * Generates a Dockerfile whose instructions mention Java tooling at the given density.
+     */
+    public static String dockerfile(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        StringBuilder docker = new StringBuilder(lines * 40);
+        docker.append("FROM ubuntu:22.04\n");
+        for (int line = 1; line < lines; line++) {
+            docker.append(random.nextDouble() < javaxDensity
+                    ? "RUN java -Djavax.net.ssl.trustStore=/etc/ssl/store" + line + " -jar app.jar --check\n"
+                    : "RUN apt-get install -y package-" + line + " && rm -rf /var/lib/apt/lists/*\n");
+        }
+        return docker.toString();
+    }
+
+    /**
+     * Generates a JSP whose directives use javax servlet classes and Java EE taglibs at the given density.
+     */
+    public static String jsp(int lines, double javaxDensity) {
+        Random random = new Random(SEED);
+        StringBuilder jsp = new StringBuilder(lines * 40);
+        jsp.append("<%@ page contentType=\"text/html;charset=UTF-8\" %>\n");
+        for (int line = 1; line < lines; line++) {
+            if (random.nextDouble() < javaxDensity) {
+                jsp.append(random.nextBoolean()
+                        ? "<%@ page extends javax.servlet.http.HttpServlet %>\n"
+                        : "<%@ taglib uri=\"http://java.sun.com/jsp/jstl/core\" prefix=\"c" + line + "\" %>\n");
+            } else {
+                jsp.append("<div class=\"row\"><span>${item").append(line).append(".name}</span></div>\n");
+            }
+        }
+        return jsp.toString();
+    }
+
+    /**
+     * Writes a project tree of the given number of small Java files spread over packages,
+     * plus build output and dependency directories that scanners skip, and a .gitignore.
+     */
+    public static void projectTree(Path root, int files) throws IOException {
+        String source = javaClass(20, 0.25);
+        for (int i = 0; i < files; i++) {
+            Path dir = root.resolve("module" + (i % 8)).resolve("src/main/java/com/example/p" + (i % 64));
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("Type" + i + ".java"), source);
+            if (i % 10 == 0) {
+                Files.writeString(dir.resolve("notes" + i + ".txt"), "not a source file\n");
+            }
+        }
+        for (String ignored : List.of("target/classes/com/example", "node_modules/lib", "build/tmp", "generated/out")) {
+            Path dir = Files.createDirectories(root.resolve(ignored));
+            for (int i = 0; i < Math.max(1, files / 10); i++) {
+                Files.writeString(dir.resolve("Ignored" + i + ".java"), source);
+            }
+        }
+        Files.writeString(root.resolve(".gitignore"), gitIgnore(16));
+    }
+
+    /**
+     * Generates a .gitignore of the given number of patterns, mixing directory, glob and negated patterns.
+     */
+    public static String gitIgnore(int patterns) {
+        StringBuilder gitignore = new StringBuilder("# generated\ngenerated/\n*.log\n");
+        for (int i = 3; i < patterns; i++) {
+            switch (i % 4) {
+                case 0 -> gitignore.append("out").append(i).append("/\n");
+                case 1 -> gitignore.append("**/cache").append(i).append("/**\n");
+                case 2 -> gitignore.append("*.tmp").append(i).append('\n');
+                default -> gitignore.append("!keep").append(i).append(".log\n");
+            }
+        }
+        return gitignore.toString();
+    }
+}
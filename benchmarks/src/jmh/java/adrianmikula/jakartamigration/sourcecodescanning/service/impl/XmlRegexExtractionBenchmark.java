@@ -0,0 +1,53 @@
+package adrianmikula.jakartamigration.sourcecodescanning.service.impl;
+
+import adrianmikula.jakartamigration.benchmarks.SyntheticSources;
+import adrianmikula.jakartamigration.sourcecodescanning.domain.XmlFileUsage;
+import adrianmikula.jakartamigration.util.LineIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the regex extraction that {@link SourceCodeScannerImpl} falls back to for XML files
+ * its XML parser rejects. Lives in the scanner's package to reach the package-private methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlRegexExtractionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    @Param({"0.0", "0.05", "0.25"})
+    public double javaxDensity;
+
+    private final SourceCodeScannerImpl scanner = new SourceCodeScannerImpl();
+    private String content;
+    private LineIndex lineIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = SyntheticSources.webXml(lines, javaxDensity);
+        lineIndex = LineIndex.of(content);
+    }
+
+    @Benchmark
+    public List<XmlFileUsage.XmlNamespaceUsage> extractXmlNamespaceUsages() {
+        return scanner.extractXmlNamespaceUsages(content, lineIndex);
+    }
+
+    @Benchmark
+    public List<XmlFileUsage.XmlClassReference> extractXmlClassReferences() {
+        return scanner.extractXmlClassReferences(content, lineIndex);
+    }
+}
@@ -128,6 +128,7 @@
         maven { url = uri("https://oss.sonatype.org/content/repositories/snapshots") }
         maven { url = uri("https://www.jetbrains.com/intellij-repository/releases") }
         maven { url = uri("https://cache-redirector.jetbrains.com/intellij-dependencies") }
+        maven { url = uri("https://repo.gradle.org/gradle/libs-releases") }
     }
 }
 
@@ -184,6 +185,7 @@
 // - premium-core-engine: Premium features for core engine
 // - premium-mcp-server: Premium features for MCP server
 // - premium-intellij-plugin: Premium IntelliJ plugin features
+// - benchmarks: JMH benchmarks of community and premium scanning code
 //
 // =============================================================================
 
@@ -268,7 +270,7 @@
     group = "verification"
     
     doLast {
-        val proprietaryModules = setOf("premium-core-engine", "premium-mcp-server", "premium-intellij-plugin")
+        val proprietaryModules = setOf("premium-core-engine", "premium-mcp-server", "premium-intellij-plugin", "benchmarks")
         val communityModules = setOf("community-core-engine", "community-mcp-server", "community-intellij-plugin")
         val violations = mutableListOf<String>()
         
@@ -40,6 +40,21 @@ public String toJson(Object obj) {
         }
     }
 
+    /**
+     * Serializes an object to a single-line JSON string.
+     *
+     * @param obj The object to serialize
+     * @return JSON string representation without line breaks
+     */
+    public String toCompactJson(Object obj) {
+        try {
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize object to JSON", e);
+            throw new RuntimeException("JSON serialization failed", e);
+        }
+    }
+
     /**
      * Deserializes a JSON string to an object of the specified type.
      *
@@ -9,6 +9,7 @@
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -24,6 +25,7 @@
  * - Dependency graphs (nodes and edges)
  * - Migration plans
  * - Blockers and recommendations
+ * - Per-file scan index for incremental re-scans
  *
  * Database is stored in the project's .jakarta-migration directory.
  */
@@ -31,7 +33,7 @@
 public class SqliteMigrationAnalysisStore implements AutoCloseable {
 
     private static final String DB_FILE = "jakarta-migration.db";
-    private static final int DB_VERSION = 2;
+    private static final int DB_VERSION = 3;
 
     private final Path dbPath;
     private final ThreadLocal<Connection> connectionHolder = new ThreadLocal<>();
@@ -515,6 +517,23 @@ FOREIGN KEY(execution_id) REFERENCES recipe_executions(id) ON DELETE CASCADE
                     """);
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_changed_files_exec ON recipe_changed_files(execution_id)");
 
+            // Per-file scan index: lets later scans reuse findings for files whose
+            // size/mtime/content hash and scanner version are unchanged
+            stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS file_scan_index (
+                            project_path TEXT NOT NULL,
+                            scan_type TEXT NOT NULL,
+                            file_path TEXT NOT NULL,
+                            file_size INTEGER NOT NULL,
+                            last_modified INTEGER NOT NULL,
+                            content_hash TEXT NOT NULL,
+                            scanner_version TEXT NOT NULL,
+                            findings TEXT,
+                            scanned_at TEXT DEFAULT (datetime('now')),
+                            PRIMARY KEY (project_path, scan_type, file_path)
+                        )
+                    """);
+
             conn.commit();
             log.info("Database tables created/verified at {}", dbPath);
         }
@@ -556,6 +575,23 @@ FOREIGN KEY(execution_id) REFERENCES recipe_executions(id) ON DELETE CASCADE
                     stmt.execute(
                             "CREATE INDEX IF NOT EXISTS idx_changed_files_exec ON recipe_changed_files(execution_id)");
                 }
+                if (version < 3) {
+                    // Upgrade to version 3: add per-file scan index
+                    stmt.execute("""
+                                CREATE TABLE IF NOT EXISTS file_scan_index (
+                                    project_path TEXT NOT NULL,
+                                    scan_type TEXT NOT NULL,
+                                    file_path TEXT NOT NULL,
+                                    file_size INTEGER NOT NULL,
+                                    last_modified INTEGER NOT NULL,
+                                    content_hash TEXT NOT NULL,
+                                    scanner_version TEXT NOT NULL,
+                                    findings TEXT,
+                                    scanned_at TEXT DEFAULT (datetime('now')),
+                                    PRIMARY KEY (project_path, scan_type, file_path)
+                                )
+                            """);
+                }
                 stmt.execute("PRAGMA user_version = " + DB_VERSION);
                 log.info("Database schema updated to version {}", DB_VERSION);
             }
@@ -886,6 +922,115 @@ public boolean clearAnalysisData(Path projectPath) {
         }
     }
 
+    // ==================== File Scan Index Operations ====================
+
+    /**
+     * Loads the per-file scan index for a project and scan type, keyed by file path.
+     */
+    public Map<String, FileScanIndexEntry> loadFileScanIndex(Path projectPath, String scanType) {
+        Map<String, FileScanIndexEntry> entries = new HashMap<>();
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    SELECT file_path, file_size, last_modified, content_hash, scanner_version, findings
+                    FROM file_scan_index WHERE project_path = ? AND scan_type = ?
+                    """)) {
+                stmt.setString(1, projectPath.toString());
+                stmt.setString(2, scanType);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        FileScanIndexEntry entry = new FileScanIndexEntry(
+                                rs.getString("file_path"),
+                                rs.getLong("file_size"),
+                                rs.getLong("last_modified"),
+                                rs.getString("content_hash"),
+                                rs.getString("scanner_version"),
+                                rs.getString("findings"));
+                        entries.put(entry.filePath(), entry);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load file scan index: " + scanType, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Inserts or replaces per-file scan index entries in a single transaction.
+     */
+    public void saveFileScanIndexEntries(Path projectPath, String scanType, List<FileScanIndexEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    INSERT OR REPLACE INTO file_scan_index (
+                        project_path, scan_type, file_path, file_size, last_modified,
+                        content_hash, scanner_version, findings, scanned_at
+                    ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, datetime('now'))
+                    """)) {
+                for (FileScanIndexEntry entry : entries) {
+                    stmt.setString(1, projectPath.toString());
+                    stmt.setString(2, scanType);
+                    stmt.setString(3, entry.filePath());
+                    stmt.setLong(4, entry.fileSize());
+                    stmt.setLong(5, entry.lastModified());
+                    stmt.setString(6, entry.contentHash());
+                    stmt.setString(7, entry.scannerVersion());
+                    stmt.setString(8, entry.findings());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            conn.commit();
+            log.debug("Saved {} file scan index entries for {}", entries.size(), scanType);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save file scan index: " + scanType, e);
+        }
+    }
+
+    /**
+     * Removes per-file scan index entries, e.g. for files that no longer exist.
+     */
+    public void removeFileScanIndexEntries(Path projectPath, String scanType, Collection<String> filePaths) {
+        if (filePaths.isEmpty()) {
+            return;
+        }
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                    DELETE FROM file_scan_index WHERE project_path = ? AND scan_type = ? AND file_path = ?
+                    """)) {
+                for (String filePath : filePaths) {
+                    stmt.setString(1, projectPath.toString());
+                    stmt.setString(2, scanType);
+                    stmt.setString(3, filePath);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to remove file scan index entries: " + scanType, e);
+        }
+    }
+
+    /**
+     * Clears the per-file scan index for a project, forcing the next scan to re-read every file.
+     */
+    public void clearFileScanIndex(Path projectPath) {
+        try (Connection conn = getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM file_scan_index WHERE project_path = ?")) {
+                stmt.setString(1, projectPath.toString());
+                stmt.executeUpdate();
+            }
+            conn.commit();
+            log.info("Cleared file scan index for project: {}", projectPath);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to clear file scan index", e);
+        }
+    }
+
     /**
      * Gets database file path for debugging.
      */
@@ -1492,6 +1637,18 @@ public record StoredRecommendation(
             String estimatedEffort) {
     }
 
+    /**
+     * Per-file scan index entry. {@code findings} holds the serialized scan results for the file.
+     */
+    public record FileScanIndexEntry(
+            String filePath,
+            long fileSize,
+            long lastModified,
+            String contentHash,
+            String scannerVersion,
+            String findings) {
+    }
+
     /**
      * Migration issue registry record - maps scanner types to UI tabs, namespaces,
      * and refactor recipes.
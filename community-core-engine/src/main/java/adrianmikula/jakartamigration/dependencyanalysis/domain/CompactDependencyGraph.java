@@ -0,0 +1,503 @@
+package adrianmikula.jakartamigration.dependencyanalysis.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable, memory-compact form of a {@link DependencyGraph} for very large graphs, such as the
+ * merged graphs of many services.
+ * <p>
+ * Every artifact is interned to an int id (0 to {@link #nodeCount()} - 1) and edges are stored in
+ * compressed sparse row form: the dependencies of artifact {@code id} are
+ * {@code targets[offsets[id]] .. targets[offsets[id + 1] - 1]}, sorted by id. The reverse edges are
+ * stored the same way, so dependents are as cheap to list as dependencies. Parallel edges with
+ * different scopes collapse into one. Namespace and compatibility flags are kept in {@link BitSet}s.
+ * <p>
+ * The graph is safe to share between threads. Traversals run on a {@link Traversal}, which owns
+ * the scratch buffers and does not allocate once created; use one per thread.
+ */
+public final class CompactDependencyGraph {
+
+    /**
+     * Which way edges are followed.
+     */
+    public enum Direction {
+        /** From an artifact to the artifacts it depends on */
+        DEPENDENCIES,
+        /** From an artifact to the artifacts that depend on it */
+        DEPENDENTS
+    }
+
+    /**
+     * Receives the paths found by {@link Traversal#forEachPath}.
+     */
+    @FunctionalInterface
+    public interface PathVisitor {
+        /**
+         * @param path   artifact ids from source to target; only the first {@code length} entries are
+         *               part of the path, and the array is reused for the next path
+         * @param length number of artifacts on the path
+         * @return true to continue with the next path, false to stop
+         */
+        boolean visit(int[] path, int length);
+    }
+
+    private final Artifact[] artifacts;
+    private final Map<Artifact, Integer> ids;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final BitSet javax;
+    private final BitSet jakarta;
+    private final BitSet mixed;
+    private final BitSet jakartaCompatible;
+
+    private CompactDependencyGraph(Artifact[] artifacts, Map<Artifact, Integer> ids, int[] outOffsets,
+                                   int[] outTargets, int[] inOffsets, int[] inSources, BitSet javax,
+                                   BitSet jakarta, BitSet mixed, BitSet jakartaCompatible) {
+        this.artifacts = artifacts;
+        this.ids = ids;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.javax = javax;
+        this.jakarta = jakarta;
+        this.mixed = mixed;
+        this.jakartaCompatible = jakartaCompatible;
+    }
+
+    /**
+     * Creates the compact form of a graph.
+     *
+     * @param graph       graph to convert
+     * @param namespaceOf namespace of each artifact, e.g. {@code NamespaceClassifier::classify}
+     * @return the compact graph
+     */
+    public static CompactDependencyGraph from(DependencyGraph graph, Function<Artifact, Namespace> namespaceOf) {
+        return builder(namespaceOf).add(graph).build();
+    }
+
+    /**
+     * Returns a builder that merges any number of graphs and edges into one compact graph.
+     *
+     * @param namespaceOf namespace of each artifact
+     */
+    public static Builder builder(Function<Artifact, Namespace> namespaceOf) {
+        return new Builder(namespaceOf);
+    }
+
+    public int nodeCount() {
+        return artifacts.length;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    public Artifact artifact(int id) {
+        return artifacts[id];
+    }
+
+    /**
+     * Returns the id of an artifact, or -1 if it is not in the graph.
+     */
+    public int idOf(Artifact artifact) {
+        Integer id = ids.get(artifact);
+        return id != null ? id : -1;
+    }
+
+    public int outDegree(int id) {
+        return outOffsets[id + 1] - outOffsets[id];
+    }
+
+    public int inDegree(int id) {
+        return inOffsets[id + 1] - inOffsets[id];
+    }
+
+    /**
+     * Returns the {@code index}-th artifact that {@code id} depends on, in id order.
+     */
+    public int dependency(int id, int index) {
+        return outTargets[outOffsets[id] + Objects.checkIndex(index, outDegree(id))];
+    }
+
+    /**
+     * Returns the {@code index}-th artifact that depends on {@code id}, in id order.
+     */
+    public int dependent(int id, int index) {
+        return inSources[inOffsets[id] + Objects.checkIndex(index, inDegree(id))];
+    }
+
+    public boolean isJavax(int id) {
+        return javax.get(id);
+    }
+
+    public boolean isJakarta(int id) {
+        return jakarta.get(id);
+    }
+
+    public boolean isMixed(int id) {
+        return mixed.get(id);
+    }
+
+    /**
+     * Returns true if the artifact already uses the Jakarta namespace, see {@link Artifact#isJakartaCompatible()}.
+     */
+    public boolean isJakartaCompatible(int id) {
+        return jakartaCompatible.get(id);
+    }
+
+    /**
+     * Returns the ids of all javax artifacts.
+     */
+    public BitSet javaxArtifacts() {
+        return (BitSet) javax.clone();
+    }
+
+    /**
+     * Creates scratch space for traversing this graph.
+     */
+    public Traversal traversal() {
+        return new Traversal();
+    }
+
+    private int start(int id, Direction direction) {
+        return direction == Direction.DEPENDENCIES ? outOffsets[id] : inOffsets[id];
+    }
+
+    private int end(int id, Direction direction) {
+        return direction == Direction.DEPENDENCIES ? outOffsets[id + 1] : inOffsets[id + 1];
+    }
+
+    private int[] adjacency(Direction direction) {
+        return direction == Direction.DEPENDENCIES ? outTargets : inSources;
+    }
+
+    /**
+     * Reusable traversal state for one graph. Each traversal method stores its result (visit order
+     * or path) in an internal buffer that is read with {@link #size()} and {@link #get(int)} until
+     * the next traversal. Not thread-safe.
+     */
+    public final class Traversal {
+        private final int[] marks = new int[artifacts.length];
+        private final int[] result = new int[artifacts.length];
+        private final int[] parents = new int[artifacts.length];
+        private final int[] stack = new int[artifacts.length + 1];
+        private final int[] cursors = new int[artifacts.length + 1];
+        private int epoch;
+        private int size;
+
+        private Traversal() {
+        }
+
+        /**
+         * Returns the number of ids in the result of the last traversal.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the {@code index}-th id in the result of the last traversal.
+         */
+        public int get(int index) {
+            return result[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * Visits every artifact reachable from {@code source} in breadth-first order, source included.
+         *
+         * @return the number of artifacts visited
+         */
+        public int breadthFirst(int source, Direction direction) {
+            int[] adjacency = adjacency(direction);
+            nextEpoch();
+            size = 0;
+            marks[source] = epoch;
+            result[size++] = source;
+            for (int head = 0; head < size; head++) {
+                int node = result[head];
+                for (int edge = start(node, direction), end = end(node, direction); edge < end; edge++) {
+                    int next = adjacency[edge];
+                    if (marks[next] != epoch) {
+                        marks[next] = epoch;
+                        result[size++] = next;
+                    }
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Visits every artifact reachable from {@code source} in depth-first preorder, source included.
+         *
+         * @return the number of artifacts visited
+         */
+        public int depthFirst(int source, Direction direction) {
+            int[] adjacency = adjacency(direction);
+            nextEpoch();
+            size = 0;
+            marks[source] = epoch;
+            result[size++] = source;
+            int depth = 0;
+            stack[0] = source;
+            cursors[0] = start(source, direction);
+            while (depth >= 0) {
+                int node = stack[depth];
+                if (cursors[depth] < end(node, direction)) {
+                    int next = adjacency[cursors[depth]++];
+                    if (marks[next] != epoch) {
+                        marks[next] = epoch;
+                        result[size++] = next;
+                        depth++;
+                        stack[depth] = next;
+                        cursors[depth] = start(next, direction);
+                    }
+                } else {
+                    depth--;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Returns true if {@code to} is reachable from {@code from} along dependency edges.
+         * Leaves a shortest path as the result, see {@link #shortestPath(int, int)}.
+         */
+        public boolean isReachable(int from, int to) {
+            return shortestPath(from, to) > 0;
+        }
+
+        /**
+         * Finds a shortest dependency path from {@code from} to {@code to} and stores it, from first to
+         * last artifact, as the result.
+         *
+         * @return the number of artifacts on the path, or 0 if {@code to} is not reachable
+         */
+        public int shortestPath(int from, int to) {
+            nextEpoch();
+            size = 0;
+            marks[from] = epoch;
+            parents[from] = -1;
+            result[size++] = from;
+            for (int head = 0; head < size; head++) {
+                int node = result[head];
+                if (node == to) {
+                    return storePath(to);
+                }
+                for (int edge = outOffsets[node], end = outOffsets[node + 1]; edge < end; edge++) {
+                    int next = outTargets[edge];
+                    if (marks[next] != epoch) {
+                        marks[next] = epoch;
+                        parents[next] = node;
+                        result[size++] = next;
+                    }
+                }
+            }
+            size = 0;
+            return 0;
+        }
+
+        /**
+         * Enumerates the simple dependency paths from {@code from} to {@code to} with at most
+         * {@code maxEdges} edges, depth-first in id order. The number of paths can grow exponentially
+         * with {@code maxEdges}; the visitor can stop the enumeration early.
+         *
+         * @return the number of paths passed to the visitor
+         */
+        public int forEachPath(int from, int to, int maxEdges, PathVisitor visitor) {
+            Objects.requireNonNull(visitor, "visitor cannot be null");
+            nextEpoch();
+            size = 0;
+            stack[0] = from;
+            if (from == to) {
+                visitor.visit(stack, 1);
+                return 1;
+            }
+            int paths = 0;
+            int depth = 0;
+            cursors[0] = outOffsets[from];
+            marks[from] = epoch;
+            while (depth >= 0) {
+                int node = stack[depth];
+                if (depth < maxEdges && cursors[depth] < outOffsets[node + 1]) {
+                    int next = outTargets[cursors[depth]++];
+                    if (next == to) {
+                        stack[depth + 1] = to;
+                        paths++;
+                        if (!visitor.visit(stack, depth + 2)) {
+                            return paths;
+                        }
+                    } else if (marks[next] != epoch) {
+                        depth++;
+                        stack[depth] = next;
+                        cursors[depth] = outOffsets[next];
+                        marks[next] = epoch;
+                    }
+                } else {
+                    // Leaving the node frees it for other paths
+                    marks[node] = 0;
+                    depth--;
+                }
+            }
+            return paths;
+        }
+
+        // Walks parent links back from the target and stores the path in source-to-target order
+        private int storePath(int to) {
+            int length = 0;
+            for (int node = to; node != -1; node = parents[node]) {
+                stack[length++] = node;
+            }
+            for (int i = 0; i < length; i++) {
+                result[i] = stack[length - 1 - i];
+            }
+            size = length;
+            return length;
+        }
+
+        // Starts a new traversal; marks from earlier traversals no longer count as visited
+        private void nextEpoch() {
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 0;
+            }
+            epoch++;
+        }
+    }
+
+    /**
+     * Collects artifacts and edges from any number of graphs and builds one compact graph.
+     * Artifacts that are equal get the same id.
+     */
+    public static final class Builder {
+        private final Function<Artifact, Namespace> namespaceOf;
+        private final Map<Artifact, Integer> ids = new HashMap<>();
+        private final List<Artifact> artifacts = new ArrayList<>();
+        private int[] edgeFrom = new int[64];
+        private int[] edgeTo = new int[64];
+        private int edgeCount;
+
+        private Builder(Function<Artifact, Namespace> namespaceOf) {
+            this.namespaceOf = Objects.requireNonNull(namespaceOf, "namespaceOf cannot be null");
+        }
+
+        /**
+         * Adds every artifact and dependency of a graph.
+         */
+        public Builder add(DependencyGraph graph) {
+            graph.getNodes().forEach(this::intern);
+            for (Dependency dependency : graph.getEdges()) {
+                addDependency(dependency.from(), dependency.to());
+            }
+            return this;
+        }
+
+        public Builder addArtifact(Artifact artifact) {
+            intern(artifact);
+            return this;
+        }
+
+        public Builder addDependency(Artifact from, Artifact to) {
+            int fromId = intern(from);
+            int toId = intern(to);
+            if (edgeCount == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+            }
+            edgeFrom[edgeCount] = fromId;
+            edgeTo[edgeCount] = toId;
+            edgeCount++;
+            return this;
+        }
+
+        public CompactDependencyGraph build() {
+            int nodes = artifacts.size();
+
+            // Bucket edges by source, then sort and de-duplicate each bucket in place
+            int[] offsets = new int[nodes + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                offsets[edgeFrom[i] + 1]++;
+            }
+            for (int id = 0; id < nodes; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] targets = new int[edgeCount];
+            int[] cursor = Arrays.copyOf(offsets, nodes);
+            for (int i = 0; i < edgeCount; i++) {
+                targets[cursor[edgeFrom[i]]++] = edgeTo[i];
+            }
+            int[] outOffsets = new int[nodes + 1];
+            int written = 0;
+            for (int id = 0; id < nodes; id++) {
+                Arrays.sort(targets, offsets[id], offsets[id + 1]);
+                outOffsets[id] = written;
+                int previous = -1;
+                for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                    if (targets[edge] != previous) {
+                        previous = targets[edge];
+                        targets[written++] = previous;
+                    }
+                }
+            }
+            outOffsets[nodes] = written;
+            int[] outTargets = Arrays.copyOf(targets, written);
+
+            // Reverse edges; sources come out sorted because they are visited in id order
+            int[] inOffsets = new int[nodes + 1];
+            for (int target : outTargets) {
+                inOffsets[target + 1]++;
+            }
+            for (int id = 0; id < nodes; id++) {
+                inOffsets[id + 1] += inOffsets[id];
+            }
+            int[] inSources = new int[written];
+            cursor = Arrays.copyOf(inOffsets, nodes);
+            for (int id = 0; id < nodes; id++) {
+                for (int edge = outOffsets[id]; edge < outOffsets[id + 1]; edge++) {
+                    inSources[cursor[outTargets[edge]]++] = id;
+                }
+            }
+
+            BitSet javax = new BitSet(nodes);
+            BitSet jakarta = new BitSet(nodes);
+            BitSet mixed = new BitSet(nodes);
+            BitSet jakartaCompatible = new BitSet(nodes);
+            for (int id = 0; id < nodes; id++) {
+                Artifact artifact = artifacts.get(id);
+                Namespace namespace = namespaceOf.apply(artifact);
+                if (namespace == Namespace.JAVAX) {
+                    javax.set(id);
+                } else if (namespace == Namespace.JAKARTA) {
+                    jakarta.set(id);
+                } else if (namespace == Namespace.MIXED) {
+                    mixed.set(id);
+                }
+                if (artifact.isJakartaCompatible()) {
+                    jakartaCompatible.set(id);
+                }
+            }
+
+            return new CompactDependencyGraph(artifacts.toArray(Artifact[]::new), Map.copyOf(ids), outOffsets,
+                    outTargets, inOffsets, inSources, javax, jakarta, mixed, jakartaCompatible);
+        }
+
+        private int intern(Artifact artifact) {
+            Integer id = ids.get(artifact);
+            if (id == null) {
+                id = artifacts.size();
+                ids.put(artifact, id);
+                artifacts.add(artifact);
+            }
+            return id;
+        }
+    }
+}
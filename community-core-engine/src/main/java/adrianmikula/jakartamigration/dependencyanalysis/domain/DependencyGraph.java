@@ -1,6 +1,10 @@
 package adrianmikula.jakartamigration.dependencyanalysis.domain;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -9,33 +13,56 @@
 /**
  * Represents a dependency graph with nodes (artifacts) and edges
  * (dependencies).
+ * <p>
+ * Edges are indexed by their source and target artifact, so the dependencies and dependents
+ * of an artifact are found in time proportional to its degree. Node and edge sets are
+ * returned as read-only views of the graph, not copies.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class DependencyGraph {
     private final Set<Artifact> nodes;
     private final Set<Dependency> edges;
+    private final Map<Artifact, Set<Dependency>> outgoing;
+    private final Map<Artifact, Set<Dependency>> incoming;
+    private final Set<Artifact> nodesView;
+    private final Set<Dependency> edgesView;
 
     public DependencyGraph() {
         this.nodes = new HashSet<>();
         this.edges = new HashSet<>();
+        this.outgoing = new HashMap<>();
+        this.incoming = new HashMap<>();
+        this.nodesView = Collections.unmodifiableSet(nodes);
+        this.edgesView = Collections.unmodifiableSet(edges);
     }
 
     @JsonCreator
     public DependencyGraph(
             @JsonProperty("nodes") Set<Artifact> nodes,
             @JsonProperty("edges") Set<Dependency> edges) {
-        this.nodes = nodes != null ? new HashSet<>(nodes) : new HashSet<>();
-        this.edges = edges != null ? new HashSet<>(edges) : new HashSet<>();
+        this();
+        if (nodes != null) {
+            this.nodes.addAll(nodes);
+        }
+        if (edges != null) {
+            edges.forEach(this::addEdge);
+        }
     }
 
+    /**
+     * Returns a read-only view of the artifacts in the graph.
+     */
     @JsonProperty("nodes")
     public Set<Artifact> getNodes() {
-        return new HashSet<>(nodes);
+        return nodesView;
     }
 
+    /**
+     * Returns a read-only view of the dependencies in the graph.
+     */
     @JsonProperty("edges")
     public Set<Dependency> getEdges() {
-        return new HashSet<>(edges);
+        return edgesView;
     }
 
     public void addNode(Artifact artifact) {
@@ -45,7 +72,10 @@ public void addNode(Artifact artifact) {
     public void addEdge(Dependency dependency) {
         nodes.add(dependency.from());
         nodes.add(dependency.to());
-        edges.add(dependency);
+        if (edges.add(dependency)) {
+            outgoing.computeIfAbsent(dependency.from(), key -> new LinkedHashSet<>()).add(dependency);
+            incoming.computeIfAbsent(dependency.to(), key -> new LinkedHashSet<>()).add(dependency);
+        }
     }
 
     public boolean containsNode(Artifact artifact) {
@@ -64,6 +94,66 @@ public int edgeCount() {
         return edges.size();
     }
 
+    /**
+     * Returns a read-only view of the dependencies declared by an artifact, in insertion order.
+     */
+    public Set<Dependency> getOutgoingEdges(Artifact artifact) {
+        return view(outgoing.get(artifact));
+    }
+
+    /**
+     * Returns a read-only view of the dependencies on an artifact, in insertion order.
+     */
+    public Set<Dependency> getIncomingEdges(Artifact artifact) {
+        return view(incoming.get(artifact));
+    }
+
+    /**
+     * Returns the artifacts an artifact depends on directly.
+     */
+    public Set<Artifact> getDependencies(Artifact artifact) {
+        Set<Dependency> out = outgoing.get(artifact);
+        if (out == null) {
+            return Set.of();
+        }
+        Set<Artifact> dependencies = new LinkedHashSet<>();
+        for (Dependency dependency : out) {
+            dependencies.add(dependency.to());
+        }
+        return dependencies;
+    }
+
+    /**
+     * Returns the artifacts that depend on an artifact directly.
+     */
+    public Set<Artifact> getDependents(Artifact artifact) {
+        Set<Dependency> in = incoming.get(artifact);
+        if (in == null) {
+            return Set.of();
+        }
+        Set<Artifact> dependents = new LinkedHashSet<>();
+        for (Dependency dependency : in) {
+            dependents.add(dependency.from());
+        }
+        return dependents;
+    }
+
+    /**
+     * Returns the number of dependencies declared by an artifact.
+     */
+    public int outDegree(Artifact artifact) {
+        Set<Dependency> out = outgoing.get(artifact);
+        return out != null ? out.size() : 0;
+    }
+
+    /**
+     * Returns the number of dependencies on an artifact.
+     */
+    public int inDegree(Artifact artifact) {
+        Set<Dependency> in = incoming.get(artifact);
+        return in != null ? in.size() : 0;
+    }
+
     public String getJakartaCompatibilityColor(Artifact artifact) {
         if (artifact.isJakartaCompatible()) {
             return "green";
@@ -78,4 +168,8 @@ private boolean hasJakartaVersion(Artifact artifact) {
         // This would be implemented to check if the artifact has a jakarta version available
         return artifact.groupId().startsWith("javax.");
     }
+
+    private static Set<Dependency> view(Set<Dependency> dependencies) {
+        return dependencies != null ? Collections.unmodifiableSet(dependencies) : Set.of();
+    }
 }
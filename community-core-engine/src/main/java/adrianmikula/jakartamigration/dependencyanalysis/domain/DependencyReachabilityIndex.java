@@ -0,0 +1,282 @@
+package adrianmikula.jakartamigration.dependencyanalysis.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precomputed answers to "who pulls this in" questions over a {@link CompactDependencyGraph}.
+ * <p>
+ * Roots are the artifacts nothing depends on (the analysed projects), and direct dependencies are
+ * the artifacts a root depends on. For every artifact the index keeps two bitsets packed into long
+ * words: the roots and direct dependencies that reach it, and the javax artifacts it reaches.
+ * Building costs one graph walk per root, direct dependency and javax artifact, and
+ * {@code nodes * (sources + javax) / 8} bytes; queries then read a few words per artifact.
+ * Inclusion paths are searched on demand, shortest first.
+ * <p>
+ * The index is immutable and safe to share between threads.
+ */
+public final class DependencyReachabilityIndex {
+
+    private final CompactDependencyGraph graph;
+    // Roots first, then direct dependencies; bit i of a source mask refers to sources[i]
+    private final int[] sources;
+    private final int rootCount;
+    private final int[] javaxIds;
+    private final int sourceWords;
+    private final int javaxWords;
+    private final long[] sourceMasks;
+    private final long[] javaxMasks;
+    // Fewest edges from any root to each artifact, or -1 if no root reaches it
+    private final int[] rootDistance;
+
+    private DependencyReachabilityIndex(CompactDependencyGraph graph, int[] sources, int rootCount, int[] javaxIds,
+                                        long[] sourceMasks, long[] javaxMasks, int[] rootDistance) {
+        this.graph = graph;
+        this.sources = sources;
+        this.rootCount = rootCount;
+        this.javaxIds = javaxIds;
+        this.sourceWords = words(sources.length);
+        this.javaxWords = words(javaxIds.length);
+        this.sourceMasks = sourceMasks;
+        this.javaxMasks = javaxMasks;
+        this.rootDistance = rootDistance;
+    }
+
+    /**
+     * Builds the index for a graph.
+     */
+    public static DependencyReachabilityIndex build(CompactDependencyGraph graph) {
+        Objects.requireNonNull(graph, "graph cannot be null");
+        int nodes = graph.nodeCount();
+
+        BitSet roots = new BitSet(nodes);
+        BitSet direct = new BitSet(nodes);
+        for (int id = 0; id < nodes; id++) {
+            if (graph.inDegree(id) == 0) {
+                roots.set(id);
+                for (int k = 0; k < graph.outDegree(id); k++) {
+                    direct.set(graph.dependency(id, k));
+                }
+            }
+        }
+        int rootCount = roots.cardinality();
+        int[] sources = new int[rootCount + direct.cardinality()];
+        int next = 0;
+        for (int id = roots.nextSetBit(0); id >= 0; id = roots.nextSetBit(id + 1)) {
+            sources[next++] = id;
+        }
+        for (int id = direct.nextSetBit(0); id >= 0; id = direct.nextSetBit(id + 1)) {
+            sources[next++] = id;
+        }
+        int[] javaxIds = graph.javaxArtifacts().stream().toArray();
+
+        CompactDependencyGraph.Traversal traversal = graph.traversal();
+        int sourceWords = words(sources.length);
+        long[] sourceMasks = new long[Math.multiplyExact(nodes, sourceWords)];
+        for (int bit = 0; bit < sources.length; bit++) {
+            int reached = traversal.breadthFirst(sources[bit], CompactDependencyGraph.Direction.DEPENDENCIES);
+            for (int i = 0; i < reached; i++) {
+                setBit(sourceMasks, traversal.get(i) * sourceWords, bit);
+            }
+        }
+        int javaxWords = words(javaxIds.length);
+        long[] javaxMasks = new long[Math.multiplyExact(nodes, javaxWords)];
+        for (int bit = 0; bit < javaxIds.length; bit++) {
+            int reached = traversal.breadthFirst(javaxIds[bit], CompactDependencyGraph.Direction.DEPENDENTS);
+            for (int i = 0; i < reached; i++) {
+                setBit(javaxMasks, traversal.get(i) * javaxWords, bit);
+            }
+        }
+
+        return new DependencyReachabilityIndex(graph, sources, rootCount, javaxIds, sourceMasks, javaxMasks,
+                rootDistances(graph, sources, rootCount));
+    }
+
+    public CompactDependencyGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the artifacts nothing depends on, in id order.
+     */
+    public List<Artifact> roots() {
+        List<Artifact> roots = new ArrayList<>(rootCount);
+        for (int i = 0; i < rootCount; i++) {
+            roots.add(graph.artifact(sources[i]));
+        }
+        return roots;
+    }
+
+    /**
+     * Returns the roots whose dependency tree contains the artifact, not counting the artifact itself.
+     * Empty if the artifact is not in the graph.
+     */
+    public List<Artifact> rootsReaching(Artifact artifact) {
+        return sourcesReaching(artifact, 0, rootCount);
+    }
+
+    /**
+     * Returns the direct dependencies through which the artifact enters the graph, including the
+     * artifact itself if it is a direct dependency. Empty if the artifact is not in the graph.
+     */
+    public List<Artifact> directDependenciesReaching(Artifact artifact) {
+        return sourcesReaching(artifact, rootCount, sources.length);
+    }
+
+    /**
+     * Returns the javax artifacts the artifact depends on directly or transitively, not counting
+     * the artifact itself. Empty if the artifact is not in the graph.
+     */
+    public List<Artifact> javaxReachableFrom(Artifact artifact) {
+        int id = graph.idOf(artifact);
+        if (id < 0) {
+            return List.of();
+        }
+        List<Artifact> reachable = new ArrayList<>();
+        int base = id * javaxWords;
+        for (int bit = 0; bit < javaxIds.length; bit++) {
+            if (javaxIds[bit] != id && isSet(javaxMasks, base, bit)) {
+                reachable.add(graph.artifact(javaxIds[bit]));
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Returns true if some root depends on the artifact directly or transitively, or the artifact is a root.
+     */
+    public boolean isReachableFromRoot(Artifact artifact) {
+        int id = graph.idOf(artifact);
+        return id >= 0 && rootDistance[id] >= 0;
+    }
+
+    /**
+     * Returns up to {@code k} simple paths from a root to the artifact, shortest first. Each path
+     * starts at the root and ends at the artifact. Paths are found by iterative deepening over the
+     * artifact's dependents, pruned by each dependent's distance from the nearest root.
+     *
+     * @param artifact artifact to explain
+     * @param k        maximum number of paths
+     * @return the paths; empty if the artifact is not in the graph or no root reaches it
+     */
+    public List<List<Artifact>> shortestInclusionPaths(Artifact artifact, int k) {
+        int target = graph.idOf(artifact);
+        if (target < 0 || k <= 0 || rootDistance[target] < 0) {
+            return List.of();
+        }
+        if (rootDistance[target] == 0) {
+            return List.of(List.of(artifact));
+        }
+
+        int nodes = graph.nodeCount();
+        List<List<Artifact>> paths = new ArrayList<>(Math.min(k, 16));
+        int[] stack = new int[nodes];
+        int[] cursors = new int[nodes];
+        boolean[] onPath = new boolean[nodes];
+        for (int limit = rootDistance[target]; limit < nodes && paths.size() < k; limit++) {
+            // Paths of exactly `limit` edges; stop deepening once no branch was cut by the limit
+            boolean pruned = false;
+            int depth = 0;
+            stack[0] = target;
+            cursors[0] = 0;
+            onPath[target] = true;
+            while (depth >= 0 && paths.size() < k) {
+                int node = stack[depth];
+                if (cursors[depth] < graph.inDegree(node)) {
+                    int dependent = graph.dependent(node, cursors[depth]++);
+                    int distance = rootDistance[dependent];
+                    if (onPath[dependent] || distance < 0) {
+                        continue;
+                    }
+                    int edges = depth + 1;
+                    if (edges + distance > limit) {
+                        pruned = true;
+                    } else if (distance == 0) {
+                        if (edges == limit) {
+                            paths.add(toPath(dependent, stack, depth));
+                        }
+                    } else {
+                        depth++;
+                        stack[depth] = dependent;
+                        cursors[depth] = 0;
+                        onPath[dependent] = true;
+                    }
+                } else {
+                    onPath[node] = false;
+                    depth--;
+                }
+            }
+            while (depth >= 0) {
+                onPath[stack[depth--]] = false;
+            }
+            if (!pruned) {
+                break;
+            }
+        }
+        return paths;
+    }
+
+    private List<Artifact> sourcesReaching(Artifact artifact, int fromBit, int toBit) {
+        int id = graph.idOf(artifact);
+        if (id < 0) {
+            return List.of();
+        }
+        List<Artifact> reaching = new ArrayList<>();
+        int base = id * sourceWords;
+        for (int bit = fromBit; bit < toBit; bit++) {
+            boolean self = sources[bit] == id;
+            // A root is not its own includer, but a direct dependency is its own entry point
+            if (isSet(sourceMasks, base, bit) && (!self || bit >= rootCount)) {
+                reaching.add(graph.artifact(sources[bit]));
+            }
+        }
+        return reaching;
+    }
+
+    private List<Artifact> toPath(int root, int[] stack, int depth) {
+        List<Artifact> path = new ArrayList<>(depth + 2);
+        path.add(graph.artifact(root));
+        for (int i = depth; i >= 0; i--) {
+            path.add(graph.artifact(stack[i]));
+        }
+        return List.copyOf(path);
+    }
+
+    // Breadth-first from all roots at once
+    private static int[] rootDistances(CompactDependencyGraph graph, int[] sources, int rootCount) {
+        int[] distance = new int[graph.nodeCount()];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[graph.nodeCount()];
+        int tail = 0;
+        for (int i = 0; i < rootCount; i++) {
+            distance[sources[i]] = 0;
+            queue[tail++] = sources[i];
+        }
+        for (int head = 0; head < tail; head++) {
+            int node = queue[head];
+            for (int k = 0; k < graph.outDegree(node); k++) {
+                int next = graph.dependency(node, k);
+                if (distance[next] < 0) {
+                    distance[next] = distance[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void setBit(long[] masks, int base, int bit) {
+        masks[base + (bit >>> 6)] |= 1L << bit;
+    }
+
+    private static boolean isSet(long[] masks, int base, int bit) {
+        return (masks[base + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+}
@@ -50,5 +50,15 @@ public interface DependencyAnalysisModule {
      * @return Report of transitive conflicts
      */
     TransitiveConflictReport analyzeTransitiveConflicts(DependencyGraph graph);
+
+    /**
+     * Builds a reachability index for "who pulls this in" queries: the roots and direct
+     * dependencies that bring in an artifact, the javax artifacts an artifact pulls in, and the
+     * shortest inclusion paths.
+     *
+     * @param graph The dependency graph to index
+     * @return Reachability index over the graph
+     */
+    DependencyReachabilityIndex buildReachabilityIndex(DependencyGraph graph);
 }
 
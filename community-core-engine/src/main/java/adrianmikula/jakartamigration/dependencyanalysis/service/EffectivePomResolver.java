@@ -0,0 +1,671 @@
+package adrianmikula.jakartamigration.dependencyanalysis.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes effective Maven POMs in-process, without running Maven.
+ * <p>
+ * The effective POM inherits groupId, version, properties, dependency management and dependencies
+ * from the {@code <parent>} chain, adds the dependency management of BOMs imported with
+ * {@code <scope>import</scope>}, and interpolates {@code ${...}} references against the merged
+ * properties and the {@code project.*} values. Parents are looked up by {@code <relativePath>},
+ * then among the modules registered for the reactor the POM belongs to, then in the local Maven
+ * repository; imported BOMs by the last two. Profiles and settings.xml are not applied.
+ * <p>
+ * Parsed and resolved POMs are memoized per file and re-read when the file's modification time
+ * changes, so modules that share a parent or a BOM parse it once. Effective POMs with a missing
+ * parent or BOM are not memoized, since the missing POM may be registered or installed later.
+ * Both caches are cleared when they grow past their entry limit. {@link #shared()} shares one
+ * cache across modules and projects. Instances are thread-safe.
+ */
+@Slf4j
+public class EffectivePomResolver {
+
+    private static final EffectivePomResolver SHARED = new EffectivePomResolver(defaultLocalRepository());
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]+)}");
+    private static final int MAX_INTERPOLATION_DEPTH = 10;
+    private static final int MAX_CACHED_POMS = Integer.getInteger("effective.pom.cache.entries", 10_000);
+    private static final int MAX_REACTORS = Integer.getInteger("effective.pom.reactors", 32);
+
+    private final Path localRepository;
+    private final ThreadLocal<DocumentBuilder> documentBuilders;
+    private final Map<Path, RawPom> parsed = new ConcurrentHashMap<>();
+    private final Map<Path, Resolved> resolved = new ConcurrentHashMap<>();
+    // Reactor root -> groupId:artifactId:version -> pom.xml of a module registered for that reactor
+    private final Map<Path, Map<String, Path>> reactors = new ConcurrentHashMap<>();
+
+    /**
+     * @param localRepository Maven local repository to look up parents and BOMs in, or null for none
+     */
+    public EffectivePomResolver(Path localRepository) {
+        this.localRepository = localRepository;
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(false);
+        try {
+            documentBuilderFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            log.debug("XML parser does not support disabling external DTDs: {}", e.getMessage());
+        }
+        this.documentBuilders = ThreadLocal.withInitial(() -> {
+            try {
+                return documentBuilderFactory.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new DependencyGraphException("Failed to initialize DOM parser", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the resolver shared by all callers in this JVM, backed by the default local repository.
+     */
+    public static EffectivePomResolver shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the {@code maven.repo.local} system property if set, otherwise ~/.m2/repository,
+     * or null if the user home is unknown.
+     */
+    public static Path defaultLocalRepository() {
+        String configured = System.getProperty("maven.repo.local");
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        String userHome = System.getProperty("user.home");
+        return userHome != null ? Paths.get(userHome, ".m2", "repository") : null;
+    }
+
+    /**
+     * Resolves the effective POM of a pom.xml file.
+     *
+     * @param pomFile The pom.xml file
+     * @return The effective POM; parents and BOMs that could not be found are listed in
+     *         {@link EffectivePom#unresolved()}
+     * @throws DependencyGraphException if the file does not exist or is not a valid POM
+     */
+    public EffectivePom resolve(Path pomFile) {
+        return resolve(pomFile.toAbsolutePath().normalize(), new HashSet<>()).pom();
+    }
+
+    /**
+     * Resolves the effective POM of an artifact from the reactor or the local repository.
+     *
+     * @return The effective POM, or empty if the POM is not available locally
+     */
+    public Optional<EffectivePom> resolve(String groupId, String artifactId, String version) {
+        return resolve(groupId, artifactId, version, null);
+    }
+
+    /**
+     * Resolves the effective POM of an artifact as a dependency of a pom.xml file: modules registered
+     * for the reactor containing that file come first, then the local repository.
+     *
+     * @param pomFile The pom.xml declaring the dependency, or null to look in the local repository only
+     * @return The effective POM, or empty if the POM is not available locally
+     */
+    public Optional<EffectivePom> resolve(String groupId, String artifactId, String version, Path pomFile) {
+        Path from = pomFile != null ? pomFile.toAbsolutePath().normalize() : null;
+        return resolveArtifact(groupId, artifactId, version, from, new HashSet<>()).map(Resolved::pom);
+    }
+
+    /**
+     * Registers the modules of a reactor, so that parents, BOMs and dependencies declared by
+     * sibling modules resolve to their pom.xml files. The reactor is scoped to the deepest directory
+     * containing all the files: only POMs under it see these modules, and registering the same
+     * directory again replaces its modules. Files that cannot be parsed are skipped.
+     */
+    public void registerReactor(Collection<Path> pomFiles) {
+        Path root = commonDirectory(pomFiles);
+        if (root == null) {
+            return;
+        }
+        Map<String, Path> modules = new HashMap<>();
+        for (Path pomFile : pomFiles) {
+            try {
+                EffectivePom pom = resolve(pomFile);
+                if (pom.groupId() != null && pom.version() != null) {
+                    modules.putIfAbsent(pom.coordinate(), pomFile.toAbsolutePath().normalize());
+                }
+            } catch (DependencyGraphException e) {
+                log.debug("Skipping reactor module {}: {}", pomFile, e.getMessage());
+            }
+        }
+        if (!reactors.containsKey(root) && reactors.size() >= MAX_REACTORS) {
+            log.debug("Registered {} reactors, clearing", MAX_REACTORS);
+            reactors.clear();
+        }
+        Map<String, Path> previous = reactors.put(root, Map.copyOf(modules));
+        if (!modules.equals(previous)) {
+            // Memoized results may have resolved a parent or BOM through the previous registration
+            resolved.clear();
+        }
+    }
+
+    /**
+     * Drops all memoized POMs and reactor registrations.
+     */
+    public void clear() {
+        parsed.clear();
+        resolved.clear();
+        reactors.clear();
+    }
+
+    private Resolved resolve(Path file, Set<Path> resolving) {
+        RawPom raw = load(file);
+        Resolved cached = resolved.get(file);
+        if (cached != null && isCurrent(cached)) {
+            return cached;
+        }
+        if (!resolving.add(file)) {
+            throw new DependencyGraphException("Cyclic parent or BOM import through " + file);
+        }
+        try {
+            Resolved result = merge(raw, resolving);
+            if (result.pom().isComplete()) {
+                resolved.put(file, result);
+            }
+            return result;
+        } finally {
+            resolving.remove(file);
+        }
+    }
+
+    private Optional<Resolved> resolveArtifact(String groupId, String artifactId, String version, Path from,
+                                               Set<Path> resolving) {
+        Path file = locate(groupId, artifactId, version, from);
+        if (file == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(resolve(file.toAbsolutePath().normalize(), resolving));
+        } catch (DependencyGraphException e) {
+            log.debug("Cannot resolve POM of {}:{}:{}: {}", groupId, artifactId, version, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isCurrent(Resolved cached) {
+        for (RawPom source : cached.sources()) {
+            try {
+                if (load(source.file()) != source) {
+                    return false;
+                }
+            } catch (DependencyGraphException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Resolved merge(RawPom raw, Set<Path> resolving) {
+        Set<String> unresolved = new LinkedHashSet<>();
+        // Every file this POM was resolved from, to revalidate the memoized result
+        Map<Path, RawPom> sources = new LinkedHashMap<>();
+        sources.put(raw.file(), raw);
+        Map<String, String> properties = new LinkedHashMap<>();
+        // Declared entries come first so that they win over inherited and imported ones
+        List<PomDependency> managed = new ArrayList<>(raw.managed());
+        List<PomDependency> dependencies = new ArrayList<>(raw.dependencies());
+        String groupId = raw.groupId();
+        String version = raw.version();
+
+        ParentRef parentRef = raw.parent();
+        if (parentRef != null) {
+            Resolved parent = resolveParent(raw, resolving);
+            if (parent != null) {
+                parent.sources().forEach(source -> sources.putIfAbsent(source.file(), source));
+                unresolved.addAll(parent.pom().unresolved());
+                properties.putAll(parent.properties());
+                managed.addAll(parent.managed());
+                inherit(dependencies, parent.dependencies());
+            } else {
+                unresolved.add("parent " + parentRef.groupId() + ":" + parentRef.artifactId() + ":" + parentRef.version());
+            }
+            if (groupId == null) {
+                groupId = parentRef.groupId();
+            }
+            if (version == null) {
+                version = parentRef.version();
+            }
+        }
+        properties.putAll(raw.properties());
+
+        Map<String, String> context = new HashMap<>(properties);
+        groupId = interpolate(groupId, context);
+        String artifactId = interpolate(raw.artifactId(), context);
+        version = interpolate(version, context);
+        String packaging = raw.packaging() != null ? interpolate(raw.packaging(), context) : "jar";
+        putModelValue(context, "groupId", groupId);
+        putModelValue(context, "artifactId", artifactId);
+        putModelValue(context, "version", version);
+        putModelValue(context, "packaging", packaging);
+        if (parentRef != null) {
+            putModelValue(context, "parent.groupId", parentRef.groupId());
+            putModelValue(context, "parent.artifactId", parentRef.artifactId());
+            putModelValue(context, "parent.version", parentRef.version());
+        }
+        Path basedir = raw.file().getParent();
+        if (basedir != null) {
+            putModelValue(context, "basedir", basedir.toString());
+            context.putIfAbsent("basedir", basedir.toString());
+        }
+
+        Map<String, PomDependency> management = new LinkedHashMap<>();
+        List<PomDependency> imports = new ArrayList<>();
+        for (PomDependency entry : managed) {
+            PomDependency dependency = interpolate(entry, context);
+            if (dependency == null) {
+                continue;
+            }
+            if (dependency.isImport()) {
+                imports.add(dependency);
+            } else {
+                management.putIfAbsent(dependency.key(), dependency);
+            }
+        }
+        for (PomDependency bomImport : imports) {
+            Optional<Resolved> bom = resolveArtifact(bomImport.groupId(), bomImport.artifactId(), bomImport.version(),
+                    raw.file(), resolving);
+            if (bom.isPresent()) {
+                bom.get().sources().forEach(source -> sources.putIfAbsent(source.file(), source));
+                unresolved.addAll(bom.get().pom().unresolved());
+                bom.get().pom().dependencyManagement().forEach(management::putIfAbsent);
+            } else {
+                unresolved.add("import " + bomImport.groupId() + ":" + bomImport.artifactId() + ":" + bomImport.version());
+            }
+        }
+
+        List<PomDependency> effectiveDependencies = new ArrayList<>(dependencies.size());
+        for (PomDependency declared : dependencies) {
+            PomDependency dependency = interpolate(declared, context);
+            if (dependency != null) {
+                effectiveDependencies.add(applyManagement(dependency, management.get(dependency.key())));
+            }
+        }
+
+        Map<String, String> effectiveProperties = new LinkedHashMap<>();
+        properties.forEach((name, value) -> effectiveProperties.put(name, interpolate(value, context)));
+
+        EffectivePom pom = new EffectivePom(raw.file(), groupId, artifactId, version, packaging,
+                Collections.unmodifiableMap(effectiveProperties), Collections.unmodifiableMap(management),
+                Collections.unmodifiableList(effectiveDependencies), List.copyOf(unresolved));
+        return new Resolved(pom, properties, managed, dependencies, List.copyOf(sources.values()));
+    }
+
+    private Resolved resolveParent(RawPom raw, Set<Path> resolving) {
+        ParentRef ref = raw.parent();
+        if (ref.relativePath() != null && !ref.relativePath().isEmpty() && raw.file().getParent() != null) {
+            Path candidate = raw.file().getParent().resolve(ref.relativePath()).normalize();
+            if (Files.isDirectory(candidate)) {
+                candidate = candidate.resolve("pom.xml");
+            }
+            if (Files.isRegularFile(candidate) && isParent(candidate, ref)) {
+                try {
+                    return resolve(candidate, resolving);
+                } catch (DependencyGraphException e) {
+                    log.debug("Cannot resolve parent {} of {}: {}", candidate, raw.file(), e.getMessage());
+                }
+            }
+        }
+        return resolveArtifact(ref.groupId(), ref.artifactId(), ref.version(), raw.file(), resolving).orElse(null);
+    }
+
+    private boolean isParent(Path candidate, ParentRef ref) {
+        try {
+            RawPom pom = load(candidate);
+            String groupId = pom.groupId() != null ? pom.groupId()
+                    : pom.parent() != null ? pom.parent().groupId() : null;
+            return ref.artifactId() != null && ref.artifactId().equals(pom.artifactId())
+                    && (ref.groupId() == null || ref.groupId().equals(groupId));
+        } catch (DependencyGraphException e) {
+            return false;
+        }
+    }
+
+    private Path locate(String groupId, String artifactId, String version, Path from) {
+        if (groupId == null || artifactId == null || version == null) {
+            return null;
+        }
+        Path reactorPom = reactorModule(groupId + ":" + artifactId + ":" + version, from);
+        if (reactorPom != null && Files.isRegularFile(reactorPom)) {
+            return reactorPom;
+        }
+        if (localRepository == null) {
+            return null;
+        }
+        Path repositoryPom = localRepository.resolve(groupId.replace('.', '/'))
+                .resolve(artifactId)
+                .resolve(version)
+                .resolve(artifactId + "-" + version + ".pom");
+        return Files.isRegularFile(repositoryPom) ? repositoryPom : null;
+    }
+
+    // Looks the module up in the innermost registered reactor containing the requesting POM
+    private Path reactorModule(String coordinate, Path from) {
+        if (from == null) {
+            return null;
+        }
+        Path innermost = null;
+        for (Path root : reactors.keySet()) {
+            if (from.startsWith(root) && (innermost == null || root.getNameCount() > innermost.getNameCount())) {
+                innermost = root;
+            }
+        }
+        Map<String, Path> modules = innermost != null ? reactors.get(innermost) : null;
+        return modules != null ? modules.get(coordinate) : null;
+    }
+
+    private static Path commonDirectory(Collection<Path> files) {
+        Path common = null;
+        for (Path file : files) {
+            Path directory = file.toAbsolutePath().normalize().getParent();
+            if (directory == null) {
+                continue;
+            }
+            if (common == null) {
+                common = directory;
+            } else {
+                while (common != null && !directory.startsWith(common)) {
+                    common = common.getParent();
+                }
+            }
+        }
+        return common;
+    }
+
+    private RawPom load(Path file) {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new DependencyGraphException("pom.xml not found at: " + file, e);
+        }
+        RawPom cached = parsed.get(file);
+        if (cached != null && cached.modified().equals(modified)) {
+            return cached;
+        }
+        RawPom raw = parse(file, modified);
+        if (cached == null && parsed.size() >= MAX_CACHED_POMS) {
+            log.debug("POM cache reached {} entries, clearing", MAX_CACHED_POMS);
+            parsed.clear();
+            resolved.clear();
+        }
+        parsed.put(file, raw);
+        return raw;
+    }
+
+    private RawPom parse(Path file, FileTime modified) {
+        Document document;
+        try {
+            document = documentBuilders.get().parse(file.toFile());
+        } catch (SAXException | IOException e) {
+            throw new DependencyGraphException("Failed to parse pom.xml " + file + ": " + e.getMessage(), e);
+        }
+        Element project = document.getDocumentElement();
+        if (project == null || !"project".equals(project.getTagName())) {
+            throw new DependencyGraphException("Not a Maven POM: " + file);
+        }
+
+        ParentRef parent = null;
+        Element parentElement = child(project, "parent");
+        if (parentElement != null) {
+            Element relativePath = child(parentElement, "relativePath");
+            parent = new ParentRef(
+                    text(parentElement, "groupId"),
+                    text(parentElement, "artifactId"),
+                    text(parentElement, "version"),
+                    relativePath != null ? relativePath.getTextContent().trim() : "../pom.xml");
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        Element propertiesElement = child(project, "properties");
+        if (propertiesElement != null) {
+            for (Node node = propertiesElement.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof Element property) {
+                    properties.put(property.getTagName(), property.getTextContent().trim());
+                }
+            }
+        }
+
+        return new RawPom(file, modified,
+                text(project, "groupId"),
+                text(project, "artifactId"),
+                text(project, "version"),
+                text(project, "packaging"),
+                parent,
+                properties,
+                parseDependencies(child(child(project, "dependencyManagement"), "dependencies")),
+                parseDependencies(child(project, "dependencies")));
+    }
+
+    private static List<PomDependency> parseDependencies(Element dependenciesElement) {
+        List<PomDependency> dependencies = new ArrayList<>();
+        for (Element element : children(dependenciesElement, "dependency")) {
+            Set<String> exclusions = new LinkedHashSet<>();
+            for (Element exclusion : children(child(element, "exclusions"), "exclusion")) {
+                exclusions.add(text(exclusion, "groupId") + ":" + text(exclusion, "artifactId"));
+            }
+            dependencies.add(new PomDependency(
+                    text(element, "groupId"),
+                    text(element, "artifactId"),
+                    text(element, "version"),
+                    text(element, "scope"),
+                    text(element, "type"),
+                    text(element, "classifier"),
+                    "true".equals(text(element, "optional")),
+                    exclusions));
+        }
+        return dependencies;
+    }
+
+    // Adds the parent's dependencies that the child does not redeclare
+    private static void inherit(List<PomDependency> dependencies, List<PomDependency> inherited) {
+        Set<String> declared = new HashSet<>();
+        for (PomDependency dependency : dependencies) {
+            declared.add(dependency.groupId() + ":" + dependency.artifactId());
+        }
+        for (PomDependency dependency : inherited) {
+            if (declared.add(dependency.groupId() + ":" + dependency.artifactId())) {
+                dependencies.add(dependency);
+            }
+        }
+    }
+
+    private static PomDependency interpolate(PomDependency dependency, Map<String, String> context) {
+        String groupId = interpolate(dependency.groupId(), context);
+        String artifactId = interpolate(dependency.artifactId(), context);
+        if (groupId == null || artifactId == null) {
+            return null;
+        }
+        String type = interpolate(dependency.type(), context);
+        return new PomDependency(
+                groupId,
+                artifactId,
+                interpolate(dependency.version(), context),
+                interpolate(dependency.scope(), context),
+                type != null ? type : "jar",
+                interpolate(dependency.classifier(), context),
+                dependency.optional(),
+                dependency.exclusions());
+    }
+
+    private static PomDependency applyManagement(PomDependency dependency, PomDependency managed) {
+        String version = dependency.version();
+        String scope = dependency.scope();
+        Set<String> exclusions = dependency.exclusions();
+        if (managed != null) {
+            if (version == null) {
+                version = managed.version();
+            }
+            if (scope == null) {
+                scope = managed.scope();
+            }
+            if (!managed.exclusions().isEmpty()) {
+                exclusions = new LinkedHashSet<>(exclusions);
+                exclusions.addAll(managed.exclusions());
+            }
+        }
+        return new PomDependency(dependency.groupId(), dependency.artifactId(), version,
+                scope != null ? scope : "compile", dependency.type(), dependency.classifier(),
+                dependency.optional(), exclusions);
+    }
+
+    private static String interpolate(String value, Map<String, String> context) {
+        if (value == null || !value.contains("${")) {
+            return value;
+        }
+        String current = value;
+        // Bounded so that self-referencing properties cannot loop forever
+        for (int depth = 0; depth < MAX_INTERPOLATION_DEPTH && current.contains("${"); depth++) {
+            Matcher matcher = PROPERTY_REFERENCE.matcher(current);
+            StringBuilder interpolated = new StringBuilder();
+            boolean replaced = false;
+            while (matcher.find()) {
+                String replacement = lookup(matcher.group(1), context);
+                replaced |= replacement != null;
+                matcher.appendReplacement(interpolated,
+                        Matcher.quoteReplacement(replacement != null ? replacement : matcher.group()));
+            }
+            matcher.appendTail(interpolated);
+            if (!replaced) {
+                break;
+            }
+            current = interpolated.toString();
+        }
+        return current;
+    }
+
+    private static String lookup(String name, Map<String, String> context) {
+        String value = context.get(name);
+        if (value != null) {
+            return value;
+        }
+        if (name.startsWith("env.")) {
+            return System.getenv(name.substring(4));
+        }
+        return System.getProperty(name);
+    }
+
+    private static void putModelValue(Map<String, String> context, String name, String value) {
+        if (value != null) {
+            context.put("project." + name, value);
+            context.put("pom." + name, value);
+        }
+    }
+
+    private static Element child(Element parent, String name) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && name.equals(element.getTagName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        if (parent == null) {
+            return List.of();
+        }
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element element && name.equals(element.getTagName())) {
+                children.add(element);
+            }
+        }
+        return children;
+    }
+
+    private static String text(Element parent, String name) {
+        Element element = child(parent, name);
+        if (element == null) {
+            return null;
+        }
+        String text = element.getTextContent().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * A dependency or dependency management entry. In an effective POM the coordinates are
+     * interpolated, the type defaults to jar, the scope to compile, and versions missing from the
+     * declaration are taken from dependency management; a version may still be null if unmanaged.
+     */
+    public record PomDependency(String groupId, String artifactId, String version, String scope,
+                                String type, String classifier, boolean optional, Set<String> exclusions) {
+
+        public String key() {
+            return groupId + ":" + artifactId;
+        }
+
+        public PomDependency withVersion(String version) {
+            return new PomDependency(groupId, artifactId, version, scope, type, classifier, optional, exclusions);
+        }
+
+        boolean isImport() {
+            return "import".equals(scope) && "pom".equals(type);
+        }
+    }
+
+    /**
+     * An effective POM.
+     *
+     * @param dependencyManagement managed dependencies keyed by groupId:artifactId, including those
+     *                             of imported BOMs
+     * @param unresolved           parents and BOM imports that could not be found, e.g.
+     *                             "parent org.example:parent:1.0"; empty if the POM is complete
+     */
+    public record EffectivePom(Path pomFile, String groupId, String artifactId, String version, String packaging,
+                               Map<String, String> properties, Map<String, PomDependency> dependencyManagement,
+                               List<PomDependency> dependencies, List<String> unresolved) {
+
+        public String coordinate() {
+            return groupId + ":" + artifactId + ":" + version;
+        }
+
+        public boolean isComplete() {
+            return unresolved.isEmpty();
+        }
+    }
+
+    private record ParentRef(String groupId, String artifactId, String version, String relativePath) {
+    }
+
+    private record RawPom(Path file, FileTime modified, String groupId, String artifactId, String version,
+                          String packaging, ParentRef parent, Map<String, String> properties,
+                          List<PomDependency> managed, List<PomDependency> dependencies) {
+    }
+
+    // Merged but not yet interpolated model, which child POMs inherit and interpolate in their own context
+    private record Resolved(EffectivePom pom, Map<String, String> properties, List<PomDependency> managed,
+                            List<PomDependency> dependencies, List<RawPom> sources) {
+    }
+}
@@ -17,7 +17,6 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of DependencyAnalysisModule.
@@ -49,18 +48,18 @@ public DependencyAnalysisReport analyzeProject(Path projectPath) {
             graph = crawler.buildFromProject(projectPath);
         }
 
-        // Identify namespaces
+        // Identify namespaces once; blocker and conflict detection reuse the classification
         NamespaceCompatibilityMap namespaceMap = identifyNamespaces(graph);
 
         // Detect blockers
-        List<Blocker> blockers = detectBlockers(graph);
+        List<Blocker> blockers = detectBlockers(graph, namespaceMap);
 
         // Get recommendations
-        List<Artifact> artifacts = graph.getNodes().stream().collect(Collectors.toList());
+        List<Artifact> artifacts = new ArrayList<>(graph.getNodes());
         List<VersionRecommendation> recommendations = recommendVersions(artifacts);
 
         // Analyze transitive conflicts
-        TransitiveConflictReport conflictReport = analyzeTransitiveConflicts(graph);
+        TransitiveConflictReport conflictReport = analyzeTransitiveConflicts(graph, namespaceMap);
 
         // Calculate risk assessment
         RiskAssessment riskAssessment = calculateRiskAssessment(graph, blockers, conflictReport);
@@ -93,10 +92,13 @@ public NamespaceCompatibilityMap identifyNamespaces(DependencyGraph graph) {
 
     @Override
     public List<Blocker> detectBlockers(DependencyGraph graph) {
+        return detectBlockers(graph, identifyNamespaces(graph));
+    }
+
+    private List<Blocker> detectBlockers(DependencyGraph graph, NamespaceCompatibilityMap namespaceMap) {
         log.debug("Detecting blockers in dependency graph");
 
         List<Blocker> blockers = new ArrayList<>();
-        NamespaceCompatibilityMap namespaceMap = identifyNamespaces(graph);
 
         for (Artifact artifact : graph.getNodes()) {
             Namespace namespace = namespaceMap.get(artifact);
@@ -227,40 +229,36 @@ public List<VersionRecommendation> recommendVersions(List<Artifact> artifacts) {
 
     @Override
     public TransitiveConflictReport analyzeTransitiveConflicts(DependencyGraph graph) {
+        return analyzeTransitiveConflicts(graph, identifyNamespaces(graph));
+    }
+
+    private TransitiveConflictReport analyzeTransitiveConflicts(DependencyGraph graph,
+            NamespaceCompatibilityMap namespaceMap) {
         log.debug("Analyzing transitive conflicts");
 
         List<TransitiveConflict> conflicts = new ArrayList<>();
-        NamespaceCompatibilityMap namespaceMap = identifyNamespaces(graph);
 
         // Check for mixed namespaces in transitive dependencies
         for (Artifact artifact : graph.getNodes()) {
-            // Find dependencies of this artifact
-            List<Artifact> dependencies = graph.getEdges().stream()
-                    .filter(e -> e.from().equals(artifact))
-                    .map(e -> e.to())
-                    .collect(Collectors.toList());
-
-            // Check if dependencies have mixed namespaces
-            boolean hasJavax = dependencies.stream()
-                    .anyMatch(dep -> namespaceMap.get(dep) == Namespace.JAVAX);
-            boolean hasJakarta = dependencies.stream()
-                    .anyMatch(dep -> namespaceMap.get(dep) == Namespace.JAKARTA);
-
-            if (hasJavax && hasJakarta) {
-                // Find a conflicting artifact (first javax dependency)
-                Artifact conflictingArtifact = dependencies.stream()
-                        .filter(dep -> namespaceMap.get(dep) == Namespace.JAVAX)
-                        .findFirst()
-                        .orElse(null);
-
-                if (conflictingArtifact != null) {
-                    conflicts.add(new TransitiveConflict(
-                            artifact,
-                            conflictingArtifact,
-                            "MIXED_NAMESPACES",
-                            "Mixed javax and jakarta namespaces in transitive dependencies"));
+            // Walk only this artifact's own edges, keeping the first javax dependency as the conflict
+            Artifact conflictingArtifact = null;
+            boolean hasJakarta = false;
+            for (Dependency dependency : graph.getOutgoingEdges(artifact)) {
+                Namespace namespace = namespaceMap.get(dependency.to());
+                if (namespace == Namespace.JAVAX && conflictingArtifact == null) {
+                    conflictingArtifact = dependency.to();
+                } else if (namespace == Namespace.JAKARTA) {
+                    hasJakarta = true;
                 }
             }
+
+            if (conflictingArtifact != null && hasJakarta) {
+                conflicts.add(new TransitiveConflict(
+                        artifact,
+                        conflictingArtifact,
+                        "MIXED_NAMESPACES",
+                        "Mixed javax and jakarta namespaces in transitive dependencies"));
+            }
         }
 
         int totalConflicts = conflicts.size();
@@ -271,6 +269,12 @@ public TransitiveConflictReport analyzeTransitiveConflicts(DependencyGraph graph
         return new TransitiveConflictReport(conflicts, totalConflicts, summary);
     }
 
+    @Override
+    public DependencyReachabilityIndex buildReachabilityIndex(DependencyGraph graph) {
+        log.debug("Building reachability index for {} artifacts", graph.nodeCount());
+        return DependencyReachabilityIndex.build(CompactDependencyGraph.from(graph, namespaceClassifier::classify));
+    }
+
     private RiskAssessment calculateRiskAssessment(
             DependencyGraph graph,
             List<Blocker> blockers,
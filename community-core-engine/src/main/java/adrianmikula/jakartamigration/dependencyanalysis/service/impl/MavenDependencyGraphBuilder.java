@@ -5,21 +5,14 @@
 import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphBuilder;
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphException;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver;
 import lombok.extern.slf4j.Slf4j;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Builds dependency graphs from Maven pom.xml files.
@@ -27,19 +20,21 @@
 @Slf4j
 public class MavenDependencyGraphBuilder implements DependencyGraphBuilder {
     
-    private final DocumentBuilderFactory documentBuilderFactory;
-    private final DocumentBuilder documentBuilder;
+    private final EffectivePomResolver pomResolver;
     
     public MavenDependencyGraphBuilder() {
-        try {
-            this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            this.documentBuilderFactory.setNamespaceAware(false);
-            this.documentBuilder = documentBuilderFactory.newDocumentBuilder();
-        } catch (Exception e) {
-            throw new DependencyGraphException("Failed to initialize DOM parser", e);
-        }
+        this(EffectivePomResolver.shared());
+    }
+    
+    public MavenDependencyGraphBuilder(EffectivePomResolver pomResolver) {
+        this.pomResolver = pomResolver;
     }
     
+    /**
+     * Builds the graph of a POM's direct dependencies, including those inherited from parent POMs.
+     * Versions are taken from the effective POM, so managed versions, imported BOMs and inherited
+     * properties are resolved; versions that cannot be resolved are reported as "unknown".
+     */
     @Override
     public DependencyGraph buildFromMaven(Path pomXmlPath) {
         if (!Files.exists(pomXmlPath)) {
@@ -47,87 +42,36 @@ public DependencyGraph buildFromMaven(Path pomXmlPath) {
         }
         
         try {
-            Document document = documentBuilder.parse(pomXmlPath.toFile());
-            
-            // Build lookup maps for efficient version resolution
-            Map<String, String> depMgmtVersions = buildDependencyManagementVersionMap(document);
-            Map<String, String> propertiesMap = buildPropertiesMap(document);
+            EffectivePomResolver.EffectivePom pom = pomResolver.resolve(pomXmlPath);
+            if (!pom.isComplete()) {
+                log.debug("Effective POM of {} is incomplete: {}", pomXmlPath, pom.unresolved());
+            }
             
             DependencyGraph graph = new DependencyGraph();
             
-            // Parse project artifact
-            Element project = document.getDocumentElement();
-            String groupId = getTextContent(project, "groupId");
-            String artifactId = getTextContent(project, "artifactId");
-            String version = getTextContent(project, "version");
-            
-            if (groupId == null || artifactId == null || version == null) {
-                // Try parent groupId/version
-                Element parent = (Element) project.getElementsByTagName("parent").item(0);
-                if (parent != null) {
-                    if (groupId == null) groupId = getTextContent(parent, "groupId");
-                    if (version == null) version = getTextContent(parent, "version");
-                }
-            }
-            
             Artifact projectArtifact = new Artifact(
-                groupId != null ? groupId : "unknown",
-                artifactId != null ? artifactId : "unknown",
-                version != null ? version : "unknown",
+                orUnknown(pom.groupId()),
+                orUnknown(pom.artifactId()),
+                orUnknown(pom.version()),
                 "compile",
                 false
             );
             graph.addNode(projectArtifact);
             
-            // Parse dependencies
-            NodeList dependencies = document.getElementsByTagName("dependency");
-            for (int i = 0; i < dependencies.getLength(); i++) {
-                Element dependencyElement = (Element) dependencies.item(i);
-                
-                String depGroupId = getTextContent(dependencyElement, "groupId");
-                String depArtifactId = getTextContent(dependencyElement, "artifactId");
-                String depVersion = getTextContent(dependencyElement, "version");
-                String scope = getTextContent(dependencyElement, "scope");
-                
-                if (depGroupId == null || depArtifactId == null) {
-                    continue; // Skip invalid dependencies
-                }
-                
-                if (depVersion == null) {
-                    // Try to resolve from dependencyManagement or properties using lookup maps
-                    depVersion = resolveVersionFromMaps(depGroupId, depArtifactId, depMgmtVersions, propertiesMap, document);
-                } else if (depVersion.startsWith("${") && depVersion.endsWith("}")) {
-                    // Try to resolve property references
-                    String resolvedVersion = resolvePropertyFromMap(depVersion, propertiesMap);
-                    if (resolvedVersion != null) {
-                        depVersion = resolvedVersion;
-                    } else {
-                        // Property not found, set to "unknown"
-                        depVersion = "unknown";
-                    }
-                }
-                
-                if (depVersion == null) {
-                    depVersion = "unknown";
-                }
-                
-                if (scope == null) {
-                    scope = "compile";
-                }
-                
-                 Artifact dependencyArtifact = new Artifact(
-                     depGroupId,
-                     depArtifactId,
-                     depVersion,
-                     scope,
-                     false
-                 );
+            for (EffectivePomResolver.PomDependency pomDependency : pom.dependencies()) {
+                Artifact dependencyArtifact = new Artifact(
+                    pomDependency.groupId(),
+                    pomDependency.artifactId(),
+                    orUnknown(pomDependency.version()),
+                    pomDependency.scope(),
+                    false
+                );
                 
                 Dependency dependency = new Dependency(
                     projectArtifact,
                     dependencyArtifact,
-                    scope,
-                    "optional".equals(getTextContent(dependencyElement, "optional"))
+                    pomDependency.scope(),
+                    pomDependency.optional()
                 );
                 
                 graph.addEdge(dependency);
@@ -330,142 +274,8 @@ private String extractProjectArtifactId(String content) {
         return null;
     }
     
-    private String getTextContent(Element element, String tagName) {
-        NodeList nodes = element.getElementsByTagName(tagName);
-        if (nodes.getLength() > 0) {
-            Node node = nodes.item(0);
-            return node.getTextContent().trim();
-        }
-        return null;
-    }
-    
-    private String resolveVersion(Document document, String groupId, String artifactId) {
-        // Try dependencyManagement
-        NodeList depMgmt = document.getElementsByTagName("dependencyManagement");
-        if (depMgmt.getLength() > 0) {
-            Element depMgmtElement = (Element) depMgmt.item(0);
-            NodeList deps = depMgmtElement.getElementsByTagName("dependency");
-            for (int i = 0; i < deps.getLength(); i++) {
-                Element dep = (Element) deps.item(i);
-                String gId = getTextContent(dep, "groupId");
-                String aId = getTextContent(dep, "artifactId");
-                if (groupId.equals(gId) && artifactId.equals(aId)) {
-                    String version = getTextContent(dep, "version");
-                    if (version != null) {
-                        return resolveProperty(document, version);
-                    }
-                }
-            }
-        }
-        
-        // Try direct property resolution for dependencies
-        NodeList dependencies = document.getElementsByTagName("dependency");
-        for (int i = 0; i < dependencies.getLength(); i++) {
-            Element dep = (Element) dependencies.item(i);
-            String gId = getTextContent(dep, "groupId");
-            String aId = getTextContent(dep, "artifactId");
-            if (groupId.equals(gId) && artifactId.equals(aId)) {
-                String version = getTextContent(dep, "version");
-                if (version != null) {
-                    return resolveProperty(document, version);
-                }
-            }
-        }
-        
-        return null;
-    }
-    
-    private String resolveProperty(Document document, String propertyValue) {
-        if (propertyValue != null && propertyValue.startsWith("${") && propertyValue.endsWith("}")) {
-            String propertyName = propertyValue.substring(2, propertyValue.length() - 1);
-            NodeList properties = document.getElementsByTagName("properties");
-            if (properties.getLength() > 0) {
-                Element propsElement = (Element) properties.item(0);
-                NodeList propertyNodes = propsElement.getElementsByTagName(propertyName);
-                if (propertyNodes.getLength() > 0) {
-                    Node propertyNode = propertyNodes.item(0);
-                    return propertyNode.getTextContent().trim();
-                }
-            }
-            // Return null if property is not found, so caller can handle appropriately
-            return null;
-        }
-        return propertyValue;
-    }
-    
-    /**
-     * Builds a lookup map for dependencyManagement versions keyed by "groupId:artifactId".
-     * Optimized version resolution from O(n*m) to O(1) lookups.
-     */
-    private Map<String, String> buildDependencyManagementVersionMap(Document document) {
-        Map<String, String> versionMap = new HashMap<>();
-        NodeList depMgmt = document.getElementsByTagName("dependencyManagement");
-        if (depMgmt.getLength() > 0) {
-            Element depMgmtElement = (Element) depMgmt.item(0);
-            NodeList deps = depMgmtElement.getElementsByTagName("dependency");
-            for (int i = 0; i < deps.getLength(); i++) {
-                Element dep = (Element) deps.item(i);
-                String gId = getTextContent(dep, "groupId");
-                String aId = getTextContent(dep, "artifactId");
-                String version = getTextContent(dep, "version");
-                if (gId != null && aId != null && version != null) {
-                    String key = gId + ":" + aId;
-                    versionMap.put(key, version);
-                }
-            }
-        }
-        return versionMap;
-    }
-    
-    /**
-     * Builds a lookup map for properties keyed by property name.
-     * Optimized property resolution from O(n) to O(1) lookups.
-     */
-    private Map<String, String> buildPropertiesMap(Document document) {
-        Map<String, String> propertiesMap = new HashMap<>();
-        NodeList properties = document.getElementsByTagName("properties");
-        if (properties.getLength() > 0) {
-            Element propsElement = (Element) properties.item(0);
-            NodeList propertyNodes = propsElement.getChildNodes();
-            for (int i = 0; i < propertyNodes.getLength(); i++) {
-                Node node = propertyNodes.item(i);
-                if (node.getNodeType() == Node.ELEMENT_NODE) {
-                    String propertyName = node.getNodeName();
-                    String propertyValue = node.getTextContent().trim();
-                    if (!propertyName.isEmpty() && !propertyValue.isEmpty()) {
-                        propertiesMap.put(propertyName, propertyValue);
-                    }
-                }
-            }
-        }
-        return propertiesMap;
-    }
-    
-    /**
-     * Resolves version using pre-built lookup maps for O(1) performance.
-     */
-    private String resolveVersionFromMaps(String groupId, String artifactId, 
-                                          Map<String, String> depMgmtVersions,
-                                          Map<String, String> propertiesMap,
-                                          Document document) {
-        String key = groupId + ":" + artifactId;
-        String version = depMgmtVersions.get(key);
-        if (version != null) {
-            // Resolve property if version is a property reference
-            return resolvePropertyFromMap(version, propertiesMap);
-        }
-        return null;
-    }
-    
-    /**
-     * Resolves property using pre-built lookup map for O(1) performance.
-     */
-    private String resolvePropertyFromMap(String propertyValue, Map<String, String> propertiesMap) {
-        if (propertyValue != null && propertyValue.startsWith("${") && propertyValue.endsWith("}")) {
-            String propertyName = propertyValue.substring(2, propertyValue.length() - 1);
-            return propertiesMap.get(propertyName);
-        }
-        return propertyValue;
+    // Unresolved property references are reported as unknown versions
+    private String orUnknown(String value) {
+        return value != null && !value.contains("${") ? value : "unknown";
     }
 }
-
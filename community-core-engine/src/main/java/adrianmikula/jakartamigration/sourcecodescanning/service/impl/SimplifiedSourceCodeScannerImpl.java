@@ -8,7 +8,6 @@
 import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.J.CompilationUnit;
 import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
@@ -20,6 +19,7 @@
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
 
 /**
@@ -95,11 +95,12 @@ public FileUsage scanFile(Path filePath) {
 
         try {
             String content = Files.readString(filePath);
-            int lineCount = countLines(content);
+            LineIndex lineIndex = LineIndex.of(content);
+            int lineCount = lineIndex.lineCount();
 
             // Simple regex-based import detection - no complex AST parsing
             List<ImportStatement> imports = new ArrayList<>();
-            imports.addAll(extractJavaxImports(content));
+            imports.addAll(extractJavaxImports(content, lineIndex));
 
             return new FileUsage(filePath, imports, lineCount);
 
@@ -112,26 +113,19 @@ public FileUsage scanFile(Path filePath) {
     /**
      * Extracts javax.* imports from a compilation unit.
      */
-    private List<ImportStatement> extractJavaxImports(String content) {
-        return extractJavaxImports(null, content, 0);
-    }
-    
-    /**
-     * Extracts javax.* imports from a compilation unit with line tracking.
-     */
-    private List<ImportStatement> extractJavaxImports(CompilationUnit cu, String content, int startLine) {
+    private List<ImportStatement> extractJavaxImports(String content, LineIndex lineIndex) {
         List<ImportStatement> imports = new ArrayList<>();
         
         Matcher javaxMatcher = JAVAX_IMPORT_PATTERN.matcher(content);
         while (javaxMatcher.find()) {
-            imports.add(new ImportStatement(javaxMatcher.group(), "javax", "jakarta", startLine));
-            startLine++;
+            imports.add(new ImportStatement(javaxMatcher.group(), "javax", "jakarta",
+                    lineIndex.lineAt(javaxMatcher.start())));
         }
         
         Matcher jakartaMatcher = JAKARTA_IMPORT_PATTERN.matcher(content);
         while (jakartaMatcher.find()) {
-            imports.add(new ImportStatement(jakartaMatcher.group(), "jakarta", "javax", startLine));
-            startLine++;
+            imports.add(new ImportStatement(jakartaMatcher.group(), "jakarta", "javax",
+                    lineIndex.lineAt(jakartaMatcher.start())));
         }
         
         return imports;
@@ -146,16 +140,6 @@ public List<XmlFileUsage> scanXmlFiles(Path projectPath) {
         return List.of();
     }
     
-    /**
-     * Simple line count
-     */
-    private int countLines(String content) {
-        if (content == null || content.isEmpty()) {
-            return 0;
-        }
-        return content.split("\n").length;
-    }
-
     /**
      * Discover Java files - reuse existing utility
      */
@@ -0,0 +1,323 @@
+package adrianmikula.jakartamigration.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the {@code package} and {@code import} declarations of a Java source file without parsing it.
+ * <p>
+ * A minimal tokenizer walks the file header and stops at the first type declaration (or module
+ * declaration), so the cost depends on the size of the header rather than the size of the file.
+ * Comments, string and character literals and text blocks are skipped as whole tokens, so an
+ * {@code import} inside them is never reported. Annotations before the package or type declaration,
+ * including their arguments, are skipped.
+ * <p>
+ * Line numbers are 1-based and count {@code '\n'} like {@link LineIndex}; the line of an import is the
+ * line of its {@code import} keyword. A malformed header ends the scan; the declarations read up to
+ * that point are returned.
+ */
+public final class JavaImportLexer {
+
+    private JavaImportLexer() {
+    }
+
+    /**
+     * An import declaration.
+     *
+     * @param name     imported name as written without whitespace or comments, e.g. {@code javax.persistence.*}
+     * @param isStatic true for {@code import static}
+     * @param line     line of the {@code import} keyword
+     */
+    public record Import(String name, boolean isStatic, int line) {
+
+        /**
+         * Returns true for on-demand imports such as {@code javax.persistence.*}.
+         */
+        public boolean isWildcard() {
+            return name.endsWith(".*");
+        }
+    }
+
+    /**
+     * The declarations before the first type declaration.
+     *
+     * @param packageName declared package, or null for the default package
+     * @param packageLine line of the {@code package} keyword, or 0 if there is none
+     * @param imports     import declarations in source order
+     */
+    public record Header(String packageName, int packageLine, List<Import> imports) {
+    }
+
+    /**
+     * Reads the header of a Java source file.
+     *
+     * @param content file content
+     * @return package and imports of the file
+     */
+    public static Header scan(CharSequence content) {
+        Objects.requireNonNull(content, "content cannot be null");
+
+        Cursor cursor = new Cursor(content);
+        String packageName = null;
+        int packageLine = 0;
+        List<Import> imports = new ArrayList<>();
+
+        while (cursor.next()) {
+            if (cursor.isSymbol(';')) {
+                continue;
+            }
+            if (cursor.isSymbol('@')) {
+                if (!skipAnnotation(cursor)) {
+                    break;
+                }
+                continue;
+            }
+            if (cursor.isIdentifier("package")) {
+                int line = cursor.tokenLine;
+                String name = readQualifiedName(cursor, false);
+                if (name == null) {
+                    break;
+                }
+                packageName = name;
+                packageLine = line;
+                continue;
+            }
+            if (cursor.isIdentifier("import")) {
+                int line = cursor.tokenLine;
+                int afterImport = cursor.pos;
+                int lineAfterImport = cursor.line;
+                boolean isStatic = cursor.next() && cursor.isIdentifier("static");
+                if (!isStatic) {
+                    cursor.reset(afterImport, lineAfterImport);
+                }
+                String name = readQualifiedName(cursor, true);
+                if (name == null) {
+                    break;
+                }
+                imports.add(new Import(name, isStatic, line));
+                continue;
+            }
+            // A modifier, class, interface, enum, record or module: the header is over
+            break;
+        }
+        return new Header(packageName, packageLine, List.copyOf(imports));
+    }
+
+    /**
+     * Reads a dotted name up to and including the terminating semicolon.
+     *
+     * @return the name, or null if the declaration is malformed
+     */
+    private static String readQualifiedName(Cursor cursor, boolean allowWildcard) {
+        StringBuilder name = new StringBuilder();
+        boolean expectIdentifier = true;
+        while (cursor.next()) {
+            if (expectIdentifier) {
+                if (cursor.kind == Kind.IDENTIFIER) {
+                    name.append(cursor.text);
+                } else if (allowWildcard && cursor.isSymbol('*') && name.length() > 0) {
+                    name.append('*');
+                } else {
+                    return null;
+                }
+                expectIdentifier = false;
+            } else if (cursor.isSymbol('.') && name.charAt(name.length() - 1) != '*') {
+                name.append('.');
+                expectIdentifier = true;
+            } else if (cursor.isSymbol(';')) {
+                return name.toString();
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Skips an annotation after its {@code @}, including its arguments.
+     *
+     * @return false if the annotation starts an annotation type declaration or is malformed
+     */
+    private static boolean skipAnnotation(Cursor cursor) {
+        if (!cursor.next() || cursor.kind != Kind.IDENTIFIER || cursor.isIdentifier("interface")) {
+            return false;
+        }
+        while (true) {
+            int pos = cursor.pos;
+            int line = cursor.line;
+            if (!cursor.next()) {
+                return true;
+            }
+            if (cursor.isSymbol('.')) {
+                if (!cursor.next() || cursor.kind != Kind.IDENTIFIER) {
+                    return false;
+                }
+            } else if (cursor.isSymbol('(')) {
+                return skipArguments(cursor);
+            } else {
+                cursor.reset(pos, line);
+                return true;
+            }
+        }
+    }
+
+    private static boolean skipArguments(Cursor cursor) {
+        int depth = 1;
+        while (cursor.next()) {
+            if (cursor.isSymbol('(')) {
+                depth++;
+            } else if (cursor.isSymbol(')') && --depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum Kind {
+        IDENTIFIER,
+        SYMBOL,
+        LITERAL
+    }
+
+    /**
+     * Tokenizer over the content. Whitespace and comments are skipped between tokens.
+     */
+    private static final class Cursor {
+
+        private final CharSequence content;
+        private final int length;
+        private int pos;
+        private int line = 1;
+
+        private Kind kind;
+        private String text;
+        private char symbol;
+        private int tokenLine;
+
+        private Cursor(CharSequence content) {
+            this.content = content;
+            this.length = content.length();
+        }
+
+        private void reset(int pos, int line) {
+            this.pos = pos;
+            this.line = line;
+        }
+
+        private boolean isSymbol(char c) {
+            return kind == Kind.SYMBOL && symbol == c;
+        }
+
+        private boolean isIdentifier(String identifier) {
+            return kind == Kind.IDENTIFIER && text.equals(identifier);
+        }
+
+        /**
+         * Reads the next token.
+         *
+         * @return false at the end of the content
+         */
+        private boolean next() {
+            if (!skipWhitespaceAndComments()) {
+                return false;
+            }
+            tokenLine = line;
+            char c = content.charAt(pos);
+            if (Character.isJavaIdentifierStart(c)) {
+                int start = pos++;
+                while (pos < length && Character.isJavaIdentifierPart(content.charAt(pos))) {
+                    pos++;
+                }
+                kind = Kind.IDENTIFIER;
+                text = content.subSequence(start, pos).toString();
+            } else if (c == '"' && startsWith("\"\"\"")) {
+                skipTextBlock();
+                kind = Kind.LITERAL;
+            } else if (c == '"' || c == '\'') {
+                skipQuoted(c);
+                kind = Kind.LITERAL;
+            } else {
+                pos++;
+                kind = Kind.SYMBOL;
+                symbol = c;
+            }
+            return true;
+        }
+
+        private boolean skipWhitespaceAndComments() {
+            while (pos < length) {
+                char c = content.charAt(pos);
+                if (c == '\n') {
+                    line++;
+                    pos++;
+                } else if (Character.isWhitespace(c)) {
+                    pos++;
+                } else if (startsWith("//")) {
+                    while (pos < length && content.charAt(pos) != '\n') {
+                        pos++;
+                    }
+                } else if (startsWith("/*")) {
+                    pos += 2;
+                    while (pos < length && !startsWith("*/")) {
+                        advance();
+                    }
+                    pos = Math.min(length, pos + 2);
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void skipTextBlock() {
+            pos += 3;
+            while (pos < length && !startsWith("\"\"\"")) {
+                if (content.charAt(pos) == '\\') {
+                    pos++;
+                    if (pos >= length) {
+                        return;
+                    }
+                }
+                advance();
+            }
+            pos = Math.min(length, pos + 3);
+        }
+
+        private void skipQuoted(char quote) {
+            pos++;
+            while (pos < length) {
+                char c = content.charAt(pos);
+                if (c == quote) {
+                    pos++;
+                    return;
+                }
+                if (c == '\n') {
+                    // Unterminated literal; the line break belongs to the whitespace
+                    return;
+                }
+                pos += c == '\\' ? 2 : 1;
+            }
+            pos = Math.min(pos, length);
+        }
+
+        private void advance() {
+            if (content.charAt(pos) == '\n') {
+                line++;
+            }
+            pos++;
+        }
+
+        private boolean startsWith(String prefix) {
+            if (pos + prefix.length() > length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (content.charAt(pos + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package adrianmikula.jakartamigration.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.internal.JavaTypeCache;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide pool of {@link JavaParser} instances, each with its own {@link JavaTypeCache}.
+ * <p>
+ * Building a parser and filling its type cache is expensive. Per-scanner thread-local parsers
+ * die with the scan's pool threads, so every scan paid that cost again for every scanner.
+ * Parsers are instead checked out for the duration of one parse and returned afterwards;
+ * at most {@code maxIdle} parsers are kept, extra parsers are discarded on return.
+ * <p>
+ * A parser is not thread-safe, but a leased parser is used by one thread only. Its type cache
+ * stays with it, so a parser never sees types another thread is still building; the cache is
+ * kept across leases and cleared when it grows past its entry limit.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (JavaParserPool.Lease lease = JavaParserPool.shared().lease()) {
+ *     lease.parser().parse(content);
+ * }
+ * </pre>
+ */
+@Slf4j
+public final class JavaParserPool {
+
+    private static final int DEFAULT_MAX_IDLE = Integer.getInteger(
+            "java.parser.pool.size", Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    private static final int DEFAULT_MAX_TYPE_CACHE_ENTRIES = Integer.getInteger(
+            "java.parser.type.cache.entries", 100_000);
+
+    private static final JavaParserPool SHARED = new JavaParserPool(DEFAULT_MAX_IDLE, DEFAULT_MAX_TYPE_CACHE_ENTRIES);
+
+    private final BlockingQueue<PooledParser> idle;
+    private final int maxTypeCacheEntries;
+    private final AtomicInteger created = new AtomicInteger();
+
+    /**
+     * @param maxIdle               maximum number of parsers kept for reuse
+     * @param maxTypeCacheEntries   number of entries after which a parser's type cache is cleared
+     */
+    public JavaParserPool(int maxIdle, int maxTypeCacheEntries) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("maxIdle must be at least 1");
+        }
+        if (maxTypeCacheEntries < 1) {
+            throw new IllegalArgumentException("maxTypeCacheEntries must be at least 1");
+        }
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+        this.maxTypeCacheEntries = maxTypeCacheEntries;
+    }
+
+    /**
+     * Returns the pool shared by all scanners in this process.
+     */
+    public static JavaParserPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks out a parser, building a new one if none is idle. Never blocks.
+     *
+     * @return lease that returns the parser to the pool when closed
+     */
+    public Lease lease() {
+        PooledParser parser = idle.poll();
+        if (parser == null) {
+            JavaTypeCache typeCache = new BoundedJavaTypeCache(maxTypeCacheEntries);
+            parser = new PooledParser(JavaParser.fromJavaVersion().typeCache(typeCache).build(), typeCache);
+            int total = created.incrementAndGet();
+            log.debug("Created pooled JavaParser ({} in total)", total);
+        }
+        return new Lease(parser);
+    }
+
+    /**
+     * Returns the number of parsers built by this pool so far.
+     */
+    public int createdCount() {
+        return created.get();
+    }
+
+    /**
+     * Returns the number of parsers currently available for reuse.
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of entries in the type caches of the idle parsers.
+     */
+    public int typeCacheSize() {
+        int size = 0;
+        for (PooledParser parser : idle) {
+            size += parser.typeCache().size();
+        }
+        return size;
+    }
+
+    private void release(PooledParser parser) {
+        try {
+            // Drops the compilation units of the last parse so that idle parsers hold no trees
+            parser.parser().reset();
+        } catch (RuntimeException e) {
+            log.debug("Discarding JavaParser that failed to reset: {}", e.getMessage());
+            return;
+        }
+        idle.offer(parser);
+    }
+
+    /**
+     * A parser checked out of the pool. Closing the lease returns the parser; closing twice has no effect.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private PooledParser parser;
+
+        private Lease(PooledParser parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Returns the leased parser.
+         *
+         * @throws IllegalStateException if the lease was already closed
+         */
+        public JavaParser parser() {
+            if (parser == null) {
+                throw new IllegalStateException("Lease already closed");
+            }
+            return parser.parser();
+        }
+
+        @Override
+        public void close() {
+            PooledParser leased = parser;
+            if (leased != null) {
+                parser = null;
+                release(leased);
+            }
+        }
+    }
+
+    private record PooledParser(JavaParser parser, JavaTypeCache typeCache) {
+    }
+
+    /**
+     * Type cache owned by one parser. Only the thread holding the parser's lease touches it.
+     */
+    private static final class BoundedJavaTypeCache extends JavaTypeCache {
+
+        private final int maxEntries;
+
+        private BoundedJavaTypeCache(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        public void put(String signature, Object o) {
+            if (size() >= maxEntries) {
+                log.debug("Parser type cache reached {} entries, clearing", maxEntries);
+                clear();
+            }
+            super.put(signature, o);
+        }
+    }
+}
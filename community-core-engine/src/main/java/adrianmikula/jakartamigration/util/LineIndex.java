@@ -0,0 +1,149 @@
+package adrianmikula.jakartamigration.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Newline offset index over a file's content, built once per file.
+ * <p>
+ * Maps character offsets (e.g. {@link java.util.regex.Matcher#start()}) to 1-based line and
+ * column numbers with a binary search, instead of splitting the content into a {@code String[]}
+ * and scanning it line by line for every finding.
+ * <p>
+ * Lines are separated by {@code '\n'}; a preceding {@code '\r'} stays part of the line, as it did
+ * with {@code content.split("\n")}.
+ */
+public final class LineIndex {
+
+    private static final int[] NO_NEWLINES = new int[0];
+
+    private final String content;
+
+    // Offsets of every '\n' in the content, ascending
+    private final int[] newlineOffsets;
+
+    private LineIndex(String content, int[] newlineOffsets) {
+        this.content = content;
+        this.newlineOffsets = newlineOffsets;
+    }
+
+    /**
+     * Builds the index for the given content.
+     *
+     * @param content file content
+     * @return the line index
+     */
+    public static LineIndex of(String content) {
+        Objects.requireNonNull(content, "content cannot be null");
+
+        int[] offsets = NO_NEWLINES;
+        int count = 0;
+        for (int i = content.indexOf('\n'); i >= 0; i = content.indexOf('\n', i + 1)) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(16, count * 2));
+            }
+            offsets[count++] = i;
+        }
+        return new LineIndex(content, count == offsets.length ? offsets : Arrays.copyOf(offsets, count));
+    }
+
+    /**
+     * Counts lines without building an index, ignoring trailing empty lines.
+     * Gives the same result as {@code content.split("\n").length}, and 0 for empty content.
+     *
+     * @param content file content, may be null
+     * @return the number of lines
+     */
+    public static int countLines(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int end = content.length();
+        while (end > 0 && content.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return 0;
+        }
+        int lines = 1;
+        for (int i = content.indexOf('\n'); i >= 0 && i < end; i = content.indexOf('\n', i + 1)) {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the indexed content.
+     */
+    public String content() {
+        return content;
+    }
+
+    /**
+     * Returns the number of lines, ignoring trailing empty lines, consistent with {@link #countLines(String)}.
+     */
+    public int lineCount() {
+        int end = content.length();
+        int newlines = newlineOffsets.length;
+        while (newlines > 0 && newlineOffsets[newlines - 1] == end - 1) {
+            newlines--;
+            end--;
+        }
+        return end == 0 ? 0 : newlines + 1;
+    }
+
+    /**
+     * Returns the 1-based line containing the given character offset.
+     *
+     * @param offset character offset into the content
+     * @return the line number
+     */
+    public int lineAt(int offset) {
+        checkOffset(offset);
+        // Line number = number of newlines strictly before the offset + 1
+        int index = Arrays.binarySearch(newlineOffsets, offset);
+        int newlinesBefore = index >= 0 ? index : -index - 1;
+        return newlinesBefore + 1;
+    }
+
+    /**
+     * Returns the 1-based column of the given character offset within its line.
+     *
+     * @param offset character offset into the content
+     * @return the column number
+     */
+    public int columnAt(int offset) {
+        int line = lineAt(offset);
+        int lineStart = line == 1 ? 0 : newlineOffsets[line - 2] + 1;
+        return offset - lineStart + 1;
+    }
+
+    /**
+     * Returns the 1-based line of the first occurrence of the text, or 1 if it does not occur.
+     *
+     * @param text text to search for; must not span lines
+     * @return the line number
+     */
+    public int findLine(String text) {
+        return findLine(text, 0);
+    }
+
+    /**
+     * Returns the 1-based line of the first occurrence of the text at or after the given offset,
+     * or 1 if it does not occur.
+     *
+     * @param text       text to search for; must not span lines
+     * @param fromOffset offset to start searching from
+     * @return the line number
+     */
+    public int findLine(String text, int fromOffset) {
+        int offset = content.indexOf(text, fromOffset);
+        return offset >= 0 ? lineAt(offset) : 1;
+    }
+
+    private void checkOffset(int offset) {
+        if (offset < 0 || offset > content.length()) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " outside content of length " + content.length());
+        }
+    }
+}
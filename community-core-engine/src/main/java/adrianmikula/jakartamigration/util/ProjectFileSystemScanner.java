@@ -6,6 +6,11 @@
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -54,15 +59,22 @@ public class ProjectFileSystemScanner {
             "docker-build"
     );
 
+    // Directory listing is I/O-bound (slow on network and overlay filesystems), so the
+    // parallel walker uses more threads than there are cores
+    private static final int DEFAULT_WALK_PARALLELISM =
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
     private final Set<String> ignoredDirNames;
     private final Path projectRoot;
     private final GitIgnoreService gitIgnoreService;
+    private final boolean excludeDirectories;
 
     // Private constructor for default scanner
     private ProjectFileSystemScanner(Set<String> ignoredDirNames, GitIgnoreService gitIgnoreService) {
         this.ignoredDirNames = ignoredDirNames;
         this.projectRoot = null;
         this.gitIgnoreService = gitIgnoreService;
+        this.excludeDirectories = true;
     }
 
     // Private constructor for gitignore-enabled scanner
@@ -70,6 +82,15 @@ private ProjectFileSystemScanner(Path projectRoot, GitIgnoreService gitIgnoreSer
         this.ignoredDirNames = DEFAULT_IGNORED_DIRECTORIES;
         this.projectRoot = projectRoot;
         this.gitIgnoreService = gitIgnoreService;
+        this.excludeDirectories = true;
+    }
+
+    // Private constructor for a scanner that visits every directory
+    private ProjectFileSystemScanner(boolean excludeDirectories) {
+        this.ignoredDirNames = Set.of();
+        this.projectRoot = null;
+        this.gitIgnoreService = null;
+        this.excludeDirectories = excludeDirectories;
     }
 
     /**
@@ -90,6 +111,16 @@ public static ProjectFileSystemScanner withGitIgnore(Path projectRoot) {
         return new ProjectFileSystemScanner(projectRoot, gitIgnoreService);
     }
 
+    /**
+     * Creates a ProjectFileSystemScanner that ignores no directories, for detection
+     * that needs build outputs and server installations (e.g. {@code target/*.war}, {@code bin/}).
+     *
+     * @return scanner without exclusions
+     */
+    public static ProjectFileSystemScanner withoutExclusions() {
+        return new ProjectFileSystemScanner(false);
+    }
+
     /**
      * Creates a ProjectFileSystemScanner with default exclusions only.
      * No .gitignore processing.
@@ -153,10 +184,165 @@ public FileVisitResult visitFileFailed(Path file, IOException exc) {
         return matchingFiles;
     }
 
+    /**
+     * Finds files matching the predicate with the parallel walker.
+     * Same files as {@link #findFiles(Path, Predicate)}, sorted by path since the parallel walk has no fixed order.
+     *
+     * @param projectPath The root path to search
+     * @param filter      Filter for files
+     * @return List of matching Paths, sorted
+     */
+    public List<Path> findFilesParallel(Path projectPath, Predicate<Path> filter) {
+        Queue<Path> matchingFiles = new ConcurrentLinkedQueue<>();
+        walkParallel(projectPath, filter, matchingFiles::add);
+        List<Path> sorted = new ArrayList<>(matchingFiles);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Walks the project with one fork/join task per directory and hands every matching file
+     * to the consumer as soon as it is found, so scanning can start before the walk finishes.
+     * Applies the same ignore rules as {@link #findFiles(Path, Predicate)}; symbolic links are
+     * not followed.
+     *
+     * @param projectPath The root path to walk
+     * @param filter      Filter for files
+     * @param consumer    Receives matching files; called concurrently from walker threads
+     * @return number of files passed to the consumer
+     */
+    public int walkParallel(Path projectPath, Predicate<Path> filter, Consumer<Path> consumer) {
+        return walkParallel(projectPath, filter, consumer, DEFAULT_WALK_PARALLELISM);
+    }
+
+    /**
+     * Walks the project in parallel with the given number of walker threads.
+     *
+     * @see #walkParallel(Path, Predicate, Consumer)
+     */
+    public int walkParallel(Path projectPath, Predicate<Path> filter, Consumer<Path> consumer, int parallelism) {
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+        return walkParallel(projectPath, filter, (file, attrs) -> consumer.accept(file), parallelism);
+    }
+
+    private int walkParallel(Path projectPath, Predicate<Path> filter, BiConsumer<Path, BasicFileAttributes> consumer,
+                             int parallelism) {
+        Objects.requireNonNull(projectPath, "projectPath cannot be null");
+        Objects.requireNonNull(filter, "filter cannot be null");
+
+        BasicFileAttributes rootAttrs;
+        try {
+            rootAttrs = Files.readAttributes(projectPath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            log.warn("Failed to visit file: {}. Reason: {}", projectPath, e.getMessage());
+            return 0;
+        }
+        if (!rootAttrs.isDirectory()) {
+            if (filter.test(projectPath)) {
+                consumer.accept(projectPath, rootAttrs);
+                return 1;
+            }
+            return 0;
+        }
+        if (isIgnored(projectPath)) {
+            return 0;
+        }
+
+        ForkJoinPool walkPool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            int found = walkPool.invoke(new DirectoryWalkTask(projectPath, filter, consumer));
+            log.debug("Parallel walk of {} found {} files", projectPath, found);
+            return found;
+        } finally {
+            walkPool.shutdown();
+        }
+    }
+
+    /**
+     * Lists one directory, passes its matching files to the consumer and forks a task per
+     * non-ignored subdirectory.
+     */
+    private final class DirectoryWalkTask extends RecursiveTask<Integer> {
+
+        private final Path directory;
+        private final Predicate<Path> filter;
+        private final BiConsumer<Path, BasicFileAttributes> consumer;
+
+        private DirectoryWalkTask(Path directory, Predicate<Path> filter, BiConsumer<Path, BasicFileAttributes> consumer) {
+            this.directory = directory;
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected Integer compute() {
+            List<DirectoryWalkTask> subtasks = new ArrayList<>();
+            int found = 0;
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        log.warn("Failed to visit file: {}. Reason: {}", entry, e.getMessage());
+                        continue;
+                    }
+
+                    if (attrs.isDirectory()) {
+                        if (!isIgnored(entry)) {
+                            DirectoryWalkTask subtask = new DirectoryWalkTask(entry, filter, consumer);
+                            subtask.fork();
+                            subtasks.add(subtask);
+                        }
+                    } else if (filter.test(entry)) {
+                        consumer.accept(entry, attrs);
+                        found++;
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                log.warn("Failed to visit directory: {}. Reason: {}", directory, e.getMessage());
+            }
+
+            for (DirectoryWalkTask subtask : subtasks) {
+                found += subtask.join();
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Walks the project once with the parallel walker and builds a categorized inventory of every
+     * non-ignored file, so that scanners can share it instead of each calling {@link #findFiles} again.
+     * Entries are sorted by path, as returned by {@link #findFilesParallel(Path, Predicate)}.
+     *
+     * @param projectPath The root path to walk
+     * @return the project inventory; empty if the tree cannot be walked
+     */
+    public ProjectInventory inventory(Path projectPath) {
+        Objects.requireNonNull(projectPath, "projectPath cannot be null");
+        Queue<ProjectInventory.FileEntry> found = new ConcurrentLinkedQueue<>();
+
+        walkParallel(projectPath, file -> true, (file, attrs) -> found.add(new ProjectInventory.FileEntry(
+                file,
+                attrs.size(),
+                attrs.lastModifiedTime().toMillis(),
+                attrs.isRegularFile(),
+                ProjectInventory.categorize(projectPath, file))), DEFAULT_WALK_PARALLELISM);
+
+        List<ProjectInventory.FileEntry> entries = new ArrayList<>(found);
+        entries.sort(Comparator.comparing(ProjectInventory.FileEntry::path));
+        log.debug("Inventory for {}: {} files", projectPath, entries.size());
+        return ProjectInventory.fromEntries(projectPath, entries);
+    }
+
     /**
      * Centralized ignore logic for directories.
      */
     public boolean isIgnored(Path path) {
+        if (!excludeDirectories) {
+            return false;
+        }
         String name = path.getFileName().toString();
         String fullPath = path.toString().toLowerCase();
         
@@ -0,0 +1,275 @@
+package adrianmikula.jakartamigration.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Categorized list of the files in a project, produced by a single file tree walk.
+ * <p>
+ * A scan builds one inventory and hands it to every scanner, instead of each scanner
+ * walking the tree again with {@link ProjectFileSystemScanner#findFiles}. Files are bucketed
+ * by {@link Category} (a file may be in several buckets, e.g. {@code pom.xml} is both
+ * {@link Category#XML} and {@link Category#BUILD}) and keep the size and modification time
+ * reported by the walk. Scanners with their own selection rules can filter the full list
+ * with {@link #findFiles(Predicate)}.
+ * <p>
+ * Lists are immutable and sorted by path, as the walk that builds the inventory is parallel.
+ */
+public final class ProjectInventory {
+
+    /**
+     * File buckets shared by the scanners.
+     */
+    public enum Category {
+        /** Java sources ({@code .java}) */
+        JAVA,
+        /** JSP pages ({@code .jsp}) */
+        JSP,
+        /** Any XML file, including descriptors and {@code pom.xml} */
+        XML,
+        /** Maven and Gradle build scripts */
+        BUILD,
+        /** Dockerfiles */
+        DOCKER,
+        /** Java sources under a test directory */
+        TEST,
+        /** XML, properties and YAML configuration files */
+        CONFIG
+    }
+
+    /**
+     * A file found by the walk, with the attributes read during the walk.
+     *
+     * @param path         file path
+     * @param size         size in bytes
+     * @param lastModified last modification time in epoch millis
+     * @param regularFile  whether the walk saw a regular file, as opposed to a symbolic link or other special file
+     * @param categories   buckets the file belongs to; empty for uncategorized files
+     */
+    public record FileEntry(Path path, long size, long lastModified, boolean regularFile, Set<Category> categories) {
+        public FileEntry {
+            Objects.requireNonNull(path, "path cannot be null");
+            categories = categories.isEmpty()
+                    ? Collections.emptySet()
+                    : Collections.unmodifiableSet(EnumSet.copyOf(categories));
+        }
+
+        public boolean isIn(Category category) {
+            return categories.contains(category);
+        }
+    }
+
+    private static final Set<String> TEST_DIRECTORIES = Set.of("test", "tests");
+
+    private final Path projectRoot;
+    private final List<FileEntry> entries;
+    private final Map<Category, List<Path>> filesByCategory;
+    private final Map<Path, FileEntry> entriesByPath;
+
+    private ProjectInventory(Path projectRoot, List<FileEntry> entries) {
+        this.projectRoot = projectRoot;
+        this.entries = List.copyOf(entries);
+
+        Map<Category, List<Path>> byCategory = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            byCategory.put(category, new ArrayList<>());
+        }
+        Map<Path, FileEntry> byPath = new HashMap<>();
+        for (FileEntry entry : this.entries) {
+            for (Category category : entry.categories()) {
+                byCategory.get(category).add(entry.path());
+            }
+            byPath.put(entry.path(), entry);
+        }
+        byCategory.replaceAll((category, files) -> List.copyOf(files));
+        this.filesByCategory = byCategory;
+        this.entriesByPath = byPath;
+    }
+
+    /**
+     * Walks the project once with the default exclusions and builds its inventory.
+     *
+     * @param projectRoot path to project root
+     * @return the inventory; empty if the tree cannot be walked
+     */
+    public static ProjectInventory scan(Path projectRoot) {
+        return new ProjectFileSystemScanner().inventory(projectRoot);
+    }
+
+    /**
+     * Creates an inventory from files that were already listed, reading no attributes.
+     * Sizes and modification times are reported as 0, and every file is taken to be a regular file.
+     *
+     * @param projectRoot path to project root
+     * @param files       files in the project
+     * @return the inventory
+     */
+    public static ProjectInventory of(Path projectRoot, List<Path> files) {
+        Objects.requireNonNull(projectRoot, "projectRoot cannot be null");
+        List<FileEntry> entries = new ArrayList<>(files.size());
+        for (Path file : files) {
+            entries.add(new FileEntry(file, 0L, 0L, true, categorize(projectRoot, file)));
+        }
+        return new ProjectInventory(projectRoot, entries);
+    }
+
+    static ProjectInventory fromEntries(Path projectRoot, List<FileEntry> entries) {
+        return new ProjectInventory(projectRoot, entries);
+    }
+
+    /**
+     * Determines the buckets of a file from its name and location.
+     *
+     * @param projectRoot path to project root
+     * @param file        file within the project
+     * @return the file's categories
+     */
+    public static Set<Category> categorize(Path projectRoot, Path file) {
+        String name = file.getFileName().toString();
+        String lowerName = name.toLowerCase();
+        Set<Category> categories = EnumSet.noneOf(Category.class);
+
+        if (lowerName.endsWith(".java")) {
+            categories.add(Category.JAVA);
+            if (isUnderTestDirectory(projectRoot, file)) {
+                categories.add(Category.TEST);
+            }
+        } else if (lowerName.endsWith(".jsp")) {
+            categories.add(Category.JSP);
+        }
+        if (lowerName.endsWith(".xml")) {
+            categories.add(Category.XML);
+        }
+        if (lowerName.endsWith(".xml") || lowerName.endsWith(".properties")
+                || lowerName.endsWith(".yaml") || lowerName.endsWith(".yml")) {
+            categories.add(Category.CONFIG);
+        }
+        if (name.equals("pom.xml") || name.startsWith("build.gradle")
+                || lowerName.endsWith(".gradle") || lowerName.endsWith(".gradle.kts")) {
+            categories.add(Category.BUILD);
+        }
+        if (name.equals("Dockerfile") || name.equals("dockerfile")) {
+            categories.add(Category.DOCKER);
+        }
+        return categories;
+    }
+
+    /**
+     * Returns the root the inventory was built for.
+     */
+    public Path projectRoot() {
+        return projectRoot;
+    }
+
+    /**
+     * Returns every file found by the walk.
+     */
+    public List<FileEntry> entries() {
+        return entries;
+    }
+
+    /**
+     * Returns the files in a bucket.
+     */
+    public List<Path> files(Category category) {
+        return filesByCategory.get(category);
+    }
+
+    /**
+     * Returns the files in any of the given buckets, each file once, in inventory order.
+     */
+    public List<Path> files(Category first, Category... rest) {
+        Set<Category> wanted = EnumSet.of(first, rest);
+        List<Path> files = new ArrayList<>();
+        for (FileEntry entry : entries) {
+            if (!Collections.disjoint(entry.categories(), wanted)) {
+                files.add(entry.path());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns the files whose name ends with one of the extensions, case-insensitively,
+     * like {@link ProjectFileSystemScanner#findFiles(Path, List)}.
+     */
+    public List<Path> findFiles(List<String> extensions) {
+        Set<String> suffixes = new LinkedHashSet<>(extensions);
+        return findFiles(path -> {
+            String fileName = path.getFileName().toString().toLowerCase();
+            return suffixes.stream().anyMatch(fileName::endsWith);
+        });
+    }
+
+    /**
+     * Returns the files that match the filter.
+     */
+    public List<Path> findFiles(Predicate<Path> filter) {
+        List<Path> files = new ArrayList<>();
+        for (FileEntry entry : entries) {
+            if (filter.test(entry.path())) {
+                files.add(entry.path());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns the entry for a file, if the walk found it.
+     */
+    public Optional<FileEntry> entry(Path file) {
+        return Optional.ofNullable(entriesByPath.get(file));
+    }
+
+    /**
+     * Returns the number of files in the inventory.
+     */
+    public int fileCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the combined size of all files in bytes.
+     */
+    public long totalBytes() {
+        long total = 0L;
+        for (FileEntry entry : entries) {
+            total += entry.size();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the combined size of the files in a bucket in bytes.
+     */
+    public long totalBytes(Category category) {
+        long total = 0L;
+        for (FileEntry entry : entries) {
+            if (entry.isIn(category)) {
+                total += entry.size();
+            }
+        }
+        return total;
+    }
+
+    private static boolean isUnderTestDirectory(Path projectRoot, Path file) {
+        Path relative = file.startsWith(projectRoot) ? projectRoot.relativize(file) : file;
+        for (int i = 0; i < relative.getNameCount() - 1; i++) {
+            if (TEST_DIRECTORIES.contains(relative.getName(i).toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
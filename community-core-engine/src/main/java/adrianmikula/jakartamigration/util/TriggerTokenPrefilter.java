@@ -0,0 +1,255 @@
+package adrianmikula.jakartamigration.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+
+/**
+ * Byte-level multi-pattern prefilter used to skip parsing files that cannot contain any findings.
+ * <p>
+ * Tokens are organised in groups (typically one group per scanner). A single Aho-Corasick pass
+ * over the raw file bytes reports which groups have at least one token present, so callers can
+ * parse only files that match and run only the scanners they are relevant to.
+ * A group without tokens is always reported as relevant.
+ * <p>
+ * Matching is case-sensitive and works on the UTF-8 encoding of the tokens. Instances are
+ * immutable and thread-safe.
+ */
+public final class TriggerTokenPrefilter {
+
+    // Files above this size are memory-mapped instead of read onto the heap
+    private static final long MAP_THRESHOLD_BYTES = 1024 * 1024;
+
+    private static final int MAX_GROUPS = Long.SIZE;
+
+    private final int groupCount;
+    private final long alwaysRelevantMask;
+    private final long allGroupsMask;
+
+    // Byte value -> alphabet index; 0 is shared by all bytes that appear in no token
+    private final int[] byteClasses;
+    private final int alphabetSize;
+
+    // Complete DFA: transitions[state * alphabetSize + class] -> next state
+    private final int[] transitions;
+
+    // Groups matched when the automaton reaches a state (includes failure-link outputs)
+    private final long[] outputs;
+
+    private TriggerTokenPrefilter(List<? extends Collection<String>> tokensByGroup) {
+        Objects.requireNonNull(tokensByGroup, "tokensByGroup cannot be null");
+        if (tokensByGroup.size() > MAX_GROUPS) {
+            throw new IllegalArgumentException("At most " + MAX_GROUPS + " token groups are supported");
+        }
+        this.groupCount = tokensByGroup.size();
+        this.allGroupsMask = groupCount == MAX_GROUPS ? -1L : (1L << groupCount) - 1;
+
+        List<byte[]> tokens = new ArrayList<>();
+        List<Integer> tokenGroups = new ArrayList<>();
+        long always = 0L;
+        for (int group = 0; group < groupCount; group++) {
+            Collection<String> groupTokens = tokensByGroup.get(group);
+            boolean hasToken = false;
+            if (groupTokens != null) {
+                for (String token : groupTokens) {
+                    if (token != null && !token.isEmpty()) {
+                        tokens.add(token.getBytes(StandardCharsets.UTF_8));
+                        tokenGroups.add(group);
+                        hasToken = true;
+                    }
+                }
+            }
+            if (!hasToken) {
+                always |= 1L << group;
+            }
+        }
+        this.alwaysRelevantMask = always;
+
+        this.byteClasses = new int[256];
+        int classes = 1;
+        for (byte[] token : tokens) {
+            for (byte b : token) {
+                if (byteClasses[b & 0xFF] == 0) {
+                    byteClasses[b & 0xFF] = classes++;
+                }
+            }
+        }
+        this.alphabetSize = classes;
+
+        // Build the trie, using -1 for missing edges
+        List<int[]> edges = new ArrayList<>();
+        List<Long> stateOutputs = new ArrayList<>();
+        edges.add(newEdgeRow());
+        stateOutputs.add(0L);
+        for (int i = 0; i < tokens.size(); i++) {
+            int state = 0;
+            for (byte b : tokens.get(i)) {
+                int symbol = byteClasses[b & 0xFF];
+                int next = edges.get(state)[symbol];
+                if (next < 0) {
+                    next = edges.size();
+                    edges.get(state)[symbol] = next;
+                    edges.add(newEdgeRow());
+                    stateOutputs.add(0L);
+                }
+                state = next;
+            }
+            stateOutputs.set(state, stateOutputs.get(state) | (1L << tokenGroups.get(i)));
+        }
+
+        // Breadth-first pass: resolve failure links and complete the transition table
+        int stateCount = edges.size();
+        this.transitions = new int[stateCount * alphabetSize];
+        this.outputs = new long[stateCount];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = edges.get(0)[symbol];
+            if (next > 0) {
+                failure[next] = 0;
+                transitions[symbol] = next;
+                queue.add(next);
+            } else {
+                transitions[symbol] = 0;
+            }
+        }
+        outputs[0] = stateOutputs.get(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = stateOutputs.get(state) | outputs[failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = edges.get(state)[symbol];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * alphabetSize + symbol];
+                    transitions[state * alphabetSize + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + symbol] = transitions[failure[state] * alphabetSize + symbol];
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a prefilter with a single group of tokens.
+     *
+     * @param tokens trigger tokens; the file matches if any of them occurs
+     * @return the prefilter
+     */
+    public static TriggerTokenPrefilter of(Collection<String> tokens) {
+        return new TriggerTokenPrefilter(List.of(tokens));
+    }
+
+    /**
+     * Creates a prefilter with one group of tokens per entry.
+     *
+     * @param tokensByGroup trigger tokens for each group; an empty group is always relevant
+     * @return the prefilter
+     */
+    public static TriggerTokenPrefilter forGroups(List<? extends Collection<String>> tokensByGroup) {
+        return new TriggerTokenPrefilter(tokensByGroup);
+    }
+
+    /**
+     * Returns the number of token groups.
+     */
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /**
+     * Returns the groups with at least one token present in the content.
+     *
+     * @param content raw file bytes
+     * @return indexes of the relevant groups
+     */
+    public BitSet match(byte[] content) {
+        return toBitSet(scan(ByteBuffer.wrap(content), false));
+    }
+
+    /**
+     * Returns the groups with at least one token present in the file.
+     * Large files are memory-mapped rather than read onto the heap.
+     *
+     * @param file file to scan
+     * @return indexes of the relevant groups
+     * @throws IOException if the file cannot be read
+     */
+    public BitSet match(Path file) throws IOException {
+        return toBitSet(scanFile(file, false));
+    }
+
+    /**
+     * Returns true if any group is relevant to the content. Stops at the first token found.
+     */
+    public boolean matchesAny(byte[] content) {
+        return alwaysRelevantMask != 0 || scan(ByteBuffer.wrap(content), true) != 0;
+    }
+
+    /**
+     * Returns true if any group is relevant to the file. Stops at the first token found.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public boolean matchesAny(Path file) throws IOException {
+        return alwaysRelevantMask != 0 || scanFile(file, true) != 0;
+    }
+
+    private long scanFile(Path file, boolean stopAtFirstMatch) throws IOException {
+        if (Files.size(file) <= MAP_THRESHOLD_BYTES) {
+            return scan(ByteBuffer.wrap(Files.readAllBytes(file)), stopAtFirstMatch);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), stopAtFirstMatch);
+        }
+    }
+
+    /**
+     * Runs the automaton over the buffer and returns the mask of relevant groups.
+     * Stops early once every group has matched, or at the first match when the caller
+     * only needs to know whether anything matched.
+     */
+    private long scan(ByteBuffer buffer, boolean stopAtFirstMatch) {
+        long found = alwaysRelevantMask;
+        if (found == allGroupsMask || alphabetSize == 1) {
+            return found;
+        }
+
+        int state = 0;
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+            state = transitions[state * alphabetSize + byteClasses[buffer.get(i) & 0xFF]];
+            long output = outputs[state];
+            if (output != 0) {
+                found |= output;
+                if (stopAtFirstMatch || found == allGroupsMask) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private int[] newEdgeRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static BitSet toBitSet(long mask) {
+        return BitSet.valueOf(new long[]{mask});
+    }
+}
@@ -0,0 +1,398 @@
+package adrianmikula.jakartamigration.util;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams an XML descriptor (web.xml, persistence.xml, Spring contexts, WSDLs, ...) once with a
+ * {@link XMLStreamReader} and reports what a Jakarta migration has to change: namespace declarations,
+ * {@code xsi:schemaLocation} entries and {@code javax.*} class references in text and attribute values.
+ * <p>
+ * Unlike reading the whole file into a String and running regexes over it, memory stays constant
+ * apart from the largest single text node, and comments are never reported. Line numbers are exact:
+ * text findings are located from the parser's {@link Location}, and attribute findings from the raw
+ * text of their start tag, which is kept in a small window of recently read characters. If a start
+ * tag is longer than that window, its attributes are reported on the line where the tag ends.
+ * <p>
+ * DTDs and external entities are never loaded. A file that is not well-formed yields the findings
+ * read before the error, with {@link Result#complete()} false.
+ */
+public final class XmlDescriptorScanner {
+
+    private static final String XSI_NAMESPACE = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+
+    // javax.* qualified names; a trailing dot (end of a sentence) is not part of the name
+    private static final Pattern JAVAX_REFERENCE = Pattern.compile("javax\\.[A-Za-z_$][\\w$]*(?:\\.[A-Za-z_$][\\w$]*)*");
+
+    // Raw characters kept for locating attributes; must exceed the parser's read-ahead plus a start tag
+    private static final int RAW_WINDOW_CHARS = 64 * 1024;
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private XmlDescriptorScanner() {
+    }
+
+    /**
+     * A namespace declaration.
+     *
+     * @param prefix declared prefix, empty for the default namespace
+     * @param uri    namespace URI
+     * @param line   line of the {@code xmlns} attribute
+     */
+    public record Namespace(String prefix, String uri, int line) {
+    }
+
+    /**
+     * An entry of {@code xsi:schemaLocation} or {@code xsi:noNamespaceSchemaLocation}.
+     *
+     * @param namespaceUri namespace the schema is for, or null for {@code noNamespaceSchemaLocation}
+     * @param location     schema location URI
+     * @param line         line of the attribute
+     */
+    public record SchemaLocation(String namespaceUri, String location, int line) {
+    }
+
+    /**
+     * A {@code javax.*} name in element text or an attribute value.
+     *
+     * @param className     the referenced name, e.g. {@code javax.servlet.http.HttpServlet}
+     * @param elementName   local name of the element containing the reference
+     * @param attributeName qualified name of the attribute, or null if the reference is in the element's text
+     * @param line          line of the reference
+     */
+    public record ClassReference(String className, String elementName, String attributeName, int line) {
+    }
+
+    /**
+     * Findings of one descriptor, in document order.
+     *
+     * @param namespaces      namespace declarations
+     * @param schemaLocations schema location entries
+     * @param classReferences javax class references
+     * @param complete        false if the document was not well-formed and was read only up to the error
+     */
+    public record Result(
+        List<Namespace> namespaces,
+        List<SchemaLocation> schemaLocations,
+        List<ClassReference> classReferences,
+        boolean complete
+    ) {
+        /**
+         * Returns true if nothing was found.
+         */
+        public boolean isEmpty() {
+            return namespaces.isEmpty() && schemaLocations.isEmpty() && classReferences.isEmpty();
+        }
+    }
+
+    /**
+     * Scans an XML file, decoded as UTF-8.
+     *
+     * @param file the file to scan
+     * @return findings of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static Result scan(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return scan(reader);
+        }
+    }
+
+    /**
+     * Scans an XML document. The reader is not closed.
+     *
+     * @param reader the document
+     * @return findings of the document
+     * @throws IOException if the document cannot be read
+     */
+    public static Result scan(Reader reader) throws IOException {
+        Objects.requireNonNull(reader, "reader cannot be null");
+        return new Scan(new RecentCharsReader(reader, RAW_WINDOW_CHARS)).run();
+    }
+
+    private static XMLInputFactory createFactory() {
+        // The JDK's built-in parser, whose locations point at the end of each event
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        // One event per text node, so a class name is never split across events
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * State of one scan.
+     */
+    private static final class Scan {
+
+        private final RecentCharsReader raw;
+        private final List<Namespace> namespaces = new ArrayList<>();
+        private final List<SchemaLocation> schemaLocations = new ArrayList<>();
+        private final List<ClassReference> classReferences = new ArrayList<>();
+        private final Deque<String> elements = new ArrayDeque<>();
+
+        private Scan(RecentCharsReader raw) {
+            this.raw = raw;
+        }
+
+        private Result run() throws IOException {
+            XMLStreamReader reader = null;
+            boolean complete = true;
+            try {
+                reader = FACTORY.createXMLStreamReader(raw);
+                int previousEnd = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    Location location = reader.getLocation();
+                    switch (event) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            elements.push(reader.getLocalName());
+                            startElement(reader, previousEnd, location);
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> elements.poll();
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text(reader.getText(), location);
+                        default -> {
+                            // Comments, processing instructions and the DTD are not scanned
+                        }
+                    }
+                    previousEnd = Math.max(0, location.getCharacterOffset());
+                }
+            } catch (XMLStreamException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                complete = false;
+            } finally {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (XMLStreamException e) {
+                        // Nothing to release beyond the underlying reader, which the caller owns
+                    }
+                }
+            }
+            return new Result(List.copyOf(namespaces), List.copyOf(schemaLocations), List.copyOf(classReferences), complete);
+        }
+
+        private void startElement(XMLStreamReader reader, int previousEnd, Location location) {
+            AttributeLines attributeLines = null;
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                String prefix = reader.getNamespacePrefix(i);
+                String attributeName = prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix;
+                if (attributeLines == null) {
+                    attributeLines = attributeLines(reader, previousEnd, location);
+                }
+                namespaces.add(new Namespace(prefix == null ? "" : prefix, reader.getNamespaceURI(i),
+                        attributeLines.lineOf(attributeName)));
+            }
+
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String value = reader.getAttributeValue(i);
+                String namespace = reader.getAttributeNamespace(i);
+                String localName = reader.getAttributeLocalName(i);
+                boolean schemaLocation = XSI_NAMESPACE.equals(namespace)
+                        && (localName.equals("schemaLocation") || localName.equals("noNamespaceSchemaLocation"));
+                if (!schemaLocation && !value.contains("javax.")) {
+                    continue;
+                }
+
+                String prefix = reader.getAttributePrefix(i);
+                String attributeName = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+                if (attributeLines == null) {
+                    attributeLines = attributeLines(reader, previousEnd, location);
+                }
+                int line = attributeLines.lineOf(attributeName);
+
+                if (schemaLocation) {
+                    addSchemaLocations(localName, value, line);
+                } else {
+                    Matcher matcher = JAVAX_REFERENCE.matcher(value);
+                    while (matcher.find()) {
+                        classReferences.add(new ClassReference(matcher.group(), elements.peek(), attributeName, line));
+                    }
+                }
+            }
+        }
+
+        private void addSchemaLocations(String localName, String value, int line) {
+            String[] tokens = value.trim().split("\\s+");
+            if (localName.equals("noNamespaceSchemaLocation")) {
+                if (!tokens[0].isEmpty()) {
+                    schemaLocations.add(new SchemaLocation(null, tokens[0], line));
+                }
+                return;
+            }
+            // Namespace and location alternate; an odd trailing token has no location
+            for (int i = 0; i + 1 < tokens.length; i += 2) {
+                schemaLocations.add(new SchemaLocation(tokens[i], tokens[i + 1], line));
+            }
+        }
+
+        private void text(String text, Location end) {
+            if (!text.contains("javax.")) {
+                return;
+            }
+            // The location is at the end of the text; count back the line breaks that follow each match
+            int newlinesAfter = countNewlines(text, 0, text.length());
+            int consumed = 0;
+            Matcher matcher = JAVAX_REFERENCE.matcher(text);
+            while (matcher.find()) {
+                newlinesAfter -= countNewlines(text, consumed, matcher.start());
+                consumed = matcher.start();
+                classReferences.add(new ClassReference(matcher.group(), elements.peek(), null,
+                        Math.max(1, end.getLineNumber() - newlinesAfter)));
+            }
+        }
+
+        private AttributeLines attributeLines(XMLStreamReader reader, int previousEnd, Location end) {
+            int tagEnd = end.getCharacterOffset();
+            // The previous event's location may include up to two characters of this tag
+            String window = raw.slice(Math.max(0, previousEnd - 2), tagEnd);
+            String tagName = reader.getPrefix() == null || reader.getPrefix().isEmpty()
+                    ? reader.getLocalName()
+                    : reader.getPrefix() + ":" + reader.getLocalName();
+            int tagStart = window != null ? window.lastIndexOf("<" + tagName) : -1;
+            if (tagStart < 0) {
+                return new AttributeLines(Map.of(), end.getLineNumber());
+            }
+
+            String tag = window.substring(tagStart);
+            Map<String, Integer> lines = new HashMap<>();
+            int newlinesAfter = countNewlines(tag, 0, tag.length());
+            int consumed = 0;
+            int i = 1 + tagName.length();
+            while (i < tag.length()) {
+                char c = tag.charAt(i);
+                if (Character.isWhitespace(c) || c == '/' || c == '>') {
+                    i++;
+                    continue;
+                }
+                int nameStart = i;
+                while (i < tag.length() && tag.charAt(i) != '=' && !Character.isWhitespace(tag.charAt(i))) {
+                    i++;
+                }
+                String name = tag.substring(nameStart, i);
+                newlinesAfter -= countNewlines(tag, consumed, nameStart);
+                consumed = nameStart;
+                lines.putIfAbsent(name, end.getLineNumber() - newlinesAfter);
+
+                // Skip '=' and the quoted value
+                while (i < tag.length() && tag.charAt(i) != '"' && tag.charAt(i) != '\'') {
+                    i++;
+                }
+                if (i < tag.length()) {
+                    int close = tag.indexOf(tag.charAt(i), i + 1);
+                    i = close < 0 ? tag.length() : close + 1;
+                }
+            }
+            return new AttributeLines(lines, end.getLineNumber());
+        }
+    }
+
+    /**
+     * Lines of the attributes of one start tag.
+     */
+    private record AttributeLines(Map<String, Integer> lines, int tagEndLine) {
+
+        int lineOf(String attributeName) {
+            return lines.getOrDefault(attributeName, tagEndLine);
+        }
+    }
+
+    private static int countNewlines(CharSequence text, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reader that remembers the most recently read characters, so that the raw text of the
+     * current start tag can be recovered by character offset.
+     */
+    private static final class RecentCharsReader extends FilterReader {
+
+        private final char[] window;
+        private long position;
+
+        private RecentCharsReader(Reader in, int capacity) {
+            super(in);
+            this.window = new char[capacity];
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = in.read();
+            if (c >= 0) {
+                window[(int) (position++ % window.length)] = (char) c;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            for (int i = 0; i < n; i++) {
+                window[(int) (position++ % window.length)] = buffer[offset + i];
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Read through so that offsets stay in step with the parser
+            char[] discard = new char[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(discard, 0, (int) Math.min(discard.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Returns the characters between two offsets, or null if they are no longer retained.
+         */
+        String slice(long from, long to) {
+            if (to > position || from < position - window.length || from > to) {
+                return null;
+            }
+            StringBuilder slice = new StringBuilder((int) (to - from));
+            for (long i = from; i < to; i++) {
+                slice.append(window[(int) (i % window.length)]);
+            }
+            return slice.toString();
+        }
+    }
+}
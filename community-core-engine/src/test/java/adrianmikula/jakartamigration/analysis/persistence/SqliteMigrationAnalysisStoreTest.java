@@ -204,6 +204,44 @@ void shouldGetDatabasePath() {
         assertThat(dbPath).isEqualTo(tempDir.resolve(".jakarta-migration").resolve("jakarta-migration.db"));
     }
 
+    @Test
+    @DisplayName("Should save, replace and remove file scan index entries")
+    void shouldMaintainFileScanIndex() {
+        // Given
+        SqliteMigrationAnalysisStore.FileScanIndexEntry first = new SqliteMigrationAnalysisStore.FileScanIndexEntry(
+                "/src/A.java", 120, 1000L, "hash-a", "1", "{\"usages\":[]}");
+        SqliteMigrationAnalysisStore.FileScanIndexEntry second = new SqliteMigrationAnalysisStore.FileScanIndexEntry(
+                "/src/B.java", 80, 2000L, "hash-b", "1", null);
+
+        // When
+        store.saveFileScanIndexEntries(tempDir, "java-sources", List.of(first, second));
+        store.saveFileScanIndexEntries(tempDir, "java-sources", List.of(
+                new SqliteMigrationAnalysisStore.FileScanIndexEntry("/src/A.java", 130, 3000L, "hash-a2", "1", "{}")));
+        store.removeFileScanIndexEntries(tempDir, "java-sources", List.of("/src/B.java"));
+
+        // Then
+        Map<String, SqliteMigrationAnalysisStore.FileScanIndexEntry> index =
+                store.loadFileScanIndex(tempDir, "java-sources");
+        assertThat(index).containsOnlyKeys("/src/A.java");
+        assertThat(index.get("/src/A.java").contentHash()).isEqualTo("hash-a2");
+        assertThat(index.get("/src/A.java").fileSize()).isEqualTo(130);
+        assertThat(store.loadFileScanIndex(tempDir, "other-scan")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should clear file scan index")
+    void shouldClearFileScanIndex() {
+        // Given
+        store.saveFileScanIndexEntries(tempDir, "java-sources", List.of(
+                new SqliteMigrationAnalysisStore.FileScanIndexEntry("/src/A.java", 120, 1000L, "hash-a", "1", "{}")));
+
+        // When
+        store.clearFileScanIndex(tempDir);
+
+        // Then
+        assertThat(store.loadFileScanIndex(tempDir, "java-sources")).isEmpty();
+    }
+
     // Helper methods to create test data
 
     private DependencyAnalysisReport createSampleReport() {
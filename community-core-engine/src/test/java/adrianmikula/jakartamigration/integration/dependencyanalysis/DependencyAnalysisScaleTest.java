@@ -0,0 +1,105 @@
+package adrianmikula.jakartamigration.integration.dependencyanalysis;
+
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Blocker;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Namespace;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.NamespaceCompatibilityMap;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.TransitiveConflictReport;
+import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyAnalysisModule;
+import adrianmikula.jakartamigration.dependencyanalysis.service.ImprovedMavenCentralLookupService;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.DependencyAnalysisModuleImpl;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.JakartaMappingServiceImpl;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.MavenDependencyGraphBuilder;
+import adrianmikula.jakartamigration.dependencyanalysis.service.impl.SimpleNamespaceClassifier;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator.GeneratedProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scale test for dependency analysis of a generated Maven project with thousands of modules.
+ * The size can be raised with {@code -Dscale.test.modules=20000}.
+ */
+@Tag("slow") // Scale test - writes and analyses thousands of module poms
+class DependencyAnalysisScaleTest {
+
+    private static final int MODULES = Integer.getInteger("scale.test.modules", 2_000);
+
+    @TempDir
+    Path tempDir;
+
+    private CentralMigrationAnalysisStore analysisStore;
+    private DependencyAnalysisModule module;
+
+    @BeforeEach
+    void setUp() {
+        analysisStore = new CentralMigrationAnalysisStore(tempDir.resolve("central.db"));
+        module = new DependencyAnalysisModuleImpl(
+                new MavenDependencyGraphBuilder(),
+                new SimpleNamespaceClassifier(),
+                new JakartaMappingServiceImpl(),
+                new ImprovedMavenCentralLookupService(),
+                analysisStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analysisStore.close();
+    }
+
+    @Test
+    void shouldAnalyseEveryModuleOfLargeProject() throws IOException {
+        // Given - one Java file per module keeps the project small on disk
+        GeneratedProject project = SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder()
+                        .javaFiles(MODULES)
+                        .javaFilesPerModule(1)
+                        .jspsPerWebModule(0)
+                        .jarsPerWebModule(0)
+                        .build(),
+                tempDir.resolve("project"));
+        DependencyGraph graph = mergedModuleGraph(project.root());
+
+        // When
+        NamespaceCompatibilityMap namespaces = module.identifyNamespaces(graph);
+        List<Blocker> blockers = module.detectBlockers(graph);
+        TransitiveConflictReport conflicts = module.analyzeTransitiveConflicts(graph);
+
+        // Then
+        assertThat(graph.nodeCount()).isGreaterThan(MODULES);
+        assertThat(graph.edgeCount()).isGreaterThanOrEqualTo(MODULES);
+        assertThat(namespaces.get(graph.getNodes().stream()
+                .filter(artifact -> artifact.groupId().equals("javax.servlet"))
+                .findFirst()
+                .orElseThrow())).isEqualTo(Namespace.JAVAX);
+        // Every generated javax API has a Jakarta mapping
+        assertThat(blockers).isEmpty();
+        assertThat(conflicts.totalConflicts()).isPositive();
+    }
+
+    private static DependencyGraph mergedModuleGraph(Path root) throws IOException {
+        MavenDependencyGraphBuilder builder = new MavenDependencyGraphBuilder();
+        DependencyGraph merged = new DependencyGraph();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(file -> file.getFileName().toString().equals("pom.xml"))
+                    .map(builder::buildFromMaven)
+                    .forEach(graph -> {
+                        graph.getNodes().forEach(merged::addNode);
+                        graph.getEdges().forEach(merged::addEdge);
+                    });
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,154 @@
+package adrianmikula.jakartamigration.testfixtures;
+
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator.BuildTool;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator.GeneratedProject;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator.Spec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SyntheticProjectGenerator.
+ */
+class SyntheticProjectGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldWriteSameProjectForSameSeed() throws IOException {
+        // Given
+        Spec spec = Spec.builder().javaFiles(300).javaFilesPerModule(100).build();
+
+        // When
+        GeneratedProject first = SyntheticProjectGenerator.generate(spec, tempDir.resolve("first"));
+        GeneratedProject second = SyntheticProjectGenerator.generate(spec, tempDir.resolve("second"));
+
+        // Then
+        List<Path> firstFiles = relativeFiles(first.root());
+        assertThat(firstFiles).isEqualTo(relativeFiles(second.root()));
+        for (Path file : firstFiles) {
+            assertThat(Files.readAllBytes(second.root().resolve(file)))
+                    .as(file.toString())
+                    .isEqualTo(Files.readAllBytes(first.root().resolve(file)));
+        }
+        assertThat(second.javaxJavaFiles()).isEqualTo(first.javaxJavaFiles());
+    }
+
+    @Test
+    void shouldWriteMavenModuleHierarchy() throws IOException {
+        // Given
+        Spec spec = Spec.builder().javaFiles(250).javaFilesPerModule(50).modulesPerGroup(2).build();
+
+        // When
+        GeneratedProject project = SyntheticProjectGenerator.generate(spec, tempDir);
+
+        // Then
+        assertThat(project.modules()).isEqualTo(5);
+        assertThat(project.javaFiles()).isEqualTo(250);
+        assertThat(count(tempDir, ".java")).isEqualTo(250);
+        // Root, three groups and five modules
+        assertThat(project.buildFiles()).isEqualTo(9);
+        assertThat(Files.readString(tempDir.resolve("pom.xml")))
+                .contains("<module>group-000</module>", "<module>group-002</module>")
+                .contains("<javax.servlet-api.version>4.0.1</javax.servlet-api.version>");
+        assertThat(Files.readString(tempDir.resolve("group-002/pom.xml")))
+                .contains("<artifactId>synthetic-parent</artifactId>", "<module>module-0004</module>");
+        assertThat(Files.readString(tempDir.resolve("group-000/module-0001/pom.xml")))
+                .contains("<artifactId>group-000</artifactId>", "<artifactId>module-0000</artifactId>");
+        // Modules 0 and 4 are web applications
+        assertThat(project.jspFiles()).isEqualTo(2 * spec.jspsPerWebModule());
+        assertThat(project.xmlDescriptors()).isEqualTo(5 * 2 + 2);
+        assertThat(tempDir.resolve("group-002/module-0004/src/main/webapp/WEB-INF/web.xml")).exists();
+        assertThat(count(tempDir, ".jar")).isEqualTo(project.jarFiles()).isPositive();
+    }
+
+    @Test
+    void shouldWriteGradleMultiProject() throws IOException {
+        // Given
+        Spec spec = Spec.builder().buildTool(BuildTool.GRADLE).javaFiles(60).javaFilesPerModule(20).build();
+
+        // When
+        GeneratedProject project = SyntheticProjectGenerator.generate(spec, tempDir);
+
+        // Then
+        assertThat(tempDir.resolve("pom.xml")).doesNotExist();
+        assertThat(Files.readString(tempDir.resolve("settings.gradle")))
+                .contains("include ':group-000:module-0000'", "include ':group-000:module-0002'");
+        assertThat(Files.readString(tempDir.resolve("group-000/module-0002/build.gradle")))
+                .contains("implementation project(':group-000:module-0001')");
+        assertThat(project.buildFiles()).isEqualTo(2 + 3);
+    }
+
+    @Test
+    void shouldUseOnlyJavaxWhenJavaxRatioIsOne() throws IOException {
+        // Given
+        Spec spec = Spec.builder().javaFiles(200).javaFilesPerModule(50).eeRatio(1.0).javaxRatio(1.0).build();
+
+        // When
+        GeneratedProject project = SyntheticProjectGenerator.generate(spec, tempDir);
+
+        // Then
+        assertThat(project.javaxJavaFiles()).isEqualTo(200);
+        assertThat(project.jakartaJavaFiles()).isZero();
+        assertThat(contentsOf(tempDir)).noneMatch(content -> content.contains("jakarta."));
+    }
+
+    @Test
+    void shouldUseOnlyJakartaWhenJavaxRatioIsZero() throws IOException {
+        // Given
+        Spec spec = Spec.builder().javaFiles(200).javaFilesPerModule(50).eeRatio(0.5).javaxRatio(0.0).build();
+
+        // When
+        GeneratedProject project = SyntheticProjectGenerator.generate(spec, tempDir);
+
+        // Then
+        assertThat(project.javaxJavaFiles()).isZero();
+        assertThat(project.jakartaJavaFiles()).isBetween(50, 150);
+        assertThat(contentsOf(tempDir)).noneMatch(content -> content.contains("javax."));
+    }
+
+    @Test
+    void shouldRejectRatiosOutsideZeroToOne() {
+        assertThatThrownBy(() -> Spec.builder().javaxRatio(1.5).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Path> relativeFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).map(root::relativize).sorted().toList();
+        }
+    }
+
+    private static long count(Path root, String extension) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> file.toString().endsWith(extension)).count();
+        }
+    }
+
+    // Contents of module files; the root pom declares the versions of both namespaces
+    private static List<String> contentsOf(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getParent().equals(root))
+                    .filter(file -> !file.toString().endsWith(".jar"))
+                    .map(file -> {
+                        try {
+                            return Files.readString(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        }
+    }
+}
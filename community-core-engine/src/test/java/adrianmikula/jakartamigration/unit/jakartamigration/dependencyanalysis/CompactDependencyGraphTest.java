@@ -0,0 +1,119 @@
+package unit.jakartamigration.dependencyanalysis;
+
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Artifact;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.CompactDependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.CompactDependencyGraph.Direction;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Dependency;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Namespace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactDependencyGraph Tests")
+class CompactDependencyGraphTest {
+
+    private final Artifact app = new Artifact("com.example", "app", "1.0.0", "compile", false);
+    private final Artifact web = new Artifact("com.example", "web", "1.0.0", "compile", false);
+    private final Artifact servlet = new Artifact("javax.servlet", "servlet-api", "3.1.0", "compile", true);
+    private final Artifact annotation =
+            new Artifact("jakarta.annotation", "jakarta.annotation-api", "2.1.1", "compile", true);
+
+    private CompactDependencyGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        DependencyGraph source = new DependencyGraph();
+        source.addEdge(new Dependency(app, web, "compile", false));
+        source.addEdge(new Dependency(app, servlet, "compile", false));
+        source.addEdge(new Dependency(web, servlet, "compile", false));
+        source.addEdge(new Dependency(web, servlet, "test", false));
+        source.addEdge(new Dependency(web, annotation, "compile", false));
+        graph = CompactDependencyGraph.from(source, CompactDependencyGraphTest::namespaceOf);
+    }
+
+    @Test
+    @DisplayName("Should intern artifacts and collapse parallel edges")
+    void shouldInternArtifactsAndCollapseParallelEdges() {
+        // Then
+        assertEquals(4, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        int servletId = graph.idOf(servlet);
+        assertEquals(servlet, graph.artifact(servletId));
+        assertEquals(2, graph.inDegree(servletId));
+        assertEquals(Set.of(graph.idOf(app), graph.idOf(web)),
+                Set.of(graph.dependent(servletId, 0), graph.dependent(servletId, 1)));
+        assertEquals(-1, graph.idOf(new Artifact("com.example", "missing", "1.0.0", "compile", false)));
+    }
+
+    @Test
+    @DisplayName("Should keep namespace and compatibility flags")
+    void shouldKeepNamespaceFlags() {
+        // Then
+        assertTrue(graph.isJavax(graph.idOf(servlet)));
+        assertTrue(graph.isJakarta(graph.idOf(annotation)));
+        assertTrue(graph.isJakartaCompatible(graph.idOf(annotation)));
+        assertFalse(graph.isJavax(graph.idOf(app)));
+        assertEquals(1, graph.javaxArtifacts().cardinality());
+    }
+
+    @Test
+    @DisplayName("Should traverse dependencies and dependents")
+    void shouldTraverseInBothDirections() {
+        // Given
+        CompactDependencyGraph.Traversal traversal = graph.traversal();
+
+        // When
+        int fromApp = traversal.breadthFirst(graph.idOf(app), Direction.DEPENDENCIES);
+        int first = traversal.get(0);
+        int toServlet = traversal.depthFirst(graph.idOf(servlet), Direction.DEPENDENTS);
+
+        // Then
+        assertEquals(4, fromApp);
+        assertEquals(graph.idOf(app), first);
+        assertEquals(3, toServlet);
+        assertTrue(traversal.isReachable(graph.idOf(app), graph.idOf(annotation)));
+        assertFalse(traversal.isReachable(graph.idOf(annotation), graph.idOf(app)));
+    }
+
+    @Test
+    @DisplayName("Should find shortest path and enumerate all paths")
+    void shouldFindAndEnumeratePaths() {
+        // Given
+        CompactDependencyGraph.Traversal traversal = graph.traversal();
+        List<List<Artifact>> paths = new ArrayList<>();
+
+        // When
+        int shortest = traversal.shortestPath(graph.idOf(app), graph.idOf(servlet));
+        List<Artifact> shortestPath = List.of(graph.artifact(traversal.get(0)), graph.artifact(traversal.get(1)));
+        int count = traversal.forEachPath(graph.idOf(app), graph.idOf(servlet), 5, (path, length) -> {
+            List<Artifact> artifacts = new ArrayList<>();
+            for (int i = 0; i < length; i++) {
+                artifacts.add(graph.artifact(path[i]));
+            }
+            paths.add(artifacts);
+            return true;
+        });
+
+        // Then
+        assertEquals(2, shortest);
+        assertEquals(List.of(app, servlet), shortestPath);
+        assertEquals(2, count);
+        assertEquals(Set.of(List.of(app, servlet), List.of(app, web, servlet)), Set.copyOf(paths));
+        assertEquals(1, traversal.forEachPath(graph.idOf(app), graph.idOf(servlet), 1, (path, length) -> true));
+        assertEquals(0, traversal.shortestPath(graph.idOf(servlet), graph.idOf(app)));
+    }
+
+    private static Namespace namespaceOf(Artifact artifact) {
+        if (artifact.groupId().startsWith("javax.")) {
+            return Namespace.JAVAX;
+        }
+        return artifact.groupId().startsWith("jakarta.") ? Namespace.JAKARTA : Namespace.UNKNOWN;
+    }
+}
@@ -7,6 +7,9 @@
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("DependencyGraph Tests")
@@ -76,34 +79,75 @@ void shouldNotAddDuplicateNodes() {
     }
 
     @Test
-    @DisplayName("Should return immutable copy of nodes")
-    void shouldReturnImmutableNodesCopy() {
+    @DisplayName("Should return read-only view of nodes")
+    void shouldReturnReadOnlyNodesView() {
         // Given
         graph.addNode(artifact1);
         var nodes = graph.getNodes();
 
         // When
-        nodes.clear();
+        graph.addNode(artifact2);
 
         // Then
-        assertEquals(1, graph.nodeCount());
+        assertThrows(UnsupportedOperationException.class, nodes::clear);
+        assertEquals(2, nodes.size());
         assertTrue(graph.containsNode(artifact1));
     }
 
     @Test
-    @DisplayName("Should return immutable copy of edges")
-    void shouldReturnImmutableEdgesCopy() {
+    @DisplayName("Should return read-only view of edges")
+    void shouldReturnReadOnlyEdgesView() {
         // Given
         Dependency dependency = new Dependency(artifact1, artifact2, "compile", false);
         graph.addEdge(dependency);
         var edges = graph.getEdges();
 
+        // When & Then
+        assertThrows(UnsupportedOperationException.class, edges::clear);
+        assertEquals(1, graph.edgeCount());
+        assertTrue(edges.contains(dependency));
+    }
+
+    @Test
+    @DisplayName("Should index dependencies and dependents of each artifact")
+    void shouldIndexDependenciesAndDependents() {
+        // Given
+        Artifact artifact3 = new Artifact("com.example", "library3", "3.0.0", "compile", false);
+        Dependency oneToTwo = new Dependency(artifact1, artifact2, "compile", false);
+        Dependency oneToThree = new Dependency(artifact1, artifact3, "test", false);
+        Dependency twoToThree = new Dependency(artifact2, artifact3, "compile", false);
+
         // When
-        edges.clear();
+        graph.addEdge(oneToTwo);
+        graph.addEdge(oneToThree);
+        graph.addEdge(twoToThree);
+        graph.addEdge(oneToTwo);
 
         // Then
-        assertEquals(1, graph.edgeCount());
-        assertTrue(graph.containsEdge(dependency));
+        assertEquals(3, graph.edgeCount());
+        assertEquals(Set.of(oneToTwo, oneToThree), graph.getOutgoingEdges(artifact1));
+        assertEquals(Set.of(oneToThree, twoToThree), graph.getIncomingEdges(artifact3));
+        assertEquals(List.of(artifact2, artifact3), List.copyOf(graph.getDependencies(artifact1)));
+        assertEquals(Set.of(artifact1, artifact2), graph.getDependents(artifact3));
+        assertEquals(2, graph.outDegree(artifact1));
+        assertEquals(0, graph.outDegree(artifact3));
+        assertEquals(2, graph.inDegree(artifact3));
+        assertTrue(graph.getDependents(artifact1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should index edges of a deserialized graph")
+    void shouldIndexEdgesPassedToConstructor() {
+        // Given
+        Dependency dependency = new Dependency(artifact1, artifact2, "compile", false);
+
+        // When
+        DependencyGraph restored = new DependencyGraph(Set.of(artifact1), Set.of(dependency));
+
+        // Then
+        assertEquals(2, restored.nodeCount());
+        assertEquals(Set.of(artifact2), restored.getDependencies(artifact1));
+        assertEquals(Set.of(artifact1), restored.getDependents(artifact2));
     }
 
     @Test
@@ -0,0 +1,118 @@
+package unit.jakartamigration.dependencyanalysis;
+
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Artifact;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.CompactDependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Dependency;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyReachabilityIndex;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Namespace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DependencyReachabilityIndex Tests")
+class DependencyReachabilityIndexTest {
+
+    private final Artifact app = artifact("com.example", "app");
+    private final Artifact svc = artifact("com.example", "svc");
+    private final Artifact web = artifact("com.example", "web");
+    private final Artifact rest = artifact("com.example", "rest");
+    private final Artifact util = artifact("com.example", "util");
+    private final Artifact servlet = artifact("javax.servlet", "servlet-api");
+    private final Artifact mail = artifact("javax.mail", "mail");
+    private final Artifact cycleA = artifact("com.example", "cycle-a");
+    private final Artifact cycleB = artifact("com.example", "cycle-b");
+
+    private DependencyReachabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.addEdge(edge(app, web));
+        graph.addEdge(edge(app, rest));
+        graph.addEdge(edge(svc, rest));
+        graph.addEdge(edge(web, servlet));
+        graph.addEdge(edge(rest, servlet));
+        graph.addEdge(edge(web, util));
+        graph.addEdge(edge(util, servlet));
+        graph.addEdge(edge(servlet, mail));
+        graph.addEdge(edge(cycleA, cycleB));
+        graph.addEdge(edge(cycleB, cycleA));
+        index = DependencyReachabilityIndex.build(
+                CompactDependencyGraph.from(graph, DependencyReachabilityIndexTest::namespaceOf));
+    }
+
+    @Test
+    @DisplayName("Should find roots and direct dependencies that pull an artifact in")
+    void shouldFindRootsAndDirectDependencies() {
+        // Then
+        assertEquals(Set.of(app, svc), Set.copyOf(index.roots()));
+        assertEquals(Set.of(app, svc), Set.copyOf(index.rootsReaching(servlet)));
+        assertEquals(List.of(app), index.rootsReaching(util));
+        assertEquals(Set.of(web, rest), Set.copyOf(index.directDependenciesReaching(servlet)));
+        assertEquals(List.of(web), index.directDependenciesReaching(web));
+        assertTrue(index.rootsReaching(app).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should list javax artifacts reachable from an artifact")
+    void shouldListReachableJavaxArtifacts() {
+        // Then
+        assertEquals(Set.of(servlet, mail), Set.copyOf(index.javaxReachableFrom(app)));
+        assertEquals(List.of(mail), index.javaxReachableFrom(servlet));
+        assertTrue(index.javaxReachableFrom(mail).isEmpty());
+        assertTrue(index.javaxReachableFrom(cycleA).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return shortest inclusion paths first")
+    void shouldReturnShortestInclusionPathsFirst() {
+        // When
+        List<List<Artifact>> paths = index.shortestInclusionPaths(mail, 10);
+        List<List<Artifact>> limited = index.shortestInclusionPaths(mail, 2);
+
+        // Then
+        assertEquals(4, paths.size());
+        for (int i = 1; i < paths.size(); i++) {
+            assertTrue(paths.get(i - 1).size() <= paths.get(i).size());
+        }
+        assertTrue(paths.contains(List.of(app, rest, servlet, mail)));
+        assertTrue(paths.contains(List.of(svc, rest, servlet, mail)));
+        assertEquals(List.of(app, web, util, servlet, mail), paths.get(3));
+        assertEquals(2, limited.size());
+        assertEquals(4, limited.get(1).size());
+        assertEquals(List.of(List.of(app)), index.shortestInclusionPaths(app, 3));
+    }
+
+    @Test
+    @DisplayName("Should treat unreachable and unknown artifacts as not included")
+    void shouldHandleUnreachableAndUnknownArtifacts() {
+        // Given
+        Artifact missing = artifact("com.example", "missing");
+
+        // Then
+        assertFalse(index.isReachableFromRoot(cycleA));
+        assertTrue(index.isReachableFromRoot(mail));
+        assertTrue(index.shortestInclusionPaths(cycleA, 5).isEmpty());
+        assertTrue(index.rootsReaching(missing).isEmpty());
+        assertTrue(index.javaxReachableFrom(missing).isEmpty());
+        assertTrue(index.shortestInclusionPaths(missing, 5).isEmpty());
+    }
+
+    private static Artifact artifact(String groupId, String artifactId) {
+        return new Artifact(groupId, artifactId, "1.0.0", "compile", false);
+    }
+
+    private static Dependency edge(Artifact from, Artifact to) {
+        return new Dependency(from, to, "compile", false);
+    }
+
+    private static Namespace namespaceOf(Artifact artifact) {
+        return artifact.groupId().startsWith("javax.") ? Namespace.JAVAX : Namespace.UNKNOWN;
+    }
+}
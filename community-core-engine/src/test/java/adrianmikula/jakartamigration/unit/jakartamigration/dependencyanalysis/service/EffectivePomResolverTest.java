@@ -0,0 +1,314 @@
+package unit.jakartamigration.dependencyanalysis.service;
+
+import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphException;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver.EffectivePom;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver.PomDependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EffectivePomResolver Tests")
+class EffectivePomResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private Path parentPom;
+    private Path webPom;
+    private EffectivePomResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = tempDir.resolve("repository");
+        Path bom = Files.createDirectories(repository.resolve("org/acme/acme-bom/2.0")).resolve("acme-bom-2.0.pom");
+        Files.writeString(bom, """
+                <project>
+                    <groupId>org.acme</groupId>
+                    <artifactId>acme-bom</artifactId>
+                    <version>2.0</version>
+                    <packaging>pom</packaging>
+                    <properties>
+                        <servlet.version>4.0.1</servlet.version>
+                    </properties>
+                    <dependencyManagement>
+                        <dependencies>
+                            <dependency>
+                                <groupId>javax.servlet</groupId>
+                                <artifactId>javax.servlet-api</artifactId>
+                                <version>${servlet.version}</version>
+                                <scope>provided</scope>
+                            </dependency>
+                        </dependencies>
+                    </dependencyManagement>
+                </project>
+                """);
+
+        parentPom = tempDir.resolve("shop/pom.xml");
+        Files.createDirectories(parentPom.getParent());
+        Files.writeString(parentPom, """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.shop</groupId>
+                    <artifactId>shop-parent</artifactId>
+                    <version>1.5</version>
+                    <packaging>pom</packaging>
+                    <properties>
+                        <acme.version>2.0</acme.version>
+                        <jaxb.version>2.3.1</jaxb.version>
+                    </properties>
+                    <dependencyManagement>
+                        <dependencies>
+                            <dependency>
+                                <groupId>org.acme</groupId>
+                                <artifactId>acme-bom</artifactId>
+                                <version>${acme.version}</version>
+                                <type>pom</type>
+                                <scope>import</scope>
+                            </dependency>
+                            <dependency>
+                                <groupId>javax.xml.bind</groupId>
+                                <artifactId>jaxb-api</artifactId>
+                                <version>${jaxb.version}</version>
+                            </dependency>
+                            <dependency>
+                                <groupId>com.shop</groupId>
+                                <artifactId>shop-core</artifactId>
+                                <version>${project.version}</version>
+                            </dependency>
+                        </dependencies>
+                    </dependencyManagement>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.slf4j</groupId>
+                            <artifactId>slf4j-api</artifactId>
+                            <version>1.7.36</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+
+        webPom = tempDir.resolve("shop/web/pom.xml");
+        Files.createDirectories(webPom.getParent());
+        Files.writeString(webPom, """
+                <project>
+                    <parent>
+                        <groupId>com.shop</groupId>
+                        <artifactId>shop-parent</artifactId>
+                        <version>1.5</version>
+                    </parent>
+                    <artifactId>shop-web</artifactId>
+                    <properties>
+                        <jaxb.version>2.2.11</jaxb.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>javax.servlet</groupId>
+                            <artifactId>javax.servlet-api</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>javax.xml.bind</groupId>
+                            <artifactId>jaxb-api</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>com.shop</groupId>
+                            <artifactId>shop-core</artifactId>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+
+        resolver = new EffectivePomResolver(repository);
+    }
+
+    @Test
+    @DisplayName("Should inherit from parent and import BOM dependency management")
+    void shouldInheritFromParentAndImportBom() {
+        // When
+        EffectivePom pom = resolver.resolve(webPom);
+        Map<String, PomDependency> dependencies = byKey(pom.dependencies());
+
+        // Then
+        assertTrue(pom.isComplete());
+        assertEquals("com.shop:shop-web:1.5", pom.coordinate());
+        assertEquals("4.0.1", dependencies.get("javax.servlet:javax.servlet-api").version());
+        assertEquals("provided", dependencies.get("javax.servlet:javax.servlet-api").scope());
+        assertEquals("1.5", dependencies.get("com.shop:shop-core").version());
+        assertEquals("1.7.36", dependencies.get("org.slf4j:slf4j-api").version());
+        assertEquals(4, pom.dependencies().size());
+    }
+
+    @Test
+    @DisplayName("Should interpolate inherited entries with the child's properties")
+    void shouldInterpolateInheritedEntriesInChildContext() {
+        // When
+        EffectivePom web = resolver.resolve(webPom);
+        EffectivePom parent = resolver.resolve(parentPom);
+
+        // Then
+        assertEquals("2.2.11", byKey(web.dependencies()).get("javax.xml.bind:jaxb-api").version());
+        assertEquals("2.3.1", parent.dependencyManagement().get("javax.xml.bind:jaxb-api").version());
+        assertEquals("2.2.11", web.properties().get("jaxb.version"));
+    }
+
+    @Test
+    @DisplayName("Should memoize resolved POMs until a file in the chain changes")
+    void shouldMemoizeUntilChainChanges() throws Exception {
+        // Given
+        EffectivePom first = resolver.resolve(webPom);
+
+        // When
+        EffectivePom cached = resolver.resolve(webPom);
+        Files.writeString(parentPom, Files.readString(parentPom).replace("1.7.36", "2.0.9"));
+        Files.setLastModifiedTime(parentPom, FileTime.fromMillis(Files.getLastModifiedTime(parentPom).toMillis() + 5000));
+        EffectivePom refreshed = resolver.resolve(webPom);
+
+        // Then
+        assertSame(first, cached);
+        assertNotSame(first, refreshed);
+        assertEquals("2.0.9", byKey(refreshed.dependencies()).get("org.slf4j:slf4j-api").version());
+    }
+
+    @Test
+    @DisplayName("Should resolve artifacts from the local repository")
+    void shouldResolveArtifactsFromLocalRepository() {
+        // When
+        EffectivePom bom = resolver.resolve("org.acme", "acme-bom", "2.0").orElseThrow();
+
+        // Then
+        assertEquals("4.0.1", bom.dependencyManagement().get("javax.servlet:javax.servlet-api").version());
+        assertTrue(resolver.resolve("org.acme", "missing", "1.0").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report parents that cannot be found")
+    void shouldReportUnresolvedParent() throws Exception {
+        // Given
+        Path orphan = tempDir.resolve("orphan/pom.xml");
+        Files.createDirectories(orphan.getParent());
+        Files.writeString(orphan, """
+                <project>
+                    <parent>
+                        <groupId>org.gone</groupId>
+                        <artifactId>gone-parent</artifactId>
+                        <version>9</version>
+                    </parent>
+                    <artifactId>orphan</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.example</groupId>
+                            <artifactId>unmanaged</artifactId>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """);
+
+        // When
+        EffectivePom pom = resolver.resolve(orphan);
+
+        // Then
+        assertFalse(pom.isComplete());
+        assertEquals(List.of("parent org.gone:gone-parent:9"), pom.unresolved());
+        assertEquals("org.gone:orphan:9", pom.coordinate());
+        assertNull(pom.dependencies().get(0).version());
+    }
+
+    @Test
+    @DisplayName("Should resolve a parent registered after the child was first resolved")
+    void shouldResolveParentRegisteredAfterChild() throws Exception {
+        // Given
+        Path servicePom = checkout("platform", "1.3.2");
+        EffectivePom beforeRegistration = resolver.resolve(servicePom);
+
+        // When
+        resolver.registerReactor(List.of(tempDir.resolve("platform/base/pom.xml"), servicePom));
+        EffectivePom afterRegistration = resolver.resolve(servicePom);
+
+        // Then
+        assertFalse(beforeRegistration.isComplete());
+        assertTrue(afterRegistration.isComplete());
+        assertEquals("1.3.2", byKey(afterRegistration.dependencies()).get("javax.annotation:javax.annotation-api").version());
+    }
+
+    @Test
+    @DisplayName("Should resolve reactor modules only for POMs of the registering checkout")
+    void shouldScopeReactorModulesToTheirCheckout() throws Exception {
+        // Given
+        Path firstService = checkout("first", "1.3.2");
+        Path secondService = checkout("second", "1.2");
+        resolver.registerReactor(List.of(tempDir.resolve("first/base/pom.xml"), firstService));
+        resolver.registerReactor(List.of(tempDir.resolve("second/base/pom.xml"), secondService));
+
+        // When
+        EffectivePom first = resolver.resolve(firstService);
+        EffectivePom second = resolver.resolve(secondService);
+
+        // Then
+        assertEquals("1.3.2", byKey(first.dependencies()).get("javax.annotation:javax.annotation-api").version());
+        assertEquals("1.2", byKey(second.dependencies()).get("javax.annotation:javax.annotation-api").version());
+        assertTrue(resolver.resolve("com.platform", "platform-base", "3.0").isEmpty());
+        assertTrue(resolver.resolve("com.platform", "platform-base", "3.0", secondService).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should throw when the file is not a POM")
+    void shouldThrowForInvalidPom() throws Exception {
+        // Given
+        Path invalid = tempDir.resolve("invalid.xml");
+        Files.writeString(invalid, "<settings/>");
+
+        // Then
+        assertThrows(DependencyGraphException.class, () -> resolver.resolve(invalid));
+        assertThrows(DependencyGraphException.class, () -> resolver.resolve(tempDir.resolve("missing.xml")));
+    }
+
+    // Writes a checkout whose service module finds its parent only through the reactor
+    private Path checkout(String name, String annotationVersion) throws Exception {
+        Path basePom = tempDir.resolve(name + "/base/pom.xml");
+        Files.createDirectories(basePom.getParent());
+        Files.writeString(basePom, """
+                <project>
+                    <groupId>com.platform</groupId>
+                    <artifactId>platform-base</artifactId>
+                    <version>3.0</version>
+                    <packaging>pom</packaging>
+                    <dependencies>
+                        <dependency>
+                            <groupId>javax.annotation</groupId>
+                            <artifactId>javax.annotation-api</artifactId>
+                            <version>%s</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """.formatted(annotationVersion));
+        Path servicePom = tempDir.resolve(name + "/services/billing/pom.xml");
+        Files.createDirectories(servicePom.getParent());
+        Files.writeString(servicePom, """
+                <project>
+                    <parent>
+                        <groupId>com.platform</groupId>
+                        <artifactId>platform-base</artifactId>
+                        <version>3.0</version>
+                    </parent>
+                    <artifactId>billing</artifactId>
+                </project>
+                """);
+        return servicePom;
+    }
+
+    private static Map<String, PomDependency> byKey(List<PomDependency> dependencies) {
+        return dependencies.stream().collect(Collectors.toMap(PomDependency::key, Function.identity()));
+    }
+}
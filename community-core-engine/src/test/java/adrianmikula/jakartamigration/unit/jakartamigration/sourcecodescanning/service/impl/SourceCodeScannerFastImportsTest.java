@@ -0,0 +1,122 @@
+package unit.jakartamigration.sourcecodescanning.service.impl;
+
+import adrianmikula.jakartamigration.sourcecodescanning.domain.FileUsage;
+import adrianmikula.jakartamigration.sourcecodescanning.domain.ImportStatement;
+import adrianmikula.jakartamigration.sourcecodescanning.domain.SourceCodeAnalysisResult;
+import adrianmikula.jakartamigration.sourcecodescanning.service.impl.SourceCodeScannerImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceCodeScannerFastImportsTest {
+
+    private final SourceCodeScannerImpl astScanner = new SourceCodeScannerImpl(SourceCodeScannerImpl.Mode.AST);
+    private final SourceCodeScannerImpl fastScanner = new SourceCodeScannerImpl(SourceCodeScannerImpl.Mode.FAST_IMPORTS);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindSameImportsAsAstScanner() throws Exception {
+        // Given
+        Path javaFile = tempDir.resolve("OrderServlet.java");
+        Files.writeString(javaFile, """
+            package com.example;
+
+            import javax.servlet.ServletException;
+            import javax.servlet.http.*;
+            import static javax.persistence.CascadeType.ALL;
+            import java.io.IOException;
+
+            public class OrderServlet extends HttpServlet {
+            }
+            """);
+
+        // When
+        FileUsage ast = astScanner.scanFile(javaFile);
+        FileUsage fast = fastScanner.scanFile(javaFile);
+
+        // Then
+        assertThat(fast.javaxImports()).extracting(ImportStatement::fullImport)
+                .containsExactlyElementsOf(ast.javaxImports().stream().map(ImportStatement::fullImport).toList());
+        assertThat(fast.javaxImports()).extracting(ImportStatement::lineNumber).containsExactly(3, 4, 5);
+        assertThat(fast.javaxImports().get(1).javaxPackage()).isEqualTo("javax.servlet.http");
+        assertThat(fast.javaxImports().get(1).jakartaEquivalent()).isEqualTo("jakarta.servlet.http.*");
+        assertThat(fast.lineCount()).isEqualTo(ast.lineCount());
+    }
+
+    @Test
+    void shouldReportExactLineWhenImportTextAlsoAppearsInComment() throws Exception {
+        // Given
+        Path javaFile = tempDir.resolve("Customer.java");
+        Files.writeString(javaFile, """
+            // Was: import javax.persistence.Entity;
+            package com.example;
+
+            import javax.persistence.Entity;
+
+            @Entity
+            public class Customer {
+            }
+            """);
+
+        // When
+        FileUsage usage = fastScanner.scanFile(javaFile);
+
+        // Then
+        assertThat(usage.javaxImports()).hasSize(1);
+        assertThat(usage.javaxImports().get(0).lineNumber()).isEqualTo(4);
+    }
+
+    @Test
+    @Tag("slow")
+    void shouldFindSameImportsAsAstScannerOnLargeProject() throws Exception {
+        // Given
+        writeProject(2000);
+
+        // When
+        SourceCodeAnalysisResult ast = astScanner.scanProject(tempDir);
+        SourceCodeAnalysisResult fast = fastScanner.scanProject(tempDir);
+
+        // Then
+        assertThat(fast.totalFilesScanned()).isEqualTo(ast.totalFilesScanned()).isEqualTo(2000);
+        assertThat(fast.totalFilesWithJavaxUsage()).isEqualTo(ast.totalFilesWithJavaxUsage());
+        assertThat(fast.totalJavaxImports()).isEqualTo(ast.totalJavaxImports());
+        assertThat(importsByFile(fast)).isEqualTo(importsByFile(ast));
+    }
+
+    private void writeProject(int files) throws IOException {
+        for (int i = 0; i < files; i++) {
+            Path dir = Files.createDirectories(tempDir.resolve("module" + (i % 20) + "/src/main/java/com/example/p" + (i % 50)));
+            StringBuilder body = new StringBuilder();
+            for (int m = 0; m < 40; m++) {
+                body.append("    public int method").append(m).append("(int value) {\n")
+                        .append("        return value * ").append(m).append(" + field;\n")
+                        .append("    }\n\n");
+            }
+            String imports = i % 2 == 0
+                    ? "import javax.persistence.Entity;\nimport javax.persistence.Id;\nimport javax.validation.constraints.NotNull;\n"
+                    : "import jakarta.persistence.Entity;\n";
+            Files.writeString(dir.resolve("Type" + i + ".java"),
+                    "package com.example.p" + (i % 50) + ";\n\n" + imports + "import java.util.List;\n\n"
+                            + "public class Type" + i + " {\n    private int field;\n\n" + body + "}\n");
+        }
+    }
+
+    private static Map<Path, List<String>> importsByFile(SourceCodeAnalysisResult result) {
+        return result.filesWithJavaxUsage().stream()
+                .sorted(Comparator.comparing(FileUsage::filePath))
+                .collect(Collectors.toMap(FileUsage::filePath,
+                        usage -> usage.javaxImports().stream().map(ImportStatement::fullImport).toList()));
+    }
+}
@@ -90,6 +90,56 @@ void shouldScanPersistenceXmlWithJavaxNamespace() throws Exception {
         assertThat(usage.namespaceUsages()).isNotEmpty();
     }
     
+    @Test
+    void shouldReportExactLinesAndIgnoreCommentedOutClasses() throws Exception {
+        // Given
+        Path webXml = tempDir.resolve("web.xml");
+        Files.writeString(webXml, """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <web-app
+                     xmlns="http://java.sun.com/xml/ns/javaee"
+                     version="3.0">
+                <!-- <listener-class>javax.servlet.OldListener</listener-class> -->
+                <filter>
+                    <filter-class>
+                        javax.servlet.Filter
+                    </filter-class>
+                </filter>
+            </web-app>
+            """);
+
+        // When
+        List<XmlFileUsage> usages = scanner.scanXmlFiles(tempDir);
+
+        // Then
+        assertThat(usages).hasSize(1);
+        XmlFileUsage usage = usages.get(0);
+        assertThat(usage.namespaceUsages()).containsExactly(new XmlFileUsage.XmlNamespaceUsage(
+                "http://java.sun.com/xml/ns/javaee", "https://jakarta.ee/xml/ns/jakartaee", 3));
+        assertThat(usage.classReferences()).containsExactly(new XmlFileUsage.XmlClassReference(
+                "javax.servlet.Filter", "jakarta.servlet.Filter", "filter-class", 8));
+    }
+
+    @Test
+    void shouldFallBackToTextScanForMalformedXml() throws Exception {
+        // Given
+        Path webXml = tempDir.resolve("web.xml");
+        Files.writeString(webXml, """
+            <web-app xmlns="http://java.sun.com/xml/ns/javaee">
+                <servlet-class>javax.servlet.http.HttpServlet</servlet-class>
+                <unclosed>
+            """);
+
+        // When
+        List<XmlFileUsage> usages = scanner.scanXmlFiles(tempDir);
+
+        // Then
+        assertThat(usages).hasSize(1);
+        assertThat(usages.get(0).namespaceUsages()).isNotEmpty();
+        assertThat(usages.get(0).classReferences()).extracting(XmlFileUsage.XmlClassReference::lineNumber)
+                .containsExactly(2);
+    }
+
     @Test
     void shouldReturnEmptyForXmlWithoutJavaxUsage() throws Exception {
         // Given
@@ -0,0 +1,128 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JavaImportLexer.
+ */
+class JavaImportLexerTest {
+
+    @Test
+    void shouldReadPackageAndImportsWithLineNumbers() {
+        // Given
+        String content = """
+            package com.example;
+
+            import javax.persistence.Entity;
+            import javax.persistence.*;
+            import static javax.swing.SwingConstants.CENTER;
+            import java.util.List;
+
+            public class Customer {
+            }
+            """;
+
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan(content);
+
+        // Then
+        assertThat(header.packageName()).isEqualTo("com.example");
+        assertThat(header.packageLine()).isEqualTo(1);
+        assertThat(header.imports()).containsExactly(
+                new JavaImportLexer.Import("javax.persistence.Entity", false, 3),
+                new JavaImportLexer.Import("javax.persistence.*", false, 4),
+                new JavaImportLexer.Import("javax.swing.SwingConstants.CENTER", true, 5),
+                new JavaImportLexer.Import("java.util.List", false, 6));
+        assertThat(header.imports().get(1).isWildcard()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreImportsInCommentsAndLiterals() {
+        // Given
+        String content = """
+            /*
+             * import javax.fake.Block;
+             */
+            // import javax.fake.Line;
+            package com.example;
+
+            import javax.inject.Inject;
+
+            @SuppressWarnings(value = {"/* import javax.fake.Annotation; */", ")"})
+            public class Service {
+                String query = \"""
+                    import javax.fake.TextBlock;
+                    \""";
+            }
+            import javax.after.TypeDeclaration;
+            """;
+
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan(content);
+
+        // Then
+        assertThat(header.packageLine()).isEqualTo(5);
+        assertThat(header.imports()).extracting(JavaImportLexer.Import::name).containsExactly("javax.inject.Inject");
+        assertThat(header.imports().get(0).line()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldJoinNamesSplitByWhitespaceAndComments() {
+        // Given
+        String content = "import\n    javax /* servlet */ .servlet\n    .http.HttpServlet;\nclass A {}\n";
+
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan(content);
+
+        // Then
+        assertThat(header.packageName()).isNull();
+        assertThat(header.imports()).containsExactly(
+                new JavaImportLexer.Import("javax.servlet.http.HttpServlet", false, 1));
+    }
+
+    @Test
+    void shouldSkipPackageAnnotationsAndStopAtAnnotationType() {
+        // Given
+        String content = """
+            @javax.annotation.Generated("tool")
+            package com.example;
+
+            import javax.annotation.Nonnull;
+
+            @interface Marker {
+            }
+            import javax.after.Marker;
+            """;
+
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan(content);
+
+        // Then
+        assertThat(header.packageName()).isEqualTo("com.example");
+        assertThat(header.imports()).extracting(JavaImportLexer.Import::name).containsExactly("javax.annotation.Nonnull");
+    }
+
+    @Test
+    void shouldStopAtMalformedDeclaration() {
+        // Given
+        String content = "import javax.persistence.Entity;\nimport javax.persistence.Id\nclass A {}\n";
+
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan(content);
+
+        // Then
+        assertThat(header.imports()).extracting(JavaImportLexer.Import::name).containsExactly("javax.persistence.Entity");
+    }
+
+    @Test
+    void shouldReturnEmptyHeaderForModuleDeclaration() {
+        // When
+        JavaImportLexer.Header header = JavaImportLexer.scan("module com.example { requires java.xml.bind; }");
+
+        // Then
+        assertThat(header.packageName()).isNull();
+        assertThat(header.imports()).isEmpty();
+    }
+}
@@ -0,0 +1,158 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JavaParserPool.
+ */
+class JavaParserPoolTest {
+
+    @Test
+    void shouldReuseReturnedParser() {
+        // Given
+        JavaParserPool pool = new JavaParserPool(2, 1_000);
+        JavaParser first;
+        try (JavaParserPool.Lease lease = pool.lease()) {
+            first = lease.parser();
+        }
+
+        // When
+        JavaParser second;
+        try (JavaParserPool.Lease lease = pool.lease()) {
+            second = lease.parser();
+        }
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(pool.createdCount()).isEqualTo(1);
+        assertThat(pool.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldHandOutDistinctParsersToConcurrentLeases() {
+        // Given
+        JavaParserPool pool = new JavaParserPool(1, 1_000);
+
+        // When
+        JavaParserPool.Lease first = pool.lease();
+        JavaParserPool.Lease second = pool.lease();
+        JavaParser firstParser = first.parser();
+        JavaParser secondParser = second.parser();
+        first.close();
+        second.close();
+
+        // Then
+        assertThat(secondParser).isNotSameAs(firstParser);
+        assertThat(pool.createdCount()).isEqualTo(2);
+        assertThat(pool.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldParseWithPooledParsersAndKeepTypeCacheAcrossLeases() {
+        // Given
+        JavaParserPool pool = new JavaParserPool(2, 100_000);
+        String source = """
+            package com.example;
+
+            import java.util.List;
+
+            public class Example {
+                private List<String> names;
+            }
+            """;
+
+        // When
+        List<SourceFile> firstParse;
+        List<SourceFile> secondParse;
+        try (JavaParserPool.Lease lease = pool.lease()) {
+            firstParse = lease.parser().parse(source).collect(Collectors.toList());
+        }
+        int cachedTypes = pool.typeCacheSize();
+        try (JavaParserPool.Lease lease = pool.lease()) {
+            lease.parser().reset();
+            secondParse = lease.parser().parse(source).collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(firstParse).singleElement().isInstanceOf(J.CompilationUnit.class);
+        assertThat(secondParse).singleElement().isInstanceOf(J.CompilationUnit.class);
+        assertThat(cachedTypes).isPositive();
+        assertThat(pool.createdCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAttributeTypesWhenParsersAreLeasedConcurrently() throws Exception {
+        // Given
+        JavaParserPool pool = new JavaParserPool(4, 100_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<J.CompilationUnit>> parses = new ArrayList<>();
+        List<J.CompilationUnit> units = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 16; i++) {
+                String source = """
+                    package com.example;
+
+                    import java.util.Map;
+
+                    public class Example%d {
+                        private Map<String, Integer> counts;
+                    }
+                    """.formatted(i);
+                parses.add(executor.submit(() -> {
+                    try (JavaParserPool.Lease lease = pool.lease()) {
+                        return (J.CompilationUnit) lease.parser().parse(source).findFirst().orElseThrow();
+                    }
+                }));
+            }
+            for (Future<J.CompilationUnit> parse : parses) {
+                units.add(parse.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(units).hasSize(16);
+        for (int i = 0; i < units.size(); i++) {
+            J.CompilationUnit unit = units.get(i);
+            assertThat(unit.getClasses().get(0).getType()).isNotNull();
+            assertThat(unit.getClasses().get(0).getType().getFullyQualifiedName()).isEqualTo("com.example.Example" + i);
+        }
+    }
+
+    @Test
+    void shouldIgnoreSecondCloseAndRejectUseAfterClose() {
+        // Given
+        JavaParserPool pool = new JavaParserPool(2, 1_000);
+        JavaParserPool.Lease lease = pool.lease();
+
+        // When
+        lease.close();
+        lease.close();
+
+        // Then
+        assertThat(pool.idleCount()).isEqualTo(1);
+        assertThatThrownBy(lease::parser).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> new JavaParserPool(0, 1_000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JavaParserPool(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
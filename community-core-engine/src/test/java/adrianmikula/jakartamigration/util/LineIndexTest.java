@@ -0,0 +1,67 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LineIndex.
+ */
+class LineIndexTest {
+
+    @Test
+    void shouldMapOffsetsToLinesAndColumns() {
+        // Given
+        String content = "package com.example;\n\nimport javax.persistence.Entity;\n";
+        LineIndex index = LineIndex.of(content);
+
+        // When
+        int importOffset = content.indexOf("import");
+
+        // Then
+        assertThat(index.lineAt(0)).isEqualTo(1);
+        assertThat(index.lineAt(content.indexOf('\n'))).isEqualTo(1);
+        assertThat(index.lineAt(content.indexOf('\n') + 1)).isEqualTo(2);
+        assertThat(index.lineAt(importOffset)).isEqualTo(3);
+        assertThat(index.columnAt(importOffset)).isEqualTo(1);
+        assertThat(index.columnAt(content.indexOf("javax"))).isEqualTo(8);
+    }
+
+    @Test
+    void shouldCountLinesLikeSplit() {
+        String[] samples = {
+            "a", "a\n", "a\nb", "a\nb\n", "a\n\nb\n\n\n", "\n\na", "a\r\nb\r\n", " \n"
+        };
+
+        for (String sample : samples) {
+            int expected = sample.split("\n").length;
+            assertThat(LineIndex.countLines(sample)).as(sample).isEqualTo(expected);
+            assertThat(LineIndex.of(sample).lineCount()).as(sample).isEqualTo(expected);
+        }
+        assertThat(LineIndex.countLines("")).isZero();
+        assertThat(LineIndex.countLines("\n\n")).isZero();
+        assertThat(LineIndex.countLines(null)).isZero();
+        assertThat(LineIndex.of("").lineCount()).isZero();
+    }
+
+    @Test
+    void shouldFindFirstOccurrenceOrFallBackToFirstLine() {
+        // Given
+        LineIndex index = LineIndex.of("class A {\n  @Inject\n  @Inject\n}\n");
+
+        // When / Then
+        assertThat(index.findLine("@Inject")).isEqualTo(2);
+        assertThat(index.findLine("@Inject", 20)).isEqualTo(3);
+        assertThat(index.findLine("@Resource")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectOffsetsOutsideContent() {
+        LineIndex index = LineIndex.of("abc");
+
+        assertThat(index.lineAt(3)).isEqualTo(1);
+        assertThatThrownBy(() -> index.lineAt(4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> index.lineAt(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProjectFileSystemScanner.
+ */
+class ProjectFileSystemScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindSameFilesWithParallelWalk() throws IOException {
+        // Given
+        for (int module = 0; module < 5; module++) {
+            for (int pkg = 0; pkg < 4; pkg++) {
+                write("module" + module + "/src/main/java/com/example/p" + pkg + "/Service.java");
+                write("module" + module + "/src/main/resources/p" + pkg + "/beans.xml");
+            }
+            write("module" + module + "/target/classes/Generated.java");
+            write("module" + module + "/build/Generated.java");
+        }
+        write(".idea/workspace.xml");
+        ProjectFileSystemScanner scanner = new ProjectFileSystemScanner();
+        Predicate<Path> javaFiles = path -> path.getFileName().toString().endsWith(".java");
+
+        // When
+        List<Path> parallel = scanner.findFilesParallel(tempDir, javaFiles);
+
+        // Then
+        assertThat(parallel).hasSize(20);
+        assertThat(parallel).containsExactlyInAnyOrderElementsOf(scanner.findFiles(tempDir, javaFiles));
+        assertThat(parallel).isSorted();
+    }
+
+    @Test
+    void shouldApplyGitIgnoreRulesInParallelWalk() throws IOException {
+        // Given
+        write("src/main/java/Example.java");
+        write("generated/Generated.java");
+        Files.writeString(tempDir.resolve(".gitignore"), "generated/\n");
+        ProjectFileSystemScanner scanner = ProjectFileSystemScanner.withGitIgnore(tempDir);
+        Predicate<Path> allFiles = path -> true;
+
+        // When
+        List<Path> parallel = scanner.findFilesParallel(tempDir, allFiles);
+
+        // Then
+        assertThat(parallel).containsExactlyInAnyOrderElementsOf(scanner.findFiles(tempDir, allFiles));
+    }
+
+    @Test
+    void shouldStreamFilesToConsumer() throws IOException {
+        // Given
+        Path first = write("a/First.java");
+        Path second = write("b/c/Second.java");
+        write("b/notes.txt");
+        Queue<Path> received = new ConcurrentLinkedQueue<>();
+
+        // When
+        int found = new ProjectFileSystemScanner().walkParallel(
+                tempDir, path -> path.toString().endsWith(".java"), received::add, 2);
+
+        // Then
+        assertThat(found).isEqualTo(2);
+        assertThat(received).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void shouldReturnNothingForMissingRoot() {
+        // Given
+        Queue<Path> received = new ConcurrentLinkedQueue<>();
+
+        // When
+        int found = new ProjectFileSystemScanner().walkParallel(tempDir.resolve("missing"), path -> true, received::add);
+
+        // Then
+        assertThat(found).isZero();
+        assertThat(received).isEmpty();
+    }
+
+    private Path write(String relativePath) throws IOException {
+        Path file = tempDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "content");
+    }
+}
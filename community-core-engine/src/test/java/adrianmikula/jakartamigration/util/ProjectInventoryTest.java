@@ -0,0 +1,105 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProjectInventory.
+ */
+class ProjectInventoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldCategorizeFilesInOneWalk() throws IOException {
+        // Given
+        Path pom = write("pom.xml", "<project/>");
+        Path main = write("src/main/java/com/example/Customer.java", "class Customer {}");
+        Path test = write("src/test/java/com/example/CustomerTest.java", "class CustomerTest {}");
+        Path jsp = write("src/main/webapp/index.jsp", "<html/>");
+        Path props = write("src/main/resources/application.properties", "a=b");
+        Path dockerfile = write("Dockerfile", "FROM eclipse-temurin:21");
+        write("README.md", "readme");
+
+        // When
+        ProjectInventory inventory = new ProjectFileSystemScanner().inventory(tempDir);
+
+        // Then
+        assertThat(inventory.projectRoot()).isEqualTo(tempDir);
+        assertThat(inventory.fileCount()).isEqualTo(7);
+        assertThat(inventory.files(ProjectInventory.Category.JAVA)).containsExactlyInAnyOrder(main, test);
+        assertThat(inventory.files(ProjectInventory.Category.TEST)).containsExactly(test);
+        assertThat(inventory.files(ProjectInventory.Category.JSP)).containsExactly(jsp);
+        assertThat(inventory.files(ProjectInventory.Category.XML)).containsExactly(pom);
+        assertThat(inventory.files(ProjectInventory.Category.BUILD)).containsExactly(pom);
+        assertThat(inventory.files(ProjectInventory.Category.CONFIG)).containsExactlyInAnyOrder(pom, props);
+        assertThat(inventory.files(ProjectInventory.Category.DOCKER)).containsExactly(dockerfile);
+        assertThat(inventory.files(ProjectInventory.Category.JAVA, ProjectInventory.Category.JSP))
+                .containsExactlyInAnyOrder(main, test, jsp);
+    }
+
+    @Test
+    void shouldRecordSizeAndModificationTime() throws IOException {
+        // Given
+        Path file = write("src/main/java/Example.java", "class Example {}");
+
+        // When
+        ProjectInventory inventory = new ProjectFileSystemScanner().inventory(tempDir);
+
+        // Then
+        ProjectInventory.FileEntry entry = inventory.entry(file).orElseThrow();
+        assertThat(entry.size()).isEqualTo(Files.size(file));
+        assertThat(entry.lastModified()).isEqualTo(Files.getLastModifiedTime(file).toMillis());
+        assertThat(entry.regularFile()).isTrue();
+        assertThat(inventory.totalBytes()).isEqualTo(Files.size(file));
+        assertThat(inventory.totalBytes(ProjectInventory.Category.JAVA)).isEqualTo(Files.size(file));
+        assertThat(inventory.totalBytes(ProjectInventory.Category.XML)).isZero();
+    }
+
+    @Test
+    void shouldMatchFindFilesAndSkipIgnoredDirectories() throws IOException {
+        // Given
+        write("src/main/java/Example.java", "class Example {}");
+        write("src/main/resources/beans.xml", "<beans/>");
+        write("target/classes/Generated.java", "class Generated {}");
+        write(".git/config.xml", "<config/>");
+        ProjectFileSystemScanner scanner = new ProjectFileSystemScanner();
+
+        // When
+        ProjectInventory inventory = scanner.inventory(tempDir);
+
+        // Then
+        List<String> extensions = List.of(".java", ".xml");
+        assertThat(inventory.findFiles(extensions))
+                .containsExactlyElementsOf(scanner.findFiles(tempDir, extensions).stream().sorted().toList());
+        assertThat(inventory.fileCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIncludeBuildOutputsWithoutExclusions() throws IOException {
+        // Given
+        Path war = write("target/app.war", "war");
+
+        // When
+        ProjectInventory defaultInventory = new ProjectFileSystemScanner().inventory(tempDir);
+        ProjectInventory fullInventory = ProjectFileSystemScanner.withoutExclusions().inventory(tempDir);
+
+        // Then
+        assertThat(defaultInventory.entry(war)).isEmpty();
+        assertThat(fullInventory.entry(war)).isPresent();
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        Path file = tempDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,118 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TriggerTokenPrefilter.
+ */
+class TriggerTokenPrefilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReportEveryGroupWithAMatchingToken() {
+        // Given
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.forGroups(List.of(
+                Set.of("javax.persistence."),
+                Set.of("javax.inject", "javax.enterprise"),
+                Set.of("javax.jms")));
+
+        // When
+        BitSet relevant = prefilter.match(bytes("""
+            import javax.persistence.Entity;
+            import javax.enterprise.context.ApplicationScoped;
+            """));
+
+        // Then
+        assertThat(relevant.get(0)).isTrue();
+        assertThat(relevant.get(1)).isTrue();
+        assertThat(relevant.get(2)).isFalse();
+    }
+
+    @Test
+    void shouldFindOverlappingAndNestedTokens() {
+        // Given
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.forGroups(List.of(
+                Set.of("javax.xml.ws"),
+                Set.of("xml.soap"),
+                Set.of("ws.rs")));
+
+        // When
+        BitSet relevant = prefilter.match(bytes("import javax.xml.soap.SOAPMessage; // javax.ws.rs"));
+
+        // Then
+        assertThat(relevant.get(0)).isFalse();
+        assertThat(relevant.get(1)).isTrue();
+        assertThat(relevant.get(2)).isTrue();
+    }
+
+    @Test
+    void shouldNotMatchContentWithoutTokens() {
+        // Given
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.of(Set.of("javax."));
+
+        // When / Then
+        assertThat(prefilter.matchesAny(bytes("import jakarta.persistence.Entity;\nimport java.util.List;"))).isFalse();
+        assertThat(prefilter.matchesAny(bytes("import javax.persistence.Entity;"))).isTrue();
+        assertThat(prefilter.matchesAny(new byte[0])).isFalse();
+    }
+
+    @Test
+    void shouldTreatGroupsWithoutTokensAsAlwaysRelevant() {
+        // Given
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.forGroups(List.of(Set.of("javax.jms"), Set.of()));
+
+        // When
+        BitSet relevant = prefilter.match(bytes("public class Plain {}"));
+
+        // Then
+        assertThat(relevant.get(0)).isFalse();
+        assertThat(relevant.get(1)).isTrue();
+        assertThat(prefilter.matchesAny(bytes("public class Plain {}"))).isTrue();
+    }
+
+    @Test
+    void shouldMatchLargeFilesThroughMemoryMapping() throws Exception {
+        // Given
+        Path file = tempDir.resolve("Large.java");
+        String filler = "// filler line without any trigger\n".repeat(60_000);
+        Files.writeString(file, filler + "import javax.jms.Queue;\n");
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.forGroups(List.of(
+                Set.of("javax.jms"), Set.of("javax.persistence.")));
+
+        // When
+        BitSet relevant = prefilter.match(file);
+
+        // Then
+        assertThat(Files.size(file)).isGreaterThan(1024 * 1024);
+        assertThat(relevant.get(0)).isTrue();
+        assertThat(relevant.get(1)).isFalse();
+        assertThat(prefilter.matchesAny(file)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTooManyGroups() {
+        List<Set<String>> groups = java.util.stream.IntStream.range(0, 65)
+                .mapToObj(i -> Set.of("token" + i))
+                .toList();
+
+        assertThatThrownBy(() -> TriggerTokenPrefilter.forGroups(groups))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+package adrianmikula.jakartamigration.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for XmlDescriptorScanner.
+ */
+class XmlDescriptorScannerTest {
+
+    private static final String WEB_XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <web-app xmlns="http://java.sun.com/xml/ns/javaee"
+                 xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                 xsi:schemaLocation="http://java.sun.com/xml/ns/javaee
+                 http://java.sun.com/xml/ns/javaee/web-app_3_0.xsd"
+                 version="3.0">
+            <servlet>
+                <!-- <servlet-class>javax.fake.Commented</servlet-class> -->
+                <servlet-class>javax.servlet.http.HttpServlet</servlet-class>
+            </servlet>
+            <bean id="dataSource"
+                  class="javax.sql.DataSource"/>
+            <description><![CDATA[
+                Publishes to javax.jms.Queue.
+            ]]></description>
+        </web-app>
+        """;
+
+    @Test
+    void shouldReportNamespacesSchemaLocationsAndClassReferencesOnExactLines() throws Exception {
+        // When
+        XmlDescriptorScanner.Result result = XmlDescriptorScanner.scan(new StringReader(WEB_XML));
+
+        // Then
+        assertThat(result.complete()).isTrue();
+        assertThat(result.namespaces()).containsExactly(
+                new XmlDescriptorScanner.Namespace("", "http://java.sun.com/xml/ns/javaee", 2),
+                new XmlDescriptorScanner.Namespace("xsi", "http://www.w3.org/2001/XMLSchema-instance", 3));
+        assertThat(result.schemaLocations()).containsExactly(new XmlDescriptorScanner.SchemaLocation(
+                "http://java.sun.com/xml/ns/javaee", "http://java.sun.com/xml/ns/javaee/web-app_3_0.xsd", 4));
+        assertThat(result.classReferences()).containsExactly(
+                new XmlDescriptorScanner.ClassReference("javax.servlet.http.HttpServlet", "servlet-class", null, 9),
+                new XmlDescriptorScanner.ClassReference("javax.sql.DataSource", "bean", "class", 12),
+                new XmlDescriptorScanner.ClassReference("javax.jms.Queue", "description", null, 14));
+    }
+
+    @Test
+    void shouldReportSameLinesForWindowsLineEndings() throws Exception {
+        // When
+        XmlDescriptorScanner.Result unix = XmlDescriptorScanner.scan(new StringReader(WEB_XML));
+        XmlDescriptorScanner.Result windows = XmlDescriptorScanner.scan(new StringReader(WEB_XML.replace("\n", "\r\n")));
+
+        // Then
+        assertThat(windows).isEqualTo(unix);
+    }
+
+    @Test
+    void shouldLocateAttributesAfterLargeDocumentPrefix() throws Exception {
+        // Given
+        StringBuilder content = new StringBuilder("<beans>\n");
+        for (int i = 0; i < 20_000; i++) {
+            content.append("  <property name=\"p").append(i).append("\">value</property>\n");
+        }
+        content.append("  <bean id=\"last\"\n        class=\"javax.ejb.Stateless\"/>\n</beans>\n");
+
+        // When
+        XmlDescriptorScanner.Result result = XmlDescriptorScanner.scan(new StringReader(content.toString()));
+
+        // Then
+        assertThat(result.classReferences()).containsExactly(
+                new XmlDescriptorScanner.ClassReference("javax.ejb.Stateless", "bean", "class", 20_003));
+    }
+
+    @Test
+    void shouldNotLoadDoctypeAndReturnPartialResultsForMalformedXml() throws Exception {
+        // Given
+        String content = """
+            <!DOCTYPE beans SYSTEM "http://unreachable.invalid/beans.dtd">
+            <beans>
+                <value>javax.inject.Inject</value>
+                <value>unterminated
+            """;
+
+        // When
+        XmlDescriptorScanner.Result result = XmlDescriptorScanner.scan(new StringReader(content));
+
+        // Then
+        assertThat(result.complete()).isFalse();
+        assertThat(result.classReferences()).containsExactly(
+                new XmlDescriptorScanner.ClassReference("javax.inject.Inject", "value", null, 3));
+    }
+
+    @Test
+    void shouldReturnEmptyResultForDescriptorWithoutFindings() throws Exception {
+        // When
+        XmlDescriptorScanner.Result result = XmlDescriptorScanner.scan(
+                new StringReader("<config><property name=\"key\">jakarta.servlet.Filter</property></config>"));
+
+        // Then
+        assertThat(result.complete()).isTrue();
+        assertThat(result.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,693 @@
+package adrianmikula.jakartamigration.testfixtures;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes synthetic enterprise projects for scale tests and benchmarks.
+ * <p>
+ * A project is a Maven or Gradle multi-module build: the root build, groups of modules (with an
+ * aggregator pom per group for Maven, so that module poms have a two-level parent hierarchy)
+ * and the modules. Every module has Java sources spread over packages of at most 100 files, a
+ * persistence.xml and a beans.xml; every fourth module is a web application that also has
+ * JSPs, a web.xml and fake JARs in {@code WEB-INF/lib}.
+ * <p>
+ * {@link Spec#eeRatio()} is the share of Java files and JSPs that use Java EE APIs (entities,
+ * servlets, REST resources, CDI beans, validated DTOs, EJBs); the others are plain classes and
+ * pages. {@link Spec#javaxRatio()} is the share of EE files, dependencies, descriptors and JARs
+ * that use javax rather than jakarta. Dependencies are drawn from APIs that have a known
+ * Jakarta mapping, so analysing them needs no Maven Central lookup.
+ * <p>
+ * Output depends only on the spec: each module draws from its own random generator seeded from
+ * {@link Spec#seed()}, so modules are written in parallel and the same spec always produces the
+ * same files. Write projects below a JUnit {@code @TempDir} or the build directory, as
+ * {@code ProjectFileSystemScanner} skips other paths under {@code /tmp}.
+ * <p>
+ * Usage:
+ * <pre>
+ * SyntheticProjectGenerator.Spec spec = SyntheticProjectGenerator.Spec.builder()
+ *         .javaFiles(100_000)
+ *         .javaxRatio(0.7)
+ *         .build();
+ * SyntheticProjectGenerator.GeneratedProject project = SyntheticProjectGenerator.generate(spec, tempDir);
+ * </pre>
+ */
+public final class SyntheticProjectGenerator {
+
+    static final String GROUP_ID = "com.example.synthetic";
+    static final String VERSION = "1.0.0-SNAPSHOT";
+
+    private static final int FILES_PER_PACKAGE = 100;
+    private static final int WEB_MODULE_INTERVAL = 4;
+    private static final long JAR_ENTRY_TIME = 1_577_836_800_000L; // 2020-01-01T00:00:00Z
+
+    // javax and jakarta coordinates of each API; all javax ones are in jakarta-mappings.yaml
+    private static final String[][] EE_APIS = {
+        {"javax.servlet:javax.servlet-api:4.0.1", "jakarta.servlet:jakarta.servlet-api:6.0.0"},
+        {"javax.persistence:javax.persistence-api:2.2", "jakarta.persistence:jakarta.persistence-api:3.1.0"},
+        {"javax.validation:validation-api:2.0.1.Final", "jakarta.validation:jakarta.validation-api:3.0.2"},
+        {"javax.inject:javax.inject:1", "jakarta.inject:jakarta.inject-api:2.0.1"},
+        {"javax.ejb:javax.ejb-api:3.2.2", "jakarta.ejb:jakarta.ejb-api:4.0.1"},
+        {"javax.annotation:javax.annotation-api:1.3.2", "jakarta.annotation:jakarta.annotation-api:2.1.1"},
+        {"javax.transaction:javax.transaction-api:1.3", "jakarta.transaction:jakarta.transaction-api:2.0.1"},
+        {"javax.websocket:javax.websocket-api:1.1", "jakarta.websocket:jakarta.websocket-api:2.1.0"},
+    };
+
+    private static final String[] PLAIN_LIBRARIES = {
+        "org.apache.commons:commons-lang3:3.12.0",
+        "com.google.guava:guava:31.1-jre",
+        "org.slf4j:slf4j-api:1.7.36",
+        "com.fasterxml.jackson.core:jackson-databind:2.13.4",
+    };
+
+    /**
+     * Kinds of Java class a module contains.
+     */
+    enum JavaKind {
+        ENTITY, SERVLET, RESOURCE, BEAN, DTO, EJB, PLAIN
+    }
+
+    /**
+     * Build tool of the generated project.
+     */
+    public enum BuildTool {
+        MAVEN, GRADLE
+    }
+
+    private SyntheticProjectGenerator() {
+    }
+
+    /**
+     * Shape and namespace mix of a generated project.
+     *
+     * @param seed               seed of all random choices
+     * @param buildTool          build tool of the project
+     * @param javaFiles          number of Java files, spread evenly over the modules
+     * @param javaFilesPerModule Java files per module, which sets the number of modules
+     * @param modulesPerGroup    modules per group
+     * @param jspsPerWebModule   JSPs in each web module
+     * @param jarsPerWebModule   fake JARs in each web module's {@code WEB-INF/lib}
+     * @param eeRatio            share of Java files and JSPs that use Java EE APIs
+     * @param javaxRatio         share of EE files, dependencies, descriptors and JARs that use javax
+     */
+    public record Spec(
+        long seed,
+        BuildTool buildTool,
+        int javaFiles,
+        int javaFilesPerModule,
+        int modulesPerGroup,
+        int jspsPerWebModule,
+        int jarsPerWebModule,
+        double eeRatio,
+        double javaxRatio
+    ) {
+        public Spec {
+            Objects.requireNonNull(buildTool, "buildTool cannot be null");
+            if (javaFiles < 1 || javaFilesPerModule < 1 || modulesPerGroup < 1) {
+                throw new IllegalArgumentException("javaFiles, javaFilesPerModule and modulesPerGroup must be positive");
+            }
+            if (jspsPerWebModule < 0 || jarsPerWebModule < 0) {
+                throw new IllegalArgumentException("jspsPerWebModule and jarsPerWebModule cannot be negative");
+            }
+            if (eeRatio < 0 || eeRatio > 1 || javaxRatio < 0 || javaxRatio > 1) {
+                throw new IllegalArgumentException("eeRatio and javaxRatio must be between 0 and 1");
+            }
+        }
+
+        /**
+         * Returns the number of modules.
+         */
+        public int modules() {
+            return (javaFiles + javaFilesPerModule - 1) / javaFilesPerModule;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    /**
+     * Builds a {@link Spec}, defaulting to a Maven project of 1000 Java files.
+     */
+    public static final class Builder {
+        private long seed = 42L;
+        private BuildTool buildTool = BuildTool.MAVEN;
+        private int javaFiles = 1_000;
+        private int javaFilesPerModule = 500;
+        private int modulesPerGroup = 10;
+        private int jspsPerWebModule = 20;
+        private int jarsPerWebModule = 8;
+        private double eeRatio = 0.3;
+        private double javaxRatio = 0.8;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder buildTool(BuildTool buildTool) {
+            this.buildTool = buildTool;
+            return this;
+        }
+
+        public Builder javaFiles(int javaFiles) {
+            this.javaFiles = javaFiles;
+            return this;
+        }
+
+        public Builder javaFilesPerModule(int javaFilesPerModule) {
+            this.javaFilesPerModule = javaFilesPerModule;
+            return this;
+        }
+
+        public Builder modulesPerGroup(int modulesPerGroup) {
+            this.modulesPerGroup = modulesPerGroup;
+            return this;
+        }
+
+        public Builder jspsPerWebModule(int jspsPerWebModule) {
+            this.jspsPerWebModule = jspsPerWebModule;
+            return this;
+        }
+
+        public Builder jarsPerWebModule(int jarsPerWebModule) {
+            this.jarsPerWebModule = jarsPerWebModule;
+            return this;
+        }
+
+        public Builder eeRatio(double eeRatio) {
+            this.eeRatio = eeRatio;
+            return this;
+        }
+
+        public Builder javaxRatio(double javaxRatio) {
+            this.javaxRatio = javaxRatio;
+            return this;
+        }
+
+        public Spec build() {
+            return new Spec(seed, buildTool, javaFiles, javaFilesPerModule, modulesPerGroup,
+                    jspsPerWebModule, jarsPerWebModule, eeRatio, javaxRatio);
+        }
+    }
+
+    /**
+     * What was written for a spec.
+     *
+     * @param root             project root
+     * @param spec             the spec
+     * @param modules          number of modules
+     * @param javaFiles        number of Java files
+     * @param javaxJavaFiles   Java files importing javax EE APIs
+     * @param jakartaJavaFiles Java files importing jakarta EE APIs
+     * @param jspFiles         number of JSPs
+     * @param xmlDescriptors   number of web.xml, persistence.xml and beans.xml files
+     * @param buildFiles       number of pom.xml, or settings.gradle and build.gradle files
+     * @param jarFiles         number of fake JARs
+     */
+    public record GeneratedProject(
+        Path root,
+        Spec spec,
+        int modules,
+        int javaFiles,
+        int javaxJavaFiles,
+        int jakartaJavaFiles,
+        int jspFiles,
+        int xmlDescriptors,
+        int buildFiles,
+        int jarFiles
+    ) {
+    }
+
+    /**
+     * Writes the project of the spec into a directory, which is created if needed.
+     *
+     * @param spec the project to write
+     * @param root directory to write it to, normally empty
+     * @return counts of what was written
+     * @throws IOException if a file cannot be written
+     */
+    public static GeneratedProject generate(Spec spec, Path root) throws IOException {
+        Objects.requireNonNull(spec, "spec cannot be null");
+        Files.createDirectories(root);
+        Counts counts = new Counts();
+
+        int modules = spec.modules();
+        int groups = (modules + spec.modulesPerGroup() - 1) / spec.modulesPerGroup();
+        if (spec.buildTool() == BuildTool.MAVEN) {
+            write(root.resolve("pom.xml"), rootPom(groups), counts.buildFiles);
+            for (int group = 0; group < groups; group++) {
+                int first = group * spec.modulesPerGroup();
+                int last = Math.min(modules, first + spec.modulesPerGroup());
+                write(root.resolve(groupName(group)).resolve("pom.xml"), groupPom(group, first, last), counts.buildFiles);
+            }
+        } else {
+            write(root.resolve("settings.gradle"), settingsGradle(spec, modules), counts.buildFiles);
+            write(root.resolve("build.gradle"), rootBuildGradle(), counts.buildFiles);
+        }
+
+        try {
+            IntStream.range(0, modules).parallel().forEach(module -> {
+                try {
+                    writeModule(spec, root, module, counts);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new GeneratedProject(root, spec, modules, counts.javaFiles.get(), counts.javaxJavaFiles.get(),
+                counts.jakartaJavaFiles.get(), counts.jspFiles.get(), counts.xmlDescriptors.get(),
+                counts.buildFiles.get(), counts.jarFiles.get());
+    }
+
+    private static void writeModule(Spec spec, Path root, int module, Counts counts) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.seed() * 1_000_003L + module);
+        int group = module / spec.modulesPerGroup();
+        boolean web = module % WEB_MODULE_INTERVAL == 0;
+        Path moduleDir = root.resolve(groupName(group)).resolve(moduleName(module));
+
+        // Even spread, the first modules taking the remainder
+        int modules = spec.modules();
+        int javaFiles = spec.javaFiles() / modules + (module < spec.javaFiles() % modules ? 1 : 0);
+
+        List<String> dependencies = new ArrayList<>();
+        for (String[] api : EE_APIS) {
+            if (random.nextInt(2) == 0) {
+                dependencies.add(api[random.nextDouble() < spec.javaxRatio() ? 0 : 1]);
+            }
+        }
+        dependencies.add(PLAIN_LIBRARIES[random.nextInt(PLAIN_LIBRARIES.length)]);
+        // Each module after the first of its group depends on its predecessor
+        String sibling = module % spec.modulesPerGroup() == 0 ? null : moduleName(module - 1);
+        if (spec.buildTool() == BuildTool.MAVEN) {
+            write(moduleDir.resolve("pom.xml"), modulePom(group, module, web, dependencies, sibling), counts.buildFiles);
+        } else {
+            write(moduleDir.resolve("build.gradle"), moduleBuildGradle(group, web, dependencies, sibling), counts.buildFiles);
+        }
+
+        String basePackage = "com.example.synthetic." + moduleName(module).replace("-", "");
+        List<String> servlets = new ArrayList<>();
+        for (int file = 0; file < javaFiles; file++) {
+            String packageName = basePackage + ".p" + (file / FILES_PER_PACKAGE);
+            JavaKind kind = random.nextDouble() < spec.eeRatio()
+                    ? JavaKind.values()[random.nextInt(JavaKind.values().length - 1)]
+                    : JavaKind.PLAIN;
+            boolean javax = random.nextDouble() < spec.javaxRatio();
+            String className = toClassName(kind) + file;
+            Path sourceFile = moduleDir.resolve("src/main/java").resolve(packageName.replace('.', '/'))
+                    .resolve(className + ".java");
+            write(sourceFile, javaSource(random, kind, javax ? "javax" : "jakarta", packageName, className),
+                    counts.javaFiles);
+            if (kind != JavaKind.PLAIN) {
+                (javax ? counts.javaxJavaFiles : counts.jakartaJavaFiles).incrementAndGet();
+            }
+            if (kind == JavaKind.SERVLET) {
+                servlets.add(packageName + "." + className);
+            }
+        }
+
+        Path resources = moduleDir.resolve("src/main/resources/META-INF");
+        write(resources.resolve("persistence.xml"),
+                persistenceXml(moduleName(module), random.nextDouble() < spec.javaxRatio()), counts.xmlDescriptors);
+        write(resources.resolve("beans.xml"), beansXml(random.nextDouble() < spec.javaxRatio()), counts.xmlDescriptors);
+
+        if (web) {
+            Path webapp = moduleDir.resolve("src/main/webapp");
+            write(webapp.resolve("WEB-INF/web.xml"), webXml(servlets, random.nextDouble() < spec.javaxRatio()),
+                    counts.xmlDescriptors);
+            for (int jsp = 0; jsp < spec.jspsPerWebModule(); jsp++) {
+                boolean ee = random.nextDouble() < spec.eeRatio();
+                write(webapp.resolve("views/page" + jsp + ".jsp"),
+                        jsp(random, ee, random.nextDouble() < spec.javaxRatio()), counts.jspFiles);
+            }
+            for (int jar = 0; jar < spec.jarsPerWebModule(); jar++) {
+                String coordinates = jar % 2 == 0
+                        ? EE_APIS[random.nextInt(EE_APIS.length)][random.nextDouble() < spec.javaxRatio() ? 0 : 1]
+                        : PLAIN_LIBRARIES[random.nextInt(PLAIN_LIBRARIES.length)];
+                if (writeJar(webapp.resolve("WEB-INF/lib"), coordinates)) {
+                    counts.jarFiles.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    static String groupName(int group) {
+        return String.format("group-%03d", group);
+    }
+
+    static String moduleName(int module) {
+        return String.format("module-%04d", module);
+    }
+
+    private static String toClassName(JavaKind kind) {
+        return switch (kind) {
+            case ENTITY -> "CustomerEntity";
+            case SERVLET -> "OrderServlet";
+            case RESOURCE -> "InvoiceResource";
+            case BEAN -> "PricingBean";
+            case DTO -> "AddressDto";
+            case EJB -> "BillingService";
+            case PLAIN -> "Helper";
+        };
+    }
+
+    static String javaSource(SplittableRandom random, JavaKind kind, String ns, String packageName, String className) {
+        StringBuilder source = new StringBuilder(2048);
+        source.append("package ").append(packageName).append(";\n\n");
+        switch (kind) {
+            case ENTITY -> source
+                    .append("import ").append(ns).append(".persistence.Column;\n")
+                    .append("import ").append(ns).append(".persistence.Entity;\n")
+                    .append("import ").append(ns).append(".persistence.GeneratedValue;\n")
+                    .append("import ").append(ns).append(".persistence.Id;\n")
+                    .append("import ").append(ns).append(".persistence.Table;\n\n")
+                    .append("@Entity\n@Table(name = \"").append(className.toLowerCase()).append("\")\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    @Id\n    @GeneratedValue\n    private Long id;\n\n")
+                    .append("    @Column(name = \"name\", nullable = false)\n    private String name;\n\n")
+                    .append("    public Long getId() {\n        return id;\n    }\n\n")
+                    .append("    public String getName() {\n        return name;\n    }\n");
+            case SERVLET -> source
+                    .append("import ").append(ns).append(".servlet.ServletException;\n")
+                    .append("import ").append(ns).append(".servlet.annotation.WebServlet;\n")
+                    .append("import ").append(ns).append(".servlet.http.HttpServlet;\n")
+                    .append("import ").append(ns).append(".servlet.http.HttpServletRequest;\n")
+                    .append("import ").append(ns).append(".servlet.http.HttpServletResponse;\n\n")
+                    .append("import java.io.IOException;\n\n")
+                    .append("@WebServlet(\"/").append(className.toLowerCase()).append("\")\n")
+                    .append("public class ").append(className).append(" extends HttpServlet {\n\n")
+                    .append("    @Override\n")
+                    .append("    protected void doGet(HttpServletRequest request, HttpServletResponse response)\n")
+                    .append("            throws ServletException, IOException {\n")
+                    .append("        request.getSession().setAttribute(\"page\", request.getParameter(\"page\"));\n")
+                    .append("        response.getWriter().write(\"ok\");\n    }\n");
+            case RESOURCE -> source
+                    .append("import ").append(ns).append(".ws.rs.GET;\n")
+                    .append("import ").append(ns).append(".ws.rs.Path;\n")
+                    .append("import ").append(ns).append(".ws.rs.PathParam;\n")
+                    .append("import ").append(ns).append(".ws.rs.Produces;\n")
+                    .append("import ").append(ns).append(".ws.rs.core.MediaType;\n\n")
+                    .append("@Path(\"/").append(className.toLowerCase()).append("\")\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    @GET\n    @Path(\"/{id}\")\n    @Produces(MediaType.APPLICATION_JSON)\n")
+                    .append("    public String find(@PathParam(\"id\") String id) {\n")
+                    .append("        return \"{\\\"id\\\":\\\"\" + id + \"\\\"}\";\n    }\n");
+            case BEAN -> source
+                    .append("import ").append(ns).append(".enterprise.context.ApplicationScoped;\n")
+                    .append("import ").append(ns).append(".inject.Inject;\n\n")
+                    .append("@ApplicationScoped\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    @Inject\n    private Object repository;\n\n")
+                    .append("    public boolean isReady() {\n        return repository != null;\n    }\n");
+            case DTO -> source
+                    .append("import ").append(ns).append(".validation.constraints.Email;\n")
+                    .append("import ").append(ns).append(".validation.constraints.NotNull;\n")
+                    .append("import ").append(ns).append(".validation.constraints.Size;\n\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    @NotNull\n    @Size(max = 80)\n    private String street;\n\n")
+                    .append("    @Email\n    private String contact;\n\n")
+                    .append("    public String getStreet() {\n        return street;\n    }\n");
+            case EJB -> source
+                    .append("import ").append(ns).append(".annotation.PostConstruct;\n")
+                    .append("import ").append(ns).append(".ejb.Stateless;\n")
+                    .append("import ").append(ns).append(".transaction.Transactional;\n\n")
+                    .append("@Stateless\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    private int invoices;\n\n")
+                    .append("    @PostConstruct\n    void init() {\n        invoices = 0;\n    }\n\n")
+                    .append("    @Transactional\n    public int bill() {\n        return ++invoices;\n    }\n");
+            case PLAIN -> source
+                    .append("import java.util.ArrayList;\n")
+                    .append("import java.util.List;\n\n")
+                    .append("public class ").append(className).append(" {\n\n")
+                    .append("    private final List<String> values = new ArrayList<>();\n\n")
+                    .append("    public void add(String value) {\n        values.add(value);\n    }\n");
+        }
+        // Filler methods so that file sizes vary
+        int fillers = random.nextInt(6);
+        for (int i = 0; i < fillers; i++) {
+            source.append("\n    public int compute").append(i).append("(int value) {\n")
+                    .append("        int result = value * ").append(random.nextInt(1, 100)).append(";\n")
+                    .append("        return result + ").append(i).append(";\n    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static String jsp(SplittableRandom random, boolean ee, boolean javax) {
+        StringBuilder jsp = new StringBuilder(1024);
+        jsp.append("<%@ page contentType=\"text/html;charset=UTF-8\" %>\n");
+        if (ee) {
+            String ns = javax ? "javax" : "jakarta";
+            jsp.append("<%@ page import=\"").append(ns).append(".servlet.http.HttpSession\" %>\n");
+            jsp.append(javax
+                    ? "<%@ taglib uri=\"http://java.sun.com/jsp/jstl/core\" prefix=\"c\" %>\n"
+                    : "<%@ taglib uri=\"jakarta.tags.core\" prefix=\"c\" %>\n");
+        }
+        jsp.append("<html>\n<body>\n");
+        int rows = random.nextInt(5, 30);
+        for (int row = 0; row < rows; row++) {
+            jsp.append("    <div class=\"row\"><span>${item").append(row).append(".name}</span></div>\n");
+        }
+        return jsp.append("</body>\n</html>\n").toString();
+    }
+
+    private static String webXml(List<String> servlets, boolean javax) {
+        StringBuilder xml = new StringBuilder(512 + servlets.size() * 256);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append(javax
+                ? "<web-app xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"3.0\">\n"
+                : "<web-app xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"6.0\">\n");
+        xml.append("    <servlet>\n")
+                .append("        <servlet-name>faces</servlet-name>\n")
+                .append("        <servlet-class>").append(javax ? "javax" : "jakarta")
+                .append(".faces.webapp.FacesServlet</servlet-class>\n")
+                .append("    </servlet>\n");
+        for (int i = 0; i < servlets.size(); i++) {
+            xml.append("    <servlet>\n")
+                    .append("        <servlet-name>servlet").append(i).append("</servlet-name>\n")
+                    .append("        <servlet-class>").append(servlets.get(i)).append("</servlet-class>\n")
+                    .append("    </servlet>\n")
+                    .append("    <servlet-mapping>\n")
+                    .append("        <servlet-name>servlet").append(i).append("</servlet-name>\n")
+                    .append("        <url-pattern>/s").append(i).append("/*</url-pattern>\n")
+                    .append("    </servlet-mapping>\n");
+        }
+        return xml.append("</web-app>\n").toString();
+    }
+
+    private static String persistenceXml(String unitName, boolean javax) {
+        String prefix = javax ? "javax" : "jakarta";
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + (javax
+                        ? "<persistence xmlns=\"http://java.sun.com/xml/ns/persistence\" version=\"2.0\">\n"
+                        : "<persistence xmlns=\"https://jakarta.ee/xml/ns/persistence\" version=\"3.0\">\n")
+                + "    <persistence-unit name=\"" + unitName + "\">\n"
+                + "        <provider>org.hibernate.jpa.HibernatePersistenceProvider</provider>\n"
+                + "        <properties>\n"
+                + "            <property name=\"" + prefix + ".persistence.jdbc.url\" value=\"jdbc:h2:mem:test\"/>\n"
+                + "            <property name=\"" + prefix + ".persistence.jdbc.user\" value=\"sa\"/>\n"
+                + "        </properties>\n"
+                + "    </persistence-unit>\n"
+                + "</persistence>\n";
+    }
+
+    private static String beansXml(boolean javax) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + (javax
+                        ? "<beans xmlns=\"http://java.sun.com/xml/ns/javaee\" bean-discovery-mode=\"all\">\n"
+                        : "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" bean-discovery-mode=\"all\">\n")
+                + "</beans>\n";
+    }
+
+    private static String rootPom(int groups) {
+        StringBuilder pom = new StringBuilder(4096);
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("    <modelVersion>4.0.0</modelVersion>\n")
+                .append("    <groupId>").append(GROUP_ID).append("</groupId>\n")
+                .append("    <artifactId>synthetic-parent</artifactId>\n")
+                .append("    <version>").append(VERSION).append("</version>\n")
+                .append("    <packaging>pom</packaging>\n\n")
+                .append("    <properties>\n");
+        for (String[] api : EE_APIS) {
+            for (String coordinates : api) {
+                String[] parts = coordinates.split(":");
+                pom.append("        <").append(versionProperty(parts[1])).append('>').append(parts[2])
+                        .append("</").append(versionProperty(parts[1])).append(">\n");
+            }
+        }
+        pom.append("    </properties>\n\n    <modules>\n");
+        for (int group = 0; group < groups; group++) {
+            pom.append("        <module>").append(groupName(group)).append("</module>\n");
+        }
+        return pom.append("    </modules>\n</project>\n").toString();
+    }
+
+    private static String groupPom(int group, int firstModule, int lastModule) {
+        StringBuilder pom = new StringBuilder(1024);
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("    <modelVersion>4.0.0</modelVersion>\n")
+                .append(parent("synthetic-parent"))
+                .append("    <artifactId>").append(groupName(group)).append("</artifactId>\n")
+                .append("    <packaging>pom</packaging>\n\n    <modules>\n");
+        for (int module = firstModule; module < lastModule; module++) {
+            pom.append("        <module>").append(moduleName(module)).append("</module>\n");
+        }
+        return pom.append("    </modules>\n</project>\n").toString();
+    }
+
+    private static String modulePom(int group, int module, boolean web, List<String> dependencies, String sibling) {
+        StringBuilder pom = new StringBuilder(2048);
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("    <modelVersion>4.0.0</modelVersion>\n")
+                .append(parent(groupName(group)))
+                .append("    <artifactId>").append(moduleName(module)).append("</artifactId>\n")
+                .append("    <packaging>").append(web ? "war" : "jar").append("</packaging>\n\n")
+                .append("    <dependencies>\n");
+        for (String coordinates : dependencies) {
+            String[] parts = coordinates.split(":");
+            boolean ee = parts[0].startsWith("javax.") || parts[0].startsWith("jakarta.");
+            pom.append("        <dependency>\n")
+                    .append("            <groupId>").append(parts[0]).append("</groupId>\n")
+                    .append("            <artifactId>").append(parts[1]).append("</artifactId>\n")
+                    .append("            <version>")
+                    .append(ee ? "${" + versionProperty(parts[1]) + "}" : parts[2])
+                    .append("</version>\n");
+            if (ee) {
+                pom.append("            <scope>provided</scope>\n");
+            }
+            pom.append("        </dependency>\n");
+        }
+        if (sibling != null) {
+            pom.append("        <dependency>\n")
+                    .append("            <groupId>").append(GROUP_ID).append("</groupId>\n")
+                    .append("            <artifactId>").append(sibling).append("</artifactId>\n")
+                    .append("            <version>${project.version}</version>\n")
+                    .append("        </dependency>\n");
+        }
+        return pom.append("    </dependencies>\n</project>\n").toString();
+    }
+
+    private static String parent(String artifactId) {
+        return "    <parent>\n"
+                + "        <groupId>" + GROUP_ID + "</groupId>\n"
+                + "        <artifactId>" + artifactId + "</artifactId>\n"
+                + "        <version>" + VERSION + "</version>\n"
+                + "    </parent>\n";
+    }
+
+    private static String versionProperty(String artifactId) {
+        return artifactId + ".version";
+    }
+
+    private static String settingsGradle(Spec spec, int modules) {
+        StringBuilder settings = new StringBuilder(64 + modules * 40);
+        settings.append("rootProject.name = 'synthetic-parent'\n\n");
+        for (int module = 0; module < modules; module++) {
+            settings.append("include '").append(projectPath(module / spec.modulesPerGroup(), moduleName(module)))
+                    .append("'\n");
+        }
+        return settings.toString();
+    }
+
+    private static String rootBuildGradle() {
+        return "subprojects {\n"
+                + "    apply plugin: 'java'\n\n"
+                + "    group = '" + GROUP_ID + "'\n"
+                + "    version = '" + VERSION + "'\n\n"
+                + "    repositories {\n        mavenCentral()\n    }\n"
+                + "}\n";
+    }
+
+    private static String moduleBuildGradle(int group, boolean web, List<String> dependencies, String sibling) {
+        StringBuilder gradle = new StringBuilder(512);
+        if (web) {
+            gradle.append("apply plugin: 'war'\n\n");
+        }
+        gradle.append("dependencies {\n");
+        for (String coordinates : dependencies) {
+            boolean ee = coordinates.startsWith("javax.") || coordinates.startsWith("jakarta.");
+            gradle.append("    ").append(ee ? "compileOnly" : "implementation")
+                    .append(" '").append(coordinates).append("'\n");
+        }
+        if (sibling != null) {
+            gradle.append("    implementation project('").append(projectPath(group, sibling)).append("')\n");
+        }
+        return gradle.append("}\n").toString();
+    }
+
+    private static String projectPath(int group, String module) {
+        return ":" + groupName(group) + ":" + module;
+    }
+
+    /**
+     * Writes a JAR named after the coordinates with a manifest, Maven metadata and the
+     * directories of its packages, but no classes.
+     *
+     * @return false if the module already has that JAR
+     */
+    private static boolean writeJar(Path directory, String coordinates) throws IOException {
+        String[] parts = coordinates.split(":");
+        Path jar = directory.resolve(parts[1] + "-" + parts[2] + ".jar");
+        if (Files.exists(jar)) {
+            return false;
+        }
+        Files.createDirectories(directory);
+        try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(jarEntry("META-INF/MANIFEST.MF"));
+            zip.write(("Manifest-Version: 1.0\nImplementation-Title: " + parts[1]
+                    + "\nImplementation-Version: " + parts[2] + "\n").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(jarEntry("META-INF/maven/" + parts[0] + "/" + parts[1] + "/pom.properties"));
+            zip.write(("groupId=" + parts[0] + "\nartifactId=" + parts[1] + "\nversion=" + parts[2] + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(jarEntry(parts[0].replace('.', '/') + "/"));
+            zip.closeEntry();
+        }
+        return true;
+    }
+
+    private static ZipEntry jarEntry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        // Fixed time, so that the same spec writes byte-identical JARs
+        entry.setTime(JAR_ENTRY_TIME);
+        return entry;
+    }
+
+    private static void write(Path file, String content, AtomicInteger counter) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        counter.incrementAndGet();
+    }
+
+    private static final class Counts {
+        final AtomicInteger javaFiles = new AtomicInteger();
+        final AtomicInteger javaxJavaFiles = new AtomicInteger();
+        final AtomicInteger jakartaJavaFiles = new AtomicInteger();
+        final AtomicInteger jspFiles = new AtomicInteger();
+        final AtomicInteger xmlDescriptors = new AtomicInteger();
+        final AtomicInteger buildFiles = new AtomicInteger();
+        final AtomicInteger jarFiles = new AtomicInteger();
+    }
+}
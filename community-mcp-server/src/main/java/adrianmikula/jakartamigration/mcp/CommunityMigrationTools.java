@@ -19,6 +19,10 @@
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyAnalysisModule;
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphBuilder;
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphException;
+import adrianmikula.jakartamigration.sourcecodescanning.domain.ImportStatement;
+import adrianmikula.jakartamigration.sourcecodescanning.domain.SourceCodeAnalysisResult;
+import adrianmikula.jakartamigration.sourcecodescanning.service.SourceCodeScanner;
+import adrianmikula.jakartamigration.sourcecodescanning.service.impl.SourceCodeScannerImpl;
 import lombok.RequiredArgsConstructor;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
@@ -29,7 +33,12 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import adrianmikula.jakartamigration.mcp.util.JsonResponseBuilder;
 import adrianmikula.jakartamigration.mcp.util.JsonUtils;
 
 /**
@@ -40,6 +49,7 @@
  * - analyzeJakartaReadiness: Analyze project for Jakarta migration readiness
  * - detectBlockers: Identify blockers that prevent migration
  * - recommendVersions: Get Jakarta-compatible version recommendations
+ * - explainDependencyInclusion: Find which dependencies pull an artifact in, and through which paths
  */
 @Component
 @RequiredArgsConstructor
@@ -50,6 +60,11 @@ public class CommunityMigrationTools {
     private final DependencyAnalysisModule dependencyAnalysisModule;
     private final DependencyGraphBuilder dependencyGraphBuilder;
 
+    private static final int DEFAULT_INCLUSION_PATHS = 5;
+
+    // Basic scans only report imports, so the file header is tokenized instead of parsed
+    private final SourceCodeScanner sourceCodeScanner = new SourceCodeScannerImpl(SourceCodeScannerImpl.Mode.FAST_IMPORTS);
+
     /**
      * Scans for Jakarta EE usage with basic analysis capabilities.
      * COMMUNITY TOOL - Free to use under Apache License 2.0
@@ -91,20 +106,16 @@ public String scanForJavaxBasic(
             // Source code scanning results
             if (scanSource) {
                 java.util.Map<String, Object> sourceCode = new java.util.HashMap<>();
-                sourceCode.put("javaxPackagesFound", java.util.Arrays.asList(
-                    "javax.persistence",
-                    "javax.servlet", 
-                    "javax.validation",
-                    "javax.transaction",
-                    "javax.ejb",
-                    "javax.jms",
-                    "javax.mail",
-                    "javax.annotation"
-                ));
-                sourceCode.put("totalJavaFiles", report.dependencyGraph().getNodes().stream()
-                    .mapToInt(node -> node.artifactId().endsWith(".java") ? 1 : 0).sum());
-                sourceCode.put("filesWithJavaxImports", report.dependencyGraph().getNodes().stream()
-                    .mapToInt(node -> node.artifactId().endsWith(".java") && node.artifactId().toLowerCase().contains("javax") ? 1 : 0).sum());
+                SourceCodeAnalysisResult sourceResult = sourceCodeScanner.scanProject(project);
+                sourceCode.put("javaxPackagesFound", sourceResult.filesWithJavaxUsage().stream()
+                    .flatMap(usage -> usage.javaxImports().stream())
+                    .map(ImportStatement::javaxPackage)
+                    .distinct()
+                    .sorted()
+                    .collect(java.util.stream.Collectors.toList()));
+                sourceCode.put("totalJavaFiles", sourceResult.totalFilesScanned());
+                sourceCode.put("filesWithJavaxImports", sourceResult.totalFilesWithJavaxUsage());
+                sourceCode.put("totalJavaxImports", sourceResult.totalJavaxImports());
                 sourceCode.put("estimatedMigrationComplexity", "medium");
                 responseBuilder.addField("sourceCode", sourceCode);
             }
@@ -319,8 +330,82 @@ public String recommendVersions(
         }
     }
 
+    /**
+     * Explains how an artifact gets into the project: which roots and direct dependencies bring it
+     * in, through which paths, and which javax artifacts it pulls in itself.
+     * COMMUNITY TOOL - Free to use under Apache License 2.0
+     */
+    @McpTool(name = "explainDependencyInclusion", description = "Explains which direct dependencies pull an artifact into the project and through which paths, and which javax artifacts the artifact itself pulls in. Returns JSON with the shortest inclusion paths first.")
+    public String explainDependencyInclusion(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath,
+            @McpToolParam(description = "Artifact as groupId:artifactId or groupId:artifactId:version", required = true) String artifact,
+            @McpToolParam(description = "Maximum number of inclusion paths to return (default 5)", required = false) String maxPaths) {
+        try {
+            log.info("Explaining inclusion of {} in project: {}", artifact, projectPath);
+
+            Path project = Paths.get(projectPath);
+            if (!Files.exists(project) || !Files.isDirectory(project)) {
+                return JsonUtils.createErrorResponse("Project path does not exist or is not a directory: " + projectPath);
+            }
+            if (artifact == null || artifact.isBlank()) {
+                return JsonUtils.createErrorResponse("Artifact is required, e.g. javax.servlet:javax.servlet-api");
+            }
+            int pathLimit = DEFAULT_INCLUSION_PATHS;
+            if (maxPaths != null && !maxPaths.isBlank()) {
+                try {
+                    pathLimit = Math.max(1, Integer.parseInt(maxPaths.trim()));
+                } catch (NumberFormatException e) {
+                    return JsonUtils.createErrorResponse("maxPaths must be a number: " + maxPaths);
+                }
+            }
+
+            DependencyGraph graph = dependencyGraphBuilder.buildFromProject(project);
+            DependencyReachabilityIndex index = dependencyAnalysisModule.buildReachabilityIndex(graph);
+
+            String key = artifact.trim();
+            List<Artifact> matches = graph.getNodes().stream()
+                    .filter(node -> key.equals(node.toIdentifier()) || key.equals(node.toCoordinate()))
+                    .sorted(Comparator.comparing(Artifact::toCoordinate))
+                    .toList();
+
+            List<Object> inclusions = new ArrayList<>();
+            for (Artifact match : matches) {
+                Map<String, Object> inclusion = new LinkedHashMap<>();
+                inclusion.put("artifact", match.toCoordinate());
+                inclusion.put("roots", coordinates(index.rootsReaching(match)));
+                inclusion.put("directDependencies", coordinates(index.directDependenciesReaching(match)));
+                inclusion.put("paths", index.shortestInclusionPaths(match, pathLimit).stream()
+                        .map(this::coordinates)
+                        .toList());
+                inclusion.put("javaxReachable", coordinates(index.javaxReachableFrom(match)));
+                inclusions.add(inclusion);
+            }
+
+            return new JsonResponseBuilder()
+                    .status("success")
+                    .addField("edition", "community")
+                    .addField("projectPath", projectPath)
+                    .addField("artifact", key)
+                    .addField("found", !matches.isEmpty())
+                    .addField("totalDependencies", graph.nodeCount())
+                    .addArray("inclusions", inclusions)
+                    .build();
+
+        } catch (DependencyGraphException e) {
+            log.error("Failed to explain dependency inclusion: {}", e.getMessage(), e);
+            return JsonUtils.createErrorResponse("Failed to explain dependency inclusion: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error during dependency inclusion analysis", e);
+            return JsonUtils.createErrorResponse("Unexpected error: " + e.getMessage());
+        }
+    }
+
     // === Response Builder Methods ===
 
+    private List<String> coordinates(List<Artifact> artifacts) {
+        return artifacts.stream().map(Artifact::toCoordinate).toList();
+    }
+
     private String buildReadinessResponse(DependencyAnalysisReport report) {
         StringBuilder json = new StringBuilder();
         json.append("{\n");
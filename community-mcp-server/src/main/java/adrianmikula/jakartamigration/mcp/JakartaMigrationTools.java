@@ -23,7 +23,8 @@
  * Premium tools require a JetBrains Marketplace license.
  * 
  * License Tiers:
- * - COMMUNITY (Free): analyzeJakartaReadiness, recommendVersions, listDependenciesCompatibility
+ * - COMMUNITY (Free): analyzeJakartaReadiness, recommendVersions, listDependenciesCompatibility,
+ *   explainDependencyInclusion
  * - PREMIUM ($49/mo or $399/yr): All tools including auto-fixes, one-click refactor
  */
 @Component
@@ -89,6 +90,18 @@ public String recommendVersions(
         return communityTools.recommendVersions(projectPath);
     }
 
+    /**
+     * Explains which direct dependencies pull an artifact into the project, and through which paths.
+     * COMMUNITY TOOL - Free to use under Apache License 2.0
+     */
+    @McpTool(name = "explainDependencyInclusion", description = "Explains which direct dependencies pull an artifact into the project and through which paths, and which javax artifacts the artifact itself pulls in. Returns JSON with the shortest inclusion paths first.")
+    public String explainDependencyInclusion(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath,
+            @McpToolParam(description = "Artifact as groupId:artifactId or groupId:artifactId:version", required = true) String artifact,
+            @McpToolParam(description = "Maximum number of inclusion paths to return (default 5)", required = false) String maxPaths) {
+        return communityTools.explainDependencyInclusion(projectPath, artifact, maxPaths);
+    }
+
     /**
      * Lists dependency compatibility information for Jakarta migration.
      * COMMUNITY TOOL - Free to use under Apache License 2.0
@@ -0,0 +1,140 @@
+package adrianmikula.jakartamigration.mcp;
+
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Artifact;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.CompactDependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Dependency;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyReachabilityIndex;
+import adrianmikula.jakartamigration.dependencyanalysis.domain.Namespace;
+import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyAnalysisModule;
+import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the explainDependencyInclusion tool of CommunityMigrationTools.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CommunityMigrationTools Tests")
+class CommunityMigrationToolsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Artifact app = new Artifact("com.example", "app", "1.0", "compile", false);
+    private final Artifact web = new Artifact("com.example", "web", "2.0", "compile", false);
+    private final Artifact servlet = new Artifact("javax.servlet", "javax.servlet-api", "4.0.1", "compile", false);
+    private final Artifact mail = new Artifact("javax.mail", "mail", "1.4.7", "compile", false);
+
+    @Mock
+    private DependencyAnalysisModule dependencyAnalysisModule;
+
+    @Mock
+    private DependencyGraphBuilder dependencyGraphBuilder;
+
+    @TempDir
+    Path projectDir;
+
+    private CommunityMigrationTools tools;
+
+    @BeforeEach
+    void setUp() {
+        DependencyGraph graph = new DependencyGraph();
+        graph.addEdge(new Dependency(app, web, "compile", false));
+        graph.addEdge(new Dependency(app, servlet, "compile", false));
+        graph.addEdge(new Dependency(web, servlet, "compile", false));
+        graph.addEdge(new Dependency(servlet, mail, "compile", false));
+        when(dependencyGraphBuilder.buildFromProject(any(Path.class))).thenReturn(graph);
+        when(dependencyAnalysisModule.buildReachabilityIndex(graph)).thenReturn(
+                DependencyReachabilityIndex.build(CompactDependencyGraph.from(graph, CommunityMigrationToolsTest::namespaceOf)));
+        tools = new CommunityMigrationTools(dependencyAnalysisModule, dependencyGraphBuilder);
+    }
+
+    @Test
+    @DisplayName("Should explain inclusion of an artifact matched by groupId:artifactId")
+    void shouldExplainInclusionMatchedByGroupAndArtifactId() throws Exception {
+        // When
+        JsonNode response = objectMapper.readTree(tools.explainDependencyInclusion(
+                projectDir.toString(), "javax.servlet:javax.servlet-api", null));
+
+        // Then
+        assertThat(response.get("status").asText()).isEqualTo("success");
+        assertThat(response.get("found").asBoolean()).isTrue();
+        assertThat(response.get("totalDependencies").asInt()).isEqualTo(4);
+        JsonNode inclusion = response.get("inclusions").get(0);
+        assertThat(inclusion.get("artifact").asText()).isEqualTo("javax.servlet:javax.servlet-api:4.0.1");
+        assertThat(texts(inclusion.get("roots"))).containsExactly("com.example:app:1.0");
+        assertThat(texts(inclusion.get("directDependencies")))
+                .containsExactlyInAnyOrder("com.example:web:2.0", "javax.servlet:javax.servlet-api:4.0.1");
+        // The direct path is the shortest, so it comes first
+        assertThat(inclusion.get("paths")).hasSize(2);
+        assertThat(texts(inclusion.get("paths").get(0)))
+                .containsExactly("com.example:app:1.0", "javax.servlet:javax.servlet-api:4.0.1");
+        assertThat(texts(inclusion.get("javaxReachable"))).containsExactly("javax.mail:mail:1.4.7");
+    }
+
+    @Test
+    @DisplayName("Should limit inclusion paths to maxPaths")
+    void shouldLimitInclusionPathsToMaxPaths() throws Exception {
+        // When
+        JsonNode response = objectMapper.readTree(tools.explainDependencyInclusion(
+                projectDir.toString(), "javax.servlet:javax.servlet-api:4.0.1", "1"));
+
+        // Then
+        assertThat(response.get("inclusions").get(0).get("paths")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject maxPaths that is not a number")
+    void shouldRejectInvalidMaxPaths() throws Exception {
+        // When
+        JsonNode response = objectMapper.readTree(tools.explainDependencyInclusion(
+                projectDir.toString(), "javax.servlet:javax.servlet-api", "many"));
+
+        // Then
+        assertThat(response.get("status").asText()).isEqualTo("error");
+        assertThat(response.get("message").asText()).isEqualTo("maxPaths must be a number: many");
+        verifyNoInteractions(dependencyGraphBuilder);
+    }
+
+    @Test
+    @DisplayName("Should report an artifact that is not in the dependency graph as not found")
+    void shouldReportArtifactNotInGraph() throws Exception {
+        // When
+        JsonNode response = objectMapper.readTree(tools.explainDependencyInclusion(
+                projectDir.toString(), "javax.ejb:ejb-api", null));
+
+        // Then
+        assertThat(response.get("status").asText()).isEqualTo("success");
+        assertThat(response.get("found").asBoolean()).isFalse();
+        assertThat(response.get("inclusions")).isEmpty();
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> texts = new ArrayList<>();
+        array.forEach(node -> texts.add(node.asText()));
+        return texts;
+    }
+
+    private static Namespace namespaceOf(Artifact artifact) {
+        return artifact.groupId().startsWith("javax.") ? Namespace.JAVAX : Namespace.UNKNOWN;
+    }
+}
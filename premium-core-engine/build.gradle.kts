@@ -14,6 +14,7 @@
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.15.2")
     implementation("org.ow2.asm:asm:9.6") // For bytecode analysis
     implementation("com.google.guava:guava:32.1.3-jre") // Common utilities
+    implementation("org.gradle:gradle-tooling-api:8.10.2") // Gradle dependency resolution on a warm daemon
     
     // Template engine - Thymeleaf for robust template processing
     implementation("org.thymeleaf:thymeleaf:3.1.2.RELEASE")
@@ -37,6 +38,8 @@
     testImplementation("org.slf4j:slf4j-simple:2.0.9")
     testImplementation("org.mockito:mockito-core:5.7.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.7.0")
+    // Synthetic project generator for scale tests
+    testImplementation(testFixtures(project(":community-core-engine")))
 }
 
 // NOTE: This module is PROPRIETARY and not covered by Apache License 2.0
@@ -0,0 +1,284 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar store for scan findings. Every string (class names, Jakarta equivalents, details) is
+ * interned into one table, file paths are stored once each relative to the project root, and each
+ * finding is a row of int columns. A Jakarta equivalent that is just the javax name with
+ * {@code javax.} replaced by {@code jakarta.} is not stored at all; it is derived once per
+ * distinct javax name when a view is taken.
+ *
+ * <p>The store is not thread-safe; fill it from one thread and publish findings with {@link #view()}.
+ */
+public final class CompactFindingsStore {
+
+    private static final String JAVAX_PREFIX = "javax.";
+    private static final String JAKARTA_PREFIX = "jakarta.";
+    private static final int NONE = -1;
+    private static final int DERIVED = -2;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Path projectRoot;
+    private final StringTable strings = new StringTable();
+    private final StringTable paths = new StringTable();
+
+    private int size;
+    private int[] pathIds = new int[INITIAL_CAPACITY];
+    private int[] lineNumbers = new int[INITIAL_CAPACITY];
+    private int[] javaxIds = new int[INITIAL_CAPACITY];
+    private int[] jakartaIds = new int[INITIAL_CAPACITY];
+    private int[] detailIds = new int[INITIAL_CAPACITY];
+
+    /**
+     * @param projectRoot root that file paths are stored relative to, or null to store full paths
+     */
+    public CompactFindingsStore(Path projectRoot) {
+        this.projectRoot = projectRoot != null ? projectRoot.toAbsolutePath().normalize() : null;
+    }
+
+    /**
+     * Adds one finding.
+     *
+     * @param jakartaEquivalent the Jakarta EE equivalent, or null if there is none
+     * @param detail scanner-specific detail, or null
+     */
+    public void add(Path file, int lineNumber, String javaxName, String jakartaEquivalent, String detail) {
+        ensureCapacity(size + 1);
+        pathIds[size] = paths.intern(relativize(file));
+        lineNumbers[size] = lineNumber;
+        javaxIds[size] = strings.intern(javaxName);
+        jakartaIds[size] = jakartaId(javaxName, jakartaEquivalent);
+        detailIds[size] = detail != null ? strings.intern(detail) : NONE;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only view of the findings added so far. Findings added afterwards are not
+     * visible through the returned view.
+     */
+    public FindingsView view() {
+        String[] stringValues = strings.values();
+        String[] derived = new String[stringValues.length];
+        for (int row = 0; row < size; row++) {
+            int javaxId = javaxIds[row];
+            if (jakartaIds[row] == DERIVED && derived[javaxId] == null) {
+                derived[javaxId] = JAKARTA_PREFIX + stringValues[javaxId].substring(JAVAX_PREFIX.length());
+            }
+        }
+        return new Snapshot(projectRoot, size, paths.values(), stringValues, derived,
+                Arrays.copyOf(pathIds, size), Arrays.copyOf(lineNumbers, size),
+                Arrays.copyOf(javaxIds, size), Arrays.copyOf(jakartaIds, size), Arrays.copyOf(detailIds, size));
+    }
+
+    /**
+     * Creates a view of the findings of a javax.* usage scanner (Bean Validation, CDI, REST/SOAP).
+     * The usage context ("import", "annotation") becomes the detail.
+     */
+    public static FindingsView ofJavaxUsages(Path projectRoot, ProjectScanResult<FileScanResult<JavaxUsage>> result) {
+        CompactFindingsStore store = new CompactFindingsStore(projectRoot);
+        if (result != null) {
+            for (FileScanResult<JavaxUsage> fileResult : result.fileResults()) {
+                for (JavaxUsage usage : fileResult.usages()) {
+                    store.add(fileResult.filePath(), usage.lineNumber(), usage.className(),
+                            usage.jakartaEquivalent(), usage.context());
+                }
+            }
+        }
+        return store.view();
+    }
+
+    /**
+     * Creates a view of JPA annotation findings. The annotated element becomes the detail.
+     */
+    public static FindingsView ofJpaUsages(Path projectRoot,
+                                           ProjectScanResult<FileScanResult<JpaAnnotationUsage>> result) {
+        CompactFindingsStore store = new CompactFindingsStore(projectRoot);
+        if (result != null) {
+            for (FileScanResult<JpaAnnotationUsage> fileResult : result.fileResults()) {
+                for (JpaAnnotationUsage usage : fileResult.usages()) {
+                    store.add(fileResult.filePath(), usage.lineNumber(), usage.annotationName(),
+                            usage.jakartaEquivalent(), usage.elementName());
+                }
+            }
+        }
+        return store.view();
+    }
+
+    /**
+     * Creates a view of Servlet/JSP findings. The usage type becomes the detail.
+     */
+    public static FindingsView ofServletJspUsages(Path projectRoot,
+                                                  ProjectScanResult<FileScanResult<ServletJspUsage>> result) {
+        CompactFindingsStore store = new CompactFindingsStore(projectRoot);
+        if (result != null) {
+            for (FileScanResult<ServletJspUsage> fileResult : result.fileResults()) {
+                for (ServletJspUsage usage : fileResult.usages()) {
+                    store.add(fileResult.filePath(), usage.lineNumber(), usage.className(),
+                            usage.jakartaEquivalent(), usage.usageType());
+                }
+            }
+        }
+        return store.view();
+    }
+
+    private String relativize(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        if (projectRoot != null && absolute.startsWith(projectRoot)) {
+            return projectRoot.relativize(absolute).toString();
+        }
+        return absolute.toString();
+    }
+
+    private int jakartaId(String javaxName, String jakartaEquivalent) {
+        if (jakartaEquivalent == null || jakartaEquivalent.isBlank()) {
+            return NONE;
+        }
+        if (isDerived(javaxName, jakartaEquivalent)) {
+            return DERIVED;
+        }
+        return strings.intern(jakartaEquivalent);
+    }
+
+    // True if jakartaEquivalent is javaxName with its javax. prefix replaced, checked without allocating
+    private static boolean isDerived(String javaxName, String jakartaEquivalent) {
+        int suffixLength = javaxName.length() - JAVAX_PREFIX.length();
+        return javaxName.startsWith(JAVAX_PREFIX)
+                && jakartaEquivalent.startsWith(JAKARTA_PREFIX)
+                && jakartaEquivalent.length() == JAKARTA_PREFIX.length() + suffixLength
+                && jakartaEquivalent.regionMatches(JAKARTA_PREFIX.length(), javaxName, JAVAX_PREFIX.length(),
+                        suffixLength);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= pathIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, pathIds.length * 2);
+        pathIds = Arrays.copyOf(pathIds, newCapacity);
+        lineNumbers = Arrays.copyOf(lineNumbers, newCapacity);
+        javaxIds = Arrays.copyOf(javaxIds, newCapacity);
+        jakartaIds = Arrays.copyOf(jakartaIds, newCapacity);
+        detailIds = Arrays.copyOf(detailIds, newCapacity);
+    }
+
+    /**
+     * Interns strings to dense int ids.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int intern(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        String[] values() {
+            return values.toArray(String[]::new);
+        }
+    }
+
+    private static final class Snapshot implements FindingsView {
+        private final Path projectRoot;
+        private final int size;
+        private final String[] paths;
+        private final String[] strings;
+        private final String[] derivedJakarta;
+        private final int[] pathIds;
+        private final int[] lineNumbers;
+        private final int[] javaxIds;
+        private final int[] jakartaIds;
+        private final int[] detailIds;
+
+        private Snapshot(Path projectRoot, int size, String[] paths, String[] strings, String[] derivedJakarta,
+                         int[] pathIds, int[] lineNumbers, int[] javaxIds, int[] jakartaIds, int[] detailIds) {
+            this.projectRoot = projectRoot;
+            this.size = size;
+            this.paths = paths;
+            this.strings = strings;
+            this.derivedJakarta = derivedJakarta;
+            this.pathIds = pathIds;
+            this.lineNumbers = lineNumbers;
+            this.javaxIds = javaxIds;
+            this.jakartaIds = jakartaIds;
+            this.detailIds = detailIds;
+        }
+
+        @Override
+        public Path projectRoot() {
+            return projectRoot;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int fileCount() {
+            return paths.length;
+        }
+
+        @Override
+        public String relativePath(int row) {
+            return paths[pathIds[checkRow(row)]];
+        }
+
+        @Override
+        public Path filePath(int row) {
+            Path path = Path.of(relativePath(row));
+            return projectRoot != null ? projectRoot.resolve(path) : path;
+        }
+
+        @Override
+        public String fileName(int row) {
+            Path fileName = Path.of(relativePath(row)).getFileName();
+            return fileName != null ? fileName.toString() : relativePath(row);
+        }
+
+        @Override
+        public int lineNumber(int row) {
+            return lineNumbers[checkRow(row)];
+        }
+
+        @Override
+        public String javaxName(int row) {
+            return strings[javaxIds[checkRow(row)]];
+        }
+
+        @Override
+        public String jakartaEquivalent(int row) {
+            int id = jakartaIds[checkRow(row)];
+            if (id == DERIVED) {
+                return derivedJakarta[javaxIds[row]];
+            }
+            return id != NONE ? strings[id] : null;
+        }
+
+        @Override
+        public String detail(int row) {
+            int id = detailIds[checkRow(row)];
+            return id != NONE ? strings[id] : null;
+        }
+
+        private int checkRow(int row) {
+            return Objects.checkIndex(row, size);
+        }
+    }
+}
@@ -22,6 +22,11 @@ public record ComprehensiveScanResults(
     int totalIssuesFound,
     ScanSummary summary
 ) {
+
+    /**
+     * Key under which a category's results map holds a {@link FindingsView} of that category's findings.
+     */
+    public static final String FINDINGS_KEY = "findings";
     
     /**
      * Summary of scan results.
@@ -0,0 +1,64 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import java.nio.file.Path;
+
+/**
+ * Read-only, row-indexed view of the findings of one scanner, backed by a {@link CompactFindingsStore}.
+ * Rows are in the order the findings were added; row indexes run from 0 to {@link #size()} - 1.
+ * UI tables and report snippets read findings through this view instead of holding the
+ * per-finding usage records.
+ */
+public interface FindingsView {
+
+    /**
+     * Returns the root that file paths are stored relative to, or null if paths are absolute.
+     */
+    Path projectRoot();
+
+    /**
+     * Returns the number of findings.
+     */
+    int size();
+
+    /**
+     * Returns the number of distinct files with at least one finding.
+     */
+    int fileCount();
+
+    /**
+     * Returns the path of the row's file relative to the project root, or the full path if the
+     * file is outside the root.
+     */
+    String relativePath(int row);
+
+    /**
+     * Returns the full path of the row's file.
+     */
+    Path filePath(int row);
+
+    /**
+     * Returns the file name of the row's file.
+     */
+    String fileName(int row);
+
+    int lineNumber(int row);
+
+    /**
+     * Returns the javax.* class, annotation or import that was found.
+     */
+    String javaxName(int row);
+
+    /**
+     * Returns the Jakarta EE equivalent, or null if there is none.
+     */
+    String jakartaEquivalent(int row);
+
+    /**
+     * Returns scanner-specific detail such as the usage type or annotated element, or null.
+     */
+    String detail(int row);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,31 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Results of every AST-based scanner for a single Java source file, including scanners
+ * that found nothing. This is the unit stored in the per-file scan index so unchanged
+ * files can be skipped on later scans.
+ */
+public record JavaSourceFileFindings(
+    FileScanResult<JpaAnnotationUsage> jpa,
+    FileScanResult<JavaxUsage> beanValidation,
+    FileScanResult<ServletJspUsage> servletJsp,
+    FileScanResult<JavaxUsage> cdiInjection,
+    FileScanResult<JavaxUsage> restSoap,
+    DeprecatedApiScanResult deprecatedApi,
+    SecurityApiScanResult securityApi,
+    JmsMessagingScanResult jmsMessaging,
+    ClassloaderModuleScanResult classloaderModule
+) {
+    /**
+     * Returns true if every scanner produced a result for the file.
+     * Incomplete findings (a scanner failed) are not stored in the index.
+     */
+    @JsonIgnore
+    public boolean isComplete() {
+        return jpa != null && beanValidation != null && servletJsp != null && cdiInjection != null
+                && restSoap != null && deprecatedApi != null && securityApi != null
+                && jmsMessaging != null && classloaderModule != null;
+    }
+}
@@ -0,0 +1,53 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+/**
+ * Results of all AST-based scanners produced from a single parse of the project's Java sources.
+ * Each field has the same type the corresponding scanner's {@code scanProject} returns.
+ * The profile covers the files that were parsed; files reused from the scan index are not timed.
+ */
+public record JavaSourceScanResults(
+    ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
+    ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult,
+    ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult,
+    ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult,
+    ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult,
+    DeprecatedApiProjectScanResult deprecatedApiResult,
+    SecurityApiProjectScanResult securityApiResult,
+    JmsMessagingProjectScanResult jmsMessagingResult,
+    ClassloaderModuleProjectScanResult classloaderModuleResult,
+    int totalFilesScanned,
+    ScanProfile profile
+) {
+    public JavaSourceScanResults(
+            ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
+            ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult,
+            ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult,
+            ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult,
+            ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult,
+            DeprecatedApiProjectScanResult deprecatedApiResult,
+            SecurityApiProjectScanResult securityApiResult,
+            JmsMessagingProjectScanResult jmsMessagingResult,
+            ClassloaderModuleProjectScanResult classloaderModuleResult,
+            int totalFilesScanned) {
+        this(jpaResult, beanValidationResult, servletJspResult, cdiInjectionResult, restSoapResult,
+                deprecatedApiResult, securityApiResult, jmsMessagingResult, classloaderModuleResult,
+                totalFilesScanned, null);
+    }
+
+    /**
+     * Creates an empty result.
+     */
+    public static JavaSourceScanResults empty() {
+        return new JavaSourceScanResults(
+                ProjectScanResult.empty(),
+                ProjectScanResult.empty(),
+                ProjectScanResult.empty(),
+                ProjectScanResult.empty(),
+                ProjectScanResult.empty(),
+                DeprecatedApiProjectScanResult.empty(),
+                SecurityApiProjectScanResult.empty(),
+                JmsMessagingProjectScanResult.empty(),
+                ClassloaderModuleProjectScanResult.empty(),
+                0);
+    }
+}
@@ -0,0 +1,43 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import java.time.Instant;
+
+/**
+ * Latest results of a project kept up to date by a file watcher.
+ * Each update replaces the whole snapshot, so readers always see a consistent set of results.
+ */
+public record LiveScanResults(
+    String projectPath,
+    long version,
+    Instant updatedAt,
+    JavaSourceScanResults javaSourceResults,
+    ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult,
+    TransitiveDependencyProjectScanResult transitiveDependencyResult,
+    ConfigFileProjectScanResult configFileResult,
+    LoggingMetricsProjectScanResult loggingMetricsResult,
+    SerializationCacheProjectScanResult serializationCacheResult,
+    ReflectionUsageProjectScanResult reflectionUsageResult,
+    ThirdPartyLibProjectScanResult thirdPartyLibResult
+) {
+    /**
+     * Returns the total number of findings across all scanners.
+     */
+    public int totalIssuesFound() {
+        return javaSourceResults.jpaResult().totalIssuesFound()
+                + javaSourceResults.beanValidationResult().totalIssuesFound()
+                + javaSourceResults.servletJspResult().totalIssuesFound()
+                + javaSourceResults.cdiInjectionResult().totalIssuesFound()
+                + javaSourceResults.restSoapResult().totalIssuesFound()
+                + javaSourceResults.deprecatedApiResult().totalUsagesFound()
+                + javaSourceResults.securityApiResult().getTotalJavaxUsages()
+                + javaSourceResults.jmsMessagingResult().getTotalJavaxUsages()
+                + javaSourceResults.classloaderModuleResult().getTotalJavaxUsages()
+                + buildConfigResult.totalIssuesFound()
+                + transitiveDependencyResult.getTotalJavaxDependencies()
+                + configFileResult.getTotalJavaxUsages()
+                + loggingMetricsResult.getTotalFindings()
+                + serializationCacheResult.getTotalFindings()
+                + reflectionUsageResult.getTotalUsagesFound()
+                + thirdPartyLibResult.getTotalLibraries();
+    }
+}
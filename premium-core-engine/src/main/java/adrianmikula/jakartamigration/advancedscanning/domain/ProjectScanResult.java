@@ -14,18 +14,24 @@
  * ThirdPartyLibProjectScanResult, TransitiveDependencyProjectScanResult, UnitTestProjectScanResult
  *
  * @param <T> The type of file scan result (e.g., BeanValidationScanResult)
+ * @param profile where the scan's time went, or null if it was not profiled
  */
 public record ProjectScanResult<T>(
     List<T> fileResults,
     int totalFilesScanned,
     int filesWithIssues,
-    int totalIssuesFound
+    int totalIssuesFound,
+    ScanProfile profile
 ) {
     public ProjectScanResult {
         Objects.requireNonNull(fileResults, "fileResults cannot be null");
         fileResults = List.copyOf(fileResults);
     }
 
+    public ProjectScanResult(List<T> fileResults, int totalFilesScanned, int filesWithIssues, int totalIssuesFound) {
+        this(fileResults, totalFilesScanned, filesWithIssues, totalIssuesFound, null);
+    }
+
     /**
      * Returns true if any javax.* usage was found.
      */
@@ -0,0 +1,106 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Where the time of a scan went: wall and CPU time per scanner, per phase (reading files,
+ * parsing them and matching findings), and for the slowest files.
+ * <p>
+ * CPU times are those of the threads that did the work, measured with the JVM's thread CPU
+ * clock; they are zero where the platform cannot measure thread CPU time, and -1 for scan
+ * steps whose work runs on other threads and is only timed by wall clock.
+ *
+ * @param wallNanos    elapsed time of the whole scan
+ * @param cpuNanos     CPU time of all profiled files
+ * @param filesProfiled number of files timed
+ * @param phases       totals per phase, in {@link Phase} order
+ * @param scanners     totals per scanner or scan step, slowest first
+ * @param slowestFiles the slowest files, slowest first
+ */
+public record ScanProfile(
+    long wallNanos,
+    long cpuNanos,
+    int filesProfiled,
+    List<PhaseTiming> phases,
+    List<ScannerTiming> scanners,
+    List<FileTiming> slowestFiles
+) {
+    public ScanProfile {
+        phases = List.copyOf(Objects.requireNonNull(phases, "phases cannot be null"));
+        scanners = List.copyOf(Objects.requireNonNull(scanners, "scanners cannot be null"));
+        slowestFiles = List.copyOf(Objects.requireNonNull(slowestFiles, "slowestFiles cannot be null"));
+    }
+
+    /**
+     * Creates an empty profile.
+     */
+    public static ScanProfile empty() {
+        return new ScanProfile(0, 0, 0, List.of(), List.of(), List.of());
+    }
+
+    /**
+     * Returns the timing of the named scanner or scan step, or null if it was not profiled.
+     */
+    public ScannerTiming scanner(String name) {
+        return scanners.stream().filter(timing -> timing.scanner().equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the totals of the given phase, or null if it was not profiled.
+     */
+    public PhaseTiming phase(Phase phase) {
+        return phases.stream().filter(timing -> timing.phase() == phase).findFirst().orElse(null);
+    }
+
+    /**
+     * Phases a file goes through in a scan.
+     */
+    public enum Phase {
+        /** Reading the file and prefiltering its bytes. */
+        READ,
+        /** Parsing the source into a syntax tree. */
+        PARSE,
+        /** Running scanners over the file. */
+        MATCH
+    }
+
+    /**
+     * Time spent in one phase over all files.
+     */
+    public record PhaseTiming(Phase phase, long wallNanos, long cpuNanos) {
+
+        @JsonIgnore
+        public long wallMillis() {
+            return wallNanos / 1_000_000;
+        }
+    }
+
+    /**
+     * Time spent by one scanner or scan step.
+     *
+     * @param files number of files the scanner ran on, or 0 for a scan step
+     */
+    public record ScannerTiming(String scanner, long wallNanos, long cpuNanos, int files) {
+
+        @JsonIgnore
+        public long wallMillis() {
+            return wallNanos / 1_000_000;
+        }
+    }
+
+    /**
+     * Time spent on one file by a scanner, or by all scanners of a shared parse.
+     */
+    public record FileTiming(Path file, String scanner, long wallNanos, long cpuNanos,
+                             long readNanos, long parseNanos, long matchNanos) {
+
+        @JsonIgnore
+        public long wallMillis() {
+            return wallNanos / 1_000_000;
+        }
+    }
+}
@@ -1,5 +1,21 @@
 package adrianmikula.jakartamigration.advancedscanning.service;
 
+import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ServletJspUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.impl.AppServerScannerImpl;
 import adrianmikula.jakartamigration.advancedscanning.service.impl.BeanValidationScannerImpl;
 import adrianmikula.jakartamigration.advancedscanning.service.impl.BuildConfigScannerImpl;
@@ -23,11 +39,21 @@
 import adrianmikula.jakartamigration.advancedscanning.service.impl.UnitTestScannerImpl;
 import adrianmikula.jakartamigration.advancedscanning.service.impl.ScanRecipeRecommendationServiceImpl;
 import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Module that provides access to all premium advanced scanning services.
  * This is the main entry point for the advanced scanning features.
  */
+@Slf4j
 public class AdvancedScanningModule {
 
     private final JpaAnnotationScanner jpaAnnotationScanner;
@@ -79,6 +105,186 @@ public AdvancedScanningModule(RecipeService recipeService) {
         this.recipeRecommendationService = new ScanRecipeRecommendationServiceImpl(recipeService);
     }
 
+    /**
+     * Runs all AST-based scanners over the given Java files, reading and parsing each file once.
+     * Equivalent to calling {@code scanProject(javaFiles)} on the JPA, Bean Validation, Servlet/JSP,
+     * CDI, REST/SOAP, Deprecated API, Security API, JMS and Classloader/Module scanners individually.
+     *
+     * @param javaFiles pre-discovered Java source files
+     * @return results for every AST-based scanner
+     */
+    public JavaSourceScanResults scanJavaSources(List<Path> javaFiles) {
+        return scanJavaSources(javaFiles, null);
+    }
+
+    /**
+     * Runs all AST-based scanners over the given Java files, reusing stored findings from the
+     * scan index for files that have not changed since the previous scan.
+     *
+     * @param javaFiles pre-discovered Java source files
+     * @param scanIndex per-file scan index, or null to scan every file
+     * @return results for every AST-based scanner, with the profile of the files that were parsed
+     */
+    public JavaSourceScanResults scanJavaSources(List<Path> javaFiles, JavaSourceScanIndex scanIndex) {
+        if (javaFiles == null || javaFiles.isEmpty()) {
+            return JavaSourceScanResults.empty();
+        }
+
+        Map<Path, JavaSourceFileFindings> findingsByFile = new ConcurrentHashMap<>();
+        List<Path> filesToParse = javaFiles;
+        if (scanIndex != null) {
+            try {
+                findingsByFile.putAll(scanIndex.lookup(javaFiles));
+                filesToParse = javaFiles.stream()
+                        .filter(file -> !findingsByFile.containsKey(file))
+                        .collect(Collectors.toList());
+            } catch (RuntimeException e) {
+                log.warn("Scan index unavailable, scanning all files: {}", e.getMessage());
+                scanIndex = null;
+            }
+        }
+
+        ScanProfile profile = parseAndScanJavaSources(filesToParse, scanIndex, findingsByFile);
+
+        if (scanIndex != null) {
+            try {
+                scanIndex.flush(javaFiles);
+            } catch (RuntimeException e) {
+                log.warn("Failed to update scan index: {}", e.getMessage());
+            }
+        }
+
+        return toJavaSourceScanResults(javaFiles, findingsByFile, profile);
+    }
+
+    /**
+     * Runs all AST-based scanners over the given Java files and returns the findings of each file,
+     * including files where nothing was found. Files that could not be read are left out.
+     *
+     * @param javaFiles Java source files
+     * @return findings by file
+     */
+    public Map<Path, JavaSourceFileFindings> scanJavaSourceFindings(List<Path> javaFiles) {
+        Map<Path, JavaSourceFileFindings> findingsByFile = new ConcurrentHashMap<>();
+        if (javaFiles != null && !javaFiles.isEmpty()) {
+            parseAndScanJavaSources(javaFiles, null, findingsByFile);
+        }
+        return findingsByFile;
+    }
+
+    /**
+     * Parses each file once, fans it out to the AST-based scanners and collects the per-file findings.
+     *
+     * @return the profile of the run
+     */
+    private ScanProfile parseAndScanJavaSources(List<Path> filesToParse, JavaSourceScanIndex scanIndex,
+                                                Map<Path, JavaSourceFileFindings> findingsByFile) {
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var jpa = pipeline.register("JPA", jpaAnnotationScanner, FileScanResult::hasIssues);
+        var beanValidation = pipeline.register("Bean Validation", beanValidationScanner, FileScanResult::hasIssues);
+        var servletJsp = pipeline.register("Servlet/JSP", servletJspScanner, FileScanResult::hasIssues);
+        var cdiInjection = pipeline.register("CDI Injection", cdiInjectionScanner, FileScanResult::hasIssues);
+        var restSoap = pipeline.register("REST/SOAP", restSoapScanner, FileScanResult::hasIssues);
+        var deprecatedApi = pipeline.register("Deprecated API", deprecatedApiScanner,
+                DeprecatedApiScanResult::hasJavaxUsage);
+        var securityApi = pipeline.register("Security API", securityApiScanner, SecurityApiScanResult::hasJavaxUsage);
+        var jmsMessaging = pipeline.register("JMS Messaging", jmsMessagingScanner,
+                JmsMessagingScanResult::hasJavaxUsage);
+        var classloaderModule = pipeline.register("Classloader/Module", classloaderModuleScanner,
+                ClassloaderModuleScanResult::hasJavaxUsage);
+
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(filesToParse, (parsedFile, results) -> {
+            JavaSourceFileFindings findings = new JavaSourceFileFindings(
+                    results.get(jpa),
+                    results.get(beanValidation),
+                    results.get(servletJsp),
+                    results.get(cdiInjection),
+                    results.get(restSoap),
+                    results.get(deprecatedApi),
+                    results.get(securityApi),
+                    results.get(jmsMessaging),
+                    results.get(classloaderModule));
+            findingsByFile.put(parsedFile.filePath(), findings);
+            if (scanIndex != null) {
+                scanIndex.record(parsedFile, findings);
+            }
+        });
+        return result.profile();
+    }
+
+    /**
+     * Assembles project-level results in input file order from per-file findings.
+     */
+    static JavaSourceScanResults toJavaSourceScanResults(List<Path> javaFiles,
+                                                         Map<Path, JavaSourceFileFindings> findingsByFile) {
+        return toJavaSourceScanResults(javaFiles, findingsByFile, null);
+    }
+
+    /**
+     * Assembles project-level results in input file order from per-file findings, with the profile of the scan.
+     */
+    static JavaSourceScanResults toJavaSourceScanResults(List<Path> javaFiles,
+                                                         Map<Path, JavaSourceFileFindings> findingsByFile,
+                                                         ScanProfile profile) {
+        List<FileScanResult<JpaAnnotationUsage>> jpaResults = new ArrayList<>();
+        List<FileScanResult<JavaxUsage>> beanValidationResults = new ArrayList<>();
+        List<FileScanResult<ServletJspUsage>> servletJspResults = new ArrayList<>();
+        List<FileScanResult<JavaxUsage>> cdiInjectionResults = new ArrayList<>();
+        List<FileScanResult<JavaxUsage>> restSoapResults = new ArrayList<>();
+        List<DeprecatedApiScanResult> deprecatedApiResults = new ArrayList<>();
+        List<SecurityApiScanResult> securityApiResults = new ArrayList<>();
+        List<JmsMessagingScanResult> jmsMessagingResults = new ArrayList<>();
+        List<ClassloaderModuleScanResult> classloaderModuleResults = new ArrayList<>();
+
+        int totalScanned = 0;
+        for (Path file : javaFiles) {
+            JavaSourceFileFindings findings = findingsByFile.get(file);
+            if (findings == null) {
+                continue;
+            }
+            totalScanned++;
+            addIf(jpaResults, findings.jpa(), FileScanResult::hasIssues);
+            addIf(beanValidationResults, findings.beanValidation(), FileScanResult::hasIssues);
+            addIf(servletJspResults, findings.servletJsp(), FileScanResult::hasIssues);
+            addIf(cdiInjectionResults, findings.cdiInjection(), FileScanResult::hasIssues);
+            addIf(restSoapResults, findings.restSoap(), FileScanResult::hasIssues);
+            addIf(deprecatedApiResults, findings.deprecatedApi(), DeprecatedApiScanResult::hasJavaxUsage);
+            addIf(securityApiResults, findings.securityApi(), SecurityApiScanResult::hasJavaxUsage);
+            addIf(jmsMessagingResults, findings.jmsMessaging(), JmsMessagingScanResult::hasJavaxUsage);
+            addIf(classloaderModuleResults, findings.classloaderModule(), ClassloaderModuleScanResult::hasJavaxUsage);
+        }
+
+        return new JavaSourceScanResults(
+                toProjectScanResult(jpaResults, totalScanned),
+                toProjectScanResult(beanValidationResults, totalScanned),
+                toProjectScanResult(servletJspResults, totalScanned),
+                toProjectScanResult(cdiInjectionResults, totalScanned),
+                toProjectScanResult(restSoapResults, totalScanned),
+                new DeprecatedApiProjectScanResult(deprecatedApiResults, totalScanned, deprecatedApiResults.size(),
+                        deprecatedApiResults.stream().mapToInt(r -> r.usages().size()).sum()),
+                new SecurityApiProjectScanResult(securityApiResults, totalScanned, securityApiResults.size(),
+                        securityApiResults.stream().mapToInt(r -> r.getUsages().size()).sum()),
+                new JmsMessagingProjectScanResult(jmsMessagingResults, totalScanned, jmsMessagingResults.size(),
+                        jmsMessagingResults.stream().mapToInt(r -> r.getUsages().size()).sum()),
+                new ClassloaderModuleProjectScanResult(classloaderModuleResults, totalScanned,
+                        classloaderModuleResults.size(),
+                        classloaderModuleResults.stream().mapToInt(r -> r.getUsages().size()).sum()),
+                totalScanned,
+                profile);
+    }
+
+    private static <F> void addIf(List<F> results, F result, Predicate<F> hasFindings) {
+        if (result != null && hasFindings.test(result)) {
+            results.add(result);
+        }
+    }
+
+    private static <T> ProjectScanResult<FileScanResult<T>> toProjectScanResult(List<FileScanResult<T>> fileResults,
+                                                                             int totalScanned) {
+        int totalUsages = fileResults.stream().mapToInt(r -> r.usages().size()).sum();
+        return new ProjectScanResult<>(fileResults, totalScanned, fileResults.size(), totalUsages);
+    }
+
     /**
      * Gets the JPA Annotation Scanner.
      */
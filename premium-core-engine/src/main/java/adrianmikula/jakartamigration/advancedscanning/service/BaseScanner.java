@@ -2,14 +2,23 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -17,31 +26,41 @@
  * Abstract base scanner that consolidates all the duplicate scanner implementation code.
  * Provides common functionality for:
  * - Path validation
- * - Java file discovery
- * - Parallel project scanning
+ * - Java file discovery from a shared {@link ProjectInventory}
+ * - Parallel project scanning on the configured {@link ScanExecutor}, collected or streamed
+ *   through a {@link Flow.Publisher}, which can be fed straight from the parallel project walk
  * - Error handling
- * - Utility methods (findLineNumber, countLines)
+ * - Parsing via {@link ParsedSourceFile} with parsers leased from the shared parser pool, or in
+ *   batches through {@link SharedParseScanPipeline} for the Java sources of scanners that implement
+ *   {@link ParsedSourceScanner} when {@link #parseBatchSize()} is above 1
+ * - Utility methods (findLineNumber, countLines) backed by {@link LineIndex}
+ * - A {@link ScanProfile} of each project scan, attached to its {@link ProjectScanResult}. Time spent
+ *   in {@link #parseSourceFile(Path)} is split into read and parse; the rest of a file's scan is match time
  *
  * @param <T> The type of usage found (e.g., JavaxUsage)
  */
 @Slf4j
 public abstract class BaseScanner<T> {
 
-    protected final ThreadLocal<JavaParser> javaParserThreadLocal = ThreadLocal
-            .withInitial(() -> JavaParser.fromJavaVersion().build());
-
     protected final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
 
     // Parallelism configuration - can be overridden via system property
     private static final int MAX_PARALLELISM = Integer.parseInt(
             System.getProperty("advanced.scan.parallelism", "4"));
 
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+    // Files scanned per batch of a streamed scan: several per worker keep the executor busy,
+    // and small batches keep cancellation responsive
+    private static final int PUBLISH_BATCH_SIZE = MAX_PARALLELISM * 4;
+
+    // Heap budget that files are admitted against, shared by all scanners in the process
+    private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
+
+    // Timer of the file being scanned on this thread during a profiled project scan
+    private final ThreadLocal<ScanProfiler.FileTimer> currentFileTimer = new ThreadLocal<>();
 
     /**
      * Scans a project for javax.* usages and returns a generic ProjectScanResult.
-     * This method discovers Java files and then delegates to scanProjectGeneric(List).
+     * This method walks the project once and then delegates to scanProjectGeneric(ProjectInventory).
      *
      * @param projectPath The path to the project directory
      * @param scanTypeName The name of the scan type for logging (e.g., "Bean Validation")
@@ -53,13 +72,28 @@ protected ProjectScanResult<FileScanResult<T>> scanProjectGeneric(Path projectPa
             return ProjectScanResult.empty();
         }
 
-        List<Path> javaFiles = discoverJavaFiles(projectPath);
-        return scanProjectGeneric(projectPath, javaFiles, scanTypeName);
+        return scanProjectGeneric(fileScanner.inventory(projectPath), scanTypeName);
+    }
+
+    /**
+     * Scans a project for javax.* usages using a shared inventory, without walking the file tree.
+     *
+     * @param inventory The project's file inventory
+     * @param scanTypeName The name of the scan type for logging (e.g., "Bean Validation")
+     * @return ProjectScanResult containing all findings
+     */
+    protected ProjectScanResult<FileScanResult<T>> scanProjectGeneric(ProjectInventory inventory, String scanTypeName) {
+        if (inventory == null) {
+            log.warn("Inventory is null for {} scan", scanTypeName);
+            return ProjectScanResult.empty();
+        }
+        return scanProjectGeneric(inventory.projectRoot(), discoverJavaFiles(inventory), scanTypeName);
     }
 
     /**
      * Scans a project for javax.* usages using pre-discovered files.
      * This is the core scanning logic that handles memory management, parallelism, etc.
+     * Each file is admitted against the shared {@link ScanMemoryBudget} before it is read.
      *
      * @param projectPath The path to the project directory (for validation/logging, may be null if files validated)
      * @param filesToScan List of files to scan
@@ -77,60 +111,155 @@ protected ProjectScanResult<FileScanResult<T>> scanProjectGeneric(Path projectPa
             return ProjectScanResult.empty();
         }
 
-        log.info("Scanning {} files for {} in project: {}", filesToScan.size(), scanTypeName, projectPath);
+        if (parseBatchSize() > 1 && this instanceof ParsedSourceScanner<?> parsedSourceScanner) {
+            return scanInBatches(projectPath, filesToScan, scanTypeName, parsedSourceScanner);
+        }
 
-        // Check available memory and determine parallelism
-        Runtime runtime = Runtime.getRuntime();
-        long maxMemory = runtime.maxMemory();
-        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-        long availableMemory = maxMemory - usedMemory;
+        log.info("Scanning {} files for {} in project: {}", filesToScan.size(), scanTypeName, projectPath);
 
         AtomicInteger totalScanned = new AtomicInteger(0);
-        List<FileScanResult<T>> results;
-
-        // Use sequential processing if low on memory, otherwise use bounded parallelism
-        if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-            log.info("Low memory detected ({} MB available), using sequential processing for {}",
-                    availableMemory / (1024 * 1024), scanTypeName);
-            results = filesToScan.stream()
-                    .map(file -> scanFileWithTracking(file, totalScanned, scanTypeName))
-                    .filter(java.util.Objects::nonNull)
+        ScanProfiler profiler = new ScanProfiler();
+        List<FileScanResult<T>> results = scanEachFile(filesToScan, totalScanned, scanTypeName, profiler);
+
+        int totalUsages = results.stream()
+                .mapToInt(r -> r.usages().size())
+                .sum();
+
+        log.info("{} scan complete: {} files scanned, {} files with usage, {} total usages",
+                scanTypeName, totalScanned.get(), results.size(), totalUsages);
+        log.debug("Scan memory budget: {}", MEMORY_BUDGET.usage());
+
+        return new ProjectScanResult<>(results, totalScanned.get(), results.size(), totalUsages, profiler.profile());
+    }
+
+    /**
+     * Scans each file with {@link #scanFile(Path)} on the configured executor, falling back to
+     * sequential scanning if the parallel scan fails. Returns the results with findings, in input order.
+     */
+    private List<FileScanResult<T>> scanEachFile(List<Path> files, AtomicInteger totalScanned, String scanTypeName,
+                                                 ScanProfiler profiler) {
+        try {
+            return scanExecutor().map(files, file -> scanFileWithTracking(file, totalScanned, scanTypeName, profiler));
+        } catch (Exception e) {
+            log.warn("Parallel scan failed for {}, falling back to sequential: {}", scanTypeName, e.getMessage());
+            totalScanned.set(0);
+            return files.stream()
+                    .map(file -> scanFileWithTracking(file, totalScanned, scanTypeName, profiler))
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
-        } else {
-            // Use bounded parallelism with custom ForkJoinPool
-            int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
-            log.debug("Using parallel processing with parallelism={} for {}", parallelism, scanTypeName);
+        }
+    }
 
-            ForkJoinPool customPool = new ForkJoinPool(parallelism);
-            try {
-                results = customPool.submit(() ->
-                        filesToScan.parallelStream()
-                                .map(file -> scanFileWithTracking(file, totalScanned, scanTypeName))
-                                .filter(java.util.Objects::nonNull)
-                                .collect(Collectors.toList())
-                ).get();
-            } catch (Exception e) {
-                log.warn("Parallel scan failed for {}, falling back to sequential: {}", scanTypeName, e.getMessage());
-                results = filesToScan.stream()
-                        .map(file -> scanFileWithTracking(file, totalScanned, scanTypeName))
-                        .filter(java.util.Objects::nonNull)
-                        .collect(Collectors.toList());
-            } finally {
-                customPool.shutdown();
-            }
+    /**
+     * Scans pre-discovered files with batched parsing, for scanners that can extract findings from
+     * an already-parsed file. Java sources are parsed in batches of {@link #parseBatchSize()} files
+     * and each batch is admitted against the shared {@link ScanMemoryBudget} as a whole. Any other
+     * files the scanner selects, such as JSPs, go through {@link #scanFile(Path)} as usual.
+     */
+    @SuppressWarnings("unchecked")
+    private ProjectScanResult<FileScanResult<T>> scanInBatches(Path projectPath, List<Path> filesToScan,
+                                                              String scanTypeName, ParsedSourceScanner<?> scanner) {
+        log.info("Scanning {} files for {} in project: {} (batched parsing)", filesToScan.size(), scanTypeName, projectPath);
+
+        List<Path> javaFiles = new ArrayList<>();
+        List<Path> otherFiles = new ArrayList<>();
+        for (Path file : filesToScan) {
+            (isJavaSource(file) ? javaFiles : otherFiles).add(file);
         }
 
-        // Cleanup ThreadLocal to prevent memory leaks
-        cleanupThreadLocal();
+        List<FileScanResult<T>> results = new ArrayList<>();
+        ScanProfiler profiler = new ScanProfiler();
+        int totalScanned = 0;
+        if (!javaFiles.isEmpty()) {
+            SharedParseScanPipeline pipeline = new SharedParseScanPipeline(MEMORY_BUDGET, scanExecutor(), parseBatchSize());
+            SharedParseScanPipeline.ScannerHandle<FileScanResult<T>> handle = pipeline.register(scanTypeName,
+                    (ParsedSourceScanner<FileScanResult<T>>) scanner, FileScanResult::hasIssues);
+            SharedParseScanPipeline.PipelineResult pipelineResult = pipeline.scan(javaFiles);
+            results.addAll(pipelineResult.fileResults(handle));
+            totalScanned += pipelineResult.totalFilesScanned();
+            profiler.include(pipelineResult.profile());
+        }
+        if (!otherFiles.isEmpty()) {
+            AtomicInteger otherScanned = new AtomicInteger(0);
+            results.addAll(scanEachFile(otherFiles, otherScanned, scanTypeName, profiler));
+            totalScanned += otherScanned.get();
+            if (!javaFiles.isEmpty()) {
+                Map<Path, Integer> order = new HashMap<>();
+                for (int i = 0; i < filesToScan.size(); i++) {
+                    order.putIfAbsent(filesToScan.get(i), i);
+                }
+                results.sort(Comparator.comparing(result -> order.getOrDefault(result.filePath(), Integer.MAX_VALUE)));
+            }
+        }
 
         int totalUsages = results.stream()
                 .mapToInt(r -> r.usages().size())
                 .sum();
 
         log.info("{} scan complete: {} files scanned, {} files with usage, {} total usages",
-                scanTypeName, totalScanned.get(), results.size(), totalUsages);
+                scanTypeName, totalScanned, results.size(), totalUsages);
+        return new ProjectScanResult<>(results, totalScanned, results.size(), totalUsages, profiler.profile());
+    }
+
+    private static boolean isJavaSource(Path file) {
+        Path fileName = file.getFileName();
+        return fileName != null && fileName.toString().endsWith(".java");
+    }
+
+    /**
+     * Streams findings for pre-discovered files through a {@link Flow.Publisher} instead of collecting
+     * them into a {@link ProjectScanResult}. Only files with findings are published. Files are scanned
+     * as the subscriber requests results, so memory stays bounded however many files have findings.
+     *
+     * @param filesToScan List of files to scan
+     * @param progressListener Optional progress callback, may be null
+     * @return Publisher of the results of files with findings; each subscription runs its own scan
+     */
+    public Flow.Publisher<FileScanResult<T>> publishProject(List<Path> filesToScan, ScanProgressCallback progressListener) {
+        return new ScanResultPublisher<>(filesToScan != null ? filesToScan : List.of(), this::scanFileWithFindings,
+                scanExecutor(), PUBLISH_BATCH_SIZE, Flow.defaultBufferSize(), getClass().getSimpleName(), progressListener);
+    }
+
+    /**
+     * Streams findings while the project is walked: the files this scanner selects with
+     * {@link #selectsFile(Path, Path)} are scanned as the parallel walk finds them, so scanning
+     * starts before the walk finishes and no inventory of the whole project is built.
+     *
+     * @param projectPath The path to the project directory
+     * @param progressListener Optional progress callback, may be null; reports a total of 0
+     * @return Publisher of the results of files with findings; each subscription walks and scans again
+     */
+    public Flow.Publisher<FileScanResult<T>> publishProject(Path projectPath, ScanProgressCallback progressListener) {
+        Objects.requireNonNull(projectPath, "projectPath cannot be null");
+        return new ScanResultPublisher<>(
+                sink -> fileScanner.walkParallel(projectPath, file -> selectsFile(projectPath, file), sink),
+                this::scanFileWithFindings, scanExecutor(), PUBLISH_BATCH_SIZE, Flow.defaultBufferSize(),
+                getClass().getSimpleName(), progressListener);
+    }
+
+    /**
+     * Streams findings for the files this scanner selects from a shared inventory.
+     *
+     * @see #publishProject(List, ScanProgressCallback)
+     */
+    public Flow.Publisher<FileScanResult<T>> publishProject(ProjectInventory inventory, ScanProgressCallback progressListener) {
+        return publishProject(discoverJavaFiles(inventory), progressListener);
+    }
+
+    /**
+     * Returns how many Java sources are parsed in one parser call by scanners that implement
+     * {@link ParsedSourceScanner}; {@code advanced.scan.parse.batch.size} by default. At most 1
+     * parses each file on its own in {@link #scanFile(Path)}.
+     */
+    protected int parseBatchSize() {
+        return SharedParseScanPipeline.DEFAULT_BATCH_SIZE;
+    }
 
-        return new ProjectScanResult<>(results, totalScanned.get(), results.size(), totalUsages);
+    /**
+     * Returns the executor project scans run on; the process-wide configured executor by default.
+     */
+    protected ScanExecutor scanExecutor() {
+        return ScanExecutor.shared();
     }
 
     /**
@@ -142,32 +271,76 @@ protected ProjectScanResult<FileScanResult<T>> scanProjectGeneric(Path projectPa
     public abstract FileScanResult<T> scanFile(Path filePath);
 
     /**
-     * Discovers all Java files in the project.
+     * Selects the files this scanner handles from the project inventory; Java files by default.
+     * Overrides should select the same files as {@link #selectsFile(Path, Path)}.
+     */
+    protected List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        return inventory.files(ProjectInventory.Category.JAVA);
+    }
+
+    /**
+     * Returns whether this scanner handles a single file found while walking the project, for
+     * scans that do not build an inventory first; Java files by default.
+     */
+    protected boolean selectsFile(Path projectRoot, Path file) {
+        return ProjectInventory.categorize(projectRoot, file).contains(ProjectInventory.Category.JAVA);
+    }
+
+    /**
+     * Reads and parses a Java file using a parser leased from the shared pool, within the parse
+     * concurrency limit of {@link #scanExecutor()}.
      */
-    protected List<Path> discoverJavaFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, List.of(".java"));
+    protected ParsedSourceFile parseSourceFile(Path filePath) throws IOException {
+        ScanProfiler.FileTimer timer = currentFileTimer.get();
+        if (timer == null) {
+            return ParsedSourceFile.read(filePath, scanExecutor());
+        }
+        ScanProfile.Phase previous = timer.enter(ScanProfile.Phase.READ);
+        try {
+            String content = Files.readString(filePath);
+            timer.enter(ScanProfile.Phase.PARSE);
+            return ParsedSourceFile.parse(filePath, content, scanExecutor());
+        } finally {
+            timer.enter(previous);
+        }
     }
 
     /**
-     * Finds the line number of a search text in the content lines.
+     * Reads a Java file and parses it only if it contains one of the prefilter's trigger tokens.
+     * Otherwise returns an unparsed view, which scanners report as a file without findings.
      */
-    protected int findLineNumber(String[] lines, String searchText) {
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].contains(searchText)) {
-                return i + 1;
+    protected ParsedSourceFile parseSourceFile(Path filePath, TriggerTokenPrefilter prefilter) throws IOException {
+        ScanProfiler.FileTimer timer = currentFileTimer.get();
+        if (timer == null) {
+            return ParsedSourceFile.read(filePath, prefilter, scanExecutor());
+        }
+        ScanProfile.Phase previous = timer.enter(ScanProfile.Phase.READ);
+        try {
+            byte[] bytes = Files.readAllBytes(filePath);
+            String content = ParsedSourceFile.decode(bytes);
+            if (!prefilter.matchesAny(bytes)) {
+                return ParsedSourceFile.unparsed(filePath, content);
             }
+            timer.enter(ScanProfile.Phase.PARSE);
+            return ParsedSourceFile.parse(filePath, content, scanExecutor());
+        } finally {
+            timer.enter(previous);
         }
-        return 1;
+    }
+
+    /**
+     * Finds the line number of the first occurrence of a search text, or 1 if it does not occur.
+     * Prefer {@link LineIndex#lineAt(int)} when the match offset is known.
+     */
+    protected int findLineNumber(LineIndex lineIndex, String searchText) {
+        return lineIndex.findLine(searchText);
     }
 
     /**
      * Counts lines in content.
      */
     protected int countLines(String content) {
-        if (content == null || content.isEmpty()) {
-            return 0;
-        }
-        return content.split("\n").length;
+        return LineIndex.countLines(content);
     }
 
     /**
@@ -187,10 +360,11 @@ protected Path validateFilePath(Path filePath) {
     /**
      * Scans a single file with tracking for parallel processing.
      */
-    private FileScanResult<T> scanFileWithTracking(Path filePath, AtomicInteger totalScanned, String scanTypeName) {
+    private FileScanResult<T> scanFileWithTracking(Path filePath, AtomicInteger totalScanned, String scanTypeName,
+                                                   ScanProfiler profiler) {
         totalScanned.incrementAndGet();
-        FileScanResult<T> result = scanFile(filePath);
-        if (result.hasIssues()) {
+        FileScanResult<T> result = scanFileWithinBudget(filePath, profiler, scanTypeName);
+        if (result != null && result.hasIssues()) {
             log.debug("Found {} usage in: {}", scanTypeName, filePath);
             return result;
         }
@@ -198,14 +372,36 @@ private FileScanResult<T> scanFileWithTracking(Path filePath, AtomicInteger tota
     }
 
     /**
-     * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-     * Should be called after project scan completes.
+     * Scans a single file and returns the result only if it has findings.
      */
-    protected void cleanupThreadLocal() {
-        try {
-            javaParserThreadLocal.remove();
-        } catch (Exception e) {
-            log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
+    private FileScanResult<T> scanFileWithFindings(Path filePath) {
+        FileScanResult<T> result = scanFileWithinBudget(filePath, null, null);
+        return result != null && result.hasIssues() ? result : null;
+    }
+
+    /**
+     * Scans a single file once the memory budget admits it, timing it if a profiler is given.
+     * Returns null if interrupted while waiting for budget.
+     */
+    private FileScanResult<T> scanFileWithinBudget(Path filePath, ScanProfiler profiler, String scanTypeName) {
+        try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+            if (profiler == null) {
+                return scanFile(filePath);
+            }
+            ScanProfiler.FileTimer timer = profiler.startFile(filePath, scanTypeName);
+            // Scanners that read the file themselves have it counted as match time
+            timer.enter(ScanProfile.Phase.MATCH);
+            currentFileTimer.set(timer);
+            try {
+                return scanFile(filePath);
+            } finally {
+                currentFileTimer.remove();
+                timer.finish();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+            return null;
         }
     }
 }
@@ -3,15 +3,17 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 /**
  * Service for scanning source code for javax.validation.* (Bean Validation) usage.
  * This is a premium feature that provides detailed analysis of validation constraints.
  */
-public interface BeanValidationScanner {
+public interface BeanValidationScanner extends ParsedSourceScanner<FileScanResult<JavaxUsage>> {
 
     /**
      * Scans a project for javax.validation.* usage in source code.
@@ -28,6 +30,29 @@ public interface BeanValidationScanner {
      */
     ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(List<Path> filesToScan);
     
+    /**
+     * Streams findings for pre-discovered files instead of collecting them, following the subscriber's demand.
+     * @param filesToScan list of file paths to scan
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<JavaxUsage>> publishProject(List<Path> filesToScan, ScanProgressCallback progressListener);
+    
+    /**
+     * Streams findings while walking the project, scanning each file as the walk finds it.
+     * @param projectPath the path to the project directory
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<JavaxUsage>> publishProject(Path projectPath, ScanProgressCallback progressListener);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(ProjectInventory inventory);
+    
     /**
      * Scans a single file for javax.validation.* usage.
      *
@@ -3,9 +3,11 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.BuildConfigUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 /**
  * Service for scanning build configuration files for javax.* dependencies.
@@ -22,5 +24,28 @@ public interface BuildConfigScanner {
      */
     ProjectScanResult<FileScanResult<BuildConfigUsage>> scanProject(List<Path> filesToScan);
     
+    /**
+     * Streams findings for pre-discovered files instead of collecting them, following the subscriber's demand.
+     * @param filesToScan list of file paths to scan
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<BuildConfigUsage>> publishProject(List<Path> filesToScan, ScanProgressCallback progressListener);
+    
+    /**
+     * Streams findings while walking the project, scanning each file as the walk finds it.
+     * @param projectPath the path to the project directory
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<BuildConfigUsage>> publishProject(Path projectPath, ScanProgressCallback progressListener);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ProjectScanResult<FileScanResult<BuildConfigUsage>> scanProject(ProjectInventory inventory);
+    
     FileScanResult<BuildConfigUsage> scanFile(Path filePath);
 }
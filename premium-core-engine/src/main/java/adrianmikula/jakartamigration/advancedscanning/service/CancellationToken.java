@@ -0,0 +1,140 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation signal for a scan or one part of it.
+ * <p>
+ * A token is cancelled explicitly with {@link #cancel()}, when its deadline passes, or when its
+ * parent is cancelled. Work checks the token between units of work and stops early; nothing is
+ * interrupted by the token itself.
+ * <p>
+ * A token can be bound to the current thread with {@link #bind()}. {@link ScanExecutor} reads the
+ * bound token and skips files not yet started once it is cancelled, so scanners stop without
+ * taking a token in their APIs.
+ * <p>
+ * Usage:
+ * <pre>
+ * CancellationToken token = new CancellationToken();
+ * try (CancellationToken.Binding binding = token.bind()) {
+ *     scanner.scanProject(files);
+ * }
+ * </pre>
+ */
+public final class CancellationToken {
+
+    private static final CancellationToken NONE = new CancellationToken(null, 0L, false);
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final CancellationToken parent;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a token without a deadline.
+     */
+    public CancellationToken() {
+        this(null, 0L, false);
+    }
+
+    private CancellationToken(CancellationToken parent, long deadlineNanos, boolean hasDeadline) {
+        this.parent = parent;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Returns the token bound to the current thread, or a token that is never cancelled.
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Creates a token that is cancelled together with this one.
+     */
+    public CancellationToken child() {
+        return new CancellationToken(this, 0L, false);
+    }
+
+    /**
+     * Creates a token that is cancelled together with this one or once the timeout has elapsed.
+     *
+     * @param timeout time from now after which the child counts as cancelled
+     */
+    public CancellationToken childWithDeadline(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout cannot be null");
+        return new CancellationToken(this, System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Requests cancellation. Has no effect on the token that is never cancelled.
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Returns true if cancellation was requested, the deadline passed, or the parent was cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled || isExpired() || (parent != null && parent.isCancelled());
+    }
+
+    /**
+     * Returns true if this token's own deadline has passed.
+     */
+    public boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Returns the time left until this token's own deadline, or null if it has none.
+     */
+    public Duration remaining() {
+        return hasDeadline ? Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime())) : null;
+    }
+
+    /**
+     * Throws if this token is cancelled.
+     *
+     * @throws CancellationException if cancellation was requested or the deadline passed
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(isExpired() ? "Deadline exceeded" : "Cancelled");
+        }
+    }
+
+    /**
+     * Binds this token to the current thread until the returned binding is closed.
+     * The previously bound token is restored on close.
+     */
+    public Binding bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Binding of a token to a thread, undone when closed.
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -2,10 +2,11 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
-public interface ClassloaderModuleScanner {
+public interface ClassloaderModuleScanner extends ParsedSourceScanner<ClassloaderModuleScanResult> {
     ClassloaderModuleProjectScanResult scanProject(Path projectPath);
     
     /**
@@ -15,5 +16,12 @@ public interface ClassloaderModuleScanner {
      */
     ClassloaderModuleProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ClassloaderModuleProjectScanResult scanProject(ProjectInventory inventory);
+    
     ClassloaderModuleScanResult scanFile(Path filePath);
 }
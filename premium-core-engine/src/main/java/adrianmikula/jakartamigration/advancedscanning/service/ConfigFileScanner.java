@@ -2,6 +2,7 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -15,5 +16,12 @@ public interface ConfigFileScanner {
      */
     ConfigFileProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ConfigFileProjectScanResult scanProject(ProjectInventory inventory);
+    
     ConfigFileScanResult scanFile(Path filePath);
 }
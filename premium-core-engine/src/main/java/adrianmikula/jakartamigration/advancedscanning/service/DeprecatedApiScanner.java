@@ -2,10 +2,11 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
-public interface DeprecatedApiScanner {
+public interface DeprecatedApiScanner extends ParsedSourceScanner<DeprecatedApiScanResult> {
     DeprecatedApiProjectScanResult scanProject(Path projectPath);
     
     /**
@@ -15,5 +16,12 @@ public interface DeprecatedApiScanner {
      */
     DeprecatedApiProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    DeprecatedApiProjectScanResult scanProject(ProjectInventory inventory);
+    
     DeprecatedApiScanResult scanFile(Path filePath);
 }
@@ -3,9 +3,11 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.DockerCicdUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 /**
  * Service for scanning Docker and CI/CD configuration files for Java references.
@@ -27,6 +29,29 @@ public interface DockerCicdScanner {
      * @return Project scan result with all findings
      */
     ProjectScanResult<FileScanResult<DockerCicdUsage>> scanProject(List<Path> filesToScan);
+    
+    /**
+     * Streams findings for pre-discovered files instead of collecting them, following the subscriber's demand.
+     * @param filesToScan list of file paths to scan
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<DockerCicdUsage>> publishProject(List<Path> filesToScan, ScanProgressCallback progressListener);
+    
+    /**
+     * Streams findings while walking the project, scanning each file as the walk finds it.
+     * @param projectPath the path to the project directory
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<DockerCicdUsage>> publishProject(Path projectPath, ScanProgressCallback progressListener);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ProjectScanResult<FileScanResult<DockerCicdUsage>> scanProject(ProjectInventory inventory);
 
     /**
      * Scans a single file for Java references.
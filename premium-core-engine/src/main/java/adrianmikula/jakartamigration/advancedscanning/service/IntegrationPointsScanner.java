@@ -1,6 +1,7 @@
 package adrianmikula.jakartamigration.advancedscanning.service;
 
 import adrianmikula.jakartamigration.advancedscanning.domain.IntegrationPointsProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -16,4 +17,11 @@ public interface IntegrationPointsScanner {
      * @return Project scan result with all findings
      */
     IntegrationPointsProjectScanResult scanProject(List<Path> filesToScan);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    IntegrationPointsProjectScanResult scanProject(ProjectInventory inventory);
 }
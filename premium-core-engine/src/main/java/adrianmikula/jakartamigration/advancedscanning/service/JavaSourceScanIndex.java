@@ -0,0 +1,184 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.analysis.persistence.ObjectMapperService;
+import adrianmikula.jakartamigration.analysis.persistence.SqliteMigrationAnalysisStore;
+import adrianmikula.jakartamigration.analysis.persistence.SqliteMigrationAnalysisStore.FileScanIndexEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-file index of Java source scan results, persisted in the project's
+ * {@code .jakarta-migration} SQLite database.
+ * <p>
+ * A file's stored findings are reused when its size and modification time are unchanged,
+ * or when only the modification time changed but the content hash still matches
+ * (e.g. after a branch switch). Everything else is re-parsed.
+ * <p>
+ * Usage: {@link #lookup(List)} before scanning, {@link #record} for each freshly scanned
+ * file (thread-safe), then {@link #flush(List)} once the scan completes.
+ */
+@Slf4j
+public class JavaSourceScanIndex {
+
+    static final String SCAN_TYPE = "java-sources";
+
+    /**
+     * Version of the AST scanners' output. Bump whenever matching logic or result types change
+     * so stale findings stored by an older version are discarded.
+     */
+    public static final String SCANNER_VERSION = "1";
+
+    private final SqliteMigrationAnalysisStore store;
+    private final Path projectPath;
+    private final ObjectMapperService objectMapper = new ObjectMapperService();
+
+    private final Map<Path, FileStat> fileStats = new ConcurrentHashMap<>();
+    private final Map<String, FileScanIndexEntry> pendingEntries = new ConcurrentHashMap<>();
+    private Map<String, FileScanIndexEntry> storedEntries = Map.of();
+
+    public JavaSourceScanIndex(SqliteMigrationAnalysisStore store, Path projectPath) {
+        this.store = store;
+        this.projectPath = projectPath;
+    }
+
+    /**
+     * Returns stored findings for every file that is unchanged since it was last indexed.
+     * Files missing from the result must be scanned.
+     *
+     * @param javaFiles the files about to be scanned
+     * @return reusable findings keyed by file
+     */
+    public Map<Path, JavaSourceFileFindings> lookup(List<Path> javaFiles) {
+        storedEntries = store.loadFileScanIndex(projectPath, SCAN_TYPE);
+        Map<Path, JavaSourceFileFindings> reusable = new HashMap<>();
+
+        for (Path file : javaFiles) {
+            FileStat stat = statFile(file);
+            if (stat == null) {
+                continue;
+            }
+            fileStats.put(file, stat);
+
+            String key = indexKey(file);
+            FileScanIndexEntry entry = storedEntries.get(key);
+            if (entry == null || !SCANNER_VERSION.equals(entry.scannerVersion())
+                    || entry.fileSize() != stat.size() || entry.findings() == null) {
+                continue;
+            }
+
+            if (entry.lastModified() != stat.lastModified()) {
+                // Touched but possibly unchanged - compare content hashes before re-parsing
+                String contentHash;
+                try {
+                    contentHash = hash(Files.readAllBytes(file));
+                } catch (IOException e) {
+                    continue;
+                }
+                if (!contentHash.equals(entry.contentHash())) {
+                    continue;
+                }
+                pendingEntries.put(key, new FileScanIndexEntry(key, stat.size(), stat.lastModified(),
+                        contentHash, SCANNER_VERSION, entry.findings()));
+            }
+
+            JavaSourceFileFindings findings = objectMapper.fromJsonOrNull(entry.findings(),
+                    JavaSourceFileFindings.class);
+            if (findings != null && findings.isComplete()) {
+                reusable.put(file, findings);
+            }
+        }
+
+        log.info("Scan index: reusing stored findings for {} of {} Java files", reusable.size(), javaFiles.size());
+        return reusable;
+    }
+
+    /**
+     * Records findings for a freshly parsed file. Incomplete findings are not stored,
+     * so the file is retried on the next scan.
+     */
+    public void record(ParsedSourceFile parsedFile, JavaSourceFileFindings findings) {
+        if (!findings.isComplete()) {
+            return;
+        }
+        Path file = parsedFile.filePath();
+        FileStat stat = fileStats.get(file);
+        if (stat == null) {
+            stat = statFile(file);
+            if (stat == null) {
+                return;
+            }
+        }
+
+        String key = indexKey(file);
+        String contentHash = hash(parsedFile.content().getBytes(StandardCharsets.UTF_8));
+        pendingEntries.put(key, new FileScanIndexEntry(key, stat.size(), stat.lastModified(),
+                contentHash, SCANNER_VERSION, objectMapper.toJson(findings)));
+    }
+
+    /**
+     * Persists recorded entries and drops entries for files that are no longer part of the scan.
+     *
+     * @param javaFiles the complete list of files in this scan
+     */
+    public void flush(List<Path> javaFiles) {
+        Set<String> currentKeys = new HashSet<>();
+        for (Path file : javaFiles) {
+            currentKeys.add(indexKey(file));
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : storedEntries.keySet()) {
+            if (!currentKeys.contains(key)) {
+                removed.add(key);
+            }
+        }
+
+        store.saveFileScanIndexEntries(projectPath, SCAN_TYPE, new ArrayList<>(pendingEntries.values()));
+        store.removeFileScanIndexEntries(projectPath, SCAN_TYPE, removed);
+        log.info("Scan index updated: {} entries written, {} removed", pendingEntries.size(), removed.size());
+
+        pendingEntries.clear();
+        fileStats.clear();
+        storedEntries = Map.of();
+    }
+
+    private static String indexKey(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private static FileStat statFile(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStat(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            log.debug("Cannot read attributes of {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record FileStat(long size, long lastModified) {
+    }
+}
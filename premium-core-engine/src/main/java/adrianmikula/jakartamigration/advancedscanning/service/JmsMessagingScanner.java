@@ -2,10 +2,11 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
-public interface JmsMessagingScanner {
+public interface JmsMessagingScanner extends ParsedSourceScanner<JmsMessagingScanResult> {
     JmsMessagingProjectScanResult scanProject(Path projectPath);
     
     /**
@@ -15,5 +16,12 @@ public interface JmsMessagingScanner {
      */
     JmsMessagingProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    JmsMessagingProjectScanResult scanProject(ProjectInventory inventory);
+    
     JmsMessagingScanResult scanFile(Path filePath);
 }
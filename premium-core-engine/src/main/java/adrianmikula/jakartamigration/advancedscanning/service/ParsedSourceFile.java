@@ -0,0 +1,215 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.util.JavaParserPool;
+import adrianmikula.jakartamigration.util.LineIndex;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J.CompilationUnit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A Java source file that has been read and parsed once.
+ * Carries everything an AST-based scanner needs (content, line index and the
+ * OpenRewrite compilation unit) so the same parse can be shared between scanners.
+ *
+ * @param filePath        path of the source file
+ * @param content         full file content
+ * @param lineIndex       newline offsets of the content, used for line number lookups
+ * @param compilationUnit parsed compilation unit, or null if the file could not be parsed
+ */
+public record ParsedSourceFile(
+    Path filePath,
+    String content,
+    LineIndex lineIndex,
+    CompilationUnit compilationUnit
+) {
+    public ParsedSourceFile {
+        Objects.requireNonNull(filePath, "filePath cannot be null");
+        Objects.requireNonNull(content, "content cannot be null");
+        Objects.requireNonNull(lineIndex, "lineIndex cannot be null");
+    }
+
+    /**
+     * Returns true if the file produced a compilation unit.
+     */
+    public boolean isParsed() {
+        return compilationUnit != null;
+    }
+
+    /**
+     * Returns the number of lines in the file.
+     */
+    public int lineCount() {
+        return lineIndex.lineCount();
+    }
+
+    /**
+     * Creates a view of a file that was read but deliberately not parsed, e.g. because the
+     * prefilter found no trigger tokens in it. Scanners treat it like a file without findings.
+     *
+     * @param filePath the file the content belongs to
+     * @param content  the file content
+     * @return the unparsed file
+     */
+    public static ParsedSourceFile unparsed(Path filePath, String content) {
+        return new ParsedSourceFile(filePath, content, LineIndex.of(content), null);
+    }
+
+    /**
+     * Reads a Java source file and parses it with a pooled parser only if the prefilter finds
+     * a trigger token in its bytes. Reading is not subject to the parse limit.
+     *
+     * @param filePath  the file to read
+     * @param prefilter prefilter holding the caller's trigger tokens
+     * @param executor  executor whose parse concurrency limit the parse runs within
+     * @return the parsed file, or an unparsed view if no trigger token occurs
+     * @throws IOException if the file cannot be read
+     * @see #parse(Path, String, ScanExecutor)
+     */
+    public static ParsedSourceFile read(Path filePath, TriggerTokenPrefilter prefilter, ScanExecutor executor)
+            throws IOException {
+        byte[] bytes = Files.readAllBytes(filePath);
+        String content = decode(bytes);
+        if (!prefilter.matchesAny(bytes)) {
+            return unparsed(filePath, content);
+        }
+        return parse(filePath, content, executor);
+    }
+
+    /**
+     * Reads and parses a Java source file with a pooled parser.
+     *
+     * @param filePath the file to read
+     * @param executor executor whose parse concurrency limit the parse runs within
+     * @return the parsed file
+     * @throws IOException if the file cannot be read
+     * @see #parse(Path, String, ScanExecutor)
+     */
+    public static ParsedSourceFile read(Path filePath, ScanExecutor executor) throws IOException {
+        return parse(filePath, Files.readString(filePath), executor);
+    }
+
+    /**
+     * Parses already-read Java source content with a parser leased from the shared
+     * {@link JavaParserPool}, within the parse concurrency limit of the caller's executor.
+     *
+     * @param filePath the file the content belongs to
+     * @param content  the file content
+     * @param executor executor the caller runs on; the parse holds one of its parse permits
+     * @return the parsed file
+     */
+    public static ParsedSourceFile parse(Path filePath, String content, ScanExecutor executor) {
+        try (ScanExecutor.ParsePermit permit = executor.acquireParsePermit();
+             JavaParserPool.Lease lease = JavaParserPool.shared().lease()) {
+            return parse(filePath, content, lease.parser());
+        }
+    }
+
+    /**
+     * Parses already-read Java source files together in one call with a parser leased from the
+     * shared {@link JavaParserPool}, within one permit of the caller's executor.
+     *
+     * @see #parseBatch(List, List, JavaParser, ExecutionContext)
+     */
+    public static List<ParsedSourceFile> parseBatch(List<Path> filePaths, List<String> contents, ExecutionContext ctx,
+                                                    ScanExecutor executor) {
+        try (ScanExecutor.ParsePermit permit = executor.acquireParsePermit();
+             JavaParserPool.Lease lease = JavaParserPool.shared().lease()) {
+            return parseBatch(filePaths, contents, lease.parser(), ctx);
+        }
+    }
+
+    /**
+     * Parses already-read Java source files together in one call. Compared with parsing them one
+     * at a time, the compiler is set up once per batch and types declared in one file of the batch
+     * are attributed in the others. All compilation units of the batch stay in memory until the
+     * parser is reset, so callers should admit the batch against a {@link ScanMemoryBudget} as a whole.
+     *
+     * @param filePaths the files the contents belong to
+     * @param contents  the file contents, in the order of {@code filePaths}
+     * @param parser    parser to use; it is reset before parsing
+     * @param ctx       execution context shared by the batches of one scan; receives parse errors
+     * @return the parsed files, in the order of {@code filePaths}; a file that failed to parse has
+     *         no compilation unit
+     */
+    public static List<ParsedSourceFile> parseBatch(List<Path> filePaths, List<String> contents, JavaParser parser,
+                                                    ExecutionContext ctx) {
+        if (filePaths.size() != contents.size()) {
+            throw new IllegalArgumentException("filePaths and contents must have the same size");
+        }
+
+        List<Parser.Input> inputs = new ArrayList<>(filePaths.size());
+        for (int i = 0; i < filePaths.size(); i++) {
+            byte[] bytes = contents.get(i).getBytes(StandardCharsets.UTF_8);
+            inputs.add(new Parser.Input(filePaths.get(i), () -> new ByteArrayInputStream(bytes)));
+        }
+
+        parser.reset();
+        // Without a relativeTo path each compilation unit's source path is the input path
+        Map<Path, CompilationUnit> compilationUnits = new HashMap<>();
+        parser.parseInputs(inputs, null, ctx).forEach(sourceFile -> {
+            if (sourceFile instanceof CompilationUnit cu) {
+                compilationUnits.putIfAbsent(cu.getSourcePath(), cu);
+            }
+        });
+
+        List<ParsedSourceFile> parsedFiles = new ArrayList<>(filePaths.size());
+        for (int i = 0; i < filePaths.size(); i++) {
+            String content = contents.get(i);
+            parsedFiles.add(new ParsedSourceFile(filePaths.get(i), content, LineIndex.of(content),
+                    compilationUnits.get(filePaths.get(i))));
+        }
+        return parsedFiles;
+    }
+
+    /**
+     * Decodes raw file bytes as UTF-8, failing on malformed input like {@link Files#readString(Path)}.
+     *
+     * @param bytes raw file content
+     * @return the decoded content
+     * @throws CharacterCodingException if the bytes are not valid UTF-8
+     */
+    public static String decode(byte[] bytes) throws CharacterCodingException {
+        return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    /**
+     * Parses already-read Java source content.
+     *
+     * @param filePath the file the content belongs to
+     * @param content  the file content
+     * @param parser   parser to use; it is reset before parsing
+     * @return the parsed file
+     */
+    public static ParsedSourceFile parse(Path filePath, String content, JavaParser parser) {
+        LineIndex lineIndex = LineIndex.of(content);
+
+        parser.reset();
+        List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
+
+        CompilationUnit compilationUnit = null;
+        for (SourceFile sourceFile : sourceFiles) {
+            if (sourceFile instanceof CompilationUnit cu) {
+                compilationUnit = cu;
+                break;
+            }
+        }
+        return new ParsedSourceFile(filePath, content, lineIndex, compilationUnit);
+    }
+}
@@ -0,0 +1,33 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import java.util.Set;
+
+/**
+ * A scanner that can extract its findings from an already-parsed Java source file.
+ * Implemented by every AST-based scanner so that {@link SharedParseScanPipeline}
+ * can parse each file once and hand the result to all of them.
+ *
+ * @param <F> The file-level result type produced by the scanner (e.g., FileScanResult)
+ */
+@FunctionalInterface
+public interface ParsedSourceScanner<F> {
+
+    /**
+     * Extracts findings from a parsed source file.
+     *
+     * @param parsedFile the parsed file; its compilation unit may be null if parsing failed
+     * @return file-level scan result, never null
+     */
+    F scanParsedFile(ParsedSourceFile parsedFile);
+
+    /**
+     * Returns tokens that must occur in a file's raw content for this scanner to find anything.
+     * Files containing none of them are not parsed for this scanner and receive an unparsed
+     * {@link ParsedSourceFile}. An empty set means the scanner is relevant to every file.
+     *
+     * @return trigger tokens, never null
+     */
+    default Set<String> triggerTokens() {
+        return Set.of();
+    }
+}
@@ -0,0 +1,474 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.BuildConfigUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.advancedscanning.domain.LiveScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.LoggingMetricsProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.LoggingMetricsScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ReflectionUsageProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ReflectionUsageScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.SerializationCacheProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.SerializationCacheScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ThirdPartyLibProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps the advanced scan results of a project up to date while its files change.
+ * <p>
+ * {@link #start()} runs a full scan, then registers every non-ignored directory of the project
+ * (same rules as {@link ProjectFileSystemScanner}) with a {@link WatchService}. File events are
+ * debounced: changes are collected until no event arrives for the debounce interval, then only
+ * the scanners affected by the changed files are re-run, and only on those files:
+ * <ul>
+ *   <li>Java sources - the AST-based scanners (one shared parse), logging/metrics,
+ *       serialization/cache and reflection scanners</li>
+ *   <li>Configuration files - the config file scanner</li>
+ *   <li>Build files - build config, transitive dependency and third-party library scanners
+ *       over all build files, since these results are per project</li>
+ * </ul>
+ * Each update publishes a new immutable {@link LiveScanResults}; {@link #results()} returns the
+ * latest one without scanning.
+ * <p>
+ * A watcher is single-use: once closed it cannot be started again; create a new one instead.
+ */
+@Slf4j
+public class ProjectScanWatcher implements AutoCloseable {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    // Apply pending changes even if events keep arriving, so results never fall too far behind
+    private static final int MAX_DEBOUNCE_ROUNDS = 10;
+
+    private final AdvancedScanningModule scanningModule;
+    private final Path projectRoot;
+    private final Duration debounce;
+    private final ProjectFileSystemScanner fileScanner;
+
+    // Per-file state; only touched by start() and then by the watcher thread
+    private final Set<Path> javaFiles = new TreeSet<>();
+    private final Set<Path> configFiles = new TreeSet<>();
+    private final Set<Path> buildFiles = new TreeSet<>();
+    private final Map<Path, JavaSourceFileFindings> javaSourceFindings = new HashMap<>();
+    private final Map<Path, LoggingMetricsScanResult> loggingMetricsResults = new HashMap<>();
+    private final Map<Path, SerializationCacheScanResult> serializationCacheResults = new HashMap<>();
+    private final Map<Path, ReflectionUsageScanResult> reflectionUsageResults = new HashMap<>();
+    private final Map<Path, ConfigFileScanResult> configFileResults = new HashMap<>();
+    private ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult = ProjectScanResult.empty();
+    private TransitiveDependencyProjectScanResult transitiveDependencyResult = TransitiveDependencyProjectScanResult.empty();
+    private ThirdPartyLibProjectScanResult thirdPartyLibResult;
+    private long version;
+
+    private final AtomicReference<LiveScanResults> latestResults = new AtomicReference<>();
+    private final List<Consumer<LiveScanResults>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean running;
+    private boolean closed;
+
+    public ProjectScanWatcher(AdvancedScanningModule scanningModule, Path projectRoot) {
+        this(scanningModule, projectRoot, DEFAULT_DEBOUNCE);
+    }
+
+    public ProjectScanWatcher(AdvancedScanningModule scanningModule, Path projectRoot, Duration debounce) {
+        this.scanningModule = Objects.requireNonNull(scanningModule, "scanningModule cannot be null");
+        this.projectRoot = Objects.requireNonNull(projectRoot, "projectRoot cannot be null");
+        this.debounce = Objects.requireNonNull(debounce, "debounce cannot be null");
+        this.fileScanner = ProjectFileSystemScanner.withGitIgnore(projectRoot);
+        this.thirdPartyLibResult = new ThirdPartyLibProjectScanResult(projectRoot.toString());
+    }
+
+    /**
+     * Scans the whole project and starts watching it for changes.
+     *
+     * @return the results of the initial scan
+     * @throws IOException if the project cannot be watched
+     * @throws IllegalStateException if the watcher was closed
+     */
+    public synchronized LiveScanResults start() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Watcher for " + projectRoot + " was closed and cannot be restarted");
+        }
+        if (running) {
+            return latestResults.get();
+        }
+        if (!Files.isDirectory(projectRoot)) {
+            throw new IOException("Project path does not exist or is not a directory: " + projectRoot);
+        }
+
+        watchService = projectRoot.getFileSystem().newWatchService();
+        registerTree(projectRoot);
+        fullScan();
+
+        log.info("Watching {} ({} directories) for changes", projectRoot, watchedDirectories.size());
+        running = true;
+        watcherThread = new Thread(this::watchLoop, "project-scan-watcher-" + projectRoot.getFileName());
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        return latestResults.get();
+    }
+
+    /**
+     * Returns the latest results, or null before {@link #start()}.
+     */
+    public LiveScanResults results() {
+        return latestResults.get();
+    }
+
+    /**
+     * Returns the watched project root.
+     */
+    public Path projectRoot() {
+        return projectRoot;
+    }
+
+    /**
+     * Returns true while the watcher is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Registers a listener called on the watcher thread after every update.
+     */
+    public void addListener(Consumer<LiveScanResults> listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener cannot be null"));
+    }
+
+    public void removeListener(Consumer<LiveScanResults> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops watching and waits for an update in progress to finish, so no listener is called
+     * after this returns. The latest results stay available.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Failed to close watch service for {}: {}", projectRoot, e.getMessage());
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            // A listener closing the watcher runs on the watcher thread, which cannot wait for itself
+            if (Thread.currentThread() != watcherThread) {
+                try {
+                    watcherThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void watchLoop() {
+        Set<Path> pendingChanges = new LinkedHashSet<>();
+        boolean rescanAll = false;
+        int debounceRounds = 0;
+
+        while (running) {
+            WatchKey key;
+            try {
+                if (pendingChanges.isEmpty() && !rescanAll) {
+                    key = watchService.take();
+                } else if (debounceRounds >= MAX_DEBOUNCE_ROUNDS) {
+                    key = null;
+                } else {
+                    key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ClosedWatchServiceException e) {
+                break;
+            }
+
+            if (key == null) {
+                // Quiet period elapsed: apply everything collected so far in one update
+                try {
+                    if (rescanAll) {
+                        fullScan();
+                    } else {
+                        applyChanges(pendingChanges);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to update scan results for {}", projectRoot, e);
+                }
+                pendingChanges.clear();
+                rescanAll = false;
+                debounceRounds = 0;
+                continue;
+            }
+
+            debounceRounds++;
+            Path directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    rescanAll = true;
+                    continue;
+                }
+                Path changed = directory.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+                    if (!fileScanner.isIgnored(changed)) {
+                        // Files may have been written before the new directory was registered
+                        registerTree(changed);
+                        pendingChanges.addAll(fileScanner.findFiles(changed, path -> true));
+                    }
+                } else {
+                    pendingChanges.add(changed);
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+        log.debug("Stopped watching {}", projectRoot);
+    }
+
+    private void registerTree(Path root) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (fileScanner.isIgnored(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    WatchKey key = dir.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirectories.put(key, dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    log.warn("Failed to visit file: {}. Reason: {}", file, exc.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("Error registering directories for watching: {}", root, e);
+        }
+    }
+
+    private void fullScan() {
+        long start = System.currentTimeMillis();
+        ProjectInventory inventory = fileScanner.inventory(projectRoot);
+
+        javaFiles.clear();
+        configFiles.clear();
+        buildFiles.clear();
+        javaSourceFindings.clear();
+        loggingMetricsResults.clear();
+        serializationCacheResults.clear();
+        reflectionUsageResults.clear();
+        configFileResults.clear();
+
+        javaFiles.addAll(inventory.files(ProjectInventory.Category.JAVA));
+        configFiles.addAll(inventory.files(ProjectInventory.Category.CONFIG));
+        buildFiles.addAll(inventory.files(ProjectInventory.Category.BUILD));
+
+        rescanJavaFiles(javaFiles);
+        rescanConfigFiles(configFiles);
+        rescanBuildFiles();
+        publish();
+        log.info("Full scan of {} completed in {}ms", projectRoot, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-runs the affected scanners on the changed files and publishes new results.
+     */
+    void applyChanges(Collection<Path> changedPaths) {
+        List<Path> changedJava = new ArrayList<>();
+        List<Path> changedConfig = new ArrayList<>();
+        boolean buildChanged = false;
+
+        for (Path changed : changedPaths) {
+            if (!Files.exists(changed, LinkOption.NOFOLLOW_LINKS)) {
+                // Deleted file or directory: drop everything tracked at or below it
+                changedJava.addAll(removeTracked(javaFiles, changed));
+                changedConfig.addAll(removeTracked(configFiles, changed));
+                buildChanged |= !removeTracked(buildFiles, changed).isEmpty();
+                continue;
+            }
+            if (!Files.isRegularFile(changed)) {
+                // Directory contents are reported by the directory's own watch key
+                continue;
+            }
+            Set<ProjectInventory.Category> categories = ProjectInventory.categorize(projectRoot, changed);
+            if (categories.contains(ProjectInventory.Category.JAVA)) {
+                javaFiles.add(changed);
+                changedJava.add(changed);
+            }
+            if (categories.contains(ProjectInventory.Category.CONFIG)) {
+                configFiles.add(changed);
+                changedConfig.add(changed);
+            }
+            if (categories.contains(ProjectInventory.Category.BUILD)) {
+                buildFiles.add(changed);
+                buildChanged = true;
+            }
+        }
+
+        if (changedJava.isEmpty() && changedConfig.isEmpty() && !buildChanged) {
+            return;
+        }
+        log.debug("Rescanning {} Java, {} config files{} in {}", changedJava.size(), changedConfig.size(),
+                buildChanged ? " and build files" : "", projectRoot);
+        rescanJavaFiles(changedJava);
+        rescanConfigFiles(changedConfig);
+        if (buildChanged) {
+            rescanBuildFiles();
+        }
+        publish();
+    }
+
+    private static List<Path> removeTracked(Set<Path> tracked, Path removed) {
+        List<Path> removedFiles = new ArrayList<>();
+        tracked.removeIf(file -> {
+            if (file.startsWith(removed)) {
+                removedFiles.add(file);
+                return true;
+            }
+            return false;
+        });
+        return removedFiles;
+    }
+
+    private void rescanJavaFiles(Collection<Path> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<Path> existing = new ArrayList<>();
+        for (Path file : files) {
+            javaSourceFindings.remove(file);
+            if (javaFiles.contains(file)) {
+                existing.add(file);
+            }
+        }
+        javaSourceFindings.putAll(scanningModule.scanJavaSourceFindings(existing));
+        rescanEach(files, loggingMetricsResults,
+                file -> scanningModule.getLoggingMetricsScanner().scanProject(List.of(file)).getFileResults());
+        rescanEach(files, serializationCacheResults,
+                file -> scanningModule.getSerializationCacheScanner().scanProject(List.of(file)).getFileResults());
+        rescanEach(files, reflectionUsageResults,
+                file -> scanningModule.getReflectionUsageScanner().scanProject(List.of(file)).getFileResults());
+    }
+
+    private void rescanConfigFiles(Collection<Path> files) {
+        rescanEach(files, configFileResults,
+                file -> scanningModule.getConfigFileScanner().scanProject(List.of(file)).getFileResults());
+    }
+
+    private void rescanBuildFiles() {
+        List<Path> files = new ArrayList<>(buildFiles);
+        buildConfigResult = scanningModule.getBuildConfigScanner().scanProject(files);
+        transitiveDependencyResult = scanningModule.getTransitiveDependencyScanner().scanProject(files);
+        thirdPartyLibResult = scanningModule.getThirdPartyLibScanner().scanProject(files);
+    }
+
+    /**
+     * Replaces the stored result of each file; files without findings (or no longer present) get no entry.
+     */
+    private static <R> void rescanEach(Collection<Path> files, Map<Path, R> results, Function<Path, List<R>> scanFile) {
+        for (Path file : files) {
+            results.remove(file);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try {
+                List<R> fileResults = scanFile.apply(file);
+                if (fileResults != null && !fileResults.isEmpty()) {
+                    results.put(file, fileResults.get(0));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Error scanning file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void publish() {
+        List<Path> javaFileList = new ArrayList<>(javaFiles);
+        List<ConfigFileScanResult> configResults = inOrder(configFiles, configFileResults);
+        String path = projectRoot.toString();
+
+        LiveScanResults results = new LiveScanResults(
+                path,
+                ++version,
+                Instant.now(),
+                AdvancedScanningModule.toJavaSourceScanResults(javaFileList, javaSourceFindings),
+                buildConfigResult,
+                transitiveDependencyResult,
+                new ConfigFileProjectScanResult(configResults, configFiles.size(), configResults.size(),
+                        configResults.stream().mapToInt(r -> r.getUsages().size()).sum()),
+                new LoggingMetricsProjectScanResult(path, inOrder(javaFiles, loggingMetricsResults)),
+                new SerializationCacheProjectScanResult(path, inOrder(javaFiles, serializationCacheResults)),
+                new ReflectionUsageProjectScanResult(path, inOrder(javaFiles, reflectionUsageResults)),
+                thirdPartyLibResult);
+        latestResults.set(results);
+
+        for (Consumer<LiveScanResults> listener : listeners) {
+            try {
+                listener.accept(results);
+            } catch (RuntimeException e) {
+                log.warn("Scan results listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static <R> List<R> inOrder(Set<Path> files, Map<Path, R> resultsByFile) {
+        List<R> results = new ArrayList<>();
+        for (Path file : files) {
+            R result = resultsByFile.get(file);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+}
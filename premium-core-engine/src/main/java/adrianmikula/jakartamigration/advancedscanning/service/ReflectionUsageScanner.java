@@ -1,6 +1,7 @@
 package adrianmikula.jakartamigration.advancedscanning.service;
 
 import adrianmikula.jakartamigration.advancedscanning.domain.ReflectionUsageProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -25,4 +26,11 @@ public interface ReflectionUsageScanner {
      * @return Project scan result with all findings
      */
     ReflectionUsageProjectScanResult scanProject(List<Path> filesToScan);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ReflectionUsageProjectScanResult scanProject(ProjectInventory inventory);
 }
@@ -3,11 +3,13 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Flow;
 
-public interface RestSoapScanner {
+public interface RestSoapScanner extends ParsedSourceScanner<FileScanResult<JavaxUsage>> {
     ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(Path projectPath);
     
     /**
@@ -17,5 +19,28 @@ public interface RestSoapScanner {
      */
     ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(List<Path> filesToScan);
     
+    /**
+     * Streams findings for pre-discovered files instead of collecting them, following the subscriber's demand.
+     * @param filesToScan list of file paths to scan
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<JavaxUsage>> publishProject(List<Path> filesToScan, ScanProgressCallback progressListener);
+    
+    /**
+     * Streams findings while walking the project, scanning each file as the walk finds it.
+     * @param projectPath the path to the project directory
+     * @param progressListener optional progress callback, may be null
+     * @return Publisher of the results of files with findings
+     */
+    Flow.Publisher<FileScanResult<JavaxUsage>> publishProject(Path projectPath, ScanProgressCallback progressListener);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(ProjectInventory inventory);
+    
     FileScanResult<JavaxUsage> scanFile(Path filePath);
 }
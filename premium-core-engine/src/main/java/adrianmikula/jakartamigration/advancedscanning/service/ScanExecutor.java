@@ -0,0 +1,218 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs per-file scan work with the execution mode configured for advanced scanning.
+ * <p>
+ * Two modes are supported, selected with the system property {@code advanced.scan.executor}:
+ * <ul>
+ *   <li>{@code forkjoin} (default): a {@link ForkJoinPool} bounded by {@code advanced.scan.parallelism}</li>
+ *   <li>{@code virtual}: one virtual thread per file, with at most {@code advanced.scan.io.concurrency}
+ *       files in flight. Suits scanners that mostly wait on file I/O.</li>
+ * </ul>
+ * In virtual-thread mode, CPU-bound parsing is capped separately by a semaphore of
+ * {@code advanced.scan.parse.concurrency} permits (default: one per core), which callers take
+ * through {@link #acquireParsePermit()}. In fork/join mode the pool's parallelism already bounds
+ * parsing and the permit is a no-op.
+ * <p>
+ * Work honours the {@link CancellationToken} bound to the calling thread: once it is cancelled,
+ * files that have not started yet are skipped.
+ * <p>
+ * {@link BaseScanner} and its subclasses, {@link SharedParseScanPipeline}, and the Classloader/Module,
+ * Config File, Deprecated API, JMS and Security API scanners run their project scans through
+ * {@link #map(List, Function)} and admit each file, or each parse batch, against the shared
+ * {@link ScanMemoryBudget}, which throttles admission under memory pressure. The remaining
+ * scanners use neither this executor nor the budget.
+ */
+@Slf4j
+public final class ScanExecutor {
+
+    /**
+     * How per-file work is scheduled.
+     */
+    public enum Mode {
+        FORK_JOIN,
+        VIRTUAL_THREADS
+    }
+
+    private static final ScanExecutor SHARED = new ScanExecutor(
+            parseMode(System.getProperty("advanced.scan.executor")),
+            Integer.getInteger("advanced.scan.parallelism", 4),
+            Integer.getInteger("advanced.scan.io.concurrency", 256),
+            Integer.getInteger("advanced.scan.parse.concurrency", Runtime.getRuntime().availableProcessors()));
+
+    private static final ParsePermit NO_OP_PERMIT = () -> { };
+
+    private final Mode mode;
+    private final int parallelism;
+    private final int ioConcurrency;
+    private final Semaphore parsePermits;
+
+    /**
+     * @param mode             execution mode
+     * @param parallelism      worker threads in fork/join mode
+     * @param ioConcurrency    files in flight in virtual-thread mode
+     * @param parseConcurrency concurrent parses in virtual-thread mode
+     */
+    public ScanExecutor(Mode mode, int parallelism, int ioConcurrency, int parseConcurrency) {
+        this.mode = Objects.requireNonNull(mode, "mode cannot be null");
+        this.parallelism = Math.max(1, parallelism);
+        this.ioConcurrency = Math.max(1, ioConcurrency);
+        this.parsePermits = mode == Mode.VIRTUAL_THREADS ? new Semaphore(Math.max(1, parseConcurrency), true) : null;
+    }
+
+    /**
+     * Returns the executor configured for this process.
+     */
+    public static ScanExecutor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the execution mode.
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Applies a task to every file and returns the non-null results in the order of the input list.
+     * If the calling thread's {@link CancellationToken} is cancelled, the remaining files are skipped
+     * and the results of the files already processed are returned.
+     * <p>
+     * Items are usually files, but may be any unit of work such as a batch of files.
+     *
+     * @param files files to process
+     * @param task  per-file task; returns null for files without a result
+     * @param <I>   item type
+     * @param <R>   result type
+     * @return non-null results, in input order
+     * @throws ExecutionException   if a task failed
+     * @throws InterruptedException if interrupted while waiting for tasks
+     */
+    public <I, R> List<R> map(List<I> files, Function<I, R> task) throws ExecutionException, InterruptedException {
+        Objects.requireNonNull(files, "files cannot be null");
+        Objects.requireNonNull(task, "task cannot be null");
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        // Pool threads do not see the caller's binding, so the token is captured here
+        CancellationToken token = CancellationToken.current();
+        Function<I, R> cancellableTask = file -> token.isCancelled() ? null : task.apply(file);
+        return mode == Mode.VIRTUAL_THREADS
+                ? mapOnVirtualThreads(files, cancellableTask, token)
+                : mapOnForkJoinPool(files, cancellableTask);
+    }
+
+    /**
+     * Takes a permit for one CPU-bound parse, blocking while the parse limit is reached.
+     * Always succeeds immediately in fork/join mode.
+     *
+     * @return permit to close once parsing is done
+     */
+    public ParsePermit acquireParsePermit() {
+        if (parsePermits == null) {
+            return NO_OP_PERMIT;
+        }
+        // Parses are short, so waiting for one is not interruptible
+        parsePermits.acquireUninterruptibly();
+        return parsePermits::release;
+    }
+
+    private <I, R> List<R> mapOnForkJoinPool(List<I> files, Function<I, R> task)
+            throws ExecutionException, InterruptedException {
+        int poolSize = Math.min(parallelism, files.size());
+        log.debug("Using parallel processing with parallelism={}", poolSize);
+
+        ForkJoinPool customPool = new ForkJoinPool(poolSize);
+        try {
+            return customPool.submit(() ->
+                    files.parallelStream()
+                            .map(task)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList())
+            ).get();
+        } finally {
+            customPool.shutdown();
+        }
+    }
+
+    private <I, R> List<R> mapOnVirtualThreads(List<I> files, Function<I, R> task, CancellationToken token)
+            throws ExecutionException, InterruptedException {
+        log.debug("Using virtual threads with {} files in flight and {} concurrent parses",
+                ioConcurrency, parsePermits.availablePermits());
+
+        Semaphore inFlight = new Semaphore(ioConcurrency);
+        List<Future<R>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                for (I file : files) {
+                    if (token.isCancelled()) {
+                        log.debug("Scan cancelled, skipping {} of {} files", files.size() - futures.size(), files.size());
+                        break;
+                    }
+                    // Admitting files as slots free up keeps the number of live threads bounded
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return task.apply(file);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                List<R> results = new ArrayList<>();
+                for (Future<R> future : futures) {
+                    R result = future.get();
+                    if (result != null) {
+                        results.add(result);
+                    }
+                }
+                return results;
+            } catch (ExecutionException | InterruptedException | RuntimeException e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    static Mode parseMode(String value) {
+        if (value == null || value.isBlank()) {
+            return Mode.FORK_JOIN;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "virtual":
+            case "virtual_threads":
+                return Mode.VIRTUAL_THREADS;
+            case "forkjoin":
+            case "fork_join":
+                return Mode.FORK_JOIN;
+            default:
+                log.warn("Unknown advanced.scan.executor '{}', using forkjoin", value);
+                return Mode.FORK_JOIN;
+        }
+    }
+
+    /**
+     * Permit for one parse, released when closed.
+     */
+    @FunctionalInterface
+    public interface ParsePermit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,212 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits files for scanning against a fixed heap budget.
+ * <p>
+ * Each file is charged an estimated cost derived from its size and the parser's overhead
+ * before it is read. When the budget is exhausted, admission blocks until earlier files
+ * release their cost, so scanning slows down gradually under memory pressure instead of
+ * switching to sequential processing on a noisy free-memory reading.
+ * <p>
+ * The {@link #shared() shared} budget is used by all scanners in the process, so scans
+ * running concurrently draw from the same budget. Its size is read from the system property
+ * {@code advanced.scan.memory.budget.mb} and defaults to a quarter of the maximum heap.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (ScanMemoryBudget.Permit permit = budget.acquire(file)) {
+ *     // read, parse and scan the file
+ * }
+ * </pre>
+ */
+@Slf4j
+public class ScanMemoryBudget {
+
+    // Heap held per byte of source while a file is parsed into an LST
+    static final int PARSE_OVERHEAD_FACTOR = 20;
+
+    // Cost of a file regardless of its size: parser state, line index, results
+    static final long BASE_FILE_COST_BYTES = 256 * 1024;
+
+    private static final long MIN_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    // Costs are tracked in KB so that budgets of any realistic heap fit in the semaphore
+    private static final int UNIT_BYTES = 1024;
+
+    private static final ScanMemoryBudget SHARED = new ScanMemoryBudget(defaultBudgetBytes());
+
+    private final long budgetBytes;
+    private final int budgetUnits;
+    private final Semaphore units;
+    private final AtomicInteger peakUnits = new AtomicInteger();
+    private final AtomicLong admittedFiles = new AtomicLong();
+    private final AtomicLong blockedAdmissions = new AtomicLong();
+
+    /**
+     * @param budgetBytes heap available to files being scanned at the same time
+     */
+    public ScanMemoryBudget(long budgetBytes) {
+        if (budgetBytes < UNIT_BYTES) {
+            throw new IllegalArgumentException("budgetBytes must be at least " + UNIT_BYTES);
+        }
+        this.budgetUnits = (int) Math.min(Integer.MAX_VALUE, budgetBytes / UNIT_BYTES);
+        this.budgetBytes = (long) budgetUnits * UNIT_BYTES;
+        // Fair, so that a large file is not starved by a stream of small ones
+        this.units = new Semaphore(budgetUnits, true);
+    }
+
+    /**
+     * Returns the budget shared by all scanners in this process.
+     */
+    public static ScanMemoryBudget shared() {
+        return SHARED;
+    }
+
+    /**
+     * Estimates the heap needed to scan a file. The estimate never exceeds the budget,
+     * so a file larger than the budget is still admitted, on its own.
+     */
+    public long estimateCost(Path file) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable files fail fast in the scanner; charge only the fixed cost
+            size = 0;
+        }
+        long cost = BASE_FILE_COST_BYTES + Math.min(size, Long.MAX_VALUE / PARSE_OVERHEAD_FACTOR) * PARSE_OVERHEAD_FACTOR;
+        return Math.min(cost, budgetBytes);
+    }
+
+    /**
+     * Reserves the estimated cost of a file, blocking while the budget is exhausted.
+     *
+     * @param file the file about to be scanned
+     * @return permit that returns the cost to the budget when closed
+     * @throws InterruptedException if interrupted while waiting for budget
+     */
+    public Permit acquire(Path file) throws InterruptedException {
+        return acquire(estimateCost(file), 1, file);
+    }
+
+    /**
+     * Reserves the combined estimated cost of files that are held in memory together, such as a
+     * batch parsed in one call, blocking while the budget is exhausted. The cost never exceeds
+     * the budget, so an oversized batch is still admitted, on its own.
+     *
+     * @param files the files about to be scanned together
+     * @return permit that returns the cost to the budget when closed
+     * @throws InterruptedException if interrupted while waiting for budget
+     */
+    public Permit acquire(Collection<Path> files) throws InterruptedException {
+        long costBytes = 0;
+        for (Path file : files) {
+            costBytes = Math.min(budgetBytes, costBytes + estimateCost(file));
+        }
+        return acquire(costBytes, files.size(), "batch of " + files.size() + " files");
+    }
+
+    private Permit acquire(long costBytes, int fileCount, Object description) throws InterruptedException {
+        int cost = (int) Math.max(1, (costBytes + UNIT_BYTES - 1) / UNIT_BYTES);
+        cost = Math.min(cost, budgetUnits);
+        if (!units.tryAcquire(cost)) {
+            blockedAdmissions.incrementAndGet();
+            log.debug("Memory budget exhausted, waiting to admit {} ({} KB)", description, cost);
+            units.acquire(cost);
+        }
+        admittedFiles.addAndGet(fileCount);
+        int inUse = budgetUnits - units.availablePermits();
+        peakUnits.accumulateAndGet(inUse, Math::max);
+        return new Permit(cost);
+    }
+
+    /**
+     * Returns a snapshot of the budget's usage.
+     */
+    public Usage usage() {
+        long inUseBytes = (long) (budgetUnits - units.availablePermits()) * UNIT_BYTES;
+        return new Usage(budgetBytes, inUseBytes, (long) peakUnits.get() * UNIT_BYTES,
+                admittedFiles.get(), blockedAdmissions.get());
+    }
+
+    private static long defaultBudgetBytes() {
+        String configured = System.getProperty("advanced.scan.memory.budget.mb");
+        if (configured != null) {
+            try {
+                return Math.max(MIN_BUDGET_BYTES, Long.parseLong(configured.trim()) * 1024 * 1024);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid advanced.scan.memory.budget.mb '{}', using default", configured);
+            }
+        }
+        return Math.max(MIN_BUDGET_BYTES, Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /**
+     * Cost of one admitted file, returned to the budget when closed. Closing twice has no effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int cost;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int cost) {
+            this.cost = cost;
+        }
+
+        /**
+         * Returns the reserved cost in bytes.
+         */
+        public long costBytes() {
+            return (long) cost * UNIT_BYTES;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                units.release(cost);
+            }
+        }
+    }
+
+    /**
+     * Usage of a memory budget.
+     *
+     * @param budgetBytes       size of the budget
+     * @param inUseBytes        cost currently reserved by files being scanned
+     * @param peakBytes         highest cost reserved at the same time
+     * @param admittedFiles     number of files admitted so far
+     * @param blockedAdmissions number of admissions that had to wait for budget
+     */
+    public record Usage(
+        long budgetBytes,
+        long inUseBytes,
+        long peakBytes,
+        long admittedFiles,
+        long blockedAdmissions
+    ) {
+        /**
+         * Returns the peak usage as a fraction of the budget.
+         */
+        public double peakUtilization() {
+            return budgetBytes == 0 ? 0.0 : (double) peakBytes / budgetBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("peak %d MB of %d MB (%.0f%%), %d files admitted, %d waited",
+                    peakBytes / (1024 * 1024), budgetBytes / (1024 * 1024), peakUtilization() * 100,
+                    admittedFiles, blockedAdmissions);
+        }
+    }
+}
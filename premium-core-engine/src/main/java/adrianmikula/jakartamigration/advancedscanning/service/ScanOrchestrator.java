@@ -0,0 +1,433 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scan steps as a dependency graph, for example inventory, then the shared parse,
+ * then the individual scanners, then recommendations built from their results.
+ * <p>
+ * A node starts as soon as all of its dependencies have completed. Of the nodes that are ready,
+ * those with the highest priority start first, and at most {@code maxConcurrent} nodes run at
+ * once, so cheap scans are not queued behind slow ones. Each node gets its own
+ * {@link CancellationToken}, bound to the thread that runs it; the token is cancelled when
+ * the run is cancelled or the node's deadline passes. A node that fails, times out or is
+ * cancelled does not stop the run; only the nodes that depend on it are skipped.
+ * <p>
+ * Every node's result is reported to a {@link NodeListener} as soon as it is known, so callers
+ * can show partial results while slower nodes are still running.
+ * <p>
+ * A node that times out or is cancelled is abandoned: its result is recorded at once, but the node
+ * itself only stops at its next cancellation check. On an executor it keeps its thread until then,
+ * which delays later nodes once the pool is exhausted. Created with a {@link ThreadFactory}, the
+ * orchestrator starts every node on a thread of its own, so abandoned nodes never hold up later
+ * nodes or runs.
+ * <p>
+ * Nodes must be added after their dependencies, which keeps the graph acyclic. A plan can be
+ * run more than once.
+ */
+@Slf4j
+public class ScanOrchestrator {
+
+    /**
+     * Priority of nodes that feed most other nodes, such as the inventory.
+     */
+    public static final int PRIORITY_HIGH = 100;
+
+    /**
+     * Default priority.
+     */
+    public static final int PRIORITY_NORMAL = 50;
+
+    /**
+     * Priority of slow nodes that should not hold up cheaper ones.
+     */
+    public static final int PRIORITY_LOW = 10;
+
+    // Upper bound on how long a cancellation or deadline goes unnoticed by the run loop
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Exactly one of executor and threadFactory is set
+    private final ExecutorService executor;
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrent;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * @param executor      executor that runs the nodes
+     * @param maxConcurrent maximum number of nodes running at the same time
+     */
+    public ScanOrchestrator(ExecutorService executor, int maxConcurrent) {
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.threadFactory = null;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+
+    /**
+     * @param threadFactory factory of the thread each node runs on
+     * @param maxConcurrent maximum number of nodes running at the same time, not counting abandoned ones
+     */
+    public ScanOrchestrator(ThreadFactory threadFactory, int maxConcurrent) {
+        this.executor = null;
+        this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory cannot be null");
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+
+    /**
+     * Adds a node with normal priority and no deadline.
+     *
+     * @see #addNode(String, int, Duration, NodeTask, String...)
+     */
+    public ScanOrchestrator addNode(String id, NodeTask<?> task, String... dependsOn) {
+        return addNode(id, PRIORITY_NORMAL, null, task, dependsOn);
+    }
+
+    /**
+     * Adds a node to the plan.
+     *
+     * @param id        unique node id
+     * @param priority  higher values start first among ready nodes
+     * @param deadline  maximum run time of the node, or null for none
+     * @param task      work of the node; its return value is the node's result
+     * @param dependsOn ids of nodes that must complete first; they must already be added
+     * @return this orchestrator
+     * @throws IllegalArgumentException if the id is taken or a dependency is unknown
+     */
+    public ScanOrchestrator addNode(String id, int priority, Duration deadline, NodeTask<?> task, String... dependsOn) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Objects.requireNonNull(task, "task cannot be null");
+        if (nodes.containsKey(id)) {
+            throw new IllegalArgumentException("Duplicate node: " + id);
+        }
+        List<String> dependencies = List.of(dependsOn);
+        for (String dependency : dependencies) {
+            if (!nodes.containsKey(dependency)) {
+                throw new IllegalArgumentException("Node " + id + " depends on unknown node: " + dependency);
+            }
+        }
+        nodes.put(id, new Node(id, priority, deadline, task, dependencies, nodes.size()));
+        return this;
+    }
+
+    /**
+     * Runs all nodes and waits until each has completed, failed, timed out, been skipped or been cancelled.
+     *
+     * @param token    token of the whole run; cancelling it cancels all nodes
+     * @param listener optional listener, called on the calling thread as each node finishes
+     * @return results of all nodes
+     * @throws InterruptedException if interrupted while waiting; running nodes are cancelled first
+     */
+    public Result run(CancellationToken token, NodeListener listener) throws InterruptedException {
+        Objects.requireNonNull(token, "token cannot be null");
+        return new Run(token, listener).execute();
+    }
+
+    /**
+     * Work of one node.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface NodeTask<T> {
+        T run(NodeContext context) throws Exception;
+    }
+
+    /**
+     * Receives the result of each node as soon as it is known.
+     */
+    @FunctionalInterface
+    public interface NodeListener {
+        void onNodeFinished(NodeResult result);
+    }
+
+    /**
+     * What a node can see while it runs.
+     *
+     * @param token   the node's cancellation token
+     * @param results results of the node's dependencies, by id
+     */
+    public record NodeContext(CancellationToken token, Map<String, Object> results) {
+
+        /**
+         * Returns the result of a dependency.
+         *
+         * @throws IllegalArgumentException if the id is not a dependency of this node
+         */
+        public <T> T result(String nodeId, Class<T> type) {
+            if (!results.containsKey(nodeId)) {
+                throw new IllegalArgumentException("Not a dependency: " + nodeId);
+            }
+            return type.cast(results.get(nodeId));
+        }
+    }
+
+    /**
+     * How a node ended.
+     */
+    public enum Status {
+        COMPLETED,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED,
+        SKIPPED
+    }
+
+    /**
+     * Result of one node.
+     *
+     * @param id      node id
+     * @param status  how the node ended
+     * @param value   the node's result if it completed, otherwise null
+     * @param error   the failure if the node failed, otherwise null
+     * @param elapsed time the node ran; zero if it never started
+     */
+    public record NodeResult(String id, Status status, Object value, Throwable error, Duration elapsed) {
+
+        public boolean isCompleted() {
+            return status == Status.COMPLETED;
+        }
+    }
+
+    /**
+     * Results of a run, in the order the nodes were added.
+     *
+     * @param nodes results by node id
+     */
+    public record Result(Map<String, NodeResult> nodes) {
+
+        /**
+         * Returns the value of a completed node, or null if it did not complete.
+         */
+        public <T> T value(String nodeId, Class<T> type) {
+            NodeResult result = nodes.get(nodeId);
+            return result != null && result.isCompleted() ? type.cast(result.value()) : null;
+        }
+
+        public Status status(String nodeId) {
+            NodeResult result = nodes.get(nodeId);
+            return result != null ? result.status() : null;
+        }
+
+        /**
+         * Returns true if every node completed.
+         */
+        public boolean isComplete() {
+            return nodes.values().stream().allMatch(NodeResult::isCompleted);
+        }
+    }
+
+    private record Node(String id, int priority, Duration deadline, NodeTask<?> task, List<String> dependsOn, int order) {
+    }
+
+    private record Running(Node node, CancellationToken token, Future<?> future, long startNanos) {
+    }
+
+    private record Finished(String id, Object value, Throwable error) {
+    }
+
+    /**
+     * State of one run of the plan. Only the thread calling {@link #run} touches it;
+     * nodes report back through the completion queue.
+     */
+    private final class Run {
+
+        private final CancellationToken token;
+        private final NodeListener listener;
+        private final Map<String, NodeResult> results = new LinkedHashMap<>();
+        private final Map<String, Integer> pendingDependencies = new HashMap<>();
+        private final Map<String, List<Node>> dependents = new HashMap<>();
+        private final PriorityQueue<Node> ready = new PriorityQueue<>(
+                Comparator.comparingInt(Node::priority).reversed().thenComparingInt(Node::order));
+        private final Map<String, Running> running = new HashMap<>();
+        private final BlockingQueue<Finished> completions = new LinkedBlockingQueue<>();
+
+        private Run(CancellationToken token, NodeListener listener) {
+            this.token = token;
+            this.listener = listener;
+        }
+
+        private Result execute() throws InterruptedException {
+            for (Node node : nodes.values()) {
+                pendingDependencies.put(node.id(), node.dependsOn().size());
+                for (String dependency : node.dependsOn()) {
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(node);
+                }
+                if (node.dependsOn().isEmpty()) {
+                    ready.add(node);
+                }
+            }
+
+            try {
+                while (results.size() < nodes.size()) {
+                    if (token.isCancelled()) {
+                        cancelRemaining();
+                        break;
+                    }
+                    while (running.size() < maxConcurrent && !ready.isEmpty()) {
+                        start(ready.poll());
+                    }
+                    Finished finished = completions.poll(nextWaitNanos(), TimeUnit.NANOSECONDS);
+                    if (finished != null) {
+                        complete(finished);
+                    }
+                    expireDeadlines();
+                }
+            } catch (InterruptedException e) {
+                cancelRemaining();
+                throw e;
+            }
+
+            Map<String, NodeResult> ordered = new LinkedHashMap<>();
+            for (String id : nodes.keySet()) {
+                ordered.put(id, results.get(id));
+            }
+            return new Result(Collections.unmodifiableMap(ordered));
+        }
+
+        private void start(Node node) {
+            Map<String, Object> inputs = new HashMap<>();
+            for (String dependency : node.dependsOn()) {
+                inputs.put(dependency, results.get(dependency).value());
+            }
+            CancellationToken nodeToken = node.deadline() != null ? token.childWithDeadline(node.deadline()) : token.child();
+            NodeContext context = new NodeContext(nodeToken, Collections.unmodifiableMap(inputs));
+
+            log.debug("Starting scan node {} (priority {})", node.id(), node.priority());
+            Future<?> future = launch(() -> {
+                try (CancellationToken.Binding binding = nodeToken.bind()) {
+                    Object value = node.task().run(context);
+                    completions.add(new Finished(node.id(), value, null));
+                } catch (Throwable t) {
+                    completions.add(new Finished(node.id(), null, t));
+                }
+            });
+            running.put(node.id(), new Running(node, nodeToken, future, System.nanoTime()));
+        }
+
+        private Future<?> launch(Runnable work) {
+            if (executor != null) {
+                return executor.submit(work);
+            }
+            FutureTask<Void> task = new FutureTask<>(work, null);
+            threadFactory.newThread(task).start();
+            return task;
+        }
+
+        private void complete(Finished finished) {
+            Running run = running.remove(finished.id());
+            if (run == null) {
+                // Already recorded as timed out or cancelled
+                return;
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - run.startNanos());
+            if (finished.error() == null && !run.token().isCancelled()) {
+                record(new NodeResult(finished.id(), Status.COMPLETED, finished.value(), null, elapsed));
+                for (Node dependent : dependents.getOrDefault(finished.id(), List.of())) {
+                    if (pendingDependencies.merge(dependent.id(), -1, Integer::sum) == 0
+                            && !results.containsKey(dependent.id())) {
+                        ready.add(dependent);
+                    }
+                }
+                return;
+            }
+
+            Status status;
+            if (run.token().isExpired()) {
+                status = Status.TIMED_OUT;
+            } else if (run.token().isCancelled() || finished.error() instanceof CancellationException) {
+                status = Status.CANCELLED;
+            } else {
+                status = Status.FAILED;
+                log.warn("Scan node {} failed: {}", finished.id(), finished.error().getMessage());
+            }
+            record(new NodeResult(finished.id(), status, null, status == Status.FAILED ? finished.error() : null, elapsed));
+            skipDependents(finished.id());
+        }
+
+        private void expireDeadlines() {
+            for (Running run : List.copyOf(running.values())) {
+                if (run.token().isExpired()) {
+                    log.warn("Scan node {} exceeded its deadline of {}", run.node().id(), run.node().deadline());
+                    stop(run, Status.TIMED_OUT);
+                    skipDependents(run.node().id());
+                }
+            }
+        }
+
+        private void cancelRemaining() {
+            for (Running run : List.copyOf(running.values())) {
+                stop(run, Status.CANCELLED);
+            }
+            for (Node node : nodes.values()) {
+                if (!results.containsKey(node.id())) {
+                    record(new NodeResult(node.id(), Status.CANCELLED, null, null, Duration.ZERO));
+                }
+            }
+            ready.clear();
+            log.info("Scan cancelled: {} of {} nodes completed", completedCount(), nodes.size());
+        }
+
+        private void stop(Running run, Status status) {
+            running.remove(run.node().id());
+            run.token().cancel();
+            // Nodes stop cooperatively; the interrupt only wakes nodes blocked in a wait
+            run.future().cancel(true);
+            record(new NodeResult(run.node().id(), status, null, null,
+                    Duration.ofNanos(System.nanoTime() - run.startNanos())));
+        }
+
+        private void skipDependents(String id) {
+            for (Node dependent : dependents.getOrDefault(id, List.of())) {
+                if (!results.containsKey(dependent.id())) {
+                    record(new NodeResult(dependent.id(), Status.SKIPPED, null, null, Duration.ZERO));
+                    skipDependents(dependent.id());
+                }
+            }
+        }
+
+        private long nextWaitNanos() {
+            long wait = POLL_INTERVAL_NANOS;
+            for (Running run : running.values()) {
+                Duration remaining = run.token().remaining();
+                if (remaining != null) {
+                    wait = Math.min(wait, remaining.toNanos());
+                }
+            }
+            return Math.max(0L, wait);
+        }
+
+        private long completedCount() {
+            return results.values().stream().filter(NodeResult::isCompleted).count();
+        }
+
+        private void record(NodeResult result) {
+            results.put(result.id(), result);
+            log.debug("Scan node {} {} in {} ms", result.id(), result.status(), result.elapsed().toMillis());
+            if (listener != null) {
+                try {
+                    listener.onNodeFinished(result);
+                } catch (RuntimeException e) {
+                    log.warn("Scan node listener failed for {}: {}", result.id(), e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
+import adrianmikula.jakartamigration.analysis.persistence.ObjectMapperService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Keeps the {@link ScanProfile} of each project's last advanced scan in the central store's
+ * plugin state, so that the IDE plugin and the MCP server see the same profile.
+ */
+@Slf4j
+public class ScanProfileStore {
+
+    static final String STATE_KEY = "advancedScanProfile";
+
+    private final CentralMigrationAnalysisStore store;
+    private final ObjectMapperService objectMapper = new ObjectMapperService();
+
+    public ScanProfileStore(CentralMigrationAnalysisStore store) {
+        this.store = Objects.requireNonNull(store, "store cannot be null");
+    }
+
+    /**
+     * Replaces the stored profile of the project.
+     */
+    public void save(Path projectPath, ScanProfile profile) {
+        store.savePluginState(key(projectPath), STATE_KEY, objectMapper.toJson(profile));
+    }
+
+    /**
+     * Returns the stored profile of the project, or null if it has none or it cannot be read.
+     */
+    public ScanProfile load(Path projectPath) {
+        String json = store.getPluginState(key(projectPath), STATE_KEY);
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        return objectMapper.fromJsonOrNull(json, ScanProfile.class);
+    }
+
+    private static Path key(Path projectPath) {
+        return projectPath.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,314 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile.FileTiming;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile.Phase;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile.PhaseTiming;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile.ScannerTiming;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects wall and CPU time of a scan into a {@link ScanProfile}.
+ * <p>
+ * Each file is timed by a {@link FileTimer} on the thread that scans it, which attributes the
+ * time between phase changes to the phase the file was in. When the timer finishes, its times
+ * are added to the phase totals and to the totals of the scanner it was started for, and the
+ * file is kept if it is one of the slowest. Scanners can also be timed directly with
+ * {@link #recordScanner(String, long, long, int)}, and scan steps that fan their work out to
+ * other threads by wall clock only with {@link #recordStep(String, long)}.
+ * <p>
+ * A profiler is shared by the threads of one scan and is thread-safe; a {@link FileTimer} is
+ * used by one thread. The number of slowest files kept is read from the system property
+ * {@code advanced.scan.profile.slowest.files} and defaults to 20.
+ * <p>
+ * Usage:
+ * <pre>
+ * ScanProfiler.FileTimer timer = profiler.startFile(file, "CDI Injection");
+ * byte[] bytes = Files.readAllBytes(file);
+ * timer.enter(ScanProfile.Phase.PARSE);
+ * ...
+ * timer.finish();
+ * ScanProfile profile = profiler.profile();
+ * </pre>
+ */
+public final class ScanProfiler {
+
+    static final int DEFAULT_SLOWEST_FILES = Math.max(0, Integer.getInteger("advanced.scan.profile.slowest.files", 20));
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final boolean CPU_TIME_SUPPORTED = cpuTimeSupported();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final int slowestFiles;
+    private final LongAdder[] phaseWallNanos = newAdders();
+    private final LongAdder[] phaseCpuNanos = newAdders();
+    private final LongAdder filesProfiled = new LongAdder();
+    private final Map<String, ScannerTotals> scanners = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> steps = new ConcurrentHashMap<>();
+    // Min-heap on wall time, so the fastest of the kept files is evicted first
+    private final PriorityQueue<FileTiming> slowest = new PriorityQueue<>(Comparator.comparingLong(FileTiming::wallNanos));
+
+    /**
+     * Creates a profiler that keeps the {@code advanced.scan.profile.slowest.files} slowest files.
+     */
+    public ScanProfiler() {
+        this(DEFAULT_SLOWEST_FILES);
+    }
+
+    /**
+     * @param slowestFiles number of slowest files kept in the profile
+     */
+    public ScanProfiler(int slowestFiles) {
+        if (slowestFiles < 0) {
+            throw new IllegalArgumentException("slowestFiles cannot be negative");
+        }
+        this.slowestFiles = slowestFiles;
+    }
+
+    /**
+     * Starts timing a file in the {@link Phase#READ READ} phase, on the calling thread.
+     *
+     * @param file    the file
+     * @param scanner scanner the file's time is added to
+     * @return the timer, to be {@link FileTimer#finish() finished} on the same thread
+     */
+    public FileTimer startFile(Path file, String scanner) {
+        return new FileTimer(file, Objects.requireNonNull(scanner, "scanner cannot be null"));
+    }
+
+    /**
+     * Adds time spent by a scanner outside of a {@link FileTimer}.
+     *
+     * @param scanner   the scanner
+     * @param wallNanos elapsed time
+     * @param cpuNanos  CPU time of the thread it ran on
+     * @param files     number of files it ran on
+     */
+    public void recordScanner(String scanner, long wallNanos, long cpuNanos, int files) {
+        scanners.computeIfAbsent(scanner, name -> new ScannerTotals()).add(wallNanos, cpuNanos, files);
+    }
+
+    /**
+     * Adds the elapsed time of a scan step whose CPU time is spent on other threads and not measured.
+     */
+    public void recordStep(String step, long wallNanos) {
+        steps.computeIfAbsent(step, name -> new LongAdder()).add(wallNanos);
+    }
+
+    /**
+     * Adds the phases, scanners and files of a profile taken by another profiler, e.g. of one
+     * step of a larger scan. Its elapsed time is not added; the scan's own elapsed time is kept.
+     */
+    public void include(ScanProfile profile) {
+        if (profile == null) {
+            return;
+        }
+        for (PhaseTiming phase : profile.phases()) {
+            phaseWallNanos[phase.phase().ordinal()].add(phase.wallNanos());
+            phaseCpuNanos[phase.phase().ordinal()].add(phase.cpuNanos());
+        }
+        for (ScannerTiming scanner : profile.scanners()) {
+            if (scanner.cpuNanos() < 0) {
+                recordStep(scanner.scanner(), scanner.wallNanos());
+            } else {
+                recordScanner(scanner.scanner(), scanner.wallNanos(), scanner.cpuNanos(), scanner.files());
+            }
+        }
+        filesProfiled.add(profile.filesProfiled());
+        profile.slowestFiles().forEach(this::offer);
+    }
+
+    /**
+     * Returns the profile of everything recorded so far, with the elapsed time since this profiler was created.
+     */
+    public ScanProfile profile() {
+        List<PhaseTiming> phases = new ArrayList<>(PHASES.length);
+        long cpuNanos = 0;
+        for (Phase phase : PHASES) {
+            long phaseCpu = phaseCpuNanos[phase.ordinal()].sum();
+            phases.add(new PhaseTiming(phase, phaseWallNanos[phase.ordinal()].sum(), phaseCpu));
+            cpuNanos += phaseCpu;
+        }
+
+        List<ScannerTiming> scannerTimings = new ArrayList<>();
+        scanners.forEach((name, totals) -> scannerTimings.add(totals.toTiming(name)));
+        steps.forEach((name, wallNanos) -> scannerTimings.add(new ScannerTiming(name, wallNanos.sum(), -1, 0)));
+        scannerTimings.sort(Comparator.comparingLong(ScannerTiming::wallNanos).reversed());
+
+        List<FileTiming> files;
+        synchronized (slowest) {
+            files = new ArrayList<>(slowest);
+        }
+        files.sort(Comparator.comparingLong(FileTiming::wallNanos).reversed());
+
+        return new ScanProfile(System.nanoTime() - startNanos, cpuNanos, filesProfiled.intValue(),
+                phases, scannerTimings, files);
+    }
+
+    /**
+     * Returns the CPU time of the calling thread, or -1 if it cannot be measured
+     * (e.g. on a virtual thread, or when thread CPU time is disabled).
+     */
+    public static long threadCpuNanos() {
+        if (!CPU_TIME_SUPPORTED) {
+            return -1;
+        }
+        try {
+            return THREADS.getCurrentThreadCpuTime();
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the CPU time of the calling thread since an earlier {@link #threadCpuNanos()}
+     * reading, or 0 if either reading is unavailable.
+     */
+    public static long cpuNanosSince(long startCpuNanos) {
+        if (startCpuNanos < 0) {
+            return 0;
+        }
+        long now = threadCpuNanos();
+        return now < 0 ? 0 : now - startCpuNanos;
+    }
+
+    private void record(FileTimer timer) {
+        long wallNanos = 0;
+        long cpuNanos = 0;
+        for (Phase phase : PHASES) {
+            phaseWallNanos[phase.ordinal()].add(timer.wallNanos[phase.ordinal()]);
+            phaseCpuNanos[phase.ordinal()].add(timer.cpuNanos[phase.ordinal()]);
+            wallNanos += timer.wallNanos[phase.ordinal()];
+            cpuNanos += timer.cpuNanos[phase.ordinal()];
+        }
+        filesProfiled.increment();
+        recordScanner(timer.scanner, wallNanos, cpuNanos, 1);
+        offer(new FileTiming(timer.file, timer.scanner, wallNanos, cpuNanos,
+                timer.wallNanos[Phase.READ.ordinal()], timer.wallNanos[Phase.PARSE.ordinal()],
+                timer.wallNanos[Phase.MATCH.ordinal()]));
+    }
+
+    private void offer(FileTiming file) {
+        if (slowestFiles == 0) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestFiles) {
+                slowest.add(file);
+            } else if (slowest.peek().wallNanos() < file.wallNanos()) {
+                slowest.poll();
+                slowest.add(file);
+            }
+        }
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[PHASES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static boolean cpuTimeSupported() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Times one file on the thread that scans it. Time between {@link #enter(Phase) phase changes}
+     * is added to the phase the file was in; while {@link #pause() paused}, no time is counted.
+     */
+    public final class FileTimer {
+        private final Path file;
+        private final String scanner;
+        private final long[] wallNanos = new long[PHASES.length];
+        private final long[] cpuNanos = new long[PHASES.length];
+        private Phase phase;
+        private long phaseStartNanos;
+        private long phaseStartCpuNanos;
+
+        private FileTimer(Path file, String scanner) {
+            this.file = file;
+            this.scanner = scanner;
+            enter(Phase.READ);
+        }
+
+        /**
+         * Moves the file to the given phase, or pauses timing if it is null.
+         *
+         * @return the phase the file was in, so that a nested phase can restore it
+         */
+        public Phase enter(Phase next) {
+            long now = System.nanoTime();
+            long cpuNow = threadCpuNanos();
+            Phase previous = phase;
+            if (previous != null) {
+                wallNanos[previous.ordinal()] += now - phaseStartNanos;
+                if (phaseStartCpuNanos >= 0 && cpuNow >= 0) {
+                    cpuNanos[previous.ordinal()] += cpuNow - phaseStartCpuNanos;
+                }
+            }
+            phase = next;
+            phaseStartNanos = now;
+            phaseStartCpuNanos = cpuNow;
+            return previous;
+        }
+
+        /**
+         * Stops counting time until the next {@link #enter(Phase)}, e.g. while the file waits for others of its batch.
+         */
+        public void pause() {
+            enter(null);
+        }
+
+        /**
+         * Adds time measured elsewhere to a phase, e.g. this file's share of a batch parse.
+         */
+        public void add(Phase phase, long wallNanos, long cpuNanos) {
+            this.wallNanos[phase.ordinal()] += wallNanos;
+            this.cpuNanos[phase.ordinal()] += cpuNanos;
+        }
+
+        /**
+         * Stops timing and adds the file's times to the profile.
+         */
+        public void finish() {
+            pause();
+            record(this);
+        }
+    }
+
+    private static final class ScannerTotals {
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder files = new LongAdder();
+
+        void add(long wall, long cpu, int fileCount) {
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            files.add(fileCount);
+        }
+
+        ScannerTiming toTiming(String name) {
+            return new ScannerTiming(name, wallNanos.sum(), cpuNanos.sum(), files.intValue());
+        }
+    }
+}
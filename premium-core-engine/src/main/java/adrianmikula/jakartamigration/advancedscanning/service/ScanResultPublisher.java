@@ -0,0 +1,223 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Publishes scan results one file at a time instead of collecting them into a list.
+ * <p>
+ * Each subscription runs its own scan. Files come from a {@link FileSource}, such as a parallel
+ * walk of the project, and are scanned in batches on a {@link ScanExecutor} as they arrive, so
+ * scanning starts before the source has found every file. Every result is handed to a
+ * {@link SubmissionPublisher} whose buffer is bounded: when the subscriber does not request more,
+ * the scan blocks, and the source waits once a few batches of files are queued, so memory stays
+ * bounded. Cancelling the subscription, or the {@link CancellationToken} bound to the subscribing
+ * thread, stops the scan after the current batch and the source at its next file.
+ * Failures of single files are logged and skipped; they do not end the stream.
+ *
+ * @param <R> The type of result published for each file with findings
+ */
+@Slf4j
+public class ScanResultPublisher<R> implements Flow.Publisher<R> {
+
+    /**
+     * Supplies the files to scan, possibly while earlier files are already being scanned.
+     */
+    @FunctionalInterface
+    public interface FileSource {
+        /**
+         * Passes every file to the sink and returns once all have been passed. The sink may be
+         * called concurrently; it blocks while the scan is behind and throws
+         * {@link CancellationException} once the scan has stopped.
+         *
+         * @param sink receives the files to scan
+         */
+        void forEach(Consumer<Path> sink);
+    }
+
+    private final FileSource files;
+    private final int total;
+    private final Function<Path, R> fileScanner;
+    private final ScanExecutor executor;
+    private final int batchSize;
+    private final int bufferSize;
+    private final String scanTypeName;
+    private final ScanProgressCallback progressListener;
+
+    /**
+     * @param files            files to scan
+     * @param fileScanner      scans one file; returns null if the file has no findings
+     * @param executor         executor each batch of files is scanned on
+     * @param batchSize        maximum number of files scanned between checks for cancellation
+     * @param bufferSize       maximum number of results buffered for a slow subscriber
+     * @param scanTypeName     name of the scan type, used for logging and progress
+     * @param progressListener optional progress callback, called after each batch
+     */
+    public ScanResultPublisher(List<Path> files, Function<Path, R> fileScanner, ScanExecutor executor, int batchSize,
+                               int bufferSize, String scanTypeName, ScanProgressCallback progressListener) {
+        this(sourceOf(files), files.size(), fileScanner, executor, batchSize, bufferSize, scanTypeName, progressListener);
+    }
+
+    /**
+     * Creates a publisher whose files are discovered while the scan runs. Progress reports a total
+     * of 0, as the number of files is not known in advance.
+     *
+     * @param files            source of the files to scan, run once per subscription
+     * @param fileScanner      scans one file; returns null if the file has no findings
+     * @param executor         executor each batch of files is scanned on
+     * @param batchSize        maximum number of files scanned between checks for cancellation
+     * @param bufferSize       maximum number of results buffered for a slow subscriber
+     * @param scanTypeName     name of the scan type, used for logging and progress
+     * @param progressListener optional progress callback, called after each batch
+     */
+    public ScanResultPublisher(FileSource files, Function<Path, R> fileScanner, ScanExecutor executor, int batchSize,
+                               int bufferSize, String scanTypeName, ScanProgressCallback progressListener) {
+        this(files, 0, fileScanner, executor, batchSize, bufferSize, scanTypeName, progressListener);
+    }
+
+    private ScanResultPublisher(FileSource files, int total, Function<Path, R> fileScanner, ScanExecutor executor,
+                                int batchSize, int bufferSize, String scanTypeName, ScanProgressCallback progressListener) {
+        this.files = Objects.requireNonNull(files, "files cannot be null");
+        this.total = total;
+        this.fileScanner = Objects.requireNonNull(fileScanner, "fileScanner cannot be null");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        this.batchSize = Math.max(1, batchSize);
+        this.bufferSize = Math.max(1, bufferSize);
+        this.scanTypeName = scanTypeName;
+        this.progressListener = progressListener;
+    }
+
+    private static FileSource sourceOf(List<Path> files) {
+        List<Path> copy = List.copyOf(Objects.requireNonNull(files, "files cannot be null"));
+        return copy::forEach;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber cannot be null");
+        SubmissionPublisher<R> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), bufferSize);
+        publisher.subscribe(subscriber);
+
+        // The producer thread does not see the subscriber's binding, so the token is captured here
+        CancellationToken token = CancellationToken.current();
+        Thread producer = new Thread(() -> {
+            try (CancellationToken.Binding ignored = token.bind()) {
+                produce(publisher, token);
+            }
+        }, "scan-result-publisher");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(SubmissionPublisher<R> publisher, CancellationToken token) {
+        // Bounded, so a source that outpaces the scan waits instead of queueing the whole project
+        BlockingQueue<Path> pending = new LinkedBlockingQueue<>(batchSize * 4);
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicBoolean sourceDone = new AtomicBoolean();
+        AtomicReference<RuntimeException> sourceFailure = new AtomicReference<>();
+        Thread source = new Thread(() -> {
+            try {
+                files.forEach(file -> enqueue(pending, file, stopped));
+            } catch (CancellationException e) {
+                log.debug("{} file source stopped", scanTypeName);
+            } catch (RuntimeException e) {
+                sourceFailure.set(e);
+            } finally {
+                sourceDone.set(true);
+            }
+        }, "scan-result-source");
+        source.setDaemon(true);
+        source.start();
+
+        int scanned = 0;
+        List<Path> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                if (!publisher.hasSubscribers()) {
+                    log.debug("{} stream cancelled after {} files", scanTypeName, scanned);
+                    return;
+                }
+                token.throwIfCancelled();
+                Path next = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    // The source sets sourceDone only after its last file is queued
+                    if (sourceDone.get() && pending.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(next);
+                pending.drainTo(batch, batchSize - 1);
+                executor.map(batch, file -> publish(publisher, file));
+                scanned += batch.size();
+                batch.clear();
+                if (progressListener != null) {
+                    progressListener.onPhaseProgress(scanTypeName, scanned, total);
+                }
+            }
+            if (sourceFailure.get() != null) {
+                throw sourceFailure.get();
+            }
+            log.debug("{} stream complete: {} files scanned", scanTypeName, scanned);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            publisher.closeExceptionally(e);
+        } catch (CancellationException e) {
+            log.debug("{} stream cancelled after {} files", scanTypeName, scanned);
+            publisher.closeExceptionally(e);
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("{} stream failed after {} files: {}", scanTypeName, scanned, e.getMessage());
+            publisher.closeExceptionally(e instanceof ExecutionException ? e.getCause() : e);
+        } finally {
+            stopped.set(true);
+            // No-op if already closed exceptionally
+            publisher.close();
+        }
+    }
+
+    private static void enqueue(BlockingQueue<Path> pending, Path file, AtomicBoolean stopped) {
+        try {
+            do {
+                if (stopped.get()) {
+                    throw new CancellationException("Scan stopped");
+                }
+            } while (!pending.offer(file, 100, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        }
+    }
+
+    private Void publish(SubmissionPublisher<R> publisher, Path file) {
+        R result;
+        try {
+            result = fileScanner.apply(file);
+        } catch (RuntimeException e) {
+            log.warn("Error scanning file {} for {}: {}", file, scanTypeName, e.getMessage());
+            return null;
+        }
+        if (result != null) {
+            // submit() blocks while the subscriber's buffer is full
+            synchronized (publisher) {
+                publisher.submit(result);
+            }
+        }
+        return null;
+    }
+}
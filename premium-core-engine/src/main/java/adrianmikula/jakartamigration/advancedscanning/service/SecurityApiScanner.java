@@ -2,10 +2,11 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
-public interface SecurityApiScanner {
+public interface SecurityApiScanner extends ParsedSourceScanner<SecurityApiScanResult> {
     SecurityApiProjectScanResult scanProject(Path projectPath);
     
     /**
@@ -15,5 +16,12 @@ public interface SecurityApiScanner {
      */
     SecurityApiProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    SecurityApiProjectScanResult scanProject(ProjectInventory inventory);
+    
     SecurityApiScanResult scanFile(Path filePath);
 }
@@ -0,0 +1,107 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.analysis.persistence.ObjectMapperService;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Line format in which a {@link ShardScanWorker} streams its results to the {@link ShardedScanCoordinator}.
+ * Each line is a record type, a tab and a payload:
+ * <ul>
+ *   <li>{@code C <path>}: the file was scanned and no scanner found anything</li>
+ *   <li>{@code F <path> <json>}: the file's {@link JavaSourceFileFindings} as single-line JSON</li>
+ *   <li>{@code D <count>}: the worker finished; {@code count} is the number of files it scanned</li>
+ * </ul>
+ * Files that could not be read are not reported. Most files in a large project have no findings, so
+ * they cost one short line instead of a JSON document. Compact JSON never contains a raw tab, so the
+ * last tab of a findings line separates the path from the JSON.
+ */
+final class ShardScanProtocol {
+
+    static final char CLEAN = 'C';
+    static final char FINDINGS = 'F';
+    static final char DONE = 'D';
+
+    /**
+     * Stands in for the findings of a clean file. Its null results are skipped when results are
+     * assembled, but the file still counts as scanned.
+     */
+    static final JavaSourceFileFindings NO_FINDINGS =
+            new JavaSourceFileFindings(null, null, null, null, null, null, null, null, null);
+
+    // Same mapping as the scan index, written without line breaks
+    private static final ObjectMapperService MAPPER = new ObjectMapperService();
+
+    private ShardScanProtocol() {
+    }
+
+    static String encode(Path file, JavaSourceFileFindings findings) {
+        if (isClean(findings)) {
+            return CLEAN + "\t" + file;
+        }
+        try {
+            return FINDINGS + "\t" + file + "\t" + MAPPER.toCompactJson(findings);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not encode findings of " + file, e);
+        }
+    }
+
+    static String encodeDone(int filesScanned) {
+        return DONE + "\t" + filesScanned;
+    }
+
+    /**
+     * Decodes one line into {@code findingsByFile}.
+     *
+     * @return the file count of a done line, or -1 for any other line
+     * @throws IllegalArgumentException if the line is not in the protocol format
+     */
+    static int decode(String line, Map<Path, JavaSourceFileFindings> findingsByFile) {
+        if (line.length() < 2 || line.charAt(1) != '\t') {
+            throw new IllegalArgumentException("Not a shard scan record: " + abbreviate(line));
+        }
+        String payload = line.substring(2);
+        switch (line.charAt(0)) {
+            case CLEAN -> findingsByFile.put(Path.of(payload), NO_FINDINGS);
+            case FINDINGS -> {
+                int separator = payload.lastIndexOf('\t');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Findings record without a path: " + abbreviate(line));
+                }
+                findingsByFile.put(Path.of(payload.substring(0, separator)), readFindings(payload.substring(separator + 1)));
+            }
+            case DONE -> {
+                return Integer.parseInt(payload);
+            }
+            default -> throw new IllegalArgumentException("Not a shard scan record: " + abbreviate(line));
+        }
+        return -1;
+    }
+
+    private static JavaSourceFileFindings readFindings(String json) {
+        try {
+            return MAPPER.fromJson(json, JavaSourceFileFindings.class);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed findings record: " + abbreviate(json), e);
+        }
+    }
+
+    private static boolean isClean(JavaSourceFileFindings findings) {
+        return findings.isComplete()
+                && !findings.jpa().hasIssues()
+                && !findings.beanValidation().hasIssues()
+                && !findings.servletJsp().hasIssues()
+                && !findings.cdiInjection().hasIssues()
+                && !findings.restSoap().hasIssues()
+                && !findings.deprecatedApi().hasJavaxUsage()
+                && !findings.securityApi().hasJavaxUsage()
+                && !findings.jmsMessaging().hasJavaxUsage()
+                && !findings.classloaderModule().hasJavaxUsage();
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > 120 ? text.substring(0, 120) + "..." : text;
+    }
+}
@@ -0,0 +1,75 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of a worker JVM started by {@link ShardedScanCoordinator}. Scans the Java files listed
+ * in the shard file given as the only argument, one path per line, and writes one
+ * {@link ShardScanProtocol} record per scanned file to standard output, followed by a done record.
+ * <p>
+ * Anything else the scanners print, including log output, is redirected to standard error so it
+ * cannot corrupt the record stream. Exits with status 1 if the shard could not be scanned.
+ */
+public final class ShardScanWorker {
+
+    // Files scanned per call, so records stream back while the rest of the shard is still being scanned
+    private static final int CHUNK_SIZE = Integer.getInteger("advanced.scan.shard.chunk", 1_000);
+
+    private ShardScanWorker() {
+    }
+
+    public static void main(String[] args) {
+        PrintStream stderr = System.err;
+        System.setOut(stderr);
+        if (args.length != 1) {
+            stderr.println("Usage: ShardScanWorker <shard file>");
+            System.exit(2);
+        }
+
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8))) {
+            List<Path> files = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(Path::of)
+                    .toList();
+            int scanned = scan(files, out);
+            out.write(ShardScanProtocol.encodeDone(scanned));
+            out.newLine();
+        } catch (IOException | RuntimeException e) {
+            stderr.println("Shard scan failed: " + e);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static int scan(List<Path> files, BufferedWriter out) throws IOException {
+        AdvancedScanningModule module = new AdvancedScanningModule(null);
+        int scanned = 0;
+        for (int from = 0; from < files.size(); from += CHUNK_SIZE) {
+            List<Path> chunk = files.subList(from, Math.min(files.size(), from + CHUNK_SIZE));
+            Map<Path, JavaSourceFileFindings> findingsByFile = module.scanJavaSourceFindings(chunk);
+            for (Path file : chunk) {
+                JavaSourceFileFindings findings = findingsByFile.get(file);
+                if (findings != null) {
+                    out.write(ShardScanProtocol.encode(file, findings));
+                    out.newLine();
+                    scanned++;
+                }
+            }
+            out.flush();
+        }
+        return scanned;
+    }
+}
@@ -0,0 +1,378 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans the Java sources of a project in several worker JVMs on the local machine.
+ * <p>
+ * The Java files of a {@link ProjectInventory} are split into shards, either by module (files
+ * under the same build script stay together) or by path hash. Each shard is scanned by a
+ * {@link ShardScanWorker} process that runs the {@link AdvancedScanningModule} AST scanners and
+ * streams its per-file findings back over standard output in the {@link ShardScanProtocol} format.
+ * The findings are merged into one {@link JavaSourceScanResults} in inventory order, the same
+ * result an in-process {@link AdvancedScanningModule#scanJavaSources(List)} would return.
+ * <p>
+ * A shard whose worker cannot be started, fails or is killed is finished in-process, so a
+ * sharded scan never loses files. Workers are destroyed once the {@link CancellationToken} bound
+ * to the calling thread is cancelled. Worker scan profiles are not collected, so merged results
+ * carry no profile.
+ * <p>
+ * Configured with system properties, see {@link Options#fromSystemProperties()}.
+ */
+@Slf4j
+public final class ShardedScanCoordinator {
+
+    /**
+     * How Java files are assigned to shards.
+     */
+    public enum Partitioning {
+        /**
+         * Files of one module go to the same shard; modules are balanced by file count. Projects with
+         * fewer modules than shards are split by hash instead.
+         */
+        MODULE,
+        /** Files are spread by the hash of their path */
+        HASH
+    }
+
+    /**
+     * Sharding settings.
+     *
+     * @param shards       number of worker JVMs; 1 or less scans in-process
+     * @param partitioning how files are assigned to shards
+     * @param jvmArgs      extra arguments for the worker JVMs, e.g. {@code -Xmx}
+     * @param classpath    classpath of the worker JVMs
+     */
+    public record Options(int shards, Partitioning partitioning, List<String> jvmArgs, String classpath) {
+        public Options {
+            Objects.requireNonNull(partitioning, "partitioning cannot be null");
+            jvmArgs = jvmArgs != null ? List.copyOf(jvmArgs) : List.of();
+            Objects.requireNonNull(classpath, "classpath cannot be null");
+        }
+
+        /**
+         * Reads the options from system properties:
+         * <ul>
+         *   <li>{@code advanced.scan.shards}: number of worker JVMs (default 1, sharding off)</li>
+         *   <li>{@code advanced.scan.shard.partitioning}: {@code module} (default) or {@code hash}</li>
+         *   <li>{@code advanced.scan.shard.jvm.args}: space-separated worker JVM arguments</li>
+         *   <li>{@code advanced.scan.shard.classpath}: worker classpath (default: this JVM's classpath
+         *       plus the directory of the jar this class was loaded from)</li>
+         * </ul>
+         */
+        public static Options fromSystemProperties() {
+            String jvmArgs = System.getProperty("advanced.scan.shard.jvm.args", "").trim();
+            return new Options(
+                    Integer.getInteger("advanced.scan.shards", 1),
+                    parsePartitioning(System.getProperty("advanced.scan.shard.partitioning")),
+                    jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")),
+                    System.getProperty("advanced.scan.shard.classpath", defaultClasspath()));
+        }
+
+        /**
+         * Returns true if scans should be split across worker JVMs.
+         */
+        public boolean isEnabled() {
+            return shards > 1;
+        }
+    }
+
+    private static final long POLL_MILLIS = 200;
+
+    private final AdvancedScanningModule fallbackModule;
+    private final Options options;
+
+    /**
+     * @param fallbackModule scans shards whose worker failed, and everything when sharding is off
+     * @param options        sharding settings
+     */
+    public ShardedScanCoordinator(AdvancedScanningModule fallbackModule, Options options) {
+        this.fallbackModule = Objects.requireNonNull(fallbackModule, "fallbackModule cannot be null");
+        this.options = Objects.requireNonNull(options, "options cannot be null");
+    }
+
+    /**
+     * Scans the Java files of the inventory, split across worker JVMs.
+     *
+     * @param inventory project inventory
+     * @return results for every AST-based scanner, without a profile
+     */
+    public JavaSourceScanResults scan(ProjectInventory inventory) {
+        List<Path> javaFiles = inventory.files(ProjectInventory.Category.JAVA);
+        if (javaFiles.isEmpty()) {
+            return JavaSourceScanResults.empty();
+        }
+        List<Path> moduleRoots = inventory.files(ProjectInventory.Category.BUILD).stream()
+                .map(Path::getParent)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        List<List<Path>> shards = partition(javaFiles, moduleRoots, options.shards(), options.partitioning());
+        if (shards.size() < 2) {
+            return fallbackModule.scanJavaSources(javaFiles);
+        }
+
+        log.info("Scanning {} Java files in {} worker JVMs", javaFiles.size(), shards.size());
+        Map<Path, JavaSourceFileFindings> findingsByFile = new ConcurrentHashMap<>();
+        CancellationToken token = CancellationToken.current();
+        List<ShardRun> runs = new ArrayList<>(shards.size());
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                runs.add(start(i, shards.get(i), findingsByFile));
+            }
+            for (ShardRun run : runs) {
+                await(run, token);
+            }
+            for (ShardRun run : runs) {
+                if (!run.isComplete() && !token.isCancelled()) {
+                    finishInProcess(run, findingsByFile);
+                }
+            }
+        } finally {
+            for (ShardRun run : runs) {
+                run.close();
+            }
+        }
+        return AdvancedScanningModule.toJavaSourceScanResults(javaFiles, findingsByFile);
+    }
+
+    /**
+     * Splits Java files into at most {@code shards} non-empty shards.
+     *
+     * @param javaFiles    files to split
+     * @param moduleRoots  module directories, used by {@link Partitioning#MODULE}
+     * @param shards       maximum number of shards
+     * @param partitioning how files are assigned to shards
+     * @return shards, each in the order of {@code javaFiles}
+     */
+    static List<List<Path>> partition(List<Path> javaFiles, List<Path> moduleRoots, int shards,
+                                      Partitioning partitioning) {
+        int shardCount = Math.max(1, shards);
+        List<List<Path>> result = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            result.add(new ArrayList<>());
+        }
+
+        Map<Path, List<Path>> filesByModule = partitioning == Partitioning.MODULE
+                ? groupByModule(javaFiles, moduleRoots)
+                : Map.of();
+        if (filesByModule.size() < shardCount) {
+            for (Path file : javaFiles) {
+                result.get(Math.floorMod(file.toString().hashCode(), shardCount)).add(file);
+            }
+        } else {
+            // Largest module first onto the least-loaded shard keeps shards within one module of each other
+            List<List<Path>> modules = new ArrayList<>(filesByModule.values());
+            modules.sort(Comparator.comparingInt(List<Path>::size).reversed());
+            for (List<Path> moduleFiles : modules) {
+                result.stream().min(Comparator.comparingInt(List::size)).orElseThrow().addAll(moduleFiles);
+            }
+            Map<Path, Integer> order = new HashMap<>();
+            for (int i = 0; i < javaFiles.size(); i++) {
+                order.put(javaFiles.get(i), i);
+            }
+            result.forEach(shard -> shard.sort(Comparator.comparingInt(order::get)));
+        }
+
+        result.removeIf(List::isEmpty);
+        return result;
+    }
+
+    // Groups files by their nearest enclosing module root; files outside every module share the null key
+    private static Map<Path, List<Path>> groupByModule(List<Path> javaFiles, List<Path> moduleRoots) {
+        Map<Path, Path> moduleByDirectory = new HashMap<>();
+        for (Path root : moduleRoots) {
+            moduleByDirectory.put(root, root);
+        }
+        Map<Path, List<Path>> filesByModule = new LinkedHashMap<>();
+        for (Path file : javaFiles) {
+            Path module = moduleOf(file.getParent(), moduleByDirectory);
+            filesByModule.computeIfAbsent(module, key -> new ArrayList<>()).add(file);
+        }
+        return filesByModule;
+    }
+
+    private static Path moduleOf(Path directory, Map<Path, Path> moduleByDirectory) {
+        List<Path> visited = new ArrayList<>();
+        Path module = null;
+        for (Path current = directory; current != null; current = current.getParent()) {
+            if (moduleByDirectory.containsKey(current)) {
+                module = moduleByDirectory.get(current);
+                break;
+            }
+            visited.add(current);
+        }
+        // Cache the answer for every directory on the way, so sibling files resolve in one lookup
+        for (Path path : visited) {
+            moduleByDirectory.put(path, module);
+        }
+        return module;
+    }
+
+    private ShardRun start(int index, List<Path> files, Map<Path, JavaSourceFileFindings> findingsByFile) {
+        ShardRun run = new ShardRun(index, files);
+        try {
+            run.shardFile = Files.createTempFile("jakarta-migration-shard-" + index + "-", ".txt");
+            Files.write(run.shardFile, files.stream().map(Path::toString).toList(), StandardCharsets.UTF_8);
+
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(options.jvmArgs());
+            command.add("-cp");
+            command.add(options.classpath());
+            command.add(ShardScanWorker.class.getName());
+            command.add(run.shardFile.toString());
+            run.process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            run.reader = Thread.ofVirtual()
+                    .name("shard-scan-reader-" + index)
+                    .start(() -> read(run, findingsByFile));
+        } catch (IOException e) {
+            log.warn("Could not start scan worker for shard {}, scanning it in-process: {}", index, e.getMessage());
+        }
+        return run;
+    }
+
+    private static void read(ShardRun run, Map<Path, JavaSourceFileFindings> findingsByFile) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(run.process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int done = ShardScanProtocol.decode(line, findingsByFile);
+                if (done >= 0) {
+                    run.filesScanned = done;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lost results of shard {}: {}", run.index, e.getMessage());
+            run.process.destroyForcibly();
+        }
+    }
+
+    private static void await(ShardRun run, CancellationToken token) {
+        if (run.process == null) {
+            return;
+        }
+        try {
+            while (!run.process.waitFor(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (token.isCancelled()) {
+                    run.process.destroyForcibly();
+                }
+            }
+            run.reader.join();
+            if (run.process.exitValue() != 0 || run.filesScanned < 0) {
+                log.warn("Scan worker for shard {} exited with status {}", run.index, run.process.exitValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.process.destroyForcibly();
+        }
+    }
+
+    private void finishInProcess(ShardRun run, Map<Path, JavaSourceFileFindings> findingsByFile) {
+        List<Path> remaining = run.files.stream()
+                .filter(file -> !findingsByFile.containsKey(file))
+                .toList();
+        if (!remaining.isEmpty()) {
+            log.info("Scanning {} remaining files of shard {} in-process", remaining.size(), run.index);
+            findingsByFile.putAll(fallbackModule.scanJavaSourceFindings(remaining));
+        }
+    }
+
+    static Partitioning parsePartitioning(String value) {
+        if (value == null || value.isBlank()) {
+            return Partitioning.MODULE;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "module":
+                return Partitioning.MODULE;
+            case "hash":
+                return Partitioning.HASH;
+            default:
+                log.warn("Unknown advanced.scan.shard.partitioning '{}', using module", value);
+                return Partitioning.MODULE;
+        }
+    }
+
+    /**
+     * Returns this JVM's classpath, plus every jar next to the one this class was loaded from.
+     * Inside an IDE plugin the JVM classpath is the IDE's own; the plugin's libraries sit together
+     * in one directory.
+     */
+    private static String defaultClasspath() {
+        String classpath = System.getProperty("java.class.path", "");
+        try {
+            CodeSource source = AdvancedScanningModule.class.getProtectionDomain().getCodeSource();
+            if (source == null) {
+                return classpath;
+            }
+            Path location = Path.of(source.getLocation().toURI());
+            if (Files.isRegularFile(location) && !classpath.contains(location.toString())) {
+                String libraries = location.resolveSibling("*").toString();
+                return classpath.isEmpty() ? libraries : classpath + File.pathSeparator + libraries;
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            log.debug("Could not locate scanner classes: {}", e.getMessage());
+        }
+        return classpath;
+    }
+
+    /**
+     * One shard and its worker process.
+     */
+    private static final class ShardRun {
+        private final int index;
+        private final List<Path> files;
+        private Path shardFile;
+        private Process process;
+        private Thread reader;
+        private volatile int filesScanned = -1;
+
+        private ShardRun(int index, List<Path> files) {
+            this.index = index;
+            this.files = files;
+        }
+
+        boolean isComplete() {
+            return process != null && !process.isAlive() && process.exitValue() == 0 && filesScanned >= 0;
+        }
+
+        void close() {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            if (shardFile != null) {
+                try {
+                    Files.deleteIfExists(shardFile);
+                } catch (IOException e) {
+                    log.debug("Could not delete shard file {}: {}", shardFile, e.getMessage());
+                }
+            }
+        }
+    }
+}
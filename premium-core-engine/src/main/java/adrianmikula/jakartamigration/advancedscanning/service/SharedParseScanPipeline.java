@@ -0,0 +1,607 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and parses each Java source file exactly once, then fans the parsed
+ * {@link ParsedSourceFile} out to every registered {@link ParsedSourceScanner}.
+ * <p>
+ * Without this, every AST-based scanner re-reads and re-parses the same file list,
+ * so a full advanced scan parsed each file up to nine times.
+ * <p>
+ * Before parsing, the raw bytes of each file are run through a {@link TriggerTokenPrefilter}
+ * built from the union of the scanners' {@link ParsedSourceScanner#triggerTokens() trigger tokens}.
+ * Files without any trigger token are not parsed at all, and scanners a file is not relevant
+ * to receive an unparsed view of it.
+ * <p>
+ * With a batch size above one, files are parsed in batches of up to that many files, grouped
+ * by directory so that a batch holds one package or neighbouring packages, in a single parser
+ * call with an {@link ExecutionContext} shared by the whole scan. This pays compiler setup once
+ * per batch and lets types declared in one file of a batch be attributed in the others. A batch
+ * is admitted against the memory budget as a whole, and its estimated cost is kept to a quarter
+ * of the budget so that several batches can be in flight. The default batch size is read from
+ * the system property {@code advanced.scan.parse.batch.size} and defaults to 1, i.e. one parse per file.
+ * <p>
+ * A run whose {@link CancellationToken} is cancelled, or that is interrupted, throws a
+ * {@link CancellationException} instead of returning the findings of the files scanned so far.
+ * <p>
+ * Every run is profiled with a {@link ScanProfiler}: each file's read, parse and match time is
+ * recorded under {@value #PROFILE_SCANNER_NAME}, and each registered scanner's match time under
+ * its scan type name. A batch parse is shared evenly among the files of the batch.
+ * <p>
+ * Usage:
+ * <pre>
+ * SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+ * ScannerHandle&lt;FileScanResult&lt;JavaxUsage&gt;&gt; cdi =
+ *         pipeline.register("CDI Injection", cdiScanner, FileScanResult::hasIssues);
+ * PipelineResult result = pipeline.scan(javaFiles);
+ * List&lt;FileScanResult&lt;JavaxUsage&gt;&gt; cdiFindings = result.fileResults(cdi);
+ * </pre>
+ */
+@Slf4j
+public class SharedParseScanPipeline {
+
+    static final int DEFAULT_BATCH_SIZE = Math.max(1, Integer.getInteger("advanced.scan.parse.batch.size", 1));
+
+    // Name the whole per-file time (read, parse and all scanners) is profiled under
+    static final String PROFILE_SCANNER_NAME = "Shared parse";
+
+    // Batches are kept small enough relative to the memory budget for this many to run at once
+    private static final int MIN_BATCHES_IN_FLIGHT = 4;
+
+    private final List<Registration<?>> registrations = new ArrayList<>();
+
+    private final ScanMemoryBudget memoryBudget;
+
+    private final ScanExecutor scanExecutor;
+
+    private final int batchSize;
+
+    /**
+     * Creates a pipeline that admits files against the process-wide {@link ScanMemoryBudget#shared() budget}
+     * and runs on the {@link ScanExecutor#shared() configured executor}.
+     */
+    public SharedParseScanPipeline() {
+        this(ScanMemoryBudget.shared());
+    }
+
+    /**
+     * Creates a pipeline that admits files against the given memory budget.
+     *
+     * @param memoryBudget budget each file's estimated cost is reserved from while it is parsed and scanned
+     */
+    public SharedParseScanPipeline(ScanMemoryBudget memoryBudget) {
+        this(memoryBudget, ScanExecutor.shared());
+    }
+
+    /**
+     * Creates a pipeline that admits files against the given memory budget and runs on the given executor.
+     *
+     * @param memoryBudget budget each file's estimated cost is reserved from while it is parsed and scanned
+     * @param scanExecutor executor the files are scanned on
+     */
+    public SharedParseScanPipeline(ScanMemoryBudget memoryBudget, ScanExecutor scanExecutor) {
+        this(memoryBudget, scanExecutor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a pipeline that parses files in batches.
+     *
+     * @param memoryBudget budget each batch's estimated cost is reserved from while it is parsed and scanned
+     * @param scanExecutor executor the batches are scanned on
+     * @param batchSize    maximum number of files parsed in one parser call; 1 parses each file on its own
+     */
+    public SharedParseScanPipeline(ScanMemoryBudget memoryBudget, ScanExecutor scanExecutor, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.memoryBudget = Objects.requireNonNull(memoryBudget, "memoryBudget cannot be null");
+        this.scanExecutor = Objects.requireNonNull(scanExecutor, "scanExecutor cannot be null");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Registers a scanner to receive every parsed file.
+     *
+     * @param scanTypeName name of the scan type for logging (e.g., "Bean Validation")
+     * @param scanner      the scanner
+     * @param hasFindings  predicate deciding whether a file result is kept
+     * @param <F>          the scanner's file-level result type
+     * @return handle used to retrieve this scanner's results from a {@link PipelineResult}
+     */
+    public <F> ScannerHandle<F> register(String scanTypeName, ParsedSourceScanner<F> scanner,
+                                         Predicate<F> hasFindings) {
+        Objects.requireNonNull(scanTypeName, "scanTypeName cannot be null");
+        Objects.requireNonNull(scanner, "scanner cannot be null");
+        Objects.requireNonNull(hasFindings, "hasFindings cannot be null");
+
+        ScannerHandle<F> handle = new ScannerHandle<>(registrations.size(), scanTypeName);
+        registrations.add(new Registration<>(handle, scanner, hasFindings));
+        return handle;
+    }
+
+    /**
+     * Parses each file once and runs all registered scanners against it.
+     * Per-scanner results keep the order of the input file list.
+     *
+     * @param javaFiles Java source files to scan
+     * @return results for every registered scanner
+     * @throws CancellationException if the calling thread's {@link CancellationToken} is cancelled
+     *                               or the scan is interrupted
+     */
+    public PipelineResult scan(List<Path> javaFiles) {
+        return scan(javaFiles, null);
+    }
+
+    /**
+     * Parses each file once and runs all registered scanners against it, reporting the
+     * unfiltered per-file results to the given listener.
+     *
+     * @param javaFiles Java source files to scan
+     * @param listener  optional listener notified once per file read, from worker threads
+     * @return results for every registered scanner
+     * @throws CancellationException if the calling thread's {@link CancellationToken} is cancelled
+     *                               or the scan is interrupted
+     */
+    public PipelineResult scan(List<Path> javaFiles, ParsedFileListener listener) {
+        if (javaFiles == null || javaFiles.isEmpty() || registrations.isEmpty()) {
+            return PipelineResult.empty(registrations.size());
+        }
+
+        log.info("Parsing {} files once for {} scanners{}", javaFiles.size(), registrations.size(),
+                batchSize > 1 ? " in batches of up to " + batchSize : "");
+
+        TriggerTokenPrefilter prefilter = TriggerTokenPrefilter.forGroups(registrations.stream()
+                .map(registration -> registration.scanner().triggerTokens())
+                .collect(Collectors.toList()));
+        ExecutionContext executionContext = new InMemoryExecutionContext(
+                error -> log.debug("Parse error during shared scan: {}", error.getMessage()));
+        ScanContext context = new ScanContext(prefilter, listener, executionContext, new ScanProfiler(),
+                new AtomicInteger(0), new AtomicInteger(0));
+
+        List<Object[]> perFileFindings;
+
+        try {
+            perFileFindings = batchSize > 1
+                    ? scanInBatches(javaFiles, context)
+                    : scanExecutor.map(javaFiles, file -> scanFile(file, context));
+        } catch (CancellationException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Shared parse interrupted");
+        } catch (Exception e) {
+            if (e.getCause() instanceof CancellationException cancellation) {
+                throw cancellation;
+            }
+            log.warn("Parallel shared parse failed, falling back to sequential: {}", e.getMessage());
+            context.totalScanned().set(0);
+            context.totalParsed().set(0);
+            perFileFindings = scanSequentially(javaFiles, context);
+        }
+        // Files skipped after cancellation would otherwise look like files without findings
+        CancellationToken.current().throwIfCancelled();
+
+        List<List<Object>> resultsByScanner = new ArrayList<>(registrations.size());
+        for (int i = 0; i < registrations.size(); i++) {
+            resultsByScanner.add(new ArrayList<>());
+        }
+        for (Object[] findings : perFileFindings) {
+            for (int i = 0; i < findings.length; i++) {
+                if (findings[i] != null) {
+                    resultsByScanner.get(i).add(findings[i]);
+                }
+            }
+        }
+
+        int totalScanned = context.totalScanned().get();
+        int totalParsed = context.totalParsed().get();
+        log.info("Shared parse complete: {} files scanned by {} scanners, {} parsed, {} skipped or unparseable",
+                totalScanned, registrations.size(), totalParsed, totalScanned - totalParsed);
+        log.debug("Scan memory budget: {}", memoryBudget.usage());
+        return new PipelineResult(resultsByScanner, totalScanned, totalParsed, context.profiler().profile());
+    }
+
+    private List<Object[]> scanSequentially(List<Path> javaFiles, ScanContext context) {
+        return javaFiles.stream()
+                .map(file -> scanFile(file, context))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scans one file once the memory budget admits it, holding its cost until all scanners
+     * and the listener are done with the parsed file.
+     * Returns null if the file could not be read.
+     *
+     * @throws CancellationException if interrupted while waiting for budget
+     */
+    private Object[] scanFile(Path filePath, ScanContext context) {
+        try (ScanMemoryBudget.Permit permit = memoryBudget.acquire(filePath)) {
+            context.totalScanned().incrementAndGet();
+            return scanAdmittedFile(filePath, context);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for memory budget to scan " + filePath);
+        }
+    }
+
+    /**
+     * Prefilters and, if any scanner is relevant, parses one file, then runs every registered
+     * scanner on it. Scanners the file is not relevant to see the unparsed view.
+     * Returns null if the file could not be read.
+     */
+    private Object[] scanAdmittedFile(Path filePath, ScanContext context) {
+        ScanProfiler.FileTimer timer = context.profiler().startFile(filePath, PROFILE_SCANNER_NAME);
+
+        BitSet relevantScanners;
+        ParsedSourceFile unparsedFile;
+        ParsedSourceFile parsedFile;
+        try {
+            byte[] bytes = Files.readAllBytes(filePath);
+            relevantScanners = context.prefilter().match(bytes);
+            String content = ParsedSourceFile.decode(bytes);
+            unparsedFile = ParsedSourceFile.unparsed(filePath, content);
+            if (relevantScanners.isEmpty()) {
+                parsedFile = unparsedFile;
+            } else {
+                timer.enter(ScanProfile.Phase.PARSE);
+                parsedFile = ParsedSourceFile.parse(filePath, content, scanExecutor);
+                if (parsedFile.isParsed()) {
+                    context.totalParsed().incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error parsing file for shared scan: {}", filePath, e);
+            timer.finish();
+            return null;
+        }
+        return runScanners(parsedFile, unparsedFile, relevantScanners, context, timer);
+    }
+
+    /**
+     * Splits files into batches of at most {@code batchSize} files and at most {@code maxBatchCost}
+     * estimated cost, keeping files of the same directory together. Directories are taken in the
+     * order they first appear; a single file costing more than the limit forms its own batch.
+     */
+    static List<Batch> partition(List<Path> files, int batchSize, long maxBatchCost, ToLongFunction<Path> costOf) {
+        Map<Path, List<Integer>> byDirectory = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            byDirectory.computeIfAbsent(files.get(i).getParent(), directory -> new ArrayList<>()).add(i);
+        }
+
+        List<Batch> batches = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        long currentCost = 0;
+        for (List<Integer> directory : byDirectory.values()) {
+            for (int index : directory) {
+                long cost = costOf.applyAsLong(files.get(index));
+                if (!current.isEmpty() && (current.size() >= batchSize || currentCost + cost > maxBatchCost)) {
+                    batches.add(Batch.of(files, current));
+                    current = new ArrayList<>();
+                    currentCost = 0;
+                }
+                current.add(index);
+                currentCost += cost;
+            }
+        }
+        if (!current.isEmpty()) {
+            batches.add(Batch.of(files, current));
+        }
+        return batches;
+    }
+
+    private List<Object[]> scanInBatches(List<Path> javaFiles, ScanContext context)
+            throws ExecutionException, InterruptedException {
+        List<Batch> batches = partition(javaFiles, batchSize,
+                memoryBudget.usage().budgetBytes() / MIN_BATCHES_IN_FLIGHT, memoryBudget::estimateCost);
+        log.debug("Split {} files into {} parse batches", javaFiles.size(), batches.size());
+
+        List<BatchFindings> batchFindings = scanExecutor.map(batches, batch -> scanBatch(batch, context));
+
+        // Batches group files by directory, so results are put back into input order
+        Object[][] findingsByFile = new Object[javaFiles.size()][];
+        for (BatchFindings batch : batchFindings) {
+            for (int i = 0; i < batch.indexes().length; i++) {
+                findingsByFile[batch.indexes()[i]] = batch.findings()[i];
+            }
+        }
+        List<Object[]> perFileFindings = new ArrayList<>(javaFiles.size());
+        for (Object[] findings : findingsByFile) {
+            if (findings != null) {
+                perFileFindings.add(findings);
+            }
+        }
+        return perFileFindings;
+    }
+
+    /**
+     * Scans one batch once the memory budget admits all of its files, holding their combined
+     * cost until every file of the batch has been scanned.
+     *
+     * @throws CancellationException if interrupted while waiting for budget
+     */
+    private BatchFindings scanBatch(Batch batch, ScanContext context) {
+        try (ScanMemoryBudget.Permit permit = memoryBudget.acquire(batch.files())) {
+            context.totalScanned().addAndGet(batch.files().size());
+            return new BatchFindings(batch.indexes(), scanAdmittedBatch(batch.files(), context));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for memory budget to scan a batch of "
+                    + batch.files().size() + " files");
+        }
+    }
+
+    /**
+     * Prefilters every file of a batch, parses the relevant ones in a single parser call and runs
+     * every registered scanner on each file. Files that could not be read have no findings (null).
+     */
+    private Object[][] scanAdmittedBatch(List<Path> files, ScanContext context) {
+        BitSet[] relevantScanners = new BitSet[files.size()];
+        ParsedSourceFile[] unparsedFiles = new ParsedSourceFile[files.size()];
+        ParsedSourceFile[] parsedFiles = new ParsedSourceFile[files.size()];
+        ScanProfiler.FileTimer[] timers = new ScanProfiler.FileTimer[files.size()];
+        List<Integer> toParse = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path filePath = files.get(i);
+            timers[i] = context.profiler().startFile(filePath, PROFILE_SCANNER_NAME);
+            try {
+                byte[] bytes = Files.readAllBytes(filePath);
+                relevantScanners[i] = context.prefilter().match(bytes);
+                unparsedFiles[i] = ParsedSourceFile.unparsed(filePath, ParsedSourceFile.decode(bytes));
+                parsedFiles[i] = unparsedFiles[i];
+                if (!relevantScanners[i].isEmpty()) {
+                    toParse.add(i);
+                }
+                timers[i].pause();
+            } catch (Exception e) {
+                log.warn("Error reading file for shared scan: {}", filePath, e);
+                timers[i].finish();
+            }
+        }
+
+        if (!toParse.isEmpty()) {
+            List<Path> paths = toParse.stream().map(files::get).collect(Collectors.toList());
+            List<String> contents = toParse.stream().map(i -> unparsedFiles[i].content()).collect(Collectors.toList());
+            long parseStartNanos = System.nanoTime();
+            long parseStartCpuNanos = ScanProfiler.threadCpuNanos();
+            try {
+                List<ParsedSourceFile> parsed = ParsedSourceFile.parseBatch(paths, contents, context.executionContext(),
+                        scanExecutor);
+                for (int k = 0; k < toParse.size(); k++) {
+                    parsedFiles[toParse.get(k)] = parsed.get(k);
+                }
+                context.totalParsed().addAndGet((int) parsed.stream().filter(ParsedSourceFile::isParsed).count());
+            } catch (Exception e) {
+                log.warn("Batched parse of {} files failed, parsing them one at a time: {}", paths.size(), e.getMessage());
+                for (int index : toParse) {
+                    try {
+                        parsedFiles[index] = ParsedSourceFile.parse(files.get(index), unparsedFiles[index].content(),
+                                scanExecutor);
+                        if (parsedFiles[index].isParsed()) {
+                            context.totalParsed().incrementAndGet();
+                        }
+                    } catch (Exception fileError) {
+                        log.warn("Error parsing file for shared scan: {}", files.get(index), fileError);
+                        unparsedFiles[index] = null;
+                    }
+                }
+            }
+            // Parse time, including a failed batch attempt, is shared evenly among the files of the batch
+            long batchParseNanos = System.nanoTime() - parseStartNanos;
+            long batchParseCpuNanos = ScanProfiler.cpuNanosSince(parseStartCpuNanos);
+            for (int index : toParse) {
+                timers[index].add(ScanProfile.Phase.PARSE, batchParseNanos / toParse.size(),
+                        batchParseCpuNanos / toParse.size());
+                if (unparsedFiles[index] == null) {
+                    timers[index].finish();
+                }
+            }
+        }
+
+        Object[][] findings = new Object[files.size()][];
+        for (int i = 0; i < files.size(); i++) {
+            if (unparsedFiles[i] != null) {
+                findings[i] = runScanners(parsedFiles[i], unparsedFiles[i], relevantScanners[i], context, timers[i]);
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Runs every registered scanner on one read file, then notifies the listener.
+     * Scanners the file is not relevant to see the unparsed view. Finishes the file's timer.
+     */
+    private Object[] runScanners(ParsedSourceFile parsedFile, ParsedSourceFile unparsedFile,
+                                 BitSet relevantScanners, ScanContext context, ScanProfiler.FileTimer timer) {
+        timer.enter(ScanProfile.Phase.MATCH);
+        Path filePath = parsedFile.filePath();
+        Object[] results = new Object[registrations.size()];
+        for (Registration<?> registration : registrations) {
+            int index = registration.handle().index();
+            long startNanos = System.nanoTime();
+            long startCpuNanos = ScanProfiler.threadCpuNanos();
+            results[index] = registration.scan(relevantScanners.get(index) ? parsedFile : unparsedFile);
+            context.profiler().recordScanner(registration.handle().scanTypeName(), System.nanoTime() - startNanos,
+                    ScanProfiler.cpuNanosSince(startCpuNanos), 1);
+        }
+
+        if (context.listener() != null) {
+            try {
+                context.listener().onFileScanned(parsedFile, new FileFindings(results, relevantScanners));
+            } catch (Exception e) {
+                log.warn("Parsed file listener failed for file: {}", filePath, e);
+            }
+        }
+
+        Object[] findings = new Object[registrations.size()];
+        for (Registration<?> registration : registrations) {
+            int index = registration.handle().index();
+            if (results[index] != null && registration.keep(results[index])) {
+                log.debug("Found {} usage in: {}", registration.handle().scanTypeName(), filePath);
+                findings[index] = results[index];
+            }
+        }
+        timer.finish();
+        return findings;
+    }
+
+    /**
+     * Receives every registered scanner's result for each parsed file, including files
+     * without findings.
+     */
+    @FunctionalInterface
+    public interface ParsedFileListener {
+        void onFileScanned(ParsedSourceFile parsedFile, FileFindings findings);
+    }
+
+    /**
+     * Unfiltered results of all registered scanners for a single file.
+     */
+    public static final class FileFindings {
+        private final Object[] results;
+        private final BitSet relevantScanners;
+
+        private FileFindings(Object[] results, BitSet relevantScanners) {
+            this.results = results;
+            this.relevantScanners = relevantScanners;
+        }
+
+        /**
+         * Returns true if the prefilter found one of the scanner's trigger tokens in the file,
+         * i.e. the scanner was given the parsed file rather than the unparsed view.
+         */
+        public boolean isRelevant(ScannerHandle<?> handle) {
+            return relevantScanners.get(handle.index());
+        }
+
+        /**
+         * Returns the scanner's result for this file, or null if the scanner failed on it.
+         */
+        @SuppressWarnings("unchecked")
+        public <F> F get(ScannerHandle<F> handle) {
+            return (F) results[handle.index()];
+        }
+    }
+
+    /**
+     * Typed handle to one registered scanner's results.
+     */
+    public record ScannerHandle<F>(int index, String scanTypeName) {
+    }
+
+    /**
+     * Results of a pipeline run, keyed by scanner handle.
+     */
+    public static final class PipelineResult {
+        private final List<List<Object>> resultsByScanner;
+        private final int totalFilesScanned;
+        private final int totalFilesParsed;
+        private final ScanProfile profile;
+
+        private PipelineResult(List<List<Object>> resultsByScanner, int totalFilesScanned, int totalFilesParsed,
+                               ScanProfile profile) {
+            this.resultsByScanner = resultsByScanner;
+            this.totalFilesScanned = totalFilesScanned;
+            this.totalFilesParsed = totalFilesParsed;
+            this.profile = profile;
+        }
+
+        private static PipelineResult empty(int scannerCount) {
+            List<List<Object>> results = new ArrayList<>(scannerCount);
+            for (int i = 0; i < scannerCount; i++) {
+                results.add(List.of());
+            }
+            return new PipelineResult(results, 0, 0, ScanProfile.empty());
+        }
+
+        /**
+         * Returns the file results with findings for the given scanner, in input order.
+         */
+        @SuppressWarnings("unchecked")
+        public <F> List<F> fileResults(ScannerHandle<F> handle) {
+            return Collections.unmodifiableList((List<F>) (List<?>) resultsByScanner.get(handle.index()));
+        }
+
+        /**
+         * Returns the number of files read by the pipeline.
+         */
+        public int totalFilesScanned() {
+            return totalFilesScanned;
+        }
+
+        /**
+         * Returns the number of files that passed the prefilter and produced a compilation unit.
+         */
+        public int totalFilesParsed() {
+            return totalFilesParsed;
+        }
+
+        /**
+         * Returns where the run's time went, per phase, per scanner and for the slowest files.
+         */
+        public ScanProfile profile() {
+            return profile;
+        }
+    }
+
+    private record ScanContext(TriggerTokenPrefilter prefilter, ParsedFileListener listener,
+                               ExecutionContext executionContext, ScanProfiler profiler,
+                               AtomicInteger totalScanned, AtomicInteger totalParsed) {
+    }
+
+    /**
+     * Files parsed together, with their positions in the scanned file list.
+     */
+    record Batch(List<Path> files, int[] indexes) {
+
+        private static Batch of(List<Path> allFiles, List<Integer> indexes) {
+            List<Path> files = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                files.add(allFiles.get(index));
+            }
+            return new Batch(files, indexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private record BatchFindings(int[] indexes, Object[][] findings) {
+    }
+
+    private record Registration<F>(ScannerHandle<F> handle, ParsedSourceScanner<F> scanner,
+                                   Predicate<F> hasFindings) {
+
+        Object scan(ParsedSourceFile parsedFile) {
+            try {
+                return scanner.scanParsedFile(parsedFile);
+            } catch (Exception e) {
+                log.warn("Error running {} scan on file: {}", handle.scanTypeName(), parsedFile.filePath(), e);
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean keep(Object result) {
+            return hasFindings.test((F) result);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package adrianmikula.jakartamigration.advancedscanning.service;
 
 import adrianmikula.jakartamigration.advancedscanning.domain.ThirdPartyLibProjectScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -24,4 +25,11 @@ public interface ThirdPartyLibScanner {
      * @return ThirdPartyLibProjectScanResult containing all findings
      */
     ThirdPartyLibProjectScanResult scanProject(List<Path> filesToScan);
+    
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    ThirdPartyLibProjectScanResult scanProject(ProjectInventory inventory);
 }
@@ -2,6 +2,7 @@
 
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyScanResult;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -15,6 +16,13 @@ public interface TransitiveDependencyScanner {
      */
     TransitiveDependencyProjectScanResult scanProject(List<Path> filesToScan);
     
+    /**
+     * Scans a project using a shared file inventory, without walking the file tree again.
+     * @param inventory inventory of the project's files
+     * @return Project scan result with all findings
+     */
+    TransitiveDependencyProjectScanResult scanProject(ProjectInventory inventory);
+    
     TransitiveDependencyScanResult scanFile(Path filePath);
 
     /**
@@ -25,6 +33,15 @@ public interface TransitiveDependencyScanner {
      * @return TransitiveDependencyProjectScanResult with all dependencies
      */
     TransitiveDependencyProjectScanResult scanProject(Path projectPath, ScanProgressCallback progressListener);
+
+    /**
+     * Scans a project using a shared file inventory with progress reporting.
+     *
+     * @param inventory inventory of the project's files
+     * @param progressListener Optional callback for progress updates, may be null
+     * @return TransitiveDependencyProjectScanResult with all dependencies
+     */
+    TransitiveDependencyProjectScanResult scanProject(ProjectInventory inventory, ScanProgressCallback progressListener);
     
     /**
      * Scans a project using pre-discovered build files with progress reporting.
@@ -13,6 +13,7 @@
 import java.util.regex.Pattern;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class AppServerScannerImpl implements AppServerScanner {
@@ -40,18 +41,23 @@ public class AppServerScannerImpl implements AppServerScanner {
 
     @Override
     public AppServerProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public AppServerProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting app server scan for project: {}", projectPath);
         List<AppServerUsage> usages = new ArrayList<>();
 
         try {
             // Scan for server-specific dependencies in ALL build files
-            List<Path> mavenFiles = fileScanner.findFiles(projectPath,
-                    path -> path.getFileName().toString().equals("pom.xml"));
+            List<Path> mavenFiles = inventory.findFiles(path -> path.getFileName().toString().equals("pom.xml"));
             for (Path pomPath : mavenFiles) {
                 usages.addAll(scanMaven(pomPath));
             }
 
-            List<Path> gradleFiles = fileScanner.findFiles(projectPath, path -> {
+            List<Path> gradleFiles = inventory.findFiles(path -> {
                 String name = path.getFileName().toString();
                 return name.startsWith("build.gradle") || name.endsWith(".gradle");
             });
@@ -60,7 +66,7 @@ public AppServerProjectScanResult scanProject(Path projectPath) {
             }
 
             // Scan for server-specific descriptors recursively
-            usages.addAll(scanDescriptors(projectPath));
+            usages.addAll(scanDescriptors(inventory));
 
         } catch (Exception e) {
             log.error("Error scanning app server: {}", e.getMessage());
@@ -172,9 +178,9 @@ private List<AppServerUsage> scanGradle(Path gradlePath) {
         return usages;
     }
 
-    private List<AppServerUsage> scanDescriptors(Path projectPath) {
+    private List<AppServerUsage> scanDescriptors(ProjectInventory inventory) {
         List<AppServerUsage> usages = new ArrayList<>();
-        List<Path> xmlFiles = fileScanner.findFiles(projectPath, List.of(".xml"));
+        List<Path> xmlFiles = inventory.files(ProjectInventory.Category.XML);
 
         for (Path path : xmlFiles) {
             try {
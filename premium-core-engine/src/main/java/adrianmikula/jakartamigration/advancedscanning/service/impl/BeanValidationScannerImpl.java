@@ -4,19 +4,22 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.service.BaseScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import adrianmikula.jakartamigration.advancedscanning.service.BeanValidationScanner;
+import adrianmikula.jakartamigration.util.LineIndex;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +30,10 @@
 @Slf4j
 public class BeanValidationScannerImpl extends BaseScanner<JavaxUsage> implements BeanValidationScanner {
 
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of("javax.validation", "org.hibernate.validator.constraints");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
+
     private static final Map<String, String> BEAN_VALIDATION_MAPPINGS = new HashMap<>();
 
     static {
@@ -85,6 +92,11 @@ public ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(List<Path> file
         return scanProjectGeneric(null, filesToScan, "Bean Validation");
     }
 
+    @Override
+    public ProjectScanResult<FileScanResult<JavaxUsage>> scanProject(ProjectInventory inventory) {
+        return scanProjectGeneric(inventory, "Bean Validation");
+    }
+
     @Override
     public FileScanResult<JavaxUsage> scanFile(Path filePath) {
         Path validatedPath = validateFilePath(filePath);
@@ -93,43 +105,38 @@ public FileScanResult<JavaxUsage> scanFile(Path filePath) {
         }
 
         try {
-            String content = Files.readString(validatedPath);
-            int lineCount = countLines(content);
-
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
-
-            List<SourceFile> sourceFiles = parser.parse(content).collect(java.util.stream.Collectors.toList());
-
-            if (sourceFiles.isEmpty()) {
-                return FileScanResult.empty(filePath);
-            }
-
-            List<JavaxUsage> usages = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit cu) {
-                    usages.addAll(extractUsages(cu, content));
-                }
-            }
-
-            return new FileScanResult<>(filePath, usages, lineCount);
-
+            return scanParsedFile(parseSourceFile(validatedPath, PREFILTER));
         } catch (Exception e) {
             log.warn("Error scanning file for Bean Validation: {}", filePath, e);
             return FileScanResult.empty(filePath);
         }
     }
 
-    private List<JavaxUsage> extractUsages(CompilationUnit cu, String content) {
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
+
+    @Override
+    public FileScanResult<JavaxUsage> scanParsedFile(ParsedSourceFile parsedFile) {
+        if (!parsedFile.isParsed()) {
+            return new FileScanResult<>(parsedFile.filePath(), List.of(), parsedFile.lineCount());
+        }
+        return new FileScanResult<>(parsedFile.filePath(), extractUsages(parsedFile), parsedFile.lineCount());
+    }
+
+    private List<JavaxUsage> extractUsages(ParsedSourceFile parsedFile) {
+        CompilationUnit cu = parsedFile.compilationUnit();
+        String content = parsedFile.content();
+        LineIndex lineIndex = parsedFile.lineIndex();
         List<JavaxUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Check imports
         for (J.Import imp : cu.getImports()) {
             String importName = imp.getQualid().toString();
             if (importName.startsWith("javax.validation.") || importName.startsWith("org.hibernate.validator.constraints.")) {
                 String jakartaEquivalent = BEAN_VALIDATION_MAPPINGS.get(importName);
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = findLineNumber(lineIndex, importName);
                 usages.add(new JavaxUsage(importName, jakartaEquivalent != null ? jakartaEquivalent : importName.replace("javax.", "jakarta."), lineNumber, "import"));
             }
         }
@@ -142,7 +149,7 @@ private List<JavaxUsage> extractUsages(CompilationUnit cu, String content) {
             String annotationName = matcher.group(1);
             if (annotationName.startsWith("javax.validation") || annotationName.startsWith("org.hibernate.validator")) {
                 String jakartaEquivalent = BEAN_VALIDATION_MAPPINGS.get(annotationName);
-                int lineNumber = findLineNumber(lines, matcher.group(0));
+                int lineNumber = lineIndex.lineAt(matcher.start());
                 usages.add(new JavaxUsage(annotationName, jakartaEquivalent != null ? jakartaEquivalent : annotationName.replace("javax.", "jakarta."), lineNumber, "annotation"));
             }
         }
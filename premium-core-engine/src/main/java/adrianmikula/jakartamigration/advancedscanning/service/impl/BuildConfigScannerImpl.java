@@ -19,7 +19,9 @@
 
 import java.util.HashMap;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class BuildConfigScannerImpl extends BaseScanner<BuildConfigUsage> implements BuildConfigScanner {
@@ -91,6 +93,11 @@ public ProjectScanResult<FileScanResult<BuildConfigUsage>> scanProject(List<Path
         return scanProjectGeneric(null, filesToScan, "Build Config");
     }
 
+    @Override
+    public ProjectScanResult<FileScanResult<BuildConfigUsage>> scanProject(ProjectInventory inventory) {
+        return scanProjectGeneric(inventory, "Build Config");
+    }
+
     @Override
     public FileScanResult<BuildConfigUsage> scanFile(Path filePath) {
         Path validatedPath = validateFilePath(filePath);
@@ -102,15 +109,16 @@ public FileScanResult<BuildConfigUsage> scanFile(Path filePath) {
             String content = Files.readString(validatedPath);
             String fileName = filePath.getFileName().toString();
 
+            LineIndex lineIndex = LineIndex.of(content);
             List<BuildConfigUsage> usages = new ArrayList<>();
 
             if (fileName.equals("pom.xml")) {
-                usages = parsePomXml(content, filePath);
+                usages = parsePomXml(content, lineIndex);
             } else if (fileName.startsWith("build.gradle")) {
-                usages = parseGradle(content, filePath);
+                usages = parseGradle(content, lineIndex);
             }
 
-            return new FileScanResult<>(filePath, usages, content.split("\n").length);
+            return new FileScanResult<>(filePath, usages, lineIndex.lineCount());
 
         } catch (Exception e) {
             log.warn("Error scanning build file: {}", filePath, e);
@@ -119,16 +127,18 @@ public FileScanResult<BuildConfigUsage> scanFile(Path filePath) {
     }
 
     @Override
-    protected List<Path> discoverJavaFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, path -> {
-            String name = path.getFileName().toString();
-            return "pom.xml".equals(name) || name.startsWith("build.gradle") || name.endsWith(".gradle");
-        });
+    protected List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        return inventory.findFiles(path -> selectsFile(inventory.projectRoot(), path));
+    }
+
+    @Override
+    protected boolean selectsFile(Path projectRoot, Path file) {
+        String name = file.getFileName().toString();
+        return "pom.xml".equals(name) || name.startsWith("build.gradle") || name.endsWith(".gradle");
     }
 
-    private List<BuildConfigUsage> parsePomXml(String content, Path filePath) {
+    private List<BuildConfigUsage> parsePomXml(String content, LineIndex lineIndex) {
         List<BuildConfigUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Match <groupId>javax.xxx</groupId> and <artifactId>xxx</artifactId>
         Pattern depPattern = Pattern.compile(
@@ -145,7 +155,7 @@ private List<BuildConfigUsage> parsePomXml(String content, Path filePath) {
                 String key = groupId + ":" + artifactId;
                 String[] mapping = DEPENDENCY_MAPPINGS.get(key);
 
-                int lineNumber = findLineNumber(lines, groupId);
+                int lineNumber = lineIndex.lineAt(matcher.start(1));
 
                 usages.add(new BuildConfigUsage(
                         groupId,
@@ -161,9 +171,8 @@ private List<BuildConfigUsage> parsePomXml(String content, Path filePath) {
         return usages;
     }
 
-    private List<BuildConfigUsage> parseGradle(String content, Path filePath) {
+    private List<BuildConfigUsage> parseGradle(String content, LineIndex lineIndex) {
         List<BuildConfigUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Match 'groupId:artifactId:version' or "groupId:artifactId:version"
         Pattern depPattern = Pattern.compile("['\"]([\\w.]+):([\\w.-]+):([\\w.-]+)['\"]");
@@ -178,7 +187,7 @@ private List<BuildConfigUsage> parseGradle(String content, Path filePath) {
                 String key = groupId + ":" + artifactId;
                 String[] mapping = DEPENDENCY_MAPPINGS.get(key);
 
-                int lineNumber = findLineNumber(lines, matcher.group(0));
+                int lineNumber = lineIndex.lineAt(matcher.start());
 
                 usages.add(new BuildConfigUsage(
                         groupId,
@@ -4,22 +4,25 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.ClassloaderModuleScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 
 @Slf4j
 public class ClassloaderModuleScannerImpl implements ClassloaderModuleScanner {
@@ -48,17 +51,16 @@ public class ClassloaderModuleScannerImpl implements ClassloaderModuleScanner {
     private record ClassloaderModuleInfo(String replacement, String context) {
     }
 
-    private final ThreadLocal<JavaParser> javaParserThreadLocal = ThreadLocal
-            .withInitial(() -> JavaParser.fromJavaVersion().build());
-
     private final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
 
-    // Parallelism configuration - can be overridden via system property
-    private static final int MAX_PARALLELISM = Integer.parseInt(
-            System.getProperty("advanced.scan.parallelism", "4"));
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of(
+            "javax.management.loading", "javax.annotation.processing", ".classloader", ".module",
+            "getContextClassLoader()", "setContextClassLoader", "getModule()", "getClassLoader()");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
 
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+    // Heap budget that files are admitted against, shared by all scanners in the process
+    private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
 
     // Pattern for javax classloader/module imports
     private static final Pattern CLASSLOADER_IMPORT_PATTERN = Pattern.compile(
@@ -81,55 +83,29 @@ public ClassloaderModuleProjectScanResult scanProject(Path projectPath) {
             return ClassloaderModuleProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public ClassloaderModuleProjectScanResult scanProject(ProjectInventory inventory) {
         try {
-            List<Path> javaFiles = discoverJavaFiles(projectPath);
+            List<Path> javaFiles = discoverJavaFiles(inventory);
             if (javaFiles.isEmpty())
                 return ClassloaderModuleProjectScanResult.empty();
 
-            // Check available memory and determine parallelism
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<ClassloaderModuleScanResult> results;
 
-            // Use sequential processing if low on memory, otherwise use bounded parallelism
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), using sequential processing for Classloader/Module scan",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(javaFiles, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Classloader/Module, falling back to sequential: {}", e.getMessage());
                 results = javaFiles.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                // Use bounded parallelism with custom ForkJoinPool
-                int parallelism = Math.min(MAX_PARALLELISM, javaFiles.size());
-                log.debug("Using parallel processing with parallelism={} for Classloader/Module scan", parallelism);
-
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            javaFiles.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Classloader/Module, falling back to sequential: {}", e.getMessage());
-                    results = javaFiles.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            // Cleanup ThreadLocal to prevent memory leaks
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
 
             return new ClassloaderModuleProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
@@ -146,44 +122,19 @@ public ClassloaderModuleProjectScanResult scanProject(List<Path> filesToScan) {
         }
         try {
             // Memory check same as above
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<ClassloaderModuleScanResult> results;
 
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), sequential processing for Classloader/Module",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(filesToScan, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Classloader/Module, falling back to sequential", e);
                 results = filesToScan.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            filesToScan.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Classloader/Module, falling back to sequential", e);
-                    results = filesToScan.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
             return new ClassloaderModuleProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
         } catch (Exception e) {
@@ -199,47 +150,56 @@ public ClassloaderModuleScanResult scanFile(Path filePath) {
         }
 
         try {
-            String content = Files.readString(filePath);
-            int lineCount = content.split("\n").length;
-
-            // Quick check using regex first for performance
-            boolean hasPotentialUsage = CLASSLOADER_IMPORT_PATTERN.matcher(content).find() ||
-                    CONTEXT_CLASSLOADER_PATTERN.matcher(content).find() ||
-                    MODULE_PATTERN.matcher(content).find();
+            byte[] bytes = Files.readAllBytes(filePath);
 
-            if (!hasPotentialUsage) {
+            // Byte-level prefilter first, so most files are never decoded or matched
+            if (!PREFILTER.matchesAny(bytes)) {
                 return ClassloaderModuleScanResult.empty(filePath);
             }
+            String content = ParsedSourceFile.decode(bytes);
 
-            // Use OpenRewrite for detailed analysis
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
-
-            List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
-            if (sourceFiles.isEmpty())
+            // Quick check using regex first for performance
+            if (!hasPotentialUsage(content)) {
                 return ClassloaderModuleScanResult.empty(filePath);
-
-            List<ClassloaderModuleUsage> usages = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit) {
-                    CompilationUnit cu = (CompilationUnit) sourceFile;
-                    usages.addAll(extractClassloaderModuleApis(cu, content));
-                }
             }
 
-            return new ClassloaderModuleScanResult(filePath, usages, lineCount);
+            // Use OpenRewrite for detailed analysis
+            return scanParsedFile(ParsedSourceFile.parse(filePath, content, ScanExecutor.shared()));
         } catch (Exception e) {
             return ClassloaderModuleScanResult.empty(filePath);
         }
     }
 
-    private List<Path> discoverJavaFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, List.of(".java"));
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
+
+    @Override
+    public ClassloaderModuleScanResult scanParsedFile(ParsedSourceFile parsedFile) {
+        if (!parsedFile.isParsed() || !hasPotentialUsage(parsedFile.content())) {
+            return new ClassloaderModuleScanResult(parsedFile.filePath(), List.of(), parsedFile.lineCount());
+        }
+
+        return new ClassloaderModuleScanResult(parsedFile.filePath(), extractClassloaderModuleApis(parsedFile),
+                parsedFile.lineCount());
+    }
+
+    private boolean hasPotentialUsage(String content) {
+        return CLASSLOADER_IMPORT_PATTERN.matcher(content).find() ||
+                CONTEXT_CLASSLOADER_PATTERN.matcher(content).find() ||
+                MODULE_PATTERN.matcher(content).find();
     }
 
-    private List<ClassloaderModuleUsage> extractClassloaderModuleApis(CompilationUnit cu, String content) {
+    private List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        return inventory.files(ProjectInventory.Category.JAVA);
+    }
+
+    private List<ClassloaderModuleUsage> extractClassloaderModuleApis(ParsedSourceFile parsedFile) {
+        CompilationUnit cu = parsedFile.compilationUnit();
+        String content = parsedFile.content();
+        LineIndex lineIndex = parsedFile.lineIndex();
         List<ClassloaderModuleUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Check imports for javax classloader/module classes
         for (J.Import imp : cu.getImports()) {
@@ -247,7 +207,7 @@ private List<ClassloaderModuleUsage> extractClassloaderModuleApis(CompilationUni
             ClassloaderModuleInfo info = CLASSLOADER_MODULE_APIS.get(importName);
 
             if (info != null) {
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = lineIndex.findLine(importName);
                 usages.add(
                         new ClassloaderModuleUsage(importName, null, lineNumber, info.context(), info.replacement()));
             }
@@ -256,11 +216,10 @@ private List<ClassloaderModuleUsage> extractClassloaderModuleApis(CompilationUni
         // Check for Thread.getContextClassLoader() usage
         Matcher matcher = CONTEXT_CLASSLOADER_PATTERN.matcher(content);
         while (matcher.find()) {
-            int lineNumber = findLineNumber(lines, "getContextClassLoader");
             usages.add(new ClassloaderModuleUsage(
                     "Thread.getContextClassLoader()",
                     "getContextClassLoader",
-                    lineNumber,
+                    lineIndex.lineAt(matcher.start()),
                     "ClassLoader",
                     "Review for Jakarta EE compatibility"));
         }
@@ -268,46 +227,29 @@ private List<ClassloaderModuleUsage> extractClassloaderModuleApis(CompilationUni
         // Check for module-related patterns
         matcher = MODULE_PATTERN.matcher(content);
         while (matcher.find()) {
-            int lineNumber = findLineNumber(lines, "getModule");
-            if (lineNumber > 0) {
-                usages.add(new ClassloaderModuleUsage(
-                        "Class.getModule()",
-                        "getModule",
-                        lineNumber,
-                        "Module",
-                        "Use standard Java module API"));
-            }
+            usages.add(new ClassloaderModuleUsage(
+                    "Class.getModule()",
+                    "getModule",
+                    lineIndex.lineAt(matcher.start()),
+                    "Module",
+                    "Use standard Java module API"));
         }
 
         return usages;
     }
 
-    private int findLineNumber(String[] lines, String searchText) {
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].contains(searchText))
-                return i + 1;
-        }
-        return 1;
-    }
-
     /**
      * Scans a single file with tracking for parallel processing.
      */
     private ClassloaderModuleScanResult scanFileWithTracking(Path filePath, AtomicInteger totalScanned) {
         totalScanned.incrementAndGet();
-        ClassloaderModuleScanResult result = scanFile(filePath);
-        return result.hasJavaxUsage() ? result : null;
-    }
-
-    /**
-     * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-     * Should be called after project scan completes.
-     */
-    private void cleanupThreadLocal() {
-        try {
-            javaParserThreadLocal.remove();
-        } catch (Exception e) {
-            log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
+        try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+            ClassloaderModuleScanResult result = scanFile(filePath);
+            return result.hasJavaxUsage() ? result : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+            return null;
         }
     }
 }
@@ -4,18 +4,24 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ConfigFileUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.ConfigFileScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
+import adrianmikula.jakartamigration.util.XmlDescriptorScanner;
 
 @Slf4j
 public class ConfigFileScannerImpl implements ConfigFileScanner {
@@ -50,12 +56,8 @@ public class ConfigFileScannerImpl implements ConfigFileScanner {
     private record ConfigFileInfo(String replacement, String context, String fileType) {
     }
 
-    // Parallelism configuration - can be overridden via system property
-    private static final int MAX_PARALLELISM = Integer.parseInt(
-            System.getProperty("advanced.scan.parallelism", "4"));
-
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+    // Heap budget that files are admitted against, shared by all scanners in the process
+    private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
 
     // Pattern for javax references in config files
     private static final Pattern JAVAX_PATTERN = Pattern.compile(
@@ -67,6 +69,15 @@ private record ConfigFileInfo(String replacement, String context, String fileTyp
             "http://xmlns\\.javaee",
             Pattern.MULTILINE);
 
+    // Namespace URIs of Java EE descriptors, before and after the move to the JCP
+    private static final List<String> JAVAEE_NAMESPACE_PREFIXES = List.of(
+            "http://java.sun.com/xml/ns/",
+            "http://xmlns.jcp.org/xml/ns/");
+
+    // XML files mentioning none of these have nothing to report and are never parsed
+    private static final TriggerTokenPrefilter XML_PREFILTER = TriggerTokenPrefilter.of(List.of(
+            "javax.", "java.sun.com/xml/ns/", "xmlns.jcp.org/xml/ns/"));
+
     private static final Pattern SPRING_BEAN_PATTERN = Pattern.compile(
             "<bean\\s+class=\"javax\\.[^\"]+\"",
             Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
@@ -77,50 +88,27 @@ public ConfigFileProjectScanResult scanProject(Path projectPath) {
             return ConfigFileProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public ConfigFileProjectScanResult scanProject(ProjectInventory inventory) {
         try {
-            List<Path> configFiles = discoverConfigFiles(projectPath);
+            List<Path> configFiles = discoverConfigFiles(inventory);
             if (configFiles.isEmpty())
                 return ConfigFileProjectScanResult.empty();
 
-            // Check available memory and determine parallelism
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<ConfigFileScanResult> results;
 
-            // Use sequential processing if low on memory, otherwise use bounded parallelism
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), using sequential processing for Config File scan",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(configFiles, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Config File, falling back to sequential: {}", e.getMessage());
                 results = configFiles.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                // Use bounded parallelism with custom ForkJoinPool
-                int parallelism = Math.min(MAX_PARALLELISM, configFiles.size());
-                log.debug("Using parallel processing with parallelism={} for Config File scan", parallelism);
-
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            configFiles.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Config File, falling back to sequential: {}", e.getMessage());
-                    results = configFiles.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
@@ -164,30 +152,32 @@ public ConfigFileScanResult scanFile(Path filePath) {
                 return ConfigFileScanResult.empty(filePath);
             }
 
-            String content = Files.readString(filePath);
             String fileName = filePath.getFileName().toString().toLowerCase();
-
             String fileType = determineFileType(fileName);
+
+            if (fileName.endsWith(".xml")) {
+                List<ConfigFileUsage> xmlUsages = scanXmlDescriptor(filePath, fileType);
+                if (xmlUsages != null) {
+                    return new ConfigFileScanResult(filePath, xmlUsages, fileType);
+                }
+                log.debug("Config file is not well-formed XML, falling back to text scan: {}", filePath);
+            }
+
+            String content = Files.readString(filePath);
             List<ConfigFileUsage> usages = new ArrayList<>();
 
             // Check for javax references
             Matcher matcher = JAVAX_PATTERN.matcher(content);
             int lineNumber = 0;
-            String[] lines = content.split("\n");
+            LineIndex lineIndex = LineIndex.of(content);
 
             Set<String> foundReferences = new HashSet<>();
             while (matcher.find()) {
                 String javaxRef = matcher.group();
                 if (!foundReferences.contains(javaxRef)) {
                     foundReferences.add(javaxRef);
-                    lineNumber = findLineNumber(lines, javaxRef);
-
-                    ConfigFileInfo info = CONFIG_FILE_PATTERNS.get(javaxRef);
-                    String context = info != null ? info.context() : "Unknown";
-                    String replacement = info != null ? info.replacement()
-                            : "jakarta." + javaxRef.substring("javax.".length());
-
-                    usages.add(new ConfigFileUsage(javaxRef, context, lineNumber, replacement, fileType));
+                    lineNumber = lineIndex.lineAt(matcher.start());
+                    usages.add(javaxUsage(javaxRef, lineNumber, fileType));
                 }
             }
 
@@ -195,7 +185,7 @@ public ConfigFileScanResult scanFile(Path filePath) {
             if (fileName.endsWith(".xml")) {
                 Matcher nsMatcher = XML_SCHEMA_PATTERN.matcher(content);
                 while (nsMatcher.find()) {
-                    lineNumber = findLineNumber(lines, "javaee");
+                    lineNumber = lineIndex.lineAt(nsMatcher.start());
                     usages.add(new ConfigFileUsage(
                             "http://xmlns.javaee",
                             "XML Namespace",
@@ -207,7 +197,7 @@ public ConfigFileScanResult scanFile(Path filePath) {
                 // Check for Spring bean definitions with javax classes
                 Matcher beanMatcher = SPRING_BEAN_PATTERN.matcher(content);
                 while (beanMatcher.find()) {
-                    lineNumber = findLineNumber(lines, "class=\"javax");
+                    lineNumber = lineIndex.lineAt(beanMatcher.start());
                     usages.add(new ConfigFileUsage(
                             "Spring bean with javax class",
                             "Spring",
@@ -224,8 +214,83 @@ public ConfigFileScanResult scanFile(Path filePath) {
         }
     }
 
-    private List<Path> discoverConfigFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, List.of(".xml", ".properties", ".yaml", ".yml"));
+    /**
+     * Streams an XML config file once, reporting javax class names, Java EE namespaces and
+     * schema locations, and Spring beans with javax classes on their exact lines.
+     *
+     * @return the usages, or null if the file is not well-formed XML
+     */
+    private List<ConfigFileUsage> scanXmlDescriptor(Path filePath, String fileType) throws IOException {
+        if (!XML_PREFILTER.matchesAny(filePath)) {
+            return List.of();
+        }
+        XmlDescriptorScanner.Result descriptor = XmlDescriptorScanner.scan(filePath);
+        if (!descriptor.complete()) {
+            return null;
+        }
+
+        List<ConfigFileUsage> usages = new ArrayList<>();
+        Set<String> foundReferences = new HashSet<>();
+        for (XmlDescriptorScanner.ClassReference reference : descriptor.classReferences()) {
+            if (foundReferences.add(reference.className())) {
+                usages.add(javaxUsage(reference.className(), reference.line(), fileType));
+            }
+        }
+
+        for (XmlDescriptorScanner.Namespace namespace : descriptor.namespaces()) {
+            if (isJavaEeNamespace(namespace.uri())) {
+                usages.add(new ConfigFileUsage(namespace.uri(), "XML Namespace", namespace.line(),
+                        jakartaNamespace(namespace.uri()), fileType));
+            }
+        }
+        for (XmlDescriptorScanner.SchemaLocation schemaLocation : descriptor.schemaLocations()) {
+            if (isJavaEeNamespace(schemaLocation.location())) {
+                usages.add(new ConfigFileUsage(schemaLocation.location(), "XML Namespace", schemaLocation.line(),
+                        jakartaNamespace(schemaLocation.location()), fileType));
+            }
+        }
+
+        for (XmlDescriptorScanner.ClassReference reference : descriptor.classReferences()) {
+            if ("bean".equals(reference.elementName()) && "class".equals(reference.attributeName())) {
+                usages.add(new ConfigFileUsage(
+                        "Spring bean with javax class",
+                        "Spring",
+                        reference.line(),
+                        "Update to jakarta class",
+                        fileType));
+            }
+        }
+        return usages;
+    }
+
+    private ConfigFileUsage javaxUsage(String javaxRef, int lineNumber, String fileType) {
+        ConfigFileInfo info = CONFIG_FILE_PATTERNS.get(javaxRef);
+        String context = info != null ? info.context() : "Unknown";
+        String replacement = info != null ? info.replacement()
+                : "jakarta." + javaxRef.substring("javax.".length());
+        return new ConfigFileUsage(javaxRef, context, lineNumber, replacement, fileType);
+    }
+
+    private static boolean isJavaEeNamespace(String uri) {
+        return JAVAEE_NAMESPACE_PREFIXES.stream().anyMatch(uri::startsWith);
+    }
+
+    private static String jakartaNamespace(String uri) {
+        for (String prefix : JAVAEE_NAMESPACE_PREFIXES) {
+            if (uri.startsWith(prefix)) {
+                // javaee, j2ee, ... become jakartaee; persistence keeps its own namespace
+                String rest = uri.substring(prefix.length());
+                int slash = rest.indexOf('/');
+                String segment = slash < 0 ? rest : rest.substring(0, slash);
+                String path = slash < 0 ? "" : rest.substring(slash);
+                return "https://jakarta.ee/xml/ns/" + (segment.equals("persistence") ? "persistence" : "jakartaee") + path;
+            }
+        }
+        return uri;
+    }
+
+    private List<Path> discoverConfigFiles(ProjectInventory inventory) {
+        return inventory.files(ProjectInventory.Category.CONFIG);
     }
 
     private boolean isConfigFile(String name) {
@@ -245,20 +310,18 @@ private String determineFileType(String fileName) {
         return "Unknown";
     }
 
-    private int findLineNumber(String[] lines, String searchText) {
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].contains(searchText))
-                return i + 1;
-        }
-        return 1;
-    }
-
     /**
      * Scans a single file with tracking for parallel processing.
      */
     private ConfigFileScanResult scanFileWithTracking(Path filePath, AtomicInteger totalScanned) {
         totalScanned.incrementAndGet();
-        ConfigFileScanResult result = scanFile(filePath);
-        return result.hasJavaxUsage() ? result : null;
+        try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+            ConfigFileScanResult result = scanFile(filePath);
+            return result.hasJavaxUsage() ? result : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+            return null;
+        }
     }
 }
@@ -4,22 +4,25 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.DeprecatedApiScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 
 @Slf4j
 public class DeprecatedApiScannerImpl implements DeprecatedApiScanner {
@@ -90,17 +93,21 @@ public class DeprecatedApiScannerImpl implements DeprecatedApiScanner {
         private record DeprecatedApiInfo(String jakartaEquivalent, String deprecationType) {
         }
 
-        private final ThreadLocal<JavaParser> javaParserThreadLocal = ThreadLocal
-                        .withInitial(() -> JavaParser.fromJavaVersion().build());
+        // Tokens that must occur in a file's raw content for this scanner to find anything:
+        // the mapped import names plus the @Deprecated annotation
+        private static final Set<String> TRIGGER_TOKENS = buildTriggerTokens();
+        private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
 
-        private final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
+        private static Set<String> buildTriggerTokens() {
+                Set<String> tokens = new HashSet<>(DEPRECATED_APIS.keySet());
+                tokens.add("@Deprecated");
+                return Set.copyOf(tokens);
+        }
 
-        // Parallelism configuration - can be overridden via system property
-        private static final int MAX_PARALLELISM = Integer.parseInt(
-                        System.getProperty("advanced.scan.parallelism", "4"));
+        private final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
 
-        // Memory threshold for sequential fallback (100MB)
-        private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+        // Heap budget that files are admitted against, shared by all scanners in the process
+        private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
 
         @Override
         public DeprecatedApiProjectScanResult scanProject(Path projectPath) {
@@ -108,55 +115,29 @@ public DeprecatedApiProjectScanResult scanProject(Path projectPath) {
                         return DeprecatedApiProjectScanResult.empty();
                 }
 
+                return scanProject(fileScanner.inventory(projectPath));
+        }
+
+        @Override
+        public DeprecatedApiProjectScanResult scanProject(ProjectInventory inventory) {
                 try {
-                        List<Path> javaFiles = discoverJavaFiles(projectPath);
+                        List<Path> javaFiles = discoverJavaFiles(inventory);
                         if (javaFiles.isEmpty())
                                 return DeprecatedApiProjectScanResult.empty();
 
-                        // Check available memory and determine parallelism
-                        Runtime runtime = Runtime.getRuntime();
-                        long maxMemory = runtime.maxMemory();
-                        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-                        long availableMemory = maxMemory - usedMemory;
-
                         AtomicInteger totalScanned = new AtomicInteger(0);
                         List<DeprecatedApiScanResult> results;
 
-                        // Use sequential processing if low on memory, otherwise use bounded parallelism
-                        if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                                log.info("Low memory detected ({} MB available), using sequential processing for Deprecated API scan",
-                                                availableMemory / (1024 * 1024));
+                        try {
+                                results = ScanExecutor.shared().map(javaFiles, file -> scanFileWithTracking(file, totalScanned));
+                        } catch (Exception e) {
+                                log.warn("Parallel scan failed for Deprecated API, falling back to sequential: {}", e.getMessage());
                                 results = javaFiles.stream()
                                                 .map(file -> scanFileWithTracking(file, totalScanned))
                                                 .filter(Objects::nonNull)
                                                 .collect(Collectors.toList());
-                        } else {
-                                // Use bounded parallelism with custom ForkJoinPool
-                                int parallelism = Math.min(MAX_PARALLELISM, javaFiles.size());
-                                log.debug("Using parallel processing with parallelism={} for Deprecated API scan", parallelism);
-
-                                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                                try {
-                                        results = customPool.submit(() ->
-                                                        javaFiles.parallelStream()
-                                                                        .map(file -> scanFileWithTracking(file, totalScanned))
-                                                                        .filter(Objects::nonNull)
-                                                                        .collect(Collectors.toList())
-                                        ).get();
-                                } catch (Exception e) {
-                                        log.warn("Parallel scan failed for Deprecated API, falling back to sequential: {}", e.getMessage());
-                                        results = javaFiles.stream()
-                                                        .map(file -> scanFileWithTracking(file, totalScanned))
-                                                        .filter(Objects::nonNull)
-                                                        .collect(Collectors.toList());
-                                } finally {
-                                        customPool.shutdown();
-                                }
                         }
 
-                        // Cleanup ThreadLocal to prevent memory leaks
-                        cleanupThreadLocal();
-
                         int totalUsages = results.stream().mapToInt(r -> r.usages().size()).sum();
 
                         return new DeprecatedApiProjectScanResult(results, totalScanned.get(), results.size(),
@@ -173,44 +154,19 @@ public DeprecatedApiProjectScanResult scanProject(List<Path> filesToScan) {
             return DeprecatedApiProjectScanResult.empty();
         }
         try {
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<DeprecatedApiScanResult> results;
 
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), sequential processing for Deprecated API",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(filesToScan, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Deprecated API, falling back to sequential", e);
                 results = filesToScan.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            filesToScan.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Deprecated API, falling back to sequential", e);
-                    results = filesToScan.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.usages().size()).sum();
             return new DeprecatedApiProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
         } catch (Exception e) {
@@ -226,37 +182,35 @@ public DeprecatedApiScanResult scanFile(Path filePath) {
                 }
 
                 try {
-                        String content = Files.readString(filePath);
-                        int lineCount = content.split("\n").length;
-
-                        JavaParser parser = javaParserThreadLocal.get();
-                        parser.reset();
-
-                        List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
-                        if (sourceFiles.isEmpty())
-                                return DeprecatedApiScanResult.empty(filePath);
-
-                        List<DeprecatedApiUsage> usages = new ArrayList<>();
-                        for (SourceFile sourceFile : sourceFiles) {
-                                if (sourceFile instanceof CompilationUnit) {
-                                        CompilationUnit cu = (CompilationUnit) sourceFile;
-                                        usages.addAll(extractDeprecatedApis(cu, content));
-                                }
-                        }
-
-                        return new DeprecatedApiScanResult(filePath, usages, lineCount);
+                        return scanParsedFile(ParsedSourceFile.read(filePath, PREFILTER, ScanExecutor.shared()));
                 } catch (Exception e) {
                         return DeprecatedApiScanResult.empty(filePath);
                 }
         }
 
-        private List<Path> discoverJavaFiles(Path projectPath) {
-                return fileScanner.findFiles(projectPath, List.of(".java"));
+        @Override
+        public Set<String> triggerTokens() {
+                return TRIGGER_TOKENS;
         }
 
-        private List<DeprecatedApiUsage> extractDeprecatedApis(CompilationUnit cu, String content) {
+        @Override
+        public DeprecatedApiScanResult scanParsedFile(ParsedSourceFile parsedFile) {
+                if (!parsedFile.isParsed())
+                        return new DeprecatedApiScanResult(parsedFile.filePath(), List.of(), parsedFile.lineCount());
+
+                return new DeprecatedApiScanResult(parsedFile.filePath(), extractDeprecatedApis(parsedFile),
+                                parsedFile.lineCount());
+        }
+
+        private List<Path> discoverJavaFiles(ProjectInventory inventory) {
+                return inventory.files(ProjectInventory.Category.JAVA);
+        }
+
+        private List<DeprecatedApiUsage> extractDeprecatedApis(ParsedSourceFile parsedFile) {
+                CompilationUnit cu = parsedFile.compilationUnit();
+                String content = parsedFile.content();
+                LineIndex lineIndex = parsedFile.lineIndex();
                 List<DeprecatedApiUsage> usages = new ArrayList<>();
-                String[] lines = content.split("\n");
 
                 // Check imports for deprecated APIs
                 for (J.Import imp : cu.getImports()) {
@@ -264,7 +218,7 @@ private List<DeprecatedApiUsage> extractDeprecatedApis(CompilationUnit cu, Strin
                         DeprecatedApiInfo info = DEPRECATED_APIS.get(importName);
 
                         if (info != null) {
-                                int lineNumber = findLineNumber(lines, importName);
+                                int lineNumber = lineIndex.findLine(importName);
                                 usages.add(new DeprecatedApiUsage(importName, null, info.jakartaEquivalent(),
                                                 lineNumber, "import",
                                                 info.deprecationType()));
@@ -276,7 +230,7 @@ private List<DeprecatedApiUsage> extractDeprecatedApis(CompilationUnit cu, Strin
                 Matcher matcher = deprecatedPattern.matcher(content);
 
                 while (matcher.find()) {
-                        int lineNumber = findLineNumber(lines, matcher.group(0));
+                        int lineNumber = lineIndex.lineAt(matcher.start());
                         // Look for method calls or class references near this line
                         usages.add(new DeprecatedApiUsage("javax.deprecated.usage", null, "Review usage", lineNumber,
                                         "usage",
@@ -286,32 +240,18 @@ private List<DeprecatedApiUsage> extractDeprecatedApis(CompilationUnit cu, Strin
                 return usages;
         }
 
-        private int findLineNumber(String[] lines, String searchText) {
-                for (int i = 0; i < lines.length; i++) {
-                        if (lines[i].contains(searchText))
-                                return i + 1;
-                }
-                return 1;
-        }
-
         /**
          * Scans a single file with tracking for parallel processing.
          */
         private DeprecatedApiScanResult scanFileWithTracking(Path filePath, AtomicInteger totalScanned) {
                 totalScanned.incrementAndGet();
-                DeprecatedApiScanResult result = scanFile(filePath);
-                return result.hasJavaxUsage() ? result : null;
-        }
-
-        /**
-         * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-         * Should be called after project scan completes.
-         */
-        private void cleanupThreadLocal() {
-                try {
-                        javaParserThreadLocal.remove();
-                } catch (Exception e) {
-                        log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
+                try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+                        DeprecatedApiScanResult result = scanFile(filePath);
+                        return result.hasJavaxUsage() ? result : null;
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+                        return null;
                 }
         }
 }
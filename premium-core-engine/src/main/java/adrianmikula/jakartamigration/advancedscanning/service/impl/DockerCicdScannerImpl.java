@@ -5,6 +5,7 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.service.BaseScanner;
 import adrianmikula.jakartamigration.advancedscanning.service.DockerCicdScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.file.Files;
@@ -93,8 +94,14 @@ public ProjectScanResult<FileScanResult<DockerCicdUsage>> scanProject(Path proje
             return ProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public ProjectScanResult<FileScanResult<DockerCicdUsage>> scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         try {
-            List<Path> dockerCicdFiles = discoverDockerCicdFiles(projectPath);
+            List<Path> dockerCicdFiles = discoverDockerCicdFiles(inventory);
 
             if (dockerCicdFiles.isEmpty()) {
                 log.info("No Docker/CI-CD files found in project: {}", projectPath);
@@ -184,69 +191,72 @@ public FileScanResult<DockerCicdUsage> scanFile(Path filePath) {
         }
     }
 
-    private List<Path> discoverDockerCicdFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, path -> {
-            String fileName = path.getFileName().toString().toLowerCase();
-            String parentPath = path.getParent().toString().toLowerCase();
-            
-            // Docker files
-            if (fileName.equals("dockerfile") || fileName.endsWith(".dockerfile")) {
-                return true;
-            }
-            
-            // Docker Compose files
-            if (fileName.startsWith("docker-compose") && (fileName.endsWith(".yml") || fileName.endsWith(".yaml"))) {
-                return true;
-            }
-            
-            // GitHub Actions
-            if (parentPath.contains(".github/workflows") && (fileName.endsWith(".yml") || fileName.endsWith(".yaml"))) {
-                return true;
-            }
-            
-            // GitLab CI
-            if (fileName.equals(".gitlab-ci.yml")) {
-                return true;
-            }
-            
-            // Jenkins
-            if (fileName.startsWith("jenkinsfile")) {
-                return true;
-            }
-            
-            // Azure Pipelines
-            if (fileName.equals("azure-pipelines.yml") || fileName.equals("azure-pipelines.yaml")) {
-                return true;
-            }
-            
-            // Bitbucket Pipelines
-            if (fileName.equals(".bitbucket-pipelines.yml")) {
-                return true;
-            }
-            
-            // AWS CodeBuild
-            if (fileName.equals("buildspec.yml")) {
-                return true;
-            }
-            
-            // Google Cloud Build
-            if (fileName.equals("cloudbuild.yaml")) {
-                return true;
-            }
-            
-            // Kubernetes manifests
-            if ((fileName.endsWith(".yaml") || fileName.endsWith(".yml")) && 
-                parentPath.contains("k8s")) {
-                return true;
-            }
-            
-            // Shell scripts
-            if (fileName.endsWith(".sh") || fileName.endsWith(".bat") || fileName.endsWith(".ps1")) {
-                return true;
-            }
-            
-            return false;
-        });
+    private List<Path> discoverDockerCicdFiles(ProjectInventory inventory) {
+        return inventory.findFiles(path -> selectsFile(inventory.projectRoot(), path));
+    }
+
+    @Override
+    protected boolean selectsFile(Path projectRoot, Path path) {
+        String fileName = path.getFileName().toString().toLowerCase();
+        String parentPath = path.getParent().toString().toLowerCase();
+        
+        // Docker files
+        if (fileName.equals("dockerfile") || fileName.endsWith(".dockerfile")) {
+            return true;
+        }
+        
+        // Docker Compose files
+        if (fileName.startsWith("docker-compose") && (fileName.endsWith(".yml") || fileName.endsWith(".yaml"))) {
+            return true;
+        }
+        
+        // GitHub Actions
+        if (parentPath.contains(".github/workflows") && (fileName.endsWith(".yml") || fileName.endsWith(".yaml"))) {
+            return true;
+        }
+        
+        // GitLab CI
+        if (fileName.equals(".gitlab-ci.yml")) {
+            return true;
+        }
+        
+        // Jenkins
+        if (fileName.startsWith("jenkinsfile")) {
+            return true;
+        }
+        
+        // Azure Pipelines
+        if (fileName.equals("azure-pipelines.yml") || fileName.equals("azure-pipelines.yaml")) {
+            return true;
+        }
+        
+        // Bitbucket Pipelines
+        if (fileName.equals(".bitbucket-pipelines.yml")) {
+            return true;
+        }
+        
+        // AWS CodeBuild
+        if (fileName.equals("buildspec.yml")) {
+            return true;
+        }
+        
+        // Google Cloud Build
+        if (fileName.equals("cloudbuild.yaml")) {
+            return true;
+        }
+        
+        // Kubernetes manifests
+        if ((fileName.endsWith(".yaml") || fileName.endsWith(".yml")) && 
+            parentPath.contains("k8s")) {
+            return true;
+        }
+        
+        // Shell scripts
+        if (fileName.endsWith(".sh") || fileName.endsWith(".bat") || fileName.endsWith(".ps1")) {
+            return true;
+        }
+        
+        return false;
     }
 
     private DockerCicdUsage.DockerCicdFileType determineFileType(String fileName, String parentPath) {
@@ -0,0 +1,326 @@
+package adrianmikula.jakartamigration.advancedscanning.service.impl;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.DependencyTreeResult;
+import adrianmikula.jakartamigration.advancedscanning.service.DependencyTreeCommandExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.ResultHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves Gradle dependency trees through the Gradle Tooling API instead of running
+ * {@code gradle dependencies --no-daemon} for every build file.
+ * <p>
+ * One connection is kept per build root, so the daemon stays warm between scans. The first request
+ * for a build runs a single task across all of its projects, which prints the resolved graph of each
+ * requested configuration, and every other build file of the same build is answered from that
+ * result. Maven requests, and Gradle builds the Tooling API cannot handle, go to the fallback
+ * executor.
+ * <p>
+ * A result is reused until one of the build's inputs changes: a build or settings script,
+ * {@code gradle.properties}, a version catalog under {@code gradle/}, or a file under
+ * {@code buildSrc}. Failed and timed-out resolutions are not kept.
+ */
+@Slf4j
+public class GradleToolingApiDependencyTreeExecutor implements DependencyTreeCommandExecutor {
+
+    private static final int MAX_DEPENDENCIES = 10000;
+    private static final String TASK_NAME = "jakartaMigrationDependencyTree";
+    private static final String PROJECT_RECORD = "JMPROJECT";
+    private static final String DEPENDENCY_RECORD = "JMDEP";
+    private static final Set<String> BUILD_SCRIPTS = Set.of("build.gradle", "build.gradle.kts", "settings.gradle",
+            "settings.gradle.kts", "gradle.properties");
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", "out", "node_modules", "target");
+
+    // Prints one record per project and one per resolved dependency edge, walking each graph once
+    private static final String INIT_SCRIPT = """
+            allprojects {
+                def requested = (findProperty('jakartaMigration.configurations') ?: '').tokenize(',')
+                def dir = projectDir
+                tasks.register('%s') {
+                    doLast {
+                        println "%s\\t${dir}"
+                        requested.each { name ->
+                            def configuration = project.configurations.findByName(name)
+                            if (configuration == null || !configuration.canBeResolved) return
+                            def seen = new HashSet()
+                            def walk
+                            walk = { component, int depth, String parentKey ->
+                                component.dependencies.each { dependency ->
+                                    if (!(dependency instanceof org.gradle.api.artifacts.result.ResolvedDependencyResult)) return
+                                    def module = dependency.selected.moduleVersion
+                                    if (module == null) return
+                                    def key = "${module.group}:${module.name}"
+                                    println "%s\\t${dir}\\t${name}\\t${depth}\\t${module.group}\\t${module.name}\\t${module.version}\\t${parentKey ?: ''}"
+                                    if (seen.add(key)) walk(dependency.selected, depth + 1, key)
+                                }
+                            }
+                            walk(configuration.incoming.resolutionResult.root, 0, null)
+                        }
+                    }
+                }
+            }
+            """.formatted(TASK_NAME, PROJECT_RECORD, DEPENDENCY_RECORD);
+
+    private final DependencyTreeCommandExecutor fallback;
+    private final Map<Path, ProjectConnection> connections = new ConcurrentHashMap<>();
+    private final Map<String, BuildSnapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile Path initScript;
+
+    public GradleToolingApiDependencyTreeExecutor(DependencyTreeCommandExecutor fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public CompletableFuture<DependencyTreeResult> executeMavenDependencyTreeAsync(Path pomXmlPath, Set<String> scopes) {
+        return fallback.executeMavenDependencyTreeAsync(pomXmlPath, scopes);
+    }
+
+    @Override
+    public CompletableFuture<DependencyTreeResult> executeGradleDependenciesAsync(Path buildFilePath, Set<String> scopes) {
+        Path projectDir = projectPath(buildFilePath).getParent();
+        if (projectDir == null) return fallback.executeGradleDependenciesAsync(buildFilePath, scopes);
+
+        return buildTrees(buildRoot(projectDir), scopes)
+                .thenApply(trees -> trees.get(projectDir))
+                .exceptionally(e -> {
+                    log.debug("Tooling API resolution failed for {}: {}", buildFilePath, e.getMessage());
+                    return null;
+                })
+                .thenCompose(result -> result != null
+                        ? CompletableFuture.completedFuture(result)
+                        : fallback.executeGradleDependenciesAsync(buildFilePath, scopes));
+    }
+
+    // Shares one resolution per build root until a build input changes
+    private CompletableFuture<Map<Path, DependencyTreeResult>> buildTrees(Path root, Set<String> scopes) {
+        String key = root + "|" + String.join(",", new TreeSet<>(scopes));
+        BuildSnapshot current = snapshots.compute(key, (k, snapshot) -> {
+            if (snapshot != null && !snapshot.trees().isCompletedExceptionally() && isUnchanged(snapshot.inputs())) {
+                return snapshot;
+            }
+            Map<Path, Long> inputs = buildInputs(root);
+            return new BuildSnapshot(inputs, runBuild(root, scopes));
+        });
+        current.trees().whenComplete((trees, e) -> {
+            if (e != null) {
+                snapshots.remove(key, current);
+            }
+        });
+        return current.trees();
+    }
+
+    private CompletableFuture<Map<Path, DependencyTreeResult>> runBuild(Path root, Set<String> scopes) {
+        CompletableFuture<Void> build = new CompletableFuture<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CancellationTokenSource cancellation = GradleConnector.newCancellationTokenSource();
+        try {
+            log.debug("Resolving Gradle dependencies of all projects in {} through the Tooling API", root);
+            connection(root).newBuild()
+                    .forTasks(TASK_NAME)
+                    .withArguments("--init-script", initScript().toString(), "--quiet",
+                            "-PjakartaMigration.configurations=" + String.join(",", new TreeSet<>(scopes)))
+                    .setStandardOutput(output)
+                    .withCancellationToken(cancellation.token())
+                    .run(new ResultHandler<Void>() {
+                        @Override
+                        public void onComplete(Void result) {
+                            build.complete(null);
+                        }
+
+                        @Override
+                        public void onFailure(GradleConnectionException failure) {
+                            build.completeExceptionally(failure);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+        }
+        return build.orTimeout(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((result, e) -> {
+                    if (e != null) cancellation.cancel();
+                })
+                .thenApply(ignored -> parseTrees(output.toString(StandardCharsets.UTF_8)));
+    }
+
+    private ProjectConnection connection(Path root) {
+        return connections.computeIfAbsent(root, dir ->
+                GradleConnector.newConnector().forProjectDirectory(dir.toFile()).connect());
+    }
+
+    private synchronized Path initScript() {
+        if (initScript == null) {
+            try {
+                Path script = Files.createTempFile("jakarta-migration-dependencies", ".gradle");
+                Files.writeString(script, INIT_SCRIPT);
+                script.toFile().deleteOnExit();
+                initScript = script;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write Gradle init script", e);
+            }
+        }
+        return initScript;
+    }
+
+    /**
+     * Parses the records printed by the init script into one tree per project directory.
+     * Projects without dependencies map to an empty result.
+     */
+    static Map<Path, DependencyTreeResult> parseTrees(String output) {
+        Map<Path, List<DependencyTreeResult.DependencyNode>> nodes = new HashMap<>();
+        Map<Path, Set<String>> scopes = new HashMap<>();
+        for (String line : output.split("\\R")) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length == 2 && PROJECT_RECORD.equals(fields[0])) {
+                nodes.computeIfAbsent(projectPath(Path.of(fields[1])), p -> new ArrayList<>());
+            } else if (fields.length == 8 && DEPENDENCY_RECORD.equals(fields[0])) {
+                Path project = projectPath(Path.of(fields[1]));
+                List<DependencyTreeResult.DependencyNode> deps = nodes.computeIfAbsent(project, p -> new ArrayList<>());
+                if (deps.size() >= MAX_DEPENDENCIES) continue;
+                int depth = Integer.parseInt(fields[3]);
+                deps.add(new DependencyTreeResult.DependencyNode(fields[4], fields[5], fields[6], fields[2], depth,
+                        depth > 0, fields[7].isEmpty() ? null : fields[7]));
+                scopes.computeIfAbsent(project, p -> new LinkedHashSet<>()).add(fields[2]);
+            }
+        }
+        Map<Path, DependencyTreeResult> trees = new HashMap<>();
+        nodes.forEach((project, deps) -> trees.put(project, deps.isEmpty()
+                ? DependencyTreeResult.empty()
+                : new DependencyTreeResult(deps, scopes.get(project))));
+        return trees;
+    }
+
+    /**
+     * Finds the root of the build containing a project: the nearest directory with a settings file,
+     * or the project directory itself.
+     */
+    static Path buildRoot(Path projectDir) {
+        Path currentDir = projectDir;
+        while (currentDir != null && currentDir.getNameCount() >= 1) {
+            if (Files.exists(currentDir.resolve("settings.gradle")) || Files.exists(currentDir.resolve("settings.gradle.kts"))) {
+                return currentDir;
+            }
+            currentDir = currentDir.getParent();
+        }
+        return projectDir;
+    }
+
+    // Gradle reports canonical project directories, so compare real paths where they exist
+    private static Path projectPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Records the modification times of the inputs of a build: build and settings scripts,
+     * {@code gradle.properties} and version catalogs anywhere in the build, every file under
+     * {@code buildSrc}, and the directories holding them, so that added or deleted inputs are noticed.
+     */
+    static Map<Path, Long> buildInputs(Path root) {
+        Map<Path, Long> inputs = new HashMap<>();
+        Path buildSrc = root.resolve("buildSrc");
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                    if (!dir.equals(root) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (dir.startsWith(buildSrc)) {
+                        inputs.put(dir, attributes.lastModifiedTime().toMillis());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (file.startsWith(buildSrc) || isBuildScript(file)) {
+                        inputs.put(file, attributes.lastModifiedTime().toMillis());
+                        inputs.computeIfAbsent(file.getParent(), dir -> modifiedTime(dir));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Cannot list build inputs of {}: {}", root, e.getMessage());
+        }
+        inputs.computeIfAbsent(root, dir -> modifiedTime(dir));
+        return inputs;
+    }
+
+    private static boolean isBuildScript(Path file) {
+        String name = file.getFileName().toString();
+        if (BUILD_SCRIPTS.contains(name)) {
+            return true;
+        }
+        Path parent = file.getParent();
+        return name.endsWith(".versions.toml") && parent != null && parent.getFileName() != null
+                && "gradle".equals(parent.getFileName().toString());
+    }
+
+    private static boolean isUnchanged(Map<Path, Long> inputs) {
+        for (Map.Entry<Path, Long> input : inputs.entrySet()) {
+            if (modifiedTime(input.getKey()) != input.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Modification time in millis, or -1 if the file does not exist or cannot be read
+    private static long modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        connections.values().forEach(connection -> {
+            try {
+                connection.close();
+            } catch (RuntimeException e) {
+                log.debug("Failed to close Gradle connection: {}", e.getMessage());
+            }
+        });
+        connections.clear();
+        snapshots.clear();
+        fallback.shutdown();
+    }
+
+    private record BuildSnapshot(Map<Path, Long> inputs, CompletableFuture<Map<Path, DependencyTreeResult>> trees) {
+    }
+}
@@ -0,0 +1,144 @@
+package adrianmikula.jakartamigration.advancedscanning.service.impl;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.DependencyTreeResult;
+import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyGraphException;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver.EffectivePom;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver.PomDependency;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves Maven dependency trees in-process from effective POMs, instead of running
+ * {@code mvn dependency:tree}.
+ * <p>
+ * Dependencies are walked breadth-first so that the nearest declaration of an artifact wins, as in
+ * Maven's mediation. The project's dependency management overrides transitive versions, and
+ * optional dependencies, exclusions and scope transitivity follow Maven's rules. A tree is only
+ * returned when it is complete: if a parent, BOM or dependency POM is missing from the reactor and
+ * the local repository, or a version is unresolved, the result is empty and the caller should
+ * fall back to running Maven.
+ */
+@Slf4j
+public class InProcessMavenDependencyTreeResolver {
+
+    private static final int MAX_DEPENDENCIES = 10000;
+
+    private final EffectivePomResolver pomResolver;
+
+    public InProcessMavenDependencyTreeResolver(EffectivePomResolver pomResolver) {
+        this.pomResolver = pomResolver;
+    }
+
+    /**
+     * Registers the pom.xml files of a reactor so that dependencies on sibling modules resolve.
+     */
+    public void registerReactor(Collection<Path> pomFiles) {
+        pomResolver.registerReactor(pomFiles);
+    }
+
+    /**
+     * Resolves the dependency tree of a pom.xml file.
+     *
+     * @param pomXmlPath Path to the pom.xml
+     * @param scopes     Scopes of the direct dependencies to include
+     * @return The tree, with direct dependencies at depth 0, or empty if it cannot be resolved
+     *         completely in-process
+     */
+    public Optional<DependencyTreeResult> resolve(Path pomXmlPath, Set<String> scopes) {
+        EffectivePom project;
+        try {
+            project = pomResolver.resolve(pomXmlPath);
+        } catch (DependencyGraphException e) {
+            log.debug("Cannot resolve {} in-process: {}", pomXmlPath, e.getMessage());
+            return Optional.empty();
+        }
+        if (!project.isComplete()) {
+            log.debug("Effective POM of {} is incomplete: {}", pomXmlPath, project.unresolved());
+            return Optional.empty();
+        }
+
+        List<DependencyTreeResult.DependencyNode> nodes = new ArrayList<>();
+        Set<String> resolvedScopes = new LinkedHashSet<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(project.groupId() + ":" + project.artifactId());
+        ArrayDeque<Pending> queue = new ArrayDeque<>();
+        for (PomDependency dependency : project.dependencies()) {
+            if (scopes.contains(dependency.scope())) {
+                queue.add(new Pending(dependency, dependency.scope(), 0, null, dependency.exclusions()));
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Pending pending = queue.poll();
+            PomDependency dependency = pending.dependency();
+            if (!seen.add(dependency.key())) {
+                continue;
+            }
+            String version = dependency.version();
+            if (version == null || version.contains("${")) {
+                log.debug("Unresolved version of {} in {}", dependency.key(), pomXmlPath);
+                return Optional.empty();
+            }
+            if (nodes.size() >= MAX_DEPENDENCIES) {
+                log.warn("Max dependency limit reached");
+                break;
+            }
+            nodes.add(new DependencyTreeResult.DependencyNode(dependency.groupId(), dependency.artifactId(), version,
+                    pending.scope(), pending.depth(), pending.depth() > 0, pending.parentArtifactKey()));
+            resolvedScopes.add(pending.scope());
+
+            Optional<EffectivePom> pom = pomResolver.resolve(dependency.groupId(), dependency.artifactId(), version, pomXmlPath);
+            if (pom.isEmpty() || !pom.get().isComplete()) {
+                log.debug("POM of {}:{} is not available locally", dependency.key(), version);
+                return Optional.empty();
+            }
+            for (PomDependency child : pom.get().dependencies()) {
+                String scope = transitiveScope(pending.scope(), child.scope());
+                if (scope == null || child.optional() || isExcluded(child, pending.exclusions())) {
+                    continue;
+                }
+                PomDependency managed = project.dependencyManagement().get(child.key());
+                if (managed != null && managed.version() != null) {
+                    child = child.withVersion(managed.version());
+                }
+                Set<String> exclusions = pending.exclusions();
+                if (!child.exclusions().isEmpty()) {
+                    exclusions = new HashSet<>(exclusions);
+                    exclusions.addAll(child.exclusions());
+                }
+                queue.add(new Pending(child, scope, pending.depth() + 1, dependency.key(), exclusions));
+            }
+        }
+        return Optional.of(new DependencyTreeResult(nodes, resolvedScopes));
+    }
+
+    // Scope of a transitive dependency, or null if it is not inherited
+    private static String transitiveScope(String parentScope, String scope) {
+        return switch (scope) {
+            case "compile" -> parentScope;
+            case "runtime" -> "compile".equals(parentScope) ? "runtime" : parentScope;
+            default -> null;
+        };
+    }
+
+    private static boolean isExcluded(PomDependency dependency, Set<String> exclusions) {
+        return !exclusions.isEmpty() && (exclusions.contains(dependency.key())
+                || exclusions.contains(dependency.groupId() + ":*")
+                || exclusions.contains("*:" + dependency.artifactId())
+                || exclusions.contains("*:*"));
+    }
+
+    private record Pending(PomDependency dependency, String scope, int depth, String parentArtifactKey,
+                           Set<String> exclusions) {
+    }
+}
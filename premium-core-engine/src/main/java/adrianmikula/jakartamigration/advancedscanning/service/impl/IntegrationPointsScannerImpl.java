@@ -15,6 +15,7 @@
 import java.util.stream.Stream;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class IntegrationPointsScannerImpl implements IntegrationPointsScanner {
@@ -40,11 +41,17 @@ public class IntegrationPointsScannerImpl implements IntegrationPointsScanner {
 
     @Override
     public IntegrationPointsProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public IntegrationPointsProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting integration points scan for project: {}", projectPath);
         List<IntegrationPointUsage> usages = new ArrayList<>();
 
         try {
-            List<Path> javaFiles = fileScanner.findFiles(projectPath, List.of(".java"));
+            List<Path> javaFiles = inventory.files(ProjectInventory.Category.JAVA);
 
             for (Path filePath : javaFiles) {
                 try {
@@ -4,22 +4,23 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.JmsMessagingScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 
 @Slf4j
 public class JmsMessagingScannerImpl implements JmsMessagingScanner {
@@ -128,17 +129,14 @@ public class JmsMessagingScannerImpl implements JmsMessagingScanner {
     private record JmsApiInfo(String jakartaEquivalent, String category) {
     }
 
-    private final ThreadLocal<JavaParser> javaParserThreadLocal = ThreadLocal
-            .withInitial(() -> JavaParser.fromJavaVersion().build());
-
     private final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
 
-    // Parallelism configuration - can be overridden via system property
-    private static final int MAX_PARALLELISM = Integer.parseInt(
-            System.getProperty("advanced.scan.parallelism", "4"));
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of("javax.jms");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
 
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+    // Heap budget that files are admitted against, shared by all scanners in the process
+    private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
 
     // Pattern for javax.jms imports
     private static final Pattern JMS_IMPORT_PATTERN = Pattern.compile(
@@ -151,55 +149,29 @@ public JmsMessagingProjectScanResult scanProject(Path projectPath) {
             return JmsMessagingProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public JmsMessagingProjectScanResult scanProject(ProjectInventory inventory) {
         try {
-            List<Path> javaFiles = discoverJavaFiles(projectPath);
+            List<Path> javaFiles = discoverJavaFiles(inventory);
             if (javaFiles.isEmpty())
                 return JmsMessagingProjectScanResult.empty();
 
-            // Check available memory and determine parallelism
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<JmsMessagingScanResult> results;
 
-            // Use sequential processing if low on memory, otherwise use bounded parallelism
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), using sequential processing for JMS Messaging scan",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(javaFiles, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for JMS Messaging, falling back to sequential: {}", e.getMessage());
                 results = javaFiles.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                // Use bounded parallelism with custom ForkJoinPool
-                int parallelism = Math.min(MAX_PARALLELISM, javaFiles.size());
-                log.debug("Using parallel processing with parallelism={} for JMS Messaging scan", parallelism);
-
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            javaFiles.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for JMS Messaging, falling back to sequential: {}", e.getMessage());
-                    results = javaFiles.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            // Cleanup ThreadLocal to prevent memory leaks
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
 
             return new JmsMessagingProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
@@ -215,44 +187,19 @@ public JmsMessagingProjectScanResult scanProject(List<Path> filesToScan) {
             return JmsMessagingProjectScanResult.empty();
         }
         try {
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<JmsMessagingScanResult> results;
 
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), sequential processing for JMS Messaging",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(filesToScan, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for JMS Messaging, falling back to sequential", e);
                 results = filesToScan.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            filesToScan.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for JMS Messaging, falling back to sequential", e);
-                    results = filesToScan.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
             return new JmsMessagingProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
         } catch (Exception e) {
@@ -268,62 +215,61 @@ public JmsMessagingScanResult scanFile(Path filePath) {
         }
 
         try {
-            String content = Files.readString(filePath);
-            int lineCount = content.split("\n").length;
+            byte[] bytes = Files.readAllBytes(filePath);
 
-            // Quick check using regex first for performance
-            Matcher matcher = JMS_IMPORT_PATTERN.matcher(content);
-            if (!matcher.find()) {
+            // Byte-level prefilter first, so most files are never decoded or matched
+            if (!PREFILTER.matchesAny(bytes)) {
                 return JmsMessagingScanResult.empty(filePath);
             }
+            String content = ParsedSourceFile.decode(bytes);
 
-            // Reset matcher and find all
-            matcher.reset();
-            List<String> foundImports = new ArrayList<>();
-            while (matcher.find()) {
-                String importMatch = matcher.group();
-                String className = importMatch.replace("import ", "").replace(";", "").trim();
-                foundImports.add(className);
-            }
-
-            if (foundImports.isEmpty()) {
+            // Quick check using regex first for performance
+            if (!JMS_IMPORT_PATTERN.matcher(content).find()) {
                 return JmsMessagingScanResult.empty(filePath);
             }
 
             // Use OpenRewrite for detailed analysis
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
+            return scanParsedFile(ParsedSourceFile.parse(filePath, content, ScanExecutor.shared()));
+        } catch (Exception e) {
+            return JmsMessagingScanResult.empty(filePath);
+        }
+    }
 
-            List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
-            if (sourceFiles.isEmpty())
-                return JmsMessagingScanResult.empty(filePath);
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
 
-            List<JmsMessagingUsage> usages = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit) {
-                    CompilationUnit cu = (CompilationUnit) sourceFile;
-                    usages.addAll(extractJmsApis(cu, content, foundImports));
-                }
-            }
+    @Override
+    public JmsMessagingScanResult scanParsedFile(ParsedSourceFile parsedFile) {
+        Matcher matcher = JMS_IMPORT_PATTERN.matcher(parsedFile.content());
+        List<String> foundImports = new ArrayList<>();
+        while (matcher.find()) {
+            String importMatch = matcher.group();
+            String className = importMatch.replace("import ", "").replace(";", "").trim();
+            foundImports.add(className);
+        }
 
-            return new JmsMessagingScanResult(filePath, usages, lineCount);
-        } catch (Exception e) {
-            return JmsMessagingScanResult.empty(filePath);
+        if (foundImports.isEmpty() || !parsedFile.isParsed()) {
+            return new JmsMessagingScanResult(parsedFile.filePath(), List.of(), parsedFile.lineCount());
         }
+
+        return new JmsMessagingScanResult(parsedFile.filePath(), extractJmsApis(parsedFile, foundImports),
+                parsedFile.lineCount());
     }
 
-    private List<Path> discoverJavaFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, List.of(".java"));
+    private List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        return inventory.files(ProjectInventory.Category.JAVA);
     }
 
-    private List<JmsMessagingUsage> extractJmsApis(CompilationUnit cu, String content, List<String> foundImports) {
+    private List<JmsMessagingUsage> extractJmsApis(ParsedSourceFile parsedFile, List<String> foundImports) {
         List<JmsMessagingUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
+        LineIndex lineIndex = parsedFile.lineIndex();
 
         for (String importName : foundImports) {
             JmsApiInfo info = JMS_APIS.get(importName);
             if (info != null) {
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = lineIndex.findLine(importName);
                 usages.add(
                         new JmsMessagingUsage(importName, null, info.jakartaEquivalent(), lineNumber, info.category()));
             }
@@ -332,32 +278,18 @@ private List<JmsMessagingUsage> extractJmsApis(CompilationUnit cu, String conten
         return usages;
     }
 
-    private int findLineNumber(String[] lines, String searchText) {
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].contains(searchText))
-                return i + 1;
-        }
-        return 1;
-    }
-
     /**
      * Scans a single file with tracking for parallel processing.
      */
     private JmsMessagingScanResult scanFileWithTracking(Path filePath, AtomicInteger totalScanned) {
         totalScanned.incrementAndGet();
-        JmsMessagingScanResult result = scanFile(filePath);
-        return result.hasJavaxUsage() ? result : null;
-    }
-
-    /**
-     * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-     * Should be called after project scan completes.
-     */
-    private void cleanupThreadLocal() {
-        try {
-            javaParserThreadLocal.remove();
-        } catch (Exception e) {
-            log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
+        try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+            JmsMessagingScanResult result = scanFile(filePath);
+            return result.hasJavaxUsage() ? result : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+            return null;
         }
     }
 }
@@ -4,24 +4,25 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.service.BaseScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import adrianmikula.jakartamigration.advancedscanning.service.JpaAnnotationScanner;
+import adrianmikula.jakartamigration.util.LineIndex;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of JpaAnnotationScanner using OpenRewrite JavaParser.
@@ -30,6 +31,10 @@
 @Slf4j
 public class JpaAnnotationScannerImpl extends BaseScanner<JpaAnnotationUsage> implements JpaAnnotationScanner {
 
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of("javax.persistence.");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
+
     // Map of javax.persistence annotations to their Jakarta equivalents
     private static final Map<String, String> JPA_ANNOTATION_MAPPINGS = new HashMap<>();
 
@@ -130,9 +135,6 @@ public class JpaAnnotationScannerImpl extends BaseScanner<JpaAnnotationUsage> im
     private static final int MAX_PARALLELISM = Integer.parseInt(
             System.getProperty("advanced.scan.parallelism", "4"));
 
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
-
     @Override
     public ProjectScanResult<FileScanResult<JpaAnnotationUsage>> scanProject(Path projectPath) {
         return scanProjectGeneric(projectPath, "JPA");
@@ -143,6 +145,11 @@ public ProjectScanResult<FileScanResult<JpaAnnotationUsage>> scanProject(List<Pa
         return scanProjectGeneric(null, filesToScan, "JPA");
     }
 
+    @Override
+    public ProjectScanResult<FileScanResult<JpaAnnotationUsage>> scanProject(ProjectInventory inventory) {
+        return scanProjectGeneric(inventory, "JPA");
+    }
+
     @Override
     public FileScanResult<JpaAnnotationUsage> scanFile(Path filePath) {
         Path validatedPath = validateFilePath(filePath);
@@ -151,43 +158,38 @@ public FileScanResult<JpaAnnotationUsage> scanFile(Path filePath) {
         }
 
         try {
-            String content = Files.readString(validatedPath);
-            int lineCount = countLines(content);
-
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
-
-            List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
-
-            if (sourceFiles.isEmpty()) {
-                return FileScanResult.empty(filePath);
-            }
-
-            List<JpaAnnotationUsage> annotations = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit cu) {
-                    annotations.addAll(extractJpaAnnotations(cu, content));
-                }
-            }
-
-            return new FileScanResult<>(filePath, annotations, lineCount);
-
+            return scanParsedFile(parseSourceFile(validatedPath, PREFILTER));
         } catch (Exception e) {
             log.warn("Error scanning file for JPA annotations: {}", filePath, e);
             return FileScanResult.empty(filePath);
         }
     }
 
-    private List<JpaAnnotationUsage> extractJpaAnnotations(CompilationUnit cu, String content) {
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
+
+    @Override
+    public FileScanResult<JpaAnnotationUsage> scanParsedFile(ParsedSourceFile parsedFile) {
+        if (!parsedFile.isParsed()) {
+            return new FileScanResult<>(parsedFile.filePath(), List.of(), parsedFile.lineCount());
+        }
+        return new FileScanResult<>(parsedFile.filePath(), extractJpaAnnotations(parsedFile), parsedFile.lineCount());
+    }
+
+    private List<JpaAnnotationUsage> extractJpaAnnotations(ParsedSourceFile parsedFile) {
+        CompilationUnit cu = parsedFile.compilationUnit();
+        String content = parsedFile.content();
+        LineIndex lineIndex = parsedFile.lineIndex();
         List<JpaAnnotationUsage> annotations = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Check imports
         for (J.Import imp : cu.getImports()) {
             String importName = imp.getQualid().toString();
             if (importName.startsWith("javax.persistence.")) {
                 String jakartaEquivalent = JPA_ANNOTATION_MAPPINGS.get(importName);
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = findLineNumber(lineIndex, importName);
                 annotations.add(new JpaAnnotationUsage(
                         importName,
                         jakartaEquivalent != null ? jakartaEquivalent : importName.replace("javax.", "jakarta."),
@@ -207,7 +209,7 @@ private List<JpaAnnotationUsage> extractJpaAnnotations(CompilationUnit cu, Strin
                 continue;
             }
             String jakartaEquivalent = JPA_ANNOTATION_MAPPINGS.get(annotationName);
-            int lineNumber = findLineNumber(lines, matcher.group(0));
+            int lineNumber = lineIndex.lineAt(matcher.start());
             annotations.add(new JpaAnnotationUsage(
                     annotationName,
                     jakartaEquivalent != null ? jakartaEquivalent : annotationName.replace("javax.", "jakarta."),
@@ -227,16 +229,4 @@ private FileScanResult<JpaAnnotationUsage> scanFileWithTracking(Path filePath, A
         FileScanResult<JpaAnnotationUsage> result = scanFile(filePath);
         return result.hasIssues() ? result : null;
     }
-
-    /**
-     * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-     * Should be called after project scan completes.
-     */
-    protected void cleanupThreadLocal() {
-        try {
-            javaParserThreadLocal.remove();
-        } catch (Exception e) {
-            log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
-        }
-    }
 }
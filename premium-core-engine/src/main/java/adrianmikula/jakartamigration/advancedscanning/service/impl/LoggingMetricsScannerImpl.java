@@ -16,6 +16,7 @@
 import java.util.stream.Stream;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 /**
  * Scanner implementation for detecting javax.logging and JMX API usage.
@@ -55,12 +56,18 @@ public class LoggingMetricsScannerImpl implements LoggingMetricsScanner {
 
     @Override
     public LoggingMetricsProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public LoggingMetricsProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting logging/metrics scan for project: {}", projectPath);
 
         List<LoggingMetricsScanResult> fileResults = new ArrayList<>();
 
         try {
-            List<Path> filesToScan = fileScanner.findFiles(projectPath, List.of(".java", ".xml", ".properties"));
+            List<Path> filesToScan = inventory.findFiles(List.of(".java", ".xml", ".properties"));
 
             log.info("Found {} files to scan for logging/metrics", filesToScan.size());
 
@@ -15,6 +15,7 @@
 import java.util.regex.Pattern;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 /**
  * Scanner implementation for detecting reflection usage of javax packages.
@@ -60,12 +61,18 @@ public class ReflectionUsageScannerImpl implements ReflectionUsageScanner {
 
     @Override
     public ReflectionUsageProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public ReflectionUsageProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting reflection usage scan for project: {}", projectPath);
 
         List<ReflectionUsageScanResult> fileResults = new ArrayList<>();
 
         try {
-            List<Path> filesToScan = fileScanner.findFiles(projectPath, List.of(".java", ".kt", ".scala"));
+            List<Path> filesToScan = inventory.findFiles(List.of(".java", ".kt", ".scala"));
 
             log.info("Found {} files to scan for reflection usage", filesToScan.size());
 
@@ -4,22 +4,23 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.SecurityApiScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanExecutor;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanMemoryBudget;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import adrianmikula.jakartamigration.util.LineIndex;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 
 @Slf4j
 public class SecurityApiScannerImpl implements SecurityApiScanner {
@@ -87,17 +88,14 @@ public class SecurityApiScannerImpl implements SecurityApiScanner {
     private record SecurityApiInfo(String jakartaEquivalent, String category) {
     }
 
-    private final ThreadLocal<JavaParser> javaParserThreadLocal = ThreadLocal
-            .withInitial(() -> JavaParser.fromJavaVersion().build());
-
     private final ProjectFileSystemScanner fileScanner = new ProjectFileSystemScanner();
 
-    // Parallelism configuration - can be overridden via system property
-    private static final int MAX_PARALLELISM = Integer.parseInt(
-            System.getProperty("advanced.scan.parallelism", "4"));
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of("javax.security");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
 
-    // Memory threshold for sequential fallback (100MB)
-    private static final long MEMORY_THRESHOLD_BYTES = 100 * 1024 * 1024;
+    // Heap budget that files are admitted against, shared by all scanners in the process
+    private static final ScanMemoryBudget MEMORY_BUDGET = ScanMemoryBudget.shared();
 
     // Pattern for javax.security imports
     private static final Pattern SECURITY_IMPORT_PATTERN = Pattern.compile(
@@ -110,55 +108,29 @@ public SecurityApiProjectScanResult scanProject(Path projectPath) {
             return SecurityApiProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public SecurityApiProjectScanResult scanProject(ProjectInventory inventory) {
         try {
-            List<Path> javaFiles = discoverJavaFiles(projectPath);
+            List<Path> javaFiles = discoverJavaFiles(inventory);
             if (javaFiles.isEmpty())
                 return SecurityApiProjectScanResult.empty();
 
-            // Check available memory and determine parallelism
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<SecurityApiScanResult> results;
 
-            // Use sequential processing if low on memory, otherwise use bounded parallelism
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), using sequential processing for Security API scan",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(javaFiles, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Security API, falling back to sequential: {}", e.getMessage());
                 results = javaFiles.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                // Use bounded parallelism with custom ForkJoinPool
-                int parallelism = Math.min(MAX_PARALLELISM, javaFiles.size());
-                log.debug("Using parallel processing with parallelism={} for Security API scan", parallelism);
-
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            javaFiles.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Security API, falling back to sequential: {}", e.getMessage());
-                    results = javaFiles.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            // Cleanup ThreadLocal to prevent memory leaks
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
 
             return new SecurityApiProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
@@ -174,45 +146,19 @@ public SecurityApiProjectScanResult scanProject(List<Path> filesToScan) {
             return SecurityApiProjectScanResult.empty();
         }
         try {
-            // Check available memory
-            Runtime runtime = Runtime.getRuntime();
-            long maxMemory = runtime.maxMemory();
-            long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-            long availableMemory = maxMemory - usedMemory;
-
             AtomicInteger totalScanned = new AtomicInteger(0);
             List<SecurityApiScanResult> results;
 
-            if (availableMemory < MEMORY_THRESHOLD_BYTES) {
-                log.info("Low memory detected ({} MB available), sequential processing for Security API",
-                        availableMemory / (1024 * 1024));
+            try {
+                results = ScanExecutor.shared().map(filesToScan, file -> scanFileWithTracking(file, totalScanned));
+            } catch (Exception e) {
+                log.warn("Parallel scan failed for Security API, falling back to sequential", e);
                 results = filesToScan.stream()
                         .map(file -> scanFileWithTracking(file, totalScanned))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
-            } else {
-                int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
-                ForkJoinPool customPool = new ForkJoinPool(parallelism);
-                try {
-                    results = customPool.submit(() ->
-                            filesToScan.parallelStream()
-                                    .map(file -> scanFileWithTracking(file, totalScanned))
-                                    .filter(Objects::nonNull)
-                                    .collect(Collectors.toList())
-                    ).get();
-                } catch (Exception e) {
-                    log.warn("Parallel scan failed for Security API, falling back to sequential", e);
-                    results = filesToScan.stream()
-                            .map(file -> scanFileWithTracking(file, totalScanned))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
-                } finally {
-                    customPool.shutdown();
-                }
             }
 
-            cleanupThreadLocal();
-
             int totalUsages = results.stream().mapToInt(r -> r.getUsages().size()).sum();
             return new SecurityApiProjectScanResult(results, totalScanned.get(), results.size(), totalUsages);
         } catch (Exception e) {
@@ -228,63 +174,62 @@ public SecurityApiScanResult scanFile(Path filePath) {
         }
 
         try {
-            String content = Files.readString(filePath);
-            int lineCount = content.split("\n").length;
+            byte[] bytes = Files.readAllBytes(filePath);
 
-            // Quick check using regex first for performance
-            Matcher matcher = SECURITY_IMPORT_PATTERN.matcher(content);
-            if (!matcher.find()) {
+            // Byte-level prefilter first, so most files are never decoded or matched
+            if (!PREFILTER.matchesAny(bytes)) {
                 return SecurityApiScanResult.empty(filePath);
             }
+            String content = ParsedSourceFile.decode(bytes);
 
-            // Reset matcher and find all
-            matcher.reset();
-            List<String> foundImports = new ArrayList<>();
-            while (matcher.find()) {
-                String importMatch = matcher.group();
-                // Extract the full class name
-                String className = importMatch.replace("import ", "").replace(";", "").trim();
-                foundImports.add(className);
-            }
-
-            if (foundImports.isEmpty()) {
+            // Quick check using regex first for performance
+            if (!SECURITY_IMPORT_PATTERN.matcher(content).find()) {
                 return SecurityApiScanResult.empty(filePath);
             }
 
             // Use OpenRewrite for detailed analysis
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
+            return scanParsedFile(ParsedSourceFile.parse(filePath, content, ScanExecutor.shared()));
+        } catch (Exception e) {
+            return SecurityApiScanResult.empty(filePath);
+        }
+    }
 
-            List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
-            if (sourceFiles.isEmpty())
-                return SecurityApiScanResult.empty(filePath);
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
 
-            List<SecurityApiUsage> usages = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit) {
-                    CompilationUnit cu = (CompilationUnit) sourceFile;
-                    usages.addAll(extractSecurityApis(cu, content, foundImports));
-                }
-            }
+    @Override
+    public SecurityApiScanResult scanParsedFile(ParsedSourceFile parsedFile) {
+        Matcher matcher = SECURITY_IMPORT_PATTERN.matcher(parsedFile.content());
+        List<String> foundImports = new ArrayList<>();
+        while (matcher.find()) {
+            String importMatch = matcher.group();
+            // Extract the full class name
+            String className = importMatch.replace("import ", "").replace(";", "").trim();
+            foundImports.add(className);
+        }
 
-            return new SecurityApiScanResult(filePath, usages, lineCount);
-        } catch (Exception e) {
-            return SecurityApiScanResult.empty(filePath);
+        if (foundImports.isEmpty() || !parsedFile.isParsed()) {
+            return new SecurityApiScanResult(parsedFile.filePath(), List.of(), parsedFile.lineCount());
         }
+
+        return new SecurityApiScanResult(parsedFile.filePath(), extractSecurityApis(parsedFile, foundImports),
+                parsedFile.lineCount());
     }
 
-    private List<Path> discoverJavaFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, List.of(".java"));
+    private List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        return inventory.files(ProjectInventory.Category.JAVA);
     }
 
-    private List<SecurityApiUsage> extractSecurityApis(CompilationUnit cu, String content, List<String> foundImports) {
+    private List<SecurityApiUsage> extractSecurityApis(ParsedSourceFile parsedFile, List<String> foundImports) {
         List<SecurityApiUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
+        LineIndex lineIndex = parsedFile.lineIndex();
 
         for (String importName : foundImports) {
             SecurityApiInfo info = SECURITY_APIS.get(importName);
             if (info != null) {
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = lineIndex.findLine(importName);
                 usages.add(
                         new SecurityApiUsage(importName, null, info.jakartaEquivalent(), lineNumber, info.category()));
             }
@@ -293,32 +238,18 @@ private List<SecurityApiUsage> extractSecurityApis(CompilationUnit cu, String co
         return usages;
     }
 
-    private int findLineNumber(String[] lines, String searchText) {
-        for (int i = 0; i < lines.length; i++) {
-            if (lines[i].contains(searchText))
-                return i + 1;
-        }
-        return 1;
-    }
-
     /**
      * Scans a single file with tracking for parallel processing.
      */
     private SecurityApiScanResult scanFileWithTracking(Path filePath, AtomicInteger totalScanned) {
         totalScanned.incrementAndGet();
-        SecurityApiScanResult result = scanFile(filePath);
-        return result.hasJavaxUsage() ? result : null;
-    }
-
-    /**
-     * Cleans up ThreadLocal JavaParser instances to prevent memory leaks.
-     * Should be called after project scan completes.
-     */
-    private void cleanupThreadLocal() {
-        try {
-            javaParserThreadLocal.remove();
-        } catch (Exception e) {
-            log.debug("Error cleaning up ThreadLocal: {}", e.getMessage());
+        try (ScanMemoryBudget.Permit permit = MEMORY_BUDGET.acquire(filePath)) {
+            SecurityApiScanResult result = scanFile(filePath);
+            return result.hasJavaxUsage() ? result : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted waiting for memory budget to scan {}", filePath);
+            return null;
         }
     }
 }
@@ -16,6 +16,7 @@
 import java.util.stream.Stream;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 /**
  * Scanner implementation for detecting serialization and cache compatibility
@@ -44,12 +45,18 @@ public class SerializationCacheScannerImpl implements SerializationCacheScanner
 
     @Override
     public SerializationCacheProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public SerializationCacheProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting serialization/cache scan for project: {}", projectPath);
 
         List<SerializationCacheScanResult> fileResults = new ArrayList<>();
 
         try {
-            List<Path> filesToScan = fileScanner.findFiles(projectPath, List.of(".java", ".xml", ".properties"));
+            List<Path> filesToScan = inventory.findFiles(List.of(".java", ".xml", ".properties"));
 
             log.info("Found {} files to scan for serialization/cache", filesToScan.size());
 
@@ -4,12 +4,14 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ServletJspUsage;
 import adrianmikula.jakartamigration.advancedscanning.service.BaseScanner;
+import adrianmikula.jakartamigration.advancedscanning.service.ParsedSourceFile;
 import adrianmikula.jakartamigration.advancedscanning.service.ServletJspScanner;
+import adrianmikula.jakartamigration.util.LineIndex;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import adrianmikula.jakartamigration.util.TriggerTokenPrefilter;
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.CompilationUnit;
-import org.openrewrite.SourceFile;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -17,9 +19,9 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of ServletJspScanner using OpenRewrite JavaParser.
@@ -29,6 +31,10 @@
 @Slf4j
 public class ServletJspScannerImpl extends BaseScanner<ServletJspUsage> implements ServletJspScanner {
 
+    // Tokens that must occur in a file's raw content for this scanner to find anything
+    private static final Set<String> TRIGGER_TOKENS = Set.of("javax.servlet.", "javax.el.");
+    private static final TriggerTokenPrefilter PREFILTER = TriggerTokenPrefilter.of(TRIGGER_TOKENS);
+
     private static final Map<String, String> SERVLET_MAPPINGS = new HashMap<>();
 
     static {
@@ -131,6 +137,11 @@ public ProjectScanResult<FileScanResult<ServletJspUsage>> scanProject(List<Path>
         return scanProjectGeneric(null, filesToScan, "Servlet/JSP");
     }
 
+    @Override
+    public ProjectScanResult<FileScanResult<ServletJspUsage>> scanProject(ProjectInventory inventory) {
+        return scanProjectGeneric(inventory, "Servlet/JSP");
+    }
+
     @Override
     public FileScanResult<ServletJspUsage> scanFile(Path filePath) {
         Path validatedPath = validateFilePath(filePath);
@@ -139,9 +150,7 @@ public FileScanResult<ServletJspUsage> scanFile(Path filePath) {
         }
 
         // Skip files in temporary or system directories
-        String fullPath = validatedPath.toString().toLowerCase();
-        if (fullPath.contains("tmp") || fullPath.contains("temp") || 
-            fullPath.contains("idea-sandbox") || fullPath.contains("system/")) {
+        if (isTemporaryOrSystemPath(validatedPath)) {
             return FileScanResult.empty(filePath);
         }
 
@@ -154,38 +163,42 @@ public FileScanResult<ServletJspUsage> scanFile(Path filePath) {
     }
 
     @Override
-    protected List<Path> discoverJavaFiles(Path projectPath) {
-        List<Path> javaFiles = fileScanner.findFiles(projectPath, List.of(".java"));
-        List<Path> jspFiles = fileScanner.findFiles(projectPath, List.of(".jsp"));
+    protected List<Path> discoverJavaFiles(ProjectInventory inventory) {
+        List<Path> javaFiles = inventory.files(ProjectInventory.Category.JAVA);
+        List<Path> jspFiles = inventory.files(ProjectInventory.Category.JSP);
         List<Path> all = new ArrayList<>(javaFiles);
         all.addAll(jspFiles);
         return all;
     }
 
-    private FileScanResult<ServletJspUsage> scanJavaFile(Path filePath) {
-        try {
-            String content = Files.readString(filePath);
-            int lineCount = countLines(content);
-
-            JavaParser parser = javaParserThreadLocal.get();
-            parser.reset();
-
-            List<SourceFile> sourceFiles = parser.parse(content).collect(Collectors.toList());
+    @Override
+    protected boolean selectsFile(Path projectRoot, Path file) {
+        Set<ProjectInventory.Category> categories = ProjectInventory.categorize(projectRoot, file);
+        return categories.contains(ProjectInventory.Category.JAVA) || categories.contains(ProjectInventory.Category.JSP);
+    }
 
-            if (sourceFiles.isEmpty()) {
-                log.debug("No source files found in file: {}", filePath);
-                return FileScanResult.empty(filePath);
-            }
+    @Override
+    public Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
 
-            List<ServletJspUsage> usages = new ArrayList<>();
-            for (SourceFile sourceFile : sourceFiles) {
-                if (sourceFile instanceof CompilationUnit cu) {
-                    usages.addAll(extractServletUsages(cu, content));
-                }
-            }
+    @Override
+    public FileScanResult<ServletJspUsage> scanParsedFile(ParsedSourceFile parsedFile) {
+        if (isTemporaryOrSystemPath(parsedFile.filePath()) || !parsedFile.isParsed()) {
+            return new FileScanResult<>(parsedFile.filePath(), List.of(), parsedFile.lineCount());
+        }
+        return new FileScanResult<>(parsedFile.filePath(), extractServletUsages(parsedFile), parsedFile.lineCount());
+    }
 
-            return new FileScanResult<>(filePath, usages, lineCount);
+    private boolean isTemporaryOrSystemPath(Path filePath) {
+        String fullPath = filePath.toString().toLowerCase();
+        return fullPath.contains("tmp") || fullPath.contains("temp") ||
+                fullPath.contains("idea-sandbox") || fullPath.contains("system/");
+    }
 
+    private FileScanResult<ServletJspUsage> scanJavaFile(Path filePath) {
+        try {
+            return scanParsedFile(parseSourceFile(filePath, PREFILTER));
         } catch (Exception e) {
             log.warn("Error scanning Java file for Servlet/JSP: {}", filePath, e);
             return FileScanResult.empty(filePath);
@@ -195,11 +208,11 @@ private FileScanResult<ServletJspUsage> scanJavaFile(Path filePath) {
     private FileScanResult<ServletJspUsage> scanJspFile(Path filePath) {
         try {
             String content = Files.readString(filePath);
-            int lineCount = countLines(content);
+            LineIndex lineIndex = LineIndex.of(content);
 
-            List<ServletJspUsage> usages = extractJspUsages(content);
+            List<ServletJspUsage> usages = extractJspUsages(content, lineIndex);
 
-            return new FileScanResult<>(filePath, usages, lineCount);
+            return new FileScanResult<>(filePath, usages, lineIndex.lineCount());
 
         } catch (Exception e) {
             log.warn("Error scanning JSP file for Servlet/JSP: {}", filePath, e);
@@ -210,9 +223,8 @@ private FileScanResult<ServletJspUsage> scanJspFile(Path filePath) {
     /**
      * Extracts javax.servlet usages from JSP content.
      */
-    private List<ServletJspUsage> extractJspUsages(String content) {
+    private List<ServletJspUsage> extractJspUsages(String content, LineIndex lineIndex) {
         List<ServletJspUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         // Match servlet class references in JSP (e.g., extends HttpServlet)
         Pattern classPattern = Pattern.compile("extends\\s+(javax\\.servlet[\\w.]+)");
@@ -222,7 +234,7 @@ private List<ServletJspUsage> extractJspUsages(String content) {
             usages.add(new ServletJspUsage(
                     className,
                     SERVLET_MAPPINGS.getOrDefault(className, className.replace("javax.", "jakarta.")),
-                    findLineNumber(lines, classMatcher.group(0)),
+                    lineIndex.lineAt(classMatcher.start()),
                     "class declaration",
                     "servlet"));
         }
@@ -234,7 +246,7 @@ private List<ServletJspUsage> extractJspUsages(String content) {
             usages.add(new ServletJspUsage(
                     "http://java.sun.com/xml/ns/javaee",
                     "https://jakarta.ee/xml/ns/jakartaee",
-                    findLineNumber(lines, taglibMatcher.group(0)),
+                    lineIndex.lineAt(taglibMatcher.start()),
                     "taglib directive",
                     "jsp"));
         }
@@ -242,16 +254,17 @@ private List<ServletJspUsage> extractJspUsages(String content) {
         return usages;
     }
 
-    private List<ServletJspUsage> extractServletUsages(CompilationUnit cu, String content) {
+    private List<ServletJspUsage> extractServletUsages(ParsedSourceFile parsedFile) {
+        CompilationUnit cu = parsedFile.compilationUnit();
+        LineIndex lineIndex = parsedFile.lineIndex();
         List<ServletJspUsage> usages = new ArrayList<>();
-        String[] lines = content.split("\n");
 
         for (J.Import imp : cu.getImports()) {
             String importName = imp.getQualid().toString();
 
             if (importName.startsWith("javax.servlet.") || importName.startsWith("javax.el.")) {
                 String jakartaEquivalent = SERVLET_MAPPINGS.get(importName);
-                int lineNumber = findLineNumber(lines, importName);
+                int lineNumber = findLineNumber(lineIndex, importName);
                 String usageType = importName.contains("jsp") ? "jsp" : importName.contains("el") ? "el" : "servlet";
 
                 usages.add(new ServletJspUsage(
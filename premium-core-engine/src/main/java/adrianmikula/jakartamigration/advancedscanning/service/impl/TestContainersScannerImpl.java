@@ -14,6 +14,7 @@
 import java.util.stream.Collectors;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class TestContainersScannerImpl implements TestContainersScanner {
@@ -38,19 +39,24 @@ public class TestContainersScannerImpl implements TestContainersScanner {
 
     @Override
     public TestContainersProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public TestContainersProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting test containers scan for project: {}", projectPath);
         List<TestContainerUsage> usages = new ArrayList<>();
 
         try {
             // Scan ALL pom.xml recursively
-            List<Path> mavenFiles = fileScanner.findFiles(projectPath,
-                    path -> path.getFileName().toString().equals("pom.xml"));
+            List<Path> mavenFiles = inventory.findFiles(path -> path.getFileName().toString().equals("pom.xml"));
             for (Path pomPath : mavenFiles) {
                 usages.addAll(scanMaven(pomPath));
             }
 
             // Scan ALL build.gradle files recursively
-            List<Path> gradleFiles = fileScanner.findFiles(projectPath, path -> {
+            List<Path> gradleFiles = inventory.findFiles(path -> {
                 String name = path.getFileName().toString();
                 return name.startsWith("build.gradle") || name.endsWith(".gradle");
             });
@@ -14,6 +14,7 @@
 import java.util.regex.Pattern;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 /**
  * Scanner implementation for detecting third-party libraries that haven't been
@@ -44,6 +45,12 @@ public ThirdPartyLibScannerImpl(CompatibilityConfigLoader compatibilityConfigLoa
 
     @Override
     public ThirdPartyLibProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public ThirdPartyLibProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting third-party library scan for project: {}", projectPath);
 
         List<ThirdPartyLibUsage> problematicLibs = new ArrayList<>();
@@ -51,7 +58,7 @@ public ThirdPartyLibProjectScanResult scanProject(Path projectPath) {
 
         try {
             // Find ALL build files recursively including Dockerfile
-            List<Path> buildFiles = fileScanner.findFiles(projectPath, path -> {
+            List<Path> buildFiles = inventory.findFiles(path -> {
                 String name = path.getFileName().toString();
                 return name.equals("pom.xml") || name.startsWith("build.gradle") || name.equals("Dockerfile") || name.equals("dockerfile");
             });
@@ -6,12 +6,14 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyEdge;
+import adrianmikula.jakartamigration.advancedscanning.service.CancellationToken;
 import adrianmikula.jakartamigration.advancedscanning.service.DependencyDeduplicationService;
 import adrianmikula.jakartamigration.advancedscanning.service.DependencyTreeCommandExecutor;
 import adrianmikula.jakartamigration.advancedscanning.service.ScanProgressCallback;
 import adrianmikula.jakartamigration.advancedscanning.service.TransitiveDependencyScanner;
 import adrianmikula.jakartamigration.dependencyanalysis.config.CompatibilityConfigLoader;
 import adrianmikula.jakartamigration.dependencyanalysis.domain.Artifact;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver;
 import adrianmikula.jakartamigration.dependencyanalysis.service.ImprovedMavenCentralLookupService;
 import adrianmikula.jakartamigration.dependencyanalysis.service.JarResolver;
 import adrianmikula.jakartamigration.jaranalysis.domain.JarCompatibilityLevel;
@@ -30,6 +32,7 @@
 import java.util.stream.Collectors;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class TransitiveDependencyScannerImpl implements TransitiveDependencyScanner {
@@ -41,6 +44,7 @@ public class TransitiveDependencyScannerImpl implements TransitiveDependencyScan
     private final JarCompatibilityScanner jarCompatibilityScanner;
     private final JarResolver jarResolver;
     private final ImprovedMavenCentralLookupService mavenCentralLookupService;
+    private final InProcessMavenDependencyTreeResolver mavenTreeResolver;
     
     // Classification cache to avoid repeated lookups for same artifact
     private final Map<String, CompatibilityConfigLoader.ArtifactClassification> classificationCache = new HashMap<>(1000);
@@ -50,10 +54,15 @@ public class TransitiveDependencyScannerImpl implements TransitiveDependencyScan
     private static final Set<String> GRADLE_SCOPES = Set.of("compileClasspath", "runtimeClasspath", "testCompileClasspath");
 
     public TransitiveDependencyScannerImpl() {
-        this(new DependencyTreeCommandExecutorImpl(), new DependencyDeduplicationServiceImpl(), new CompatibilityConfigLoader(),
+        this(defaultCommandExecutor(), new DependencyDeduplicationServiceImpl(), new CompatibilityConfigLoader(),
              null, null, null);
     }
 
+    private static DependencyTreeCommandExecutor defaultCommandExecutor() {
+        DependencyTreeCommandExecutor subprocess = new DependencyTreeCommandExecutorImpl();
+        return GRADLE_TOOLING_API ? new GradleToolingApiDependencyTreeExecutor(subprocess) : subprocess;
+    }
+
     public TransitiveDependencyScannerImpl(DependencyTreeCommandExecutor commandExecutor,
                                           DependencyDeduplicationService deduplicationService) {
         this(commandExecutor, deduplicationService, new CompatibilityConfigLoader(), null, null, null);
@@ -85,12 +94,21 @@ public TransitiveDependencyScannerImpl(DependencyTreeCommandExecutor commandExec
         this.jarCompatibilityScanner = jarCompatibilityScanner;
         this.jarResolver = jarResolver;
         this.mavenCentralLookupService = mavenCentralLookupService;
+        this.mavenTreeResolver = new InProcessMavenDependencyTreeResolver(EffectivePomResolver.shared());
     }
 
 
     private static final int MAX_PARALLELISM = Integer.parseInt(
             System.getProperty("advanced.scan.parallelism", "4"));
 
+    // Resolve Maven trees from effective POMs before running mvn dependency:tree
+    private static final boolean IN_PROCESS_MAVEN = Boolean.parseBoolean(
+            System.getProperty("advanced.scan.maven.inprocess", "true"));
+
+    // Resolve Gradle trees through the Tooling API on a warm daemon before running gradle dependencies
+    private static final boolean GRADLE_TOOLING_API = Boolean.parseBoolean(
+            System.getProperty("advanced.scan.gradle.toolingapi", "true"));
+
     // Patterns for Maven pom.xml - captures groupId, artifactId, version, and optional scope
     private static final Pattern MAVEN_DEPENDENCY_PATTERN = Pattern.compile(
             "<dependency>\\s*<groupId>([^<]+)</groupId>\\s*<artifactId>([^<]+)</artifactId>\\s*<version>([^<]*)</version>(?:\\s*<scope>([^<]*)</scope>)?",
@@ -110,21 +128,31 @@ public TransitiveDependencyProjectScanResult scanProject(Path projectPath) {
             return TransitiveDependencyProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public TransitiveDependencyProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         try {
-            List<Path> buildFiles = discoverBuildFiles(projectPath);
+            List<Path> buildFiles = discoverBuildFiles(inventory);
             log.info("[DEBUG] Discovered {} build files: {}", buildFiles.size(), buildFiles);
 
             if (buildFiles.isEmpty()) {
                 log.warn("[DEBUG] No build files found in {}", projectPath);
                 return TransitiveDependencyProjectScanResult.empty();
             }
+            registerMavenReactor(buildFiles);
 
             AtomicInteger totalScanned = new AtomicInteger(0);
             int parallelism = Math.min(MAX_PARALLELISM, buildFiles.size());
             log.info("[DEBUG] Scanning {} files with parallelism {}", buildFiles.size(), parallelism);
 
+            // Parallel stream workers do not inherit the caller's token, so it is checked explicitly per file
+            CancellationToken token = CancellationToken.current();
             List<TransitiveDependencyScanResult> results = buildFiles.parallelStream()
                     .map(file -> {
+                        token.throwIfCancelled();
                         log.info("[DEBUG] Scanning file: {}", file);
                         TransitiveDependencyScanResult result = scanFileWithTracking(file, totalScanned);
                         if (result != null) {
@@ -153,10 +181,13 @@ public TransitiveDependencyProjectScanResult scanProject(List<Path> filesToScan)
             return TransitiveDependencyProjectScanResult.empty();
         }
         log.info("[DEBUG] scanProject with file list called with {} files", filesToScan.size());
+        registerMavenReactor(filesToScan);
         AtomicInteger totalScanned = new AtomicInteger(0);
         int parallelism = Math.min(MAX_PARALLELISM, filesToScan.size());
+        CancellationToken token = CancellationToken.current();
         List<TransitiveDependencyScanResult> results = filesToScan.parallelStream()
                 .map(file -> {
+                    token.throwIfCancelled();
                     log.info("[DEBUG] Scanning file: {}", file);
                     TransitiveDependencyScanResult result = scanFileWithTracking(file, totalScanned);
                     if (result != null) {
@@ -179,10 +210,13 @@ public TransitiveDependencyProjectScanResult scanProject(List<Path> filesToScan,
             return TransitiveDependencyProjectScanResult.empty();
         }
         log.info("[DEBUG] scanProject with progress listener (list) called with {} files", filesToScan.size());
+        registerMavenReactor(filesToScan);
         List<TransitiveDependencyScanResult> results = new ArrayList<>();
         AtomicInteger totalScanned = new AtomicInteger(0);
 
+        CancellationToken token = CancellationToken.current();
         for (Path file : filesToScan) {
+            token.throwIfCancelled();
             log.info("[DEBUG] Scanning file (sequential): {}", file);
             String moduleName = "Scanning module: " + file.getFileName();
             ScanProgressCallback fileListener = (phase, completed, total) -> {
@@ -225,14 +259,28 @@ public TransitiveDependencyProjectScanResult scanProject(Path projectPath, ScanP
             return TransitiveDependencyProjectScanResult.empty();
         }
 
+        return scanProject(fileScanner.inventory(projectPath), progressListener);
+    }
+
+    /**
+     * Sequential project scanner with per-module progress reporting, using a shared file inventory.
+     *
+     * @param inventory The project's file inventory
+     * @param progressListener Optional callback for progress updates, may be null
+     * @return TransitiveDependencyProjectScanResult with all dependencies
+     */
+    @Override
+    public TransitiveDependencyProjectScanResult scanProject(ProjectInventory inventory, ScanProgressCallback progressListener) {
+        Path projectPath = inventory.projectRoot();
         try {
-            List<Path> buildFiles = discoverBuildFiles(projectPath);
+            List<Path> buildFiles = discoverBuildFiles(inventory);
             log.info("[DEBUG] Discovered {} build files: {}", buildFiles.size(), buildFiles);
 
             if (buildFiles.isEmpty()) {
                 log.warn("[DEBUG] No build files found in {}", projectPath);
                 return TransitiveDependencyProjectScanResult.empty();
             }
+            registerMavenReactor(buildFiles);
 
             List<TransitiveDependencyScanResult> results = new ArrayList<>();
             AtomicInteger totalScanned = new AtomicInteger(0);
@@ -299,6 +347,14 @@ private TransitiveDependencyScanResult scanFile(Path filePath, ScanProgressCallb
 
          try {
              log.debug("Starting {} dependency scanning for file: {}", isMaven ? "Maven" : "Gradle", filePath);
+
+             if (isMaven && IN_PROCESS_MAVEN) {
+                 Optional<DependencyTreeResult> inProcess = mavenTreeResolver.resolve(filePath, MAVEN_SCOPES);
+                 if (inProcess.isPresent() && !inProcess.get().getDependencies().isEmpty()) {
+                     log.debug("Resolved {} dependencies in-process for {}", inProcess.get().getDependencies().size(), filePath);
+                     return convertTreeResult(filePath, "Maven", inProcess.get(), listener);
+                 }
+             }
              
              var future = isMaven
                  ? commandExecutor.executeMavenDependencyTreeAsync(filePath, MAVEN_SCOPES)
@@ -774,8 +830,17 @@ private TransitiveDependencyScanResult scanFileFallback(Path filePath) {
         }
     }
 
-    private List<Path> discoverBuildFiles(Path projectPath) {
-        return fileScanner.findFiles(projectPath, path -> {
+    // Lets modules of the same reactor resolve each other when their trees are resolved in-process
+    private void registerMavenReactor(List<Path> buildFiles) {
+        if (IN_PROCESS_MAVEN) {
+            mavenTreeResolver.registerReactor(buildFiles.stream()
+                    .filter(file -> file.getFileName().toString().equalsIgnoreCase("pom.xml"))
+                    .toList());
+        }
+    }
+
+    private List<Path> discoverBuildFiles(ProjectInventory inventory) {
+        return inventory.findFiles(path -> {
             String name = path.getFileName().toString().toLowerCase();
             return name.equals("pom.xml") || name.endsWith(".gradle") || name.endsWith(".gradle.kts");
         });
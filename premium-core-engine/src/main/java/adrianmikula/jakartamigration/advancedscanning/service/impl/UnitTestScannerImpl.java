@@ -15,6 +15,7 @@
 import java.util.stream.Stream;
 
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 @Slf4j
 public class UnitTestScannerImpl implements UnitTestScanner {
@@ -30,11 +31,17 @@ public class UnitTestScannerImpl implements UnitTestScanner {
 
     @Override
     public UnitTestProjectScanResult scanProject(Path projectPath) {
+        return scanProject(fileScanner.inventory(projectPath));
+    }
+
+    @Override
+    public UnitTestProjectScanResult scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.info("Starting unit test scan for project: {}", projectPath);
         List<UnitTestUsage> usages = new ArrayList<>();
 
         try {
-            List<Path> testFiles = fileScanner.findFiles(projectPath, p -> isTestFile(p, projectPath));
+            List<Path> testFiles = inventory.findFiles(p -> isTestFile(p, projectPath));
 
             log.info("Found {} test files to scan", testFiles.size());
 
@@ -90,6 +90,10 @@ private int extractJpaCount() {
         if (scanResults.jpaResults() == null || scanResults.jpaResults().isEmpty()) {
             return 0;
         }
+        FindingsView findings = findingsView(scanResults.jpaResults());
+        if (findings != null) {
+            return findings.size();
+        }
         JpaProjectScanResult result = extractResult(scanResults.jpaResults(), JpaProjectScanResult.class);
         return result != null ? result.totalAnnotationsFound() : 0;
     }
@@ -98,6 +102,10 @@ private int extractCdiCount() {
         if (scanResults.cdiResults() == null || scanResults.cdiResults().isEmpty()) {
             return 0;
         }
+        FindingsView findings = findingsView(scanResults.cdiResults());
+        if (findings != null) {
+            return findings.size();
+        }
         CdiInjectionProjectScanResult result = extractResult(scanResults.cdiResults(), CdiInjectionProjectScanResult.class);
         return result != null ? result.totalAnnotationsFound() : 0;
     }
@@ -106,6 +114,10 @@ private int extractServletCount() {
         if (scanResults.servletJspResults() == null || scanResults.servletJspResults().isEmpty()) {
             return 0;
         }
+        FindingsView findings = findingsView(scanResults.servletJspResults());
+        if (findings != null) {
+            return findings.size();
+        }
         ServletJspProjectScanResult result = extractResult(scanResults.servletJspResults(), ServletJspProjectScanResult.class);
         return result != null ? result.totalUsagesFound() : 0;
     }
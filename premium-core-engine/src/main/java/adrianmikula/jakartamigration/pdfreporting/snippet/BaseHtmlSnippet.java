@@ -1,7 +1,11 @@
 package adrianmikula.jakartamigration.pdfreporting.snippet;
 
+import adrianmikula.jakartamigration.advancedscanning.domain.ComprehensiveScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.FindingsView;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+
 /**
  * Base class for HTML snippets with common functionality.
  * Provides safe formatting and error handling.
@@ -9,6 +13,17 @@
 @Slf4j
 public abstract class BaseHtmlSnippet implements HtmlSnippet {
     
+    /**
+     * Returns the findings view stored in a category's results map, or null if the map holds none.
+     */
+    protected FindingsView findingsView(Map<String, Object> resultsMap) {
+        if (resultsMap == null) {
+            return null;
+        }
+        Object value = resultsMap.get(ComprehensiveScanResults.FINDINGS_KEY);
+        return value instanceof FindingsView findings ? findings : null;
+    }
+
     /**
      * Safely format a string template with arguments.
      * Catches formatting exceptions and provides fallback content.
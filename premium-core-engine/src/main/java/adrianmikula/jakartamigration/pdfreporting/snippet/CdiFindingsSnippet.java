@@ -4,6 +4,7 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.CdiInjectionScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.CdiInjectionUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.ComprehensiveScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.FindingsView;
 
 import java.util.Map;
 
@@ -25,9 +26,10 @@ public String generate() throws SnippetGenerationException {
             return generateNoDataMessage();
         }
 
-        CdiInjectionProjectScanResult cdiResult = extractCdiResult();
+        FindingsView findings = findingsView(scanResults.cdiResults());
+        CdiInjectionProjectScanResult cdiResult = findings == null ? extractCdiResult() : null;
 
-        if (cdiResult == null || !cdiResult.hasJavaxUsage()) {
+        if (findings != null ? findings.isEmpty() : cdiResult == null || !cdiResult.hasJavaxUsage()) {
             return generateNoCdiUsageMessage();
         }
 
@@ -59,9 +61,9 @@ public String generate() throws SnippetGenerationException {
                 </div>
             </div>
             """,
-            cdiResult.totalFilesWithJavaxUsage(),
-            cdiResult.totalAnnotationsFound(),
-            generateCdiRows(cdiResult)
+            findings != null ? findings.fileCount() : cdiResult.totalFilesWithJavaxUsage(),
+            findings != null ? findings.size() : cdiResult.totalAnnotationsFound(),
+            findings != null ? generateCdiRows(findings) : generateCdiRows(cdiResult)
         );
     }
 
@@ -100,6 +102,36 @@ private String generateCdiRows(CdiInjectionProjectScanResult cdiResult) {
         return rows.toString();
     }
 
+    private String generateCdiRows(FindingsView findings) {
+        StringBuilder rows = new StringBuilder();
+
+        for (int row = 0; row < findings.size(); row++) {
+            String jakartaEquivalent = findings.jakartaEquivalent(row) != null
+                ? escapeHtml(findings.jakartaEquivalent(row))
+                : "<em>No equivalent available</em>";
+            String usageType = findings.detail(row) != null ? findings.detail(row) : "-";
+
+            rows.append(String.format("""
+                <tr>
+                    <td class="file-path">%s</td>
+                    <td class="line-num">%d</td>
+                    <td class="javax-ref">%s</td>
+                    <td class="jakarta-equiv">%s</td>
+                    <td class="usage-type"><span class="badge %s">%s</span></td>
+                </tr>
+                """,
+                escapeHtml(findings.filePath(row).toString()),
+                findings.lineNumber(row),
+                escapeHtml(findings.javaxName(row)),
+                jakartaEquivalent,
+                usageType.toLowerCase().replace(" ", "-"),
+                escapeHtml(usageType)
+            ));
+        }
+
+        return rows.toString();
+    }
+
     @SuppressWarnings("unchecked")
     private CdiInjectionProjectScanResult extractCdiResult() {
         // CDI results are stored in the dedicated cdiResults map
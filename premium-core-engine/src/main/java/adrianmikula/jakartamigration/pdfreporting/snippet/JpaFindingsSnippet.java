@@ -1,6 +1,7 @@
 package adrianmikula.jakartamigration.pdfreporting.snippet;
 
 import adrianmikula.jakartamigration.advancedscanning.domain.ComprehensiveScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.FindingsView;
 import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.JpaProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.JpaScanResult;
@@ -27,9 +28,10 @@ public String generate() throws SnippetGenerationException {
 
         @SuppressWarnings("unchecked")
         Map<String, Object> jpaResultsMap = (Map<String, Object>) scanResults.jpaResults();
-        JpaProjectScanResult jpaResult = extractJpaResult(jpaResultsMap);
+        FindingsView findings = findingsView(jpaResultsMap);
+        JpaProjectScanResult jpaResult = findings == null ? extractJpaResult(jpaResultsMap) : null;
 
-        if (jpaResult == null || !jpaResult.hasJavaxUsage()) {
+        if (findings != null ? findings.isEmpty() : jpaResult == null || !jpaResult.hasJavaxUsage()) {
             return generateNoJpaUsageMessage();
         }
 
@@ -61,9 +63,9 @@ public String generate() throws SnippetGenerationException {
                 </div>
             </div>
             """,
-            jpaResult.totalFilesWithJavaxUsage(),
-            jpaResult.totalAnnotationsFound(),
-            generateJpaRows(jpaResult)
+            findings != null ? findings.fileCount() : jpaResult.totalFilesWithJavaxUsage(),
+            findings != null ? findings.size() : jpaResult.totalAnnotationsFound(),
+            findings != null ? generateJpaRows(findings) : generateJpaRows(jpaResult)
         );
     }
 
@@ -101,6 +103,34 @@ private String generateJpaRows(JpaProjectScanResult jpaResult) {
         return rows.toString();
     }
 
+    private String generateJpaRows(FindingsView findings) {
+        StringBuilder rows = new StringBuilder();
+
+        for (int row = 0; row < findings.size(); row++) {
+            String jakartaEquivalent = findings.jakartaEquivalent(row) != null
+                ? escapeHtml(findings.jakartaEquivalent(row))
+                : "<em>No equivalent available</em>";
+
+            rows.append(String.format("""
+                <tr>
+                    <td class="file-path">%s</td>
+                    <td class="line-num">%d</td>
+                    <td class="javax-ref">%s</td>
+                    <td class="jakarta-equiv">%s</td>
+                    <td class="element">%s</td>
+                </tr>
+                """,
+                escapeHtml(findings.filePath(row).toString()),
+                findings.lineNumber(row),
+                escapeHtml(findings.javaxName(row)),
+                jakartaEquivalent,
+                escapeHtml(findings.detail(row) != null ? findings.detail(row) : "-")
+            ));
+        }
+
+        return rows.toString();
+    }
+
     @SuppressWarnings("unchecked")
     private JpaProjectScanResult extractJpaResult(Map<String, Object> jpaResultsMap) {
         // Try to get the result object from the map
@@ -74,35 +74,40 @@ public String generate() throws SnippetGenerationException {
     }
 
     private String generateJpaSection(Map<String, Object> jpaResults) {
-        JpaProjectScanResult jpaResult = extractResult(jpaResults, JpaProjectScanResult.class);
-        if (jpaResult == null || !jpaResult.hasJavaxUsage()) {
-            return "";
-        }
-
         StringBuilder rows = new StringBuilder();
-        for (JpaScanResult fileResult : jpaResult.fileResults()) {
-            if (!fileResult.hasJavaxUsage()) continue;
+        FindingsView findings = findingsView(jpaResults);
+        if (findings != null) {
+            appendFindingRows(rows, findings, false);
+        } else {
+            JpaProjectScanResult jpaResult = extractResult(jpaResults, JpaProjectScanResult.class);
+            if (jpaResult == null || !jpaResult.hasJavaxUsage()) {
+                return "";
+            }
 
-            String filePath = escapeHtml(fileResult.filePath().toString());
+            for (JpaScanResult fileResult : jpaResult.fileResults()) {
+                if (!fileResult.hasJavaxUsage()) continue;
 
-            for (JpaAnnotationUsage usage : fileResult.annotations()) {
-                String jakartaEquivalent = usage.hasJakartaEquivalent()
-                    ? escapeHtml(usage.jakartaEquivalent())
-                    : "-";
+                String filePath = escapeHtml(fileResult.filePath().toString());
 
-                rows.append(String.format("""
-                        <tr>
-                            <td>%s</td>
-                            <td>%d</td>
-                            <td>%s</td>
-                            <td>%s</td>
-                        </tr>
-                    """,
-                    filePath,
-                    usage.lineNumber(),
-                    escapeHtml(usage.annotationName()),
-                    jakartaEquivalent
-                ));
+                for (JpaAnnotationUsage usage : fileResult.annotations()) {
+                    String jakartaEquivalent = usage.hasJakartaEquivalent()
+                        ? escapeHtml(usage.jakartaEquivalent())
+                        : "-";
+
+                    rows.append(String.format("""
+                            <tr>
+                                <td>%s</td>
+                                <td>%d</td>
+                                <td>%s</td>
+                                <td>%s</td>
+                            </tr>
+                        """,
+                        filePath,
+                        usage.lineNumber(),
+                        escapeHtml(usage.annotationName()),
+                        jakartaEquivalent
+                    ));
+                }
             }
         }
 
@@ -131,37 +136,42 @@ private String generateJpaSection(Map<String, Object> jpaResults) {
     }
 
     private String generateCdiSection(Map<String, Object> cdiResults) {
-        CdiInjectionProjectScanResult cdiResult = extractResult(cdiResults, CdiInjectionProjectScanResult.class);
-        if (cdiResult == null || !cdiResult.hasJavaxUsage()) {
-            return "";
-        }
-
         StringBuilder rows = new StringBuilder();
-        for (CdiInjectionScanResult fileResult : cdiResult.fileResults()) {
-            if (!fileResult.hasJavaxUsage()) continue;
+        FindingsView findings = findingsView(cdiResults);
+        if (findings != null) {
+            appendFindingRows(rows, findings, true);
+        } else {
+            CdiInjectionProjectScanResult cdiResult = extractResult(cdiResults, CdiInjectionProjectScanResult.class);
+            if (cdiResult == null || !cdiResult.hasJavaxUsage()) {
+                return "";
+            }
 
-            String filePath = escapeHtml(fileResult.filePath().toString());
+            for (CdiInjectionScanResult fileResult : cdiResult.fileResults()) {
+                if (!fileResult.hasJavaxUsage()) continue;
 
-            for (CdiInjectionUsage usage : fileResult.usages()) {
-                String jakartaEquivalent = usage.hasJakartaEquivalent()
-                    ? escapeHtml(usage.jakartaEquivalent())
-                    : "-";
+                String filePath = escapeHtml(fileResult.filePath().toString());
 
-                rows.append(String.format("""
-                        <tr>
-                            <td>%s</td>
-                            <td>%d</td>
-                            <td>%s</td>
-                            <td>%s</td>
-                            <td>%s</td>
-                        </tr>
-                    """,
-                    filePath,
-                    usage.lineNumber(),
-                    escapeHtml(usage.className()),
-                    jakartaEquivalent,
-                    escapeHtml(usage.usageType())
-                ));
+                for (CdiInjectionUsage usage : fileResult.usages()) {
+                    String jakartaEquivalent = usage.hasJakartaEquivalent()
+                        ? escapeHtml(usage.jakartaEquivalent())
+                        : "-";
+
+                    rows.append(String.format("""
+                            <tr>
+                                <td>%s</td>
+                                <td>%d</td>
+                                <td>%s</td>
+                                <td>%s</td>
+                                <td>%s</td>
+                            </tr>
+                        """,
+                        filePath,
+                        usage.lineNumber(),
+                        escapeHtml(usage.className()),
+                        jakartaEquivalent,
+                        escapeHtml(usage.usageType())
+                    ));
+                }
             }
         }
 
@@ -191,37 +201,42 @@ private String generateCdiSection(Map<String, Object> cdiResults) {
     }
 
     private String generateServletSection(Map<String, Object> servletResults) {
-        ServletJspProjectScanResult servletResult = extractResult(servletResults, ServletJspProjectScanResult.class);
-        if (servletResult == null || !servletResult.hasJavaxUsage()) {
-            return "";
-        }
-
         StringBuilder rows = new StringBuilder();
-        for (ServletJspScanResult fileResult : servletResult.fileResults()) {
-            if (!fileResult.hasJavaxUsage()) continue;
+        FindingsView findings = findingsView(servletResults);
+        if (findings != null) {
+            appendFindingRows(rows, findings, true);
+        } else {
+            ServletJspProjectScanResult servletResult = extractResult(servletResults, ServletJspProjectScanResult.class);
+            if (servletResult == null || !servletResult.hasJavaxUsage()) {
+                return "";
+            }
 
-            String filePath = escapeHtml(fileResult.filePath().toString());
+            for (ServletJspScanResult fileResult : servletResult.fileResults()) {
+                if (!fileResult.hasJavaxUsage()) continue;
 
-            for (ServletJspUsage usage : fileResult.usages()) {
-                String jakartaEquivalent = usage.hasJakartaEquivalent()
-                    ? escapeHtml(usage.jakartaEquivalent())
-                    : "-";
+                String filePath = escapeHtml(fileResult.filePath().toString());
 
-                rows.append(String.format("""
-                        <tr>
-                            <td>%s</td>
-                            <td>%d</td>
-                            <td>%s</td>
-                            <td>%s</td>
-                            <td>%s</td>
-                        </tr>
-                    """,
-                    filePath,
-                    usage.lineNumber(),
-                    escapeHtml(usage.className()),
-                    jakartaEquivalent,
-                    escapeHtml(usage.usageType())
-                ));
+                for (ServletJspUsage usage : fileResult.usages()) {
+                    String jakartaEquivalent = usage.hasJakartaEquivalent()
+                        ? escapeHtml(usage.jakartaEquivalent())
+                        : "-";
+
+                    rows.append(String.format("""
+                            <tr>
+                                <td>%s</td>
+                                <td>%d</td>
+                                <td>%s</td>
+                                <td>%s</td>
+                                <td>%s</td>
+                            </tr>
+                        """,
+                        filePath,
+                        usage.lineNumber(),
+                        escapeHtml(usage.className()),
+                        jakartaEquivalent,
+                        escapeHtml(usage.usageType())
+                    ));
+                }
             }
         }
 
@@ -345,6 +360,29 @@ private String generateThirdPartySection(Map<String, Object> thirdPartyResults)
         return content.toString();
     }
 
+    // Rows read from a findings view; the detail column holds the usage type
+    private void appendFindingRows(StringBuilder rows, FindingsView findings, boolean withDetail) {
+        for (int row = 0; row < findings.size(); row++) {
+            String jakartaEquivalent = findings.jakartaEquivalent(row);
+            rows.append("""
+                        <tr>
+                            <td>%s</td>
+                            <td>%d</td>
+                            <td>%s</td>
+                            <td>%s</td>
+                """.formatted(
+                    escapeHtml(findings.filePath(row).toString()),
+                    findings.lineNumber(row),
+                    escapeHtml(findings.javaxName(row)),
+                    jakartaEquivalent != null ? escapeHtml(jakartaEquivalent) : "-"));
+            if (withDetail) {
+                String detail = findings.detail(row);
+                rows.append("                            <td>%s</td>\n".formatted(detail != null ? escapeHtml(detail) : "-"));
+            }
+            rows.append("                        </tr>\n");
+        }
+    }
+
     private <T> T extractResult(Map<String, Object> resultsMap, Class<T> type) {
         for (Object value : resultsMap.values()) {
             if (type.isInstance(value)) {
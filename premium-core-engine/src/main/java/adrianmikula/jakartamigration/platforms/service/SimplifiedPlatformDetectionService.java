@@ -5,6 +5,8 @@
 import adrianmikula.jakartamigration.platforms.model.PlatformDetection;
 import adrianmikula.jakartamigration.platforms.model.PlatformConfig;
 import adrianmikula.jakartamigration.platforms.model.JakartaCompatibility;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -38,17 +40,28 @@ public SimplifiedPlatformDetectionService() {
      * Simple scan for application servers using YAML patterns and common artifacts
      */
     public List<String> scanProject(Path projectPath) {
+        if (projectPath == null || !Files.exists(projectPath)) {
+            log.debug("Project path does not exist: {}", projectPath);
+            return new ArrayList<>();
+        }
+        return scanProject(inventoryOf(projectPath));
+    }
+
+    /**
+     * Simple scan for application servers using a shared file inventory.
+     * The inventory should be built without directory exclusions (see {@link #inventoryOf(Path)}),
+     * since server installations and deployment artifacts live in {@code bin/}, {@code target/} etc.
+     *
+     * @param inventory inventory of the project's files
+     * @return detected server names
+     */
+    public List<String> scanProject(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.debug("Starting platform detection for project: {}", projectPath);
         List<String> detectedServers = new ArrayList<>();
         
         try {
-            // Check if project path exists and is valid
-            if (!Files.exists(projectPath)) {
-                log.debug("Project path does not exist: {}", projectPath);
-                return detectedServers;
-            }
-            
-            log.debug("Project path exists, checking for build files...");
+            log.debug("Checking for build files...");
             
             // Simple file-based detection - check for key files
             if (Files.exists(projectPath.resolve("pom.xml"))) {
@@ -71,13 +84,13 @@ public List<String> scanProject(Path projectPath) {
             
             // Simple server installation detection
             log.debug("Scanning for installed servers...");
-            List<String> installedServers = scanForInstalledServers(projectPath);
+            List<String> installedServers = scanForInstalledServers(inventory);
             log.debug("Installed servers scan found {} servers: {}", installedServers.size(), installedServers);
             detectedServers.addAll(installedServers);
 
             // Scan Eclipse .classpath files for server runtime references
             log.debug("Scanning for Eclipse .classpath files...");
-            List<String> eclipseServers = scanEclipseProject(projectPath);
+            List<String> eclipseServers = scanEclipseProject(inventory);
             log.debug("Eclipse .classpath scan found {} servers: {}", eclipseServers.size(), eclipseServers);
             detectedServers.addAll(eclipseServers);
             
@@ -104,6 +117,22 @@ public List<String> scanProject(Path projectPath) {
      * @return EnhancedPlatformScanResult with detected platforms and artifact counts
      */
     public EnhancedPlatformScanResult scanProjectWithArtifacts(Path projectPath) {
+        if (projectPath == null || !Files.exists(projectPath)) {
+            log.debug("Project path does not exist: {}", projectPath);
+            return new EnhancedPlatformScanResult(new ArrayList<>(), new HashMap<>(), new HashMap<>());
+        }
+        return scanProjectWithArtifacts(inventoryOf(projectPath));
+    }
+
+    /**
+     * Enhanced scan for application servers using a shared file inventory.
+     * The inventory should be built without directory exclusions (see {@link #inventoryOf(Path)}).
+     *
+     * @param inventory inventory of the project's files
+     * @return EnhancedPlatformScanResult with detected platforms and artifact counts
+     */
+    public EnhancedPlatformScanResult scanProjectWithArtifacts(ProjectInventory inventory) {
+        Path projectPath = inventory.projectRoot();
         log.debug("Starting enhanced platform detection for project: {}", projectPath);
 
         List<String> detectedServers = new ArrayList<>();
@@ -111,11 +140,6 @@ public EnhancedPlatformScanResult scanProjectWithArtifacts(Path projectPath) {
         Map<String, Integer> platformSpecificArtifacts = new HashMap<>();
 
         try {
-            if (!Files.exists(projectPath)) {
-                log.debug("Project path does not exist: {}", projectPath);
-                return new EnhancedPlatformScanResult(detectedServers, deploymentArtifacts, platformSpecificArtifacts);
-            }
-
             // Detect platforms using existing logic
             if (Files.exists(projectPath.resolve("pom.xml"))) {
                 log.debug("Found pom.xml, scanning Maven project...");
@@ -137,15 +161,15 @@ public EnhancedPlatformScanResult scanProjectWithArtifacts(Path projectPath) {
             }
 
             // Scan for installed servers
-            List<String> installedServers = scanForInstalledServers(projectPath);
+            List<String> installedServers = scanForInstalledServers(inventory);
             detectedServers.addAll(installedServers);
 
             // Scan Eclipse .classpath files for server runtime references
-            List<String> eclipseServers = scanEclipseProject(projectPath);
+            List<String> eclipseServers = scanEclipseProject(inventory);
             detectedServers.addAll(eclipseServers);
 
             // Count deployment artifacts in project structure
-            countProjectArtifacts(projectPath, deploymentArtifacts, platformSpecificArtifacts);
+            countProjectArtifacts(inventory, deploymentArtifacts, platformSpecificArtifacts);
 
         } catch (Exception e) {
             log.error("Error scanning project: {}", e.getMessage(), e);
@@ -177,6 +201,16 @@ public EnhancedPlatformScanResult scanProjectWithArtifacts(Path projectPath) {
         return new EnhancedPlatformScanResult(detectedServers, inferredServers, platformDetails, deploymentArtifacts, platformSpecificArtifacts);
     }
 
+    /**
+     * Walks the project once, without directory exclusions, for all file-based detection.
+     *
+     * @param projectPath Path to the project directory
+     * @return the project inventory
+     */
+    public static ProjectInventory inventoryOf(Path projectPath) {
+        return ProjectFileSystemScanner.withoutExclusions().inventory(projectPath);
+    }
+
     /**
      * Unified artifact counting for Maven and Gradle projects.
      */
@@ -224,36 +258,23 @@ private void countGradlePlugins(String content, Map<String, Integer> deploymentA
     /**
      * Count deployment artifacts in project structure.
      */
-    private void countProjectArtifacts(Path projectPath, Map<String, Integer> deploymentArtifacts,
+    private void countProjectArtifacts(ProjectInventory inventory, Map<String, Integer> deploymentArtifacts,
                                     Map<String, Integer> platformSpecificArtifacts) {
-        try {
-            Files.walk(projectPath)
-                .filter(path -> !Files.isDirectory(path))
-                .filter(path -> {
-                    String fileName = path.getFileName().toString().toLowerCase();
-                    return fileName.endsWith(".war") || fileName.endsWith(".ear") ||
-                           fileName.endsWith(".jar") || fileName.equals("web.xml") ||
-                           fileName.equals("application.xml") || fileName.equals("ejb-jar.xml");
-                })
-                .forEach(path -> {
-                    String fileName = path.getFileName().toString().toLowerCase();
-                    if (fileName.endsWith(".war")) {
-                        deploymentArtifacts.put("war", deploymentArtifacts.getOrDefault("war", 0) + 1);
-                    } else if (fileName.endsWith(".ear")) {
-                        deploymentArtifacts.put("ear", deploymentArtifacts.getOrDefault("ear", 0) + 1);
-                    } else if (fileName.endsWith(".jar")) {
-                        deploymentArtifacts.put("jar", deploymentArtifacts.getOrDefault("jar", 0) + 1);
-                    } else if (fileName.equals("web.xml")) {
-                        platformSpecificArtifacts.put("web.xml", platformSpecificArtifacts.getOrDefault("web.xml", 0) + 1);
-                    } else if (fileName.equals("application.xml")) {
-                        platformSpecificArtifacts.put("application.xml", platformSpecificArtifacts.getOrDefault("application.xml", 0) + 1);
-                    } else if (fileName.equals("ejb-jar.xml")) {
-                        platformSpecificArtifacts.put("ejb-jar.xml", platformSpecificArtifacts.getOrDefault("ejb-jar.xml", 0) + 1);
-                    }
-                });
-
-        } catch (IOException e) {
-            log.debug("Error walking project structure: {}", e.getMessage());
+        for (ProjectInventory.FileEntry entry : inventory.entries()) {
+            String fileName = entry.path().getFileName().toString().toLowerCase();
+            if (fileName.endsWith(".war")) {
+                deploymentArtifacts.put("war", deploymentArtifacts.getOrDefault("war", 0) + 1);
+            } else if (fileName.endsWith(".ear")) {
+                deploymentArtifacts.put("ear", deploymentArtifacts.getOrDefault("ear", 0) + 1);
+            } else if (fileName.endsWith(".jar")) {
+                deploymentArtifacts.put("jar", deploymentArtifacts.getOrDefault("jar", 0) + 1);
+            } else if (fileName.equals("web.xml")) {
+                platformSpecificArtifacts.put("web.xml", platformSpecificArtifacts.getOrDefault("web.xml", 0) + 1);
+            } else if (fileName.equals("application.xml")) {
+                platformSpecificArtifacts.put("application.xml", platformSpecificArtifacts.getOrDefault("application.xml", 0) + 1);
+            } else if (fileName.equals("ejb-jar.xml")) {
+                platformSpecificArtifacts.put("ejb-jar.xml", platformSpecificArtifacts.getOrDefault("ejb-jar.xml", 0) + 1);
+            }
         }
     }
 
@@ -611,73 +632,70 @@ private Map<String, String> extractGradleVariables(Path projectPath) {
     /**
      * Simple scan for installed application servers - search anywhere in project
      */
-    private List<String> scanForInstalledServers(Path projectPath) {
+    private List<String> scanForInstalledServers(ProjectInventory inventory) {
         log.debug("Starting installed servers scan...");
         List<String> servers = new ArrayList<>();
         Map<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> configs = configLoader.getAllPlatformConfigs();
         log.debug("Loaded {} platform configurations from YAML", configs.size());
         
-        try {
-            // Search for key server files anywhere in project (not just specific folders)
-            String[] serverFiles = {
-                "catalina.bat", "standalone.sh", "start.ini", "catalina.jar",
-                "tomee-catalina.jar", "asadmin", "payara.jar"
-            };
-            log.debug("Searching for {} server file patterns", serverFiles.length);
-            
-            // Use Files.walk() to search entire project tree efficiently
-            try (var paths = Files.walk(projectPath)) {
-                paths.filter(Files::isRegularFile)
-                     .forEach(filePath -> {
-                         String fileName = filePath.getFileName().toString();
-                         
-                         // Check if this is a server file we're looking for
-                         for (String serverFile : serverFiles) {
-                             if (fileName.contains(serverFile)) {
-                                 // Found a server file, now determine which platform
-                                 for (Map.Entry<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> entry : configs.entrySet()) {
-                                     String platformName = entry.getKey();
-                                     adrianmikula.jakartamigration.platforms.model.PlatformConfig config = entry.getValue();
-                                     
-                                     // Skip java platform
-                                     if ("java".equals(platformName)) {
-                                         continue;
-                                     }
-                                     
-                                     // Check if this platform uses this file and extract version
-                                     if (config.patterns() != null) {
-                                         for (adrianmikula.jakartamigration.platforms.model.DetectionPattern pattern : config.patterns()) {
-                                             if (fileName.equals(pattern.file())) {
-                                                 try {
-                                                     String content = Files.readString(filePath);
-                                                     Pattern regex = Pattern.compile(pattern.regex(), Pattern.CASE_INSENSITIVE);
-                                                     Matcher matcher = regex.matcher(content);
-                                                     
-                                                     if (matcher.find()) {
-                                                         String version = matcher.group(pattern.versionGroup());
-                                                         if (!servers.contains(platformName)) {
-                                                             servers.add(platformName);
-                                                             log.debug("Detected {} via file {} with version: {}", 
-                                                                     platformName, fileName, version);
-                                                         }
-                                                         break; // Found version for this platform
+        // Search for key server files anywhere in project (not just specific folders)
+        String[] serverFiles = {
+            "catalina.bat", "standalone.sh", "start.ini", "catalina.jar",
+            "tomee-catalina.jar", "asadmin", "payara.jar"
+        };
+        log.debug("Searching for {} server file patterns", serverFiles.length);
+        
+        // Search the shared inventory instead of walking the project tree again; its entries
+        // already know whether they are regular files
+        inventory.entries().stream()
+                 .filter(ProjectInventory.FileEntry::regularFile)
+                 .map(ProjectInventory.FileEntry::path)
+                 .forEach(filePath -> {
+                     String fileName = filePath.getFileName().toString();
+                     
+                     // Check if this is a server file we're looking for
+                     for (String serverFile : serverFiles) {
+                         if (fileName.contains(serverFile)) {
+                             // Found a server file, now determine which platform
+                             for (Map.Entry<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> entry : configs.entrySet()) {
+                                 String platformName = entry.getKey();
+                                 adrianmikula.jakartamigration.platforms.model.PlatformConfig config = entry.getValue();
+                                 
+                                 // Skip java platform
+                                 if ("java".equals(platformName)) {
+                                     continue;
+                                 }
+                                 
+                                 // Check if this platform uses this file and extract version
+                                 if (config.patterns() != null) {
+                                     for (adrianmikula.jakartamigration.platforms.model.DetectionPattern pattern : config.patterns()) {
+                                         if (fileName.equals(pattern.file())) {
+                                             try {
+                                                 String content = Files.readString(filePath);
+                                                 Pattern regex = Pattern.compile(pattern.regex(), Pattern.CASE_INSENSITIVE);
+                                                 Matcher matcher = regex.matcher(content);
+                                                 
+                                                 if (matcher.find()) {
+                                                     String version = matcher.group(pattern.versionGroup());
+                                                     if (!servers.contains(platformName)) {
+                                                         servers.add(platformName);
+                                                         log.debug("Detected {} via file {} with version: {}", 
+                                                                 platformName, fileName, version);
                                                      }
-                                                 } catch (IOException e) {
-                                                     log.debug("Error reading file {}: {}", filePath, e.getMessage());
-                                                 } catch (Exception e) {
-                                                     log.debug("Invalid pattern: {}", pattern.regex(), e);
+                                                     break; // Found version for this platform
                                                  }
+                                             } catch (IOException e) {
+                                                 log.debug("Error reading file {}: {}", filePath, e.getMessage());
+                                             } catch (Exception e) {
+                                                 log.debug("Invalid pattern: {}", pattern.regex(), e);
                                              }
                                          }
                                      }
                                  }
                              }
                          }
-                     });
-            }
-        } catch (IOException e) {
-            log.debug("Error walking project tree: {}", e.getMessage(), e);
-        }
+                     }
+                 });
         
         log.debug("Installed servers scan complete. Found {} servers: {}", servers.size(), servers);
         return servers;
@@ -687,60 +705,53 @@ private List<String> scanForInstalledServers(Path projectPath) {
      * Scan Eclipse .classpath files for server runtime references.
      * Eclipse projects use .classpath files to define project classpath, including server runtime containers.
      */
-    private List<String> scanEclipseProject(Path projectPath) {
+    private List<String> scanEclipseProject(ProjectInventory inventory) {
         log.debug("Starting Eclipse .classpath scan...");
         List<String> servers = new ArrayList<>();
         Map<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> configs = configLoader.getAllPlatformConfigs();
         log.debug("Loaded {} platform configurations from YAML", configs.size());
 
-        try {
-            // Search for .classpath files anywhere in the project
-            try (var paths = Files.walk(projectPath)) {
-                paths.filter(Files::isRegularFile)
-                     .filter(path -> path.getFileName().toString().equals(".classpath"))
-                     .forEach(classpathFile -> {
-                         try {
-                             String content = Files.readString(classpathFile);
-                             log.debug("Found .classpath file: {}", classpathFile);
-
-                             // Check each platform configuration using patterns
-                             for (Map.Entry<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> entry : configs.entrySet()) {
-                                 String platformName = entry.getKey();
-                                 adrianmikula.jakartamigration.platforms.model.PlatformConfig config = entry.getValue();
-
-                                 // Skip java platform - we only want application servers
-                                 if ("java".equals(platformName)) {
-                                     continue;
-                                 }
+        // Search for .classpath files anywhere in the project
+        inventory.findFiles(path -> path.getFileName().toString().equals(".classpath"))
+                 .forEach(classpathFile -> {
+                     try {
+                         String content = Files.readString(classpathFile);
+                         log.debug("Found .classpath file: {}", classpathFile);
+
+                         // Check each platform configuration using patterns
+                         for (Map.Entry<String, adrianmikula.jakartamigration.platforms.model.PlatformConfig> entry : configs.entrySet()) {
+                             String platformName = entry.getKey();
+                             adrianmikula.jakartamigration.platforms.model.PlatformConfig config = entry.getValue();
+
+                             // Skip java platform - we only want application servers
+                             if ("java".equals(platformName)) {
+                                 continue;
+                             }
 
-                                 // Check regex patterns for .classpath files
-                                 if (config.patterns() != null) {
-                                     for (adrianmikula.jakartamigration.platforms.model.DetectionPattern pattern : config.patterns()) {
-                                         if (".classpath".equals(pattern.file())) {
-                                             try {
-                                                 Pattern regex = Pattern.compile(pattern.regex(), Pattern.CASE_INSENSITIVE);
-                                                 if (regex.matcher(content).find()) {
-                                                     if (!servers.contains(platformName)) {
-                                                         servers.add(platformName);
-                                                         log.debug("✓ Detected {} via .classpath pattern: {}", platformName, pattern.regex());
-                                                     }
-                                                     break; // Found this platform, move to next
+                             // Check regex patterns for .classpath files
+                             if (config.patterns() != null) {
+                                 for (adrianmikula.jakartamigration.platforms.model.DetectionPattern pattern : config.patterns()) {
+                                     if (".classpath".equals(pattern.file())) {
+                                         try {
+                                             Pattern regex = Pattern.compile(pattern.regex(), Pattern.CASE_INSENSITIVE);
+                                             if (regex.matcher(content).find()) {
+                                                 if (!servers.contains(platformName)) {
+                                                     servers.add(platformName);
+                                                     log.debug("✓ Detected {} via .classpath pattern: {}", platformName, pattern.regex());
                                                  }
-                                             } catch (Exception e) {
-                                                 log.debug("Invalid regex pattern for {}: {}", platformName, pattern.regex());
+                                                 break; // Found this platform, move to next
                                              }
+                                         } catch (Exception e) {
+                                             log.debug("Invalid regex pattern for {}: {}", platformName, pattern.regex());
                                          }
                                      }
                                  }
                              }
-                         } catch (IOException e) {
-                             log.debug("Error reading .classpath file {}: {}", classpathFile, e.getMessage());
                          }
-                     });
-            }
-        } catch (IOException e) {
-            log.debug("Error walking project tree for .classpath files: {}", e.getMessage(), e);
-        }
+                     } catch (IOException e) {
+                         log.debug("Error reading .classpath file {}: {}", classpathFile, e.getMessage());
+                     }
+                 });
 
         log.debug("Eclipse .classpath scan complete. Found {} servers: {}", servers.size(), servers);
         return servers;
@@ -0,0 +1,108 @@
+package adrianmikula.jakartamigration.advancedscanning.domain;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CompactFindingsStore
+ */
+@Tag("slow")
+class CompactFindingsStoreTest {
+
+    private static final Path ROOT = Path.of("/work/shop").toAbsolutePath();
+
+    @Test
+    void shouldStorePathsRelativeToProjectRoot() {
+        // Given
+        CompactFindingsStore store = new CompactFindingsStore(ROOT);
+        Path order = ROOT.resolve("src/main/java/shop/Order.java");
+
+        // When
+        store.add(order, 3, "javax.persistence.Entity", "jakarta.persistence.Entity", "Order");
+        store.add(order, 9, "javax.persistence.Id", "jakarta.persistence.Id", "id");
+        store.add(Path.of("/elsewhere/Legacy.java").toAbsolutePath(), 1, "javax.inject.Inject", null, null);
+        FindingsView view = store.view();
+
+        // Then
+        assertThat(view.size()).isEqualTo(3);
+        assertThat(view.fileCount()).isEqualTo(2);
+        assertThat(view.relativePath(0)).isEqualTo(Path.of("src/main/java/shop/Order.java").toString());
+        assertThat(view.filePath(1)).isEqualTo(order);
+        assertThat(view.fileName(1)).isEqualTo("Order.java");
+        assertThat(view.lineNumber(1)).isEqualTo(9);
+        assertThat(view.detail(1)).isEqualTo("id");
+        assertThat(view.filePath(2)).isEqualTo(Path.of("/elsewhere/Legacy.java").toAbsolutePath());
+        assertThat(view.jakartaEquivalent(2)).isNull();
+        assertThat(view.detail(2)).isNull();
+    }
+
+    @Test
+    void shouldDeriveRenamedJakartaEquivalentsAndKeepMappedOnes() {
+        // Given
+        CompactFindingsStore store = new CompactFindingsStore(ROOT);
+        Path file = ROOT.resolve("Mail.java");
+
+        // When
+        store.add(file, 1, "javax.persistence.Entity", "jakarta.persistence.Entity", "import");
+        store.add(file, 2, "javax.persistence.Entity", "jakarta.persistence.Entity", "annotation");
+        store.add(file, 3, "javax.annotation.ManagedBean", "jakarta.inject.Named", "annotation");
+        store.add(file, 4, "javax.xml.bind.JAXB", " ", "import");
+        FindingsView view = store.view();
+
+        // Then
+        assertThat(view.jakartaEquivalent(0)).isEqualTo("jakarta.persistence.Entity");
+        // Rows with the same javax name share one derived string
+        assertThat(view.jakartaEquivalent(1)).isSameAs(view.jakartaEquivalent(0));
+        assertThat(view.javaxName(1)).isSameAs(view.javaxName(0));
+        assertThat(view.jakartaEquivalent(2)).isEqualTo("jakarta.inject.Named");
+        assertThat(view.jakartaEquivalent(3)).isNull();
+    }
+
+    @Test
+    void shouldNotShowFindingsAddedAfterView() {
+        // Given
+        CompactFindingsStore store = new CompactFindingsStore(ROOT);
+        store.add(ROOT.resolve("A.java"), 1, "javax.inject.Inject", "jakarta.inject.Inject", "import");
+        FindingsView view = store.view();
+
+        // When
+        for (int line = 2; line <= 200; line++) {
+            store.add(ROOT.resolve("B.java"), line, "javax.inject.Named", "jakarta.inject.Named", "annotation");
+        }
+
+        // Then
+        assertThat(view.size()).isEqualTo(1);
+        assertThat(view.fileCount()).isEqualTo(1);
+        assertThat(store.view().size()).isEqualTo(200);
+        assertThatThrownBy(() -> view.lineNumber(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldCreateViewFromScannerResult() {
+        // Given
+        Path file = ROOT.resolve("web/LoginServlet.java");
+        ProjectScanResult<FileScanResult<ServletJspUsage>> result = new ProjectScanResult<>(List.of(
+                new FileScanResult<>(file, List.of(
+                        new ServletJspUsage("javax.servlet.http.HttpServlet", "jakarta.servlet.http.HttpServlet",
+                                5, "extends HttpServlet", "servlet")), 40),
+                FileScanResult.empty(ROOT.resolve("web/Util.java"))), 2, 1, 1);
+
+        // When
+        FindingsView view = CompactFindingsStore.ofServletJspUsages(ROOT, result);
+
+        // Then
+        assertThat(view.size()).isEqualTo(1);
+        assertThat(view.fileCount()).isEqualTo(1);
+        assertThat(view.filePath(0)).isEqualTo(file);
+        assertThat(view.javaxName(0)).isEqualTo("javax.servlet.http.HttpServlet");
+        assertThat(view.jakartaEquivalent(0)).isEqualTo("jakarta.servlet.http.HttpServlet");
+        assertThat(view.detail(0)).isEqualTo("servlet");
+        assertThat(CompactFindingsStore.ofJavaxUsages(ROOT, null).isEmpty()).isTrue();
+    }
+}
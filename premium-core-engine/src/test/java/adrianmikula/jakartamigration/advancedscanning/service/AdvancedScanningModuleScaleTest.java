@@ -0,0 +1,82 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator.GeneratedProject;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for AdvancedScanningModule on generated enterprise projects, sized with
+ * {@code -Dscale.test.java.files}
+ */
+@Tag("slow")
+class AdvancedScanningModuleScaleTest {
+
+    private static final int JAVA_FILES = Integer.getInteger("scale.test.java.files", 5_000);
+
+    @TempDir
+    Path tempDir;
+
+    private AdvancedScanningModule module;
+
+    @BeforeEach
+    void setUp() {
+        module = new AdvancedScanningModule(mock(RecipeService.class));
+    }
+
+    @Test
+    void shouldScanEveryJavaFileOfLargeProject() throws Exception {
+        // Given
+        GeneratedProject project = SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder().javaFiles(JAVA_FILES).build(), tempDir);
+        List<Path> javaFiles = new ProjectFileSystemScanner().findFiles(tempDir, List.of(".java"));
+
+        // When
+        JavaSourceScanResults results = module.scanJavaSources(javaFiles);
+
+        // Then
+        assertThat(javaFiles).hasSize(project.javaFiles());
+        assertThat(results.totalFilesScanned()).isEqualTo(project.javaFiles());
+        assertThat(results.jpaResult().filesWithIssues()).isPositive()
+                .isLessThanOrEqualTo(project.javaxJavaFiles());
+        assertThat(results.cdiInjectionResult().filesWithIssues()).isPositive()
+                .isLessThanOrEqualTo(project.javaxJavaFiles());
+        assertThat(results.profile().filesProfiled()).isPositive();
+    }
+
+    @Test
+    void shouldFindNoJavaxUsageInJakartaProject() throws Exception {
+        // Given
+        GeneratedProject project = SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder()
+                        .javaFiles(Math.min(JAVA_FILES, 2_000))
+                        .eeRatio(0.5)
+                        .javaxRatio(0.0)
+                        .build(),
+                tempDir);
+        List<Path> javaFiles = new ProjectFileSystemScanner().findFiles(tempDir, List.of(".java"));
+
+        // When
+        JavaSourceScanResults results = module.scanJavaSources(javaFiles);
+
+        // Then
+        assertThat(project.jakartaJavaFiles()).isPositive();
+        assertThat(results.totalFilesScanned()).isEqualTo(project.javaFiles());
+        assertThat(results.jpaResult().filesWithIssues()).isZero();
+        assertThat(results.beanValidationResult().filesWithIssues()).isZero();
+        assertThat(results.servletJspResult().filesWithIssues()).isZero();
+        assertThat(results.cdiInjectionResult().filesWithIssues()).isZero();
+        assertThat(results.restSoapResult().filesWithIssues()).isZero();
+    }
+}
@@ -0,0 +1,127 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.analysis.persistence.SqliteMigrationAnalysisStore;
+import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for JavaSourceScanIndex
+ */
+@Tag("slow")
+class JavaSourceScanIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteMigrationAnalysisStore store;
+    private AdvancedScanningModule module;
+
+    @BeforeEach
+    void setUp() {
+        store = new SqliteMigrationAnalysisStore(tempDir);
+        module = new AdvancedScanningModule(mock(RecipeService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void shouldReuseStoredFindingsForUnchangedFiles() throws Exception {
+        // Given
+        Path entity = writeEntity("Customer");
+        Path plain = tempDir.resolve("Plain.java");
+        Files.writeString(plain, "package com.example;\n\npublic class Plain {\n}\n");
+        List<Path> files = List.of(entity, plain);
+
+        JavaSourceScanResults first = module.scanJavaSources(files, new JavaSourceScanIndex(store, tempDir));
+
+        // When
+        JavaSourceScanIndex index = new JavaSourceScanIndex(store, tempDir);
+        assertThat(index.lookup(files)).containsOnlyKeys(entity, plain);
+        JavaSourceScanResults second = module.scanJavaSources(files, new JavaSourceScanIndex(store, tempDir));
+
+        // Then
+        assertThat(second.totalFilesScanned()).isEqualTo(2);
+        assertThat(second.jpaResult().fileResults()).containsExactlyElementsOf(first.jpaResult().fileResults());
+        assertThat(second.jpaResult().totalIssuesFound()).isEqualTo(first.jpaResult().totalIssuesFound());
+    }
+
+    @Test
+    void shouldRescanModifiedFiles() throws Exception {
+        // Given
+        Path entity = writeEntity("Customer");
+        List<Path> files = List.of(entity);
+        module.scanJavaSources(files, new JavaSourceScanIndex(store, tempDir));
+
+        // When
+        Files.writeString(entity, "package com.example;\n\npublic class Customer {\n}\n");
+        Files.setLastModifiedTime(entity, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        JavaSourceScanResults result = module.scanJavaSources(files, new JavaSourceScanIndex(store, tempDir));
+
+        // Then
+        assertThat(result.jpaResult().fileResults()).isEmpty();
+    }
+
+    @Test
+    void shouldReuseTouchedFilesWithSameContent() throws Exception {
+        // Given
+        Path entity = writeEntity("Customer");
+        List<Path> files = List.of(entity);
+        module.scanJavaSources(files, new JavaSourceScanIndex(store, tempDir));
+
+        // When
+        Files.setLastModifiedTime(entity, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        JavaSourceScanIndex index = new JavaSourceScanIndex(store, tempDir);
+
+        // Then
+        assertThat(index.lookup(files)).containsOnlyKeys(entity);
+    }
+
+    @Test
+    void shouldDropEntriesForRemovedFiles() throws Exception {
+        // Given
+        Path customer = writeEntity("Customer");
+        Path order = writeEntity("Order");
+        module.scanJavaSources(List.of(customer, order), new JavaSourceScanIndex(store, tempDir));
+
+        // When
+        Files.delete(order);
+        module.scanJavaSources(List.of(customer), new JavaSourceScanIndex(store, tempDir));
+
+        // Then
+        assertThat(store.loadFileScanIndex(tempDir, JavaSourceScanIndex.SCAN_TYPE))
+                .containsOnlyKeys(customer.toAbsolutePath().normalize().toString());
+    }
+
+    private Path writeEntity(String name) throws Exception {
+        Path file = tempDir.resolve(name + ".java");
+        Files.writeString(file, """
+            package com.example;
+
+            import javax.persistence.Entity;
+            import javax.persistence.Id;
+
+            @Entity
+            public class %s {
+                @Id
+                private Long id;
+            }
+            """.formatted(name));
+        return file;
+    }
+}
@@ -0,0 +1,154 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.LiveScanResults;
+import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ProjectScanWatcher
+ */
+@Tag("slow")
+class ProjectScanWatcherTest {
+
+    private static final String ENTITY = """
+        package com.example;
+
+        import javax.persistence.Entity;
+
+        @Entity
+        public class Customer {
+        }
+        """;
+
+    private static final String SERVICE = """
+        package com.example;
+
+        import javax.inject.Inject;
+
+        public class CustomerService {
+            @Inject
+            private CustomerRepository repository;
+        }
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final AdvancedScanningModule scanningModule = new AdvancedScanningModule(mock(RecipeService.class));
+
+    @Test
+    void shouldRescanOnlyChangedFiles() throws Exception {
+        // Given
+        Path sources = Files.createDirectories(tempDir.resolve("src/main/java/com/example"));
+        Path entity = Files.writeString(sources.resolve("Customer.java"), ENTITY);
+        ProjectScanWatcher watcher = new ProjectScanWatcher(scanningModule, tempDir);
+
+        // When
+        watcher.applyChanges(List.of(entity));
+        LiveScanResults afterCreate = watcher.results();
+        Path service = Files.writeString(sources.resolve("CustomerService.java"), SERVICE);
+        watcher.applyChanges(List.of(service));
+        LiveScanResults afterSecondFile = watcher.results();
+        Files.delete(entity);
+        watcher.applyChanges(List.of(entity));
+        LiveScanResults afterDelete = watcher.results();
+
+        // Then
+        assertThat(afterCreate.javaSourceResults().jpaResult().filesWithIssues()).isEqualTo(1);
+        assertThat(afterSecondFile.version()).isGreaterThan(afterCreate.version());
+        assertThat(afterSecondFile.javaSourceResults().totalFilesScanned()).isEqualTo(2);
+        assertThat(afterSecondFile.javaSourceResults().jpaResult().filesWithIssues()).isEqualTo(1);
+        assertThat(afterSecondFile.javaSourceResults().cdiInjectionResult().filesWithIssues()).isEqualTo(1);
+        assertThat(afterDelete.javaSourceResults().totalFilesScanned()).isEqualTo(1);
+        assertThat(afterDelete.javaSourceResults().jpaResult().filesWithIssues()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreFilesOutsideScannedCategories() throws Exception {
+        // Given
+        Path readme = Files.writeString(tempDir.resolve("README.md"), "notes");
+        ProjectScanWatcher watcher = new ProjectScanWatcher(scanningModule, tempDir);
+
+        // When
+        watcher.applyChanges(List.of(readme));
+
+        // Then
+        assertThat(watcher.results()).isNull();
+    }
+
+    @Test
+    void shouldUpdateResultsWhenFilesChange() throws Exception {
+        // Given
+        Path sources = Files.createDirectories(tempDir.resolve("src/main/java/com/example"));
+        Files.writeString(sources.resolve("Customer.java"), ENTITY);
+        BlockingQueue<LiveScanResults> updates = new LinkedBlockingQueue<>();
+
+        try (ProjectScanWatcher watcher = new ProjectScanWatcher(scanningModule, tempDir, Duration.ofMillis(100))) {
+            watcher.addListener(updates::add);
+            LiveScanResults initial = watcher.start();
+            updates.clear();
+
+            // When
+            Files.writeString(sources.resolve("CustomerService.java"), SERVICE);
+            LiveScanResults updated = awaitUpdate(updates,
+                    results -> results.javaSourceResults().cdiInjectionResult().filesWithIssues() == 1);
+
+            // Then
+            assertThat(initial.javaSourceResults().jpaResult().filesWithIssues()).isEqualTo(1);
+            assertThat(initial.javaSourceResults().cdiInjectionResult().filesWithIssues()).isZero();
+            assertThat(updated).isNotNull();
+            assertThat(updated.version()).isGreaterThan(initial.version());
+            assertThat(updated.javaSourceResults().jpaResult().filesWithIssues()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldStopWatcherThreadOnCloseAndRejectRestart() throws Exception {
+        // Given
+        Files.writeString(tempDir.resolve("Customer.java"), ENTITY);
+        ProjectScanWatcher watcher = new ProjectScanWatcher(scanningModule, tempDir, Duration.ofMillis(100));
+        watcher.start();
+        String threadName = "project-scan-watcher-" + tempDir.getFileName();
+
+        // When
+        watcher.close();
+
+        // Then
+        assertThat(watcher.isRunning()).isFalse();
+        assertThat(watcher.results().javaSourceResults().jpaResult().filesWithIssues()).isEqualTo(1);
+        assertThat(Thread.getAllStackTraces().keySet()).noneMatch(thread -> thread.getName().equals(threadName));
+        assertThatThrownBy(watcher::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot be restarted");
+    }
+
+    /**
+     * Waits for an update matching the condition; a file write may be reported in more than one batch.
+     */
+    private static LiveScanResults awaitUpdate(BlockingQueue<LiveScanResults> updates,
+                                               Predicate<LiveScanResults> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            LiveScanResults results = updates.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (results != null && condition.test(results)) {
+                return results;
+            }
+        }
+        return null;
+    }
+}
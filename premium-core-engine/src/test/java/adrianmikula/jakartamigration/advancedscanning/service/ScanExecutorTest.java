@@ -0,0 +1,202 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.CdiInjectionScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.JpaAnnotationScannerImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ScanExecutor
+ */
+@Tag("slow")
+class ScanExecutorTest {
+
+    private static final ScanExecutor FORK_JOIN = new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 4, 256, 4);
+    private static final ScanExecutor VIRTUAL = new ScanExecutor(ScanExecutor.Mode.VIRTUAL_THREADS, 4, 256, 4);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReturnSameResultsInInputOrderInBothModesOnLargeTree() throws Exception {
+        // Given
+        List<Path> files = writeTree(20, 10, 10);
+
+        // When
+        List<Path> forkJoin = FORK_JOIN.map(files, ScanExecutorTest::javaxFile);
+        List<Path> virtual = VIRTUAL.map(files, ScanExecutorTest::javaxFile);
+
+        // Then
+        assertThat(files).hasSize(2000);
+        assertThat(virtual).hasSize(667);
+        assertThat(virtual).containsExactlyElementsOf(forkJoin);
+    }
+
+    @Test
+    void shouldScanLargeTreeWithSharedPipelineOnVirtualThreads() throws Exception {
+        // Given
+        List<Path> files = writeTree(10, 10, 10);
+        JpaAnnotationScannerImpl jpaScanner = new JpaAnnotationScannerImpl();
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline(ScanMemoryBudget.shared(), VIRTUAL);
+        var jpa = pipeline.register("JPA", jpaScanner, FileScanResult::hasIssues);
+        var cdi = pipeline.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(files);
+        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> expectedJpa = jpaScanner.scanProject(files);
+
+        // Then
+        assertThat(result.totalFilesScanned()).isEqualTo(1000);
+        assertThat(result.fileResults(jpa)).hasSize(334);
+        assertThat(result.fileResults(jpa)).containsExactlyElementsOf(expectedJpa.fileResults());
+        assertThat(result.fileResults(cdi)).isEmpty();
+    }
+
+    @Test
+    void shouldCapConcurrentParsesSeparatelyFromFilesInFlight() throws Exception {
+        // Given
+        ScanExecutor executor = new ScanExecutor(ScanExecutor.Mode.VIRTUAL_THREADS, 4, 16, 2);
+        List<Path> files = IntStream.range(0, 200).mapToObj(i -> tempDir.resolve("File" + i + ".java")).toList();
+        ConcurrencyTracker inFlight = new ConcurrencyTracker();
+        ConcurrencyTracker parsing = new ConcurrencyTracker();
+
+        // When
+        List<Path> results = executor.map(files, file -> {
+            inFlight.enter();
+            try {
+                sleep(1);
+                try (ScanExecutor.ParsePermit permit = executor.acquireParsePermit()) {
+                    parsing.enter();
+                    sleep(2);
+                    parsing.exit();
+                }
+                return file;
+            } finally {
+                inFlight.exit();
+            }
+        });
+
+        // Then
+        assertThat(results).containsExactlyElementsOf(files);
+        assertThat(parsing.max()).isLessThanOrEqualTo(2);
+        assertThat(inFlight.max()).isLessThanOrEqualTo(16).isGreaterThan(2);
+    }
+
+    @Test
+    void shouldPropagateTaskFailure() {
+        // Given
+        List<Path> files = List.of(tempDir.resolve("A.java"), tempDir.resolve("B.java"));
+
+        // When / Then
+        assertThatThrownBy(() -> VIRTUAL.map(files, file -> {
+            throw new IllegalStateException("broken");
+        })).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldSkipRemainingFilesOnceBoundTokenIsCancelled() throws Exception {
+        // Given
+        List<Path> files = IntStream.range(0, 500).mapToObj(i -> tempDir.resolve("File" + i + ".java")).toList();
+        CancellationToken token = new CancellationToken();
+        AtomicInteger processed = new AtomicInteger();
+
+        // When
+        List<Path> forkJoin;
+        List<Path> virtual;
+        try (CancellationToken.Binding binding = token.bind()) {
+            forkJoin = FORK_JOIN.map(files, file -> {
+                if (processed.incrementAndGet() == 10) {
+                    token.cancel();
+                }
+                return file;
+            });
+            virtual = VIRTUAL.map(files, file -> file);
+        }
+
+        // Then
+        assertThat(forkJoin).hasSizeBetween(10, 20);
+        assertThat(virtual).isEmpty();
+        assertThat(CancellationToken.current().isCancelled()).isFalse();
+    }
+
+    @Test
+    void shouldParseModeFromConfiguration() {
+        assertThat(ScanExecutor.parseMode("virtual")).isEqualTo(ScanExecutor.Mode.VIRTUAL_THREADS);
+        assertThat(ScanExecutor.parseMode(" VIRTUAL_THREADS ")).isEqualTo(ScanExecutor.Mode.VIRTUAL_THREADS);
+        assertThat(ScanExecutor.parseMode("forkjoin")).isEqualTo(ScanExecutor.Mode.FORK_JOIN);
+        assertThat(ScanExecutor.parseMode(null)).isEqualTo(ScanExecutor.Mode.FORK_JOIN);
+        assertThat(ScanExecutor.parseMode("unknown")).isEqualTo(ScanExecutor.Mode.FORK_JOIN);
+    }
+
+    /**
+     * Writes modules x packages x classes Java files; every third file is a javax.persistence entity.
+     */
+    private List<Path> writeTree(int modules, int packages, int classes) throws IOException {
+        List<Path> files = new ArrayList<>();
+        int index = 0;
+        for (int module = 0; module < modules; module++) {
+            for (int pkg = 0; pkg < packages; pkg++) {
+                String packageName = "com.example.m" + module + ".p" + pkg;
+                Path dir = Files.createDirectories(tempDir.resolve("module" + module + "/src/main/java/"
+                        + packageName.replace('.', '/')));
+                for (int cls = 0; cls < classes; cls++) {
+                    String className = "Type" + cls;
+                    String body = index++ % 3 == 0
+                            ? "package " + packageName + ";\n\nimport javax.persistence.Entity;\n\n@Entity\npublic class " + className + " {\n}\n"
+                            : "package " + packageName + ";\n\npublic class " + className + " {\n}\n";
+                    files.add(Files.writeString(dir.resolve(className + ".java"), body));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static Path javaxFile(Path file) {
+        try {
+            return Files.readString(file).contains("javax.") ? file : null;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ConcurrencyTracker {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        void enter() {
+            max.accumulateAndGet(active.incrementAndGet(), Math::max);
+        }
+
+        void exit() {
+            active.decrementAndGet();
+        }
+
+        int max() {
+            return max.get();
+        }
+    }
+}
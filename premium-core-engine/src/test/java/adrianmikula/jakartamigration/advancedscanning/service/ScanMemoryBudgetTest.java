@@ -0,0 +1,134 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ScanMemoryBudget
+ */
+@Tag("slow")
+class ScanMemoryBudgetTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldEstimateCostFromFileSize() throws Exception {
+        // Given
+        ScanMemoryBudget budget = new ScanMemoryBudget(100 * MB);
+        Path small = Files.writeString(tempDir.resolve("Small.java"), "class Small {}");
+        Path large = Files.write(tempDir.resolve("Large.java"), new byte[100_000]);
+
+        // When
+        long smallCost = budget.estimateCost(small);
+        long largeCost = budget.estimateCost(large);
+        long missingCost = budget.estimateCost(tempDir.resolve("Missing.java"));
+
+        // Then
+        assertThat(missingCost).isEqualTo(ScanMemoryBudget.BASE_FILE_COST_BYTES);
+        assertThat(smallCost).isGreaterThan(missingCost);
+        assertThat(largeCost).isEqualTo(ScanMemoryBudget.BASE_FILE_COST_BYTES
+                + 100_000L * ScanMemoryBudget.PARSE_OVERHEAD_FACTOR);
+    }
+
+    @Test
+    void shouldCapCostOfFilesLargerThanBudget() throws Exception {
+        // Given
+        ScanMemoryBudget budget = new ScanMemoryBudget(MB);
+        Path huge = Files.write(tempDir.resolve("Huge.java"), new byte[200_000]);
+
+        // When
+        try (ScanMemoryBudget.Permit permit = budget.acquire(huge)) {
+            // Then
+            assertThat(permit.costBytes()).isEqualTo(MB);
+            assertThat(budget.usage().inUseBytes()).isEqualTo(MB);
+        }
+        assertThat(budget.usage().inUseBytes()).isZero();
+    }
+
+    @Test
+    void shouldAdmitBatchWithCombinedCostCappedAtBudget() throws Exception {
+        // Given
+        ScanMemoryBudget budget = new ScanMemoryBudget(100 * MB);
+        Path first = Files.write(tempDir.resolve("First.java"), new byte[10_000]);
+        Path second = Files.write(tempDir.resolve("Second.java"), new byte[20_000]);
+        ScanMemoryBudget small = new ScanMemoryBudget(MB);
+
+        // When
+        try (ScanMemoryBudget.Permit permit = budget.acquire(List.of(first, second));
+             ScanMemoryBudget.Permit capped = small.acquire(List.of(first, second))) {
+            // Then
+            assertThat(permit.costBytes()).isEqualTo(budget.estimateCost(first) + budget.estimateCost(second));
+            assertThat(budget.usage().admittedFiles()).isEqualTo(2);
+            assertThat(capped.costBytes()).isEqualTo(MB);
+        }
+        assertThat(budget.usage().inUseBytes()).isZero();
+    }
+
+    @Test
+    void shouldBlockAdmissionUntilBudgetIsReleased() throws Exception {
+        // Given
+        ScanMemoryBudget budget = new ScanMemoryBudget(ScanMemoryBudget.BASE_FILE_COST_BYTES * 3 / 2);
+        Path file = tempDir.resolve("Missing.java");
+        ScanMemoryBudget.Permit first = budget.acquire(file);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<ScanMemoryBudget.Permit> second = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            try {
+                return budget.acquire(file);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        boolean admittedWhileHeld = second.isDone();
+        first.close();
+        ScanMemoryBudget.Permit secondPermit = second.get(5, TimeUnit.SECONDS);
+        secondPermit.close();
+
+        // Then
+        assertThat(admittedWhileHeld).isFalse();
+        ScanMemoryBudget.Usage usage = budget.usage();
+        assertThat(usage.admittedFiles()).isEqualTo(2);
+        assertThat(usage.blockedAdmissions()).isEqualTo(1);
+        assertThat(usage.inUseBytes()).isZero();
+        assertThat(usage.peakBytes()).isEqualTo(ScanMemoryBudget.BASE_FILE_COST_BYTES);
+    }
+
+    @Test
+    void shouldReleasePermitOnlyOnce() throws Exception {
+        // Given
+        ScanMemoryBudget budget = new ScanMemoryBudget(10 * MB);
+        ScanMemoryBudget.Permit permit = budget.acquire(tempDir.resolve("Missing.java"));
+
+        // When
+        permit.close();
+        permit.close();
+
+        // Then
+        assertThat(budget.usage().inUseBytes()).isZero();
+        assertThat(budget.usage().budgetBytes()).isEqualTo(10 * MB);
+    }
+
+    @Test
+    void shouldRejectBudgetSmallerThanOneUnit() {
+        assertThatThrownBy(() -> new ScanMemoryBudget(10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
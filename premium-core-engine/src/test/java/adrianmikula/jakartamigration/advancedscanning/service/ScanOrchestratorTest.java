@@ -0,0 +1,236 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ScanOrchestrator
+ */
+@Tag("slow")
+class ScanOrchestratorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunNodesAfterTheirDependenciesAndPassResults() throws Exception {
+        // Given
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 4)
+                .addNode("inventory", context -> {
+                    order.add("inventory");
+                    return List.of("A.java", "B.java");
+                })
+                .addNode("parse", context -> {
+                    order.add("parse");
+                    return context.result("inventory", List.class).size();
+                }, "inventory")
+                .addNode("recommendations", context -> {
+                    order.add("recommendations");
+                    return "files: " + context.result("parse", Integer.class);
+                }, "parse");
+
+        // When
+        ScanOrchestrator.Result result = orchestrator.run(new CancellationToken(), null);
+
+        // Then
+        assertThat(order).containsExactly("inventory", "parse", "recommendations");
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.value("recommendations", String.class)).isEqualTo("files: 2");
+    }
+
+    @Test
+    void shouldStartHigherPriorityNodesFirst() throws Exception {
+        // Given
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 1)
+                .addNode("inventory", context -> "inventory")
+                .addNode("transitive", ScanOrchestrator.PRIORITY_LOW, null, context -> order.add("transitive"), "inventory")
+                .addNode("config", ScanOrchestrator.PRIORITY_NORMAL, null, context -> order.add("config"), "inventory")
+                .addNode("java", ScanOrchestrator.PRIORITY_HIGH, null, context -> order.add("java"), "inventory");
+
+        // When
+        orchestrator.run(new CancellationToken(), null);
+
+        // Then
+        assertThat(order).containsExactly("java", "config", "transitive");
+    }
+
+    @Test
+    void shouldReportEachNodeAsItFinishes() throws Exception {
+        // Given
+        CountDownLatch slowMayFinish = new CountDownLatch(1);
+        List<String> reported = new ArrayList<>();
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 2)
+                .addNode("slow", context -> slowMayFinish.await(10, TimeUnit.SECONDS))
+                .addNode("fast", context -> "done");
+
+        // When
+        ScanOrchestrator.Result result = orchestrator.run(new CancellationToken(), node -> {
+            reported.add(node.id());
+            if (node.id().equals("fast")) {
+                assertThat(node.value()).isEqualTo("done");
+                slowMayFinish.countDown();
+            }
+        });
+
+        // Then
+        assertThat(reported).containsExactly("fast", "slow");
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    void shouldSkipDependentsOfFailedNodesAndKeepOthers() throws Exception {
+        // Given
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 4)
+                .addNode("inventory", context -> "inventory")
+                .addNode("broken", context -> {
+                    throw new IllegalStateException("parse failed");
+                }, "inventory")
+                .addNode("dependent", context -> "never", "broken")
+                .addNode("independent", context -> "ok", "inventory");
+
+        // When
+        ScanOrchestrator.Result result = orchestrator.run(new CancellationToken(), null);
+
+        // Then
+        assertThat(result.status("broken")).isEqualTo(ScanOrchestrator.Status.FAILED);
+        assertThat(result.nodes().get("broken").error()).hasMessage("parse failed");
+        assertThat(result.status("dependent")).isEqualTo(ScanOrchestrator.Status.SKIPPED);
+        assertThat(result.value("independent", String.class)).isEqualTo("ok");
+    }
+
+    @Test
+    void shouldTimeOutNodeAfterItsDeadline() throws Exception {
+        // Given
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 2)
+                .addNode("transitive", ScanOrchestrator.PRIORITY_LOW, Duration.ofMillis(200), context -> {
+                    while (!context.token().isCancelled()) {
+                        Thread.onSpinWait();
+                    }
+                    return "late";
+                })
+                .addNode("report", context -> "never", "transitive")
+                .addNode("config", context -> "ok");
+
+        // When
+        long start = System.nanoTime();
+        ScanOrchestrator.Result result = orchestrator.run(new CancellationToken(), null);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(result.status("transitive")).isEqualTo(ScanOrchestrator.Status.TIMED_OUT);
+        assertThat(result.status("report")).isEqualTo(ScanOrchestrator.Status.SKIPPED);
+        assertThat(result.value("config", String.class)).isEqualTo("ok");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldStartNextScanWhileTimedOutNodeIsStillRunning() throws Exception {
+        // Given, two scans sharing one thread factory, as the plugin's scans do
+        ThreadFactory threads = Thread.ofPlatform().daemon(true).factory();
+        ScanOrchestrator orchestrator = new ScanOrchestrator(threads, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        orchestrator.addNode("transitive", ScanOrchestrator.PRIORITY_LOW, Duration.ofMillis(200), context -> {
+            // Ignores both the token and interrupts, like a scanner between cancellation checks
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return "late";
+        });
+        ScanOrchestrator next = new ScanOrchestrator(threads, 1)
+                .addNode("config", context -> "ok");
+
+        try {
+            // When
+            ScanOrchestrator.Result timedOut = orchestrator.run(new CancellationToken(), null);
+            long start = System.nanoTime();
+            ScanOrchestrator.Result result = next.run(new CancellationToken(), null);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then
+            assertThat(timedOut.status("transitive")).isEqualTo(ScanOrchestrator.Status.TIMED_OUT);
+            assertThat(result.value("config", String.class)).isEqualTo("ok");
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldCancelRunningAndPendingNodes() throws Exception {
+        // Given
+        CancellationToken token = new CancellationToken();
+        CountDownLatch started = new CountDownLatch(1);
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 2)
+                .addNode("scan", context -> {
+                    started.countDown();
+                    while (!context.token().isCancelled()) {
+                        Thread.onSpinWait();
+                    }
+                    context.token().throwIfCancelled();
+                    return "unreachable";
+                })
+                .addNode("recommendations", context -> "never", "scan");
+        Thread canceller = new Thread(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            token.cancel();
+        });
+        canceller.start();
+
+        // When
+        ScanOrchestrator.Result result = orchestrator.run(token, null);
+
+        // Then
+        assertThat(result.status("scan")).isEqualTo(ScanOrchestrator.Status.CANCELLED);
+        assertThat(result.status("recommendations")).isEqualTo(ScanOrchestrator.Status.CANCELLED);
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void shouldBindNodeTokenForScanExecutor() throws Exception {
+        // Given
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 1)
+                .addNode("scan", context -> CancellationToken.current() == context.token());
+
+        // When
+        ScanOrchestrator.Result result = orchestrator.run(new CancellationToken(), null);
+
+        // Then
+        assertThat(result.value("scan", Boolean.class)).isTrue();
+        assertThat(CancellationToken.current().isCancelled()).isFalse();
+    }
+
+    @Test
+    void shouldRejectUnknownDependency() {
+        // Given
+        ScanOrchestrator orchestrator = new ScanOrchestrator(executor, 1);
+
+        // When / Then
+        assertThatThrownBy(() -> orchestrator.addNode("parse", context -> null, "inventory"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("inventory");
+    }
+}
@@ -0,0 +1,47 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ScanProfileStore
+ */
+@Tag("slow")
+class ScanProfileStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRoundTripProfilePerProject() throws Exception {
+        // Given
+        Path project = tempDir.resolve("project");
+        ScanProfile profile = new ScanProfile(90_000_000L, 60_000_000L, 1,
+                List.of(new ScanProfile.PhaseTiming(ScanProfile.Phase.READ, 1_000_000L, 500_000L),
+                        new ScanProfile.PhaseTiming(ScanProfile.Phase.PARSE, 30_000_000L, 29_000_000L),
+                        new ScanProfile.PhaseTiming(ScanProfile.Phase.MATCH, 5_000_000L, 4_000_000L)),
+                List.of(new ScanProfile.ScannerTiming("config-files", 80_000_000L, -1, 0),
+                        new ScanProfile.ScannerTiming("JPA", 2_000_000L, 1_500_000L, 1)),
+                List.of(new ScanProfile.FileTiming(project.resolve("src/Customer.java"), "Shared parse",
+                        36_000_000L, 33_500_000L, 1_000_000L, 30_000_000L, 5_000_000L)));
+
+        try (CentralMigrationAnalysisStore store = new CentralMigrationAnalysisStore(tempDir.resolve("central.db"))) {
+            ScanProfileStore profileStore = new ScanProfileStore(store);
+
+            // When
+            profileStore.save(project, profile);
+
+            // Then
+            assertThat(profileStore.load(project)).isEqualTo(profile);
+            assertThat(profileStore.load(tempDir.resolve("other"))).isNull();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ScanProfiler
+ */
+@Tag("slow")
+class ScanProfilerTest {
+
+    @Test
+    void shouldAttributeTimeToPhasesAndKeepSlowestFiles() throws Exception {
+        // Given
+        ScanProfiler profiler = new ScanProfiler(2);
+
+        // When
+        timeFile(profiler, "Fast.java", 0, 0, 5);
+        timeFile(profiler, "Slow.java", 10, 30, 10);
+        timeFile(profiler, "Medium.java", 0, 20, 5);
+        ScanProfile profile = profiler.profile();
+
+        // Then
+        assertThat(profile.filesProfiled()).isEqualTo(3);
+        assertThat(profile.phase(ScanProfile.Phase.READ).wallMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(profile.phase(ScanProfile.Phase.PARSE).wallMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(profile.phase(ScanProfile.Phase.MATCH).wallMillis()).isGreaterThanOrEqualTo(20);
+        assertThat(profile.scanner("JPA").files()).isEqualTo(3);
+        assertThat(profile.scanner("JPA").wallMillis()).isGreaterThanOrEqualTo(80);
+        assertThat(profile.slowestFiles()).extracting(ScanProfile.FileTiming::file)
+                .containsExactly(Path.of("Slow.java"), Path.of("Medium.java"));
+        ScanProfile.FileTiming slowest = profile.slowestFiles().get(0);
+        assertThat(slowest.wallNanos()).isEqualTo(slowest.readNanos() + slowest.parseNanos() + slowest.matchNanos());
+        assertThat(slowest.parseNanos()).isGreaterThanOrEqualTo(30_000_000L);
+        assertThat(profile.wallNanos()).isGreaterThanOrEqualTo(80_000_000L);
+    }
+
+    @Test
+    void shouldNotCountTimeWhilePaused() throws Exception {
+        // Given
+        ScanProfiler profiler = new ScanProfiler();
+        ScanProfiler.FileTimer timer = profiler.startFile(Path.of("Batched.java"), "Shared parse");
+
+        // When
+        timer.pause();
+        Thread.sleep(30);
+        timer.add(ScanProfile.Phase.PARSE, 7_000_000L, 0);
+        timer.enter(ScanProfile.Phase.MATCH);
+        timer.finish();
+        ScanProfile profile = profiler.profile();
+
+        // Then
+        ScanProfile.FileTiming file = profile.slowestFiles().get(0);
+        assertThat(file.parseNanos()).isEqualTo(7_000_000L);
+        assertThat(file.wallNanos()).isLessThan(30_000_000L);
+    }
+
+    @Test
+    void shouldIncludeStepProfilesWithoutTheirElapsedTime() throws Exception {
+        // Given
+        ScanProfiler step = new ScanProfiler();
+        timeFile(step, "Customer.java", 0, 5, 0);
+        ScanProfile stepProfile = step.profile();
+
+        ScanProfiler scan = new ScanProfiler();
+
+        // When
+        scan.recordStep("java-sources", 50_000_000L);
+        scan.recordStep("config-files", 80_000_000L);
+        scan.include(stepProfile);
+        scan.include(null);
+        ScanProfile profile = scan.profile();
+
+        // Then
+        assertThat(profile.filesProfiled()).isEqualTo(1);
+        assertThat(profile.phase(ScanProfile.Phase.PARSE).wallNanos())
+                .isEqualTo(stepProfile.phase(ScanProfile.Phase.PARSE).wallNanos());
+        assertThat(profile.scanners()).extracting(ScanProfile.ScannerTiming::scanner)
+                .containsExactly("config-files", "java-sources", "JPA");
+        assertThat(profile.scanner("config-files").cpuNanos()).isEqualTo(-1);
+        assertThat(profile.scanner("JPA").cpuNanos()).isGreaterThanOrEqualTo(0);
+        assertThat(profile.slowestFiles()).isEqualTo(stepProfile.slowestFiles());
+    }
+
+    @Test
+    void shouldKeepSlowestFilesRecordedFromManyThreads() throws Exception {
+        // Given
+        ScanProfiler profiler = new ScanProfiler(5);
+        List<Path> files = IntStream.range(0, 200)
+                .mapToObj(i -> Path.of("Type" + i + ".java"))
+                .toList();
+
+        // When
+        files.parallelStream().forEach(file -> {
+            ScanProfiler.FileTimer timer = profiler.startFile(file, "CDI Injection");
+            timer.enter(ScanProfile.Phase.MATCH);
+            timer.finish();
+        });
+        ScanProfile profile = profiler.profile();
+
+        // Then
+        assertThat(profile.filesProfiled()).isEqualTo(200);
+        assertThat(profile.scanner("CDI Injection").files()).isEqualTo(200);
+        assertThat(profile.slowestFiles()).hasSize(5);
+        assertThat(profile.slowestFiles()).isSortedAccordingTo(
+                Comparator.comparingLong(ScanProfile.FileTiming::wallNanos).reversed());
+    }
+
+    private static void timeFile(ScanProfiler profiler, String file, long readMillis, long parseMillis,
+                                 long matchMillis) throws InterruptedException {
+        ScanProfiler.FileTimer timer = profiler.startFile(Path.of(file), "JPA");
+        Thread.sleep(readMillis);
+        timer.enter(ScanProfile.Phase.PARSE);
+        Thread.sleep(parseMillis);
+        timer.enter(ScanProfile.Phase.MATCH);
+        Thread.sleep(matchMillis);
+        timer.finish();
+    }
+}
@@ -0,0 +1,317 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ScanResultPublisher
+ */
+@Tag("slow")
+class ScanResultPublisherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldPublishSameResultsAsCollectedScan() throws Exception {
+        // Given
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            files.add(writeEntity("Entity" + i));
+        }
+        files.add(Files.writeString(tempDir.resolve("Plain.java"), "public class Plain {}"));
+        JpaAnnotationScannerImpl scanner = new JpaAnnotationScannerImpl();
+        Queue<String> progress = new ConcurrentLinkedQueue<>();
+
+        // When
+        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> collected = scanner.scanProject(files);
+        List<FileScanResult<JpaAnnotationUsage>> published = collect(
+                scanner.publishProject(files, (phase, completed, total) -> progress.add(completed + "/" + total)));
+
+        // Then
+        assertThat(published).hasSize(6);
+        assertThat(published).extracting(FileScanResult::filePath)
+                .containsExactlyInAnyOrderElementsOf(collected.fileResults().stream().map(FileScanResult::filePath).toList());
+        assertThat(progress).contains("7/7");
+    }
+
+    @Test
+    void shouldPublishWalkedProjectLikeCollectedScan() throws Exception {
+        // Given
+        Files.createDirectories(tempDir.resolve("a/b"));
+        for (int i = 0; i < 4; i++) {
+            writeEntity("Entity" + i);
+        }
+        Files.writeString(tempDir.resolve("a/b/Nested.java"), """
+            package com.example;
+
+            import javax.persistence.Entity;
+
+            @Entity
+            public class Nested {
+            }
+            """);
+        Files.writeString(tempDir.resolve("a/Plain.java"), "public class Plain {}");
+        JpaAnnotationScannerImpl scanner = new JpaAnnotationScannerImpl();
+
+        // When
+        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> collected = scanner.scanProject(tempDir);
+        List<FileScanResult<JpaAnnotationUsage>> published = collect(scanner.publishProject(tempDir, null));
+
+        // Then
+        assertThat(published).hasSize(5);
+        assertThat(published).extracting(FileScanResult::filePath)
+                .containsExactlyInAnyOrderElementsOf(collected.fileResults().stream().map(FileScanResult::filePath).toList());
+    }
+
+    @Test
+    void shouldScanFilesWhileSourceIsStillFindingThem() throws Exception {
+        // Given, a source that finds its second file only after the first was scanned
+        CountDownLatch firstScanned = new CountDownLatch(1);
+        AtomicBoolean scannedBeforeSourceFinished = new AtomicBoolean();
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(sink -> {
+            sink.accept(tempDir.resolve("First.java"));
+            try {
+                scannedBeforeSourceFinished.set(firstScanned.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sink.accept(tempDir.resolve("Second.java"));
+        }, file -> {
+            firstScanned.countDown();
+            return file;
+        }, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 2, 2, 2), 8, 4, "Test", null);
+
+        // When
+        List<Path> published = collect(publisher);
+
+        // Then
+        assertThat(scannedBeforeSourceFinished).isTrue();
+        assertThat(published).containsExactlyInAnyOrder(tempDir.resolve("First.java"), tempDir.resolve("Second.java"));
+    }
+
+    @Test
+    void shouldStopSourceWhenCancelled() throws Exception {
+        // Given
+        AtomicInteger found = new AtomicInteger();
+        CountDownLatch sourceStopped = new CountDownLatch(1);
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(sink -> {
+            try {
+                for (int i = 0; i < 1_000_000; i++) {
+                    sink.accept(tempDir.resolve("File" + i + ".java"));
+                    found.incrementAndGet();
+                }
+            } finally {
+                sourceStopped.countDown();
+            }
+        }, file -> file, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 2, 2, 2), 8, 4, "Test", null);
+
+        // When
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.cancel();
+            }
+
+            @Override
+            public void onNext(Path item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        // Then
+        assertThat(sourceStopped.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(found.get()).isLessThan(1_000_000);
+    }
+
+    @Test
+    void shouldOnlyScanAheadOfDemandUpToBuffer() throws Exception {
+        // Given
+        List<Path> files = IntStream.range(0, 200).mapToObj(i -> tempDir.resolve("File" + i + ".java")).toList();
+        AtomicInteger scanned = new AtomicInteger();
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(files, file -> {
+            scanned.incrementAndGet();
+            return file;
+        }, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 1, 1, 1), 4, 2, "Test", null);
+        CountDownLatch firstItem = new CountDownLatch(1);
+
+        // When
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Path item) {
+                firstItem.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertThat(firstItem.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+
+        // Then
+        assertThat(scanned.get()).isLessThan(files.size());
+    }
+
+    @Test
+    void shouldStopScanningWhenCancelled() throws Exception {
+        // Given
+        List<Path> files = IntStream.range(0, 1000).mapToObj(i -> tempDir.resolve("File" + i + ".java")).toList();
+        AtomicInteger scanned = new AtomicInteger();
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(files, file -> {
+            scanned.incrementAndGet();
+            return file;
+        }, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 2, 2, 2), 8, 4, "Test", null);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        // When
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Path item) {
+                subscription.cancel();
+                cancelled.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertThat(cancelled.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        int afterCancel = scanned.get();
+        Thread.sleep(200);
+
+        // Then
+        assertThat(scanned.get()).isEqualTo(afterCancel).isLessThan(files.size());
+    }
+
+    @Test
+    void shouldEndStreamWhenBoundTokenIsCancelled() {
+        // Given
+        List<Path> files = IntStream.range(0, 1000).mapToObj(i -> tempDir.resolve("File" + i + ".java")).toList();
+        CancellationToken token = new CancellationToken();
+        AtomicInteger scanned = new AtomicInteger();
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(files, file -> {
+            if (scanned.incrementAndGet() == 1) {
+                token.cancel();
+            }
+            return file;
+        }, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 1, 1, 1), 4, 16, "Test", null);
+
+        // When / Then
+        try (CancellationToken.Binding ignored = token.bind()) {
+            // CompletableFuture rethrows a CancellationException as it is
+            assertThatThrownBy(() -> collect(publisher)).isInstanceOf(CancellationException.class);
+        }
+        assertThat(scanned.get()).isLessThan(files.size());
+    }
+
+    @Test
+    void shouldSkipFilesThatFailToScan() throws Exception {
+        // Given
+        List<Path> files = List.of(tempDir.resolve("Good.java"), tempDir.resolve("Bad.java"));
+        ScanResultPublisher<Path> publisher = new ScanResultPublisher<>(files, file -> {
+            if (file.getFileName().toString().startsWith("Bad")) {
+                throw new IllegalStateException("broken");
+            }
+            return file;
+        }, new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 2, 2, 2), 8, 4, "Test", null);
+
+        // When
+        List<Path> published = collect(publisher);
+
+        // Then
+        assertThat(published).containsExactly(tempDir.resolve("Good.java"));
+    }
+
+    private <R> List<R> collect(Flow.Publisher<R> publisher) throws Exception {
+        Queue<R> items = new ConcurrentLinkedQueue<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(R item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(30, TimeUnit.SECONDS);
+        return new ArrayList<>(items);
+    }
+
+    private Path writeEntity(String name) throws IOException {
+        return Files.writeString(tempDir.resolve(name + ".java"), """
+            package com.example;
+
+            import javax.persistence.Entity;
+
+            @Entity
+            public class %s {
+            }
+            """.formatted(name));
+    }
+}
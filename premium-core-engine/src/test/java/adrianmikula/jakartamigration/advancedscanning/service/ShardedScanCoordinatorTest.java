@@ -0,0 +1,189 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ClassloaderModuleUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.DeprecatedApiUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceFileFindings;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JmsMessagingUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.SecurityApiUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ServletJspUsage;
+import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import adrianmikula.jakartamigration.testfixtures.SyntheticProjectGenerator;
+import adrianmikula.jakartamigration.util.ProjectInventory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ShardedScanCoordinator
+ */
+@Tag("slow")
+class ShardedScanCoordinatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldKeepModulesTogetherAndBalanceShards() {
+        // Given
+        Path web = Path.of("/work/shop/web");
+        Path core = Path.of("/work/shop/core");
+        Path api = Path.of("/work/shop/api");
+        List<Path> javaFiles = List.of(
+                web.resolve("src/A.java"), core.resolve("src/B.java"), web.resolve("src/C.java"),
+                api.resolve("src/D.java"), web.resolve("src/deep/E.java"), core.resolve("src/F.java"));
+
+        // When
+        List<List<Path>> shards = ShardedScanCoordinator.partition(javaFiles, List.of(web, core, api), 2,
+                ShardedScanCoordinator.Partitioning.MODULE);
+
+        // Then
+        assertThat(shards).containsExactly(
+                List.of(web.resolve("src/A.java"), web.resolve("src/C.java"), web.resolve("src/deep/E.java")),
+                List.of(core.resolve("src/B.java"), api.resolve("src/D.java"), core.resolve("src/F.java")));
+    }
+
+    @Test
+    void shouldSplitByHashWhenThereAreFewerModulesThanShards() {
+        // Given
+        Path root = Path.of("/work/single");
+        List<Path> javaFiles = IntStream.range(0, 100)
+                .mapToObj(i -> root.resolve("src/File" + i + ".java"))
+                .toList();
+
+        // When
+        List<List<Path>> byModule = ShardedScanCoordinator.partition(javaFiles, List.of(root), 4,
+                ShardedScanCoordinator.Partitioning.MODULE);
+        List<List<Path>> byHash = ShardedScanCoordinator.partition(javaFiles, List.of(), 4,
+                ShardedScanCoordinator.Partitioning.HASH);
+
+        // Then
+        assertThat(byModule).hasSize(4).isEqualTo(byHash);
+        assertThat(byHash.stream().mapToInt(List::size).sum()).isEqualTo(javaFiles.size());
+    }
+
+    @Test
+    void shouldRoundTripFindingsThroughProtocol() throws Exception {
+        // Given
+        Path entity = tempDir.resolve("Order.java");
+        Files.writeString(entity, """
+                package shop;
+
+                import javax.persistence.Entity;
+
+                @Entity
+                public class Order {
+                }
+                """);
+        Path plain = tempDir.resolve("Util.java");
+        Files.writeString(plain, "package shop;\n\npublic class Util {\n}\n");
+        Map<Path, JavaSourceFileFindings> scanned = new AdvancedScanningModule(mock(RecipeService.class))
+                .scanJavaSourceFindings(List.of(entity, plain));
+
+        // When
+        Map<Path, JavaSourceFileFindings> decoded = new HashMap<>();
+        String cleanLine = ShardScanProtocol.encode(plain, scanned.get(plain));
+        ShardScanProtocol.decode(ShardScanProtocol.encode(entity, scanned.get(entity)), decoded);
+        ShardScanProtocol.decode(cleanLine, decoded);
+        int done = ShardScanProtocol.decode(ShardScanProtocol.encodeDone(2), decoded);
+
+        // Then
+        assertThat(cleanLine).startsWith("C\t");
+        assertThat(done).isEqualTo(2);
+        assertThat(decoded.get(plain)).isSameAs(ShardScanProtocol.NO_FINDINGS);
+        assertThat(decoded.get(entity).jpa().usages()).isEqualTo(scanned.get(entity).jpa().usages());
+        assertThat(decoded.get(entity)).usingRecursiveComparison().isEqualTo(scanned.get(entity));
+        assertThatThrownBy(() -> ShardScanProtocol.decode("garbage", decoded))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRoundTripEveryScannerResultThroughProtocol() {
+        // Given
+        Path file = tempDir.resolve("Legacy.java");
+        JavaSourceFileFindings findings = new JavaSourceFileFindings(
+                new FileScanResult<>(file, List.of(new JpaAnnotationUsage(
+                        "javax.persistence.Entity", "jakarta.persistence.Entity", 5, "Legacy", "@Entity")), 40),
+                new FileScanResult<>(file, List.of(JavaxUsage.of(
+                        "javax.validation.constraints.NotNull", "jakarta.validation.constraints.NotNull", 9, "@NotNull")), 40),
+                new FileScanResult<>(file, List.of(new ServletJspUsage(
+                        "javax.servlet.http.HttpServlet", "jakarta.servlet.http.HttpServlet", 3, "extends", "servlet")), 40),
+                new FileScanResult<>(file, List.of(JavaxUsage.of(
+                        "javax.inject.Inject", "jakarta.inject.Inject", 12, "@Inject")), 40),
+                new FileScanResult<>(file, List.of(JavaxUsage.of(
+                        "javax.ws.rs.Path", "jakarta.ws.rs.Path", 4, "@Path")), 40),
+                new DeprecatedApiScanResult(file, List.of(new DeprecatedApiUsage(
+                        "javax.xml.bind.JAXBContext", "newInstance", "jakarta.xml.bind.JAXBContext", 20,
+                        "JAXBContext.newInstance(Legacy.class)", "removed")), 40),
+                new SecurityApiScanResult(file, List.of(new SecurityApiUsage(
+                        "javax.security.auth.message.AuthStatus", null, "jakarta.security.auth.message.AuthStatus",
+                        22, "AuthStatus.SUCCESS")), 40),
+                new JmsMessagingScanResult(file, List.of(new JmsMessagingUsage(
+                        "javax.jms.ConnectionFactory", "createConnection", "jakarta.jms.ConnectionFactory", 25,
+                        "factory.createConnection()")), 40),
+                new ClassloaderModuleScanResult(file, List.of(new ClassloaderModuleUsage(
+                        "javax.annotation.processing.Processor", "getClassLoader", 30,
+                        "Processor.class.getClassLoader()", "jakarta.annotation.processing.Processor")), 40));
+        Map<Path, JavaSourceFileFindings> decoded = new HashMap<>();
+
+        // When
+        String line = ShardScanProtocol.encode(file, findings);
+        ShardScanProtocol.decode(line, decoded);
+
+        // Then
+        assertThat(line).startsWith("F\t").doesNotContain("\n");
+        JavaSourceFileFindings result = decoded.get(file);
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.jpa()).isEqualTo(findings.jpa());
+        assertThat(result.beanValidation()).isEqualTo(findings.beanValidation());
+        assertThat(result.servletJsp()).isEqualTo(findings.servletJsp());
+        assertThat(result.cdiInjection()).isEqualTo(findings.cdiInjection());
+        assertThat(result.restSoap()).isEqualTo(findings.restSoap());
+        assertThat(result.deprecatedApi()).isEqualTo(findings.deprecatedApi());
+        assertThat(result.securityApi()).usingRecursiveComparison().isEqualTo(findings.securityApi());
+        assertThat(result.jmsMessaging()).usingRecursiveComparison().isEqualTo(findings.jmsMessaging());
+        assertThat(result.classloaderModule()).usingRecursiveComparison().isEqualTo(findings.classloaderModule());
+    }
+
+    @Test
+    void shouldMatchInProcessScanWhenShardedAcrossWorkerJvms() throws Exception {
+        // Given
+        SyntheticProjectGenerator.generate(
+                SyntheticProjectGenerator.Spec.builder().javaFiles(120).javaFilesPerModule(30).build(), tempDir);
+        ProjectInventory inventory = ProjectInventory.scan(tempDir);
+        AdvancedScanningModule module = new AdvancedScanningModule(mock(RecipeService.class));
+        ShardedScanCoordinator coordinator = new ShardedScanCoordinator(module, new ShardedScanCoordinator.Options(
+                3, ShardedScanCoordinator.Partitioning.MODULE, List.of("-Xmx256m"),
+                System.getProperty("java.class.path")));
+
+        // When
+        JavaSourceScanResults sharded = coordinator.scan(inventory);
+        JavaSourceScanResults inProcess = module.scanJavaSources(inventory.files(ProjectInventory.Category.JAVA));
+
+        // Then
+        assertThat(sharded.totalFilesScanned()).isEqualTo(inProcess.totalFilesScanned()).isEqualTo(120);
+        assertThat(sharded.jpaResult()).isEqualTo(inProcess.jpaResult());
+        assertThat(sharded.cdiInjectionResult()).isEqualTo(inProcess.cdiInjectionResult());
+        assertThat(sharded.servletJspResult()).isEqualTo(inProcess.servletJspResult());
+        assertThat(sharded.restSoapResult()).isEqualTo(inProcess.restSoapResult());
+        assertThat(sharded.profile()).isNull();
+    }
+}
@@ -0,0 +1,346 @@
+package adrianmikula.jakartamigration.advancedscanning.service;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaxUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.CdiInjectionScannerImpl;
+import adrianmikula.jakartamigration.advancedscanning.service.impl.JpaAnnotationScannerImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SharedParseScanPipeline
+ */
+@Tag("slow")
+class SharedParseScanPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldProduceSameFindingsAsIndividualScanners() throws Exception {
+        // Given
+        Path entity = tempDir.resolve("Customer.java");
+        Files.writeString(entity, """
+            package com.example;
+
+            import javax.persistence.Entity;
+            import javax.persistence.Id;
+
+            @Entity
+            public class Customer {
+                @Id
+                private Long id;
+            }
+            """);
+        Path bean = tempDir.resolve("CustomerService.java");
+        Files.writeString(bean, """
+            package com.example;
+
+            import javax.inject.Inject;
+            import javax.enterprise.context.ApplicationScoped;
+
+            @ApplicationScoped
+            public class CustomerService {
+                @Inject
+                private CustomerRepository repository;
+            }
+            """);
+        Path plain = tempDir.resolve("Plain.java");
+        Files.writeString(plain, """
+            package com.example;
+
+            public class Plain {
+            }
+            """);
+        List<Path> files = List.of(entity, bean, plain);
+
+        JpaAnnotationScannerImpl jpaScanner = new JpaAnnotationScannerImpl();
+        CdiInjectionScannerImpl cdiScanner = new CdiInjectionScannerImpl();
+
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var jpa = pipeline.register("JPA", jpaScanner, FileScanResult::hasIssues);
+        var cdi = pipeline.register("CDI Injection", cdiScanner, FileScanResult::hasIssues);
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(files);
+
+        // Then
+        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> expectedJpa = jpaScanner.scanProject(files);
+        ProjectScanResult<FileScanResult<JavaxUsage>> expectedCdi = cdiScanner.scanProject(files);
+
+        assertThat(result.totalFilesScanned()).isEqualTo(3);
+        assertThat(result.fileResults(jpa)).containsExactlyElementsOf(expectedJpa.fileResults());
+        assertThat(result.fileResults(cdi)).containsExactlyElementsOf(expectedCdi.fileResults());
+        assertThat(result.fileResults(jpa)).extracting(FileScanResult::filePath).containsExactly(entity);
+        assertThat(result.fileResults(cdi)).extracting(FileScanResult::filePath).containsExactly(bean);
+    }
+
+    @Test
+    void shouldParseEachFileOnceForAllScanners() throws Exception {
+        // Given
+        Path file = tempDir.resolve("Example.java");
+        Files.writeString(file, "package com.example;\n\npublic class Example {\n}\n");
+
+        AtomicInteger calls = new AtomicInteger();
+        List<ParsedSourceFile> seen = new CopyOnWriteArrayList<>();
+        ParsedSourceScanner<String> recordingScanner = parsedFile -> {
+            calls.incrementAndGet();
+            seen.add(parsedFile);
+            return "ok";
+        };
+
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var first = pipeline.register("first", recordingScanner, r -> true);
+        var second = pipeline.register("second", recordingScanner, r -> true);
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(List.of(file));
+
+        // Then
+        assertThat(calls).hasValue(2);
+        assertThat(seen.get(0)).isSameAs(seen.get(1));
+        assertThat(seen.get(0).isParsed()).isTrue();
+        assertThat(seen.get(0).lineCount()).isEqualTo(4);
+        assertThat(result.fileResults(first)).containsExactly("ok");
+        assertThat(result.fileResults(second)).containsExactly("ok");
+    }
+
+    @Test
+    void shouldProfileEveryFileAndScanner() throws Exception {
+        // Given
+        Path entity = tempDir.resolve("Customer.java");
+        Files.writeString(entity, "package com.example;\n\nimport javax.persistence.Entity;\n\n@Entity\npublic class Customer {\n}\n");
+        Path plain = tempDir.resolve("Plain.java");
+        Files.writeString(plain, "package com.example;\n\npublic class Plain {\n}\n");
+
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        pipeline.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        pipeline.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        ScanProfile profile = pipeline.scan(List.of(entity, plain)).profile();
+
+        // Then
+        assertThat(profile.filesProfiled()).isEqualTo(2);
+        assertThat(profile.scanner(SharedParseScanPipeline.PROFILE_SCANNER_NAME).files()).isEqualTo(2);
+        assertThat(profile.scanner("JPA").files()).isEqualTo(2);
+        assertThat(profile.scanner("CDI Injection").files()).isEqualTo(2);
+        assertThat(profile.phase(ScanProfile.Phase.PARSE).wallNanos()).isPositive();
+        assertThat(profile.slowestFiles()).extracting(ScanProfile.FileTiming::file).containsExactlyInAnyOrder(entity, plain);
+        ScanProfile.FileTiming plainTiming = profile.slowestFiles().stream()
+                .filter(timing -> timing.file().equals(plain))
+                .findFirst().orElseThrow();
+        assertThat(plainTiming.parseNanos()).isZero();
+    }
+
+    @Test
+    void shouldIsolateScannerFailures() throws Exception {
+        // Given
+        Path file = tempDir.resolve("Example.java");
+        Files.writeString(file, "package com.example;\n\npublic class Example {\n}\n");
+
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var failing = pipeline.register("failing", parsedFile -> {
+            throw new IllegalStateException("boom");
+        }, r -> true);
+        var working = pipeline.register("working", parsedFile -> "ok", r -> true);
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(List.of(file));
+
+        // Then
+        assertThat(result.fileResults(failing)).isEmpty();
+        assertThat(result.fileResults(working)).containsExactly("ok");
+    }
+
+    @Test
+    void shouldSkipParsingFilesWithoutTriggerTokens() throws Exception {
+        // Given
+        Path entity = tempDir.resolve("Customer.java");
+        Files.writeString(entity, """
+            package com.example;
+
+            import javax.persistence.Entity;
+
+            @Entity
+            public class Customer {
+            }
+            """);
+        Path plain = tempDir.resolve("Plain.java");
+        Files.writeString(plain, "package com.example;\n\npublic class Plain {\n}\n");
+
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var jpa = pipeline.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        var cdi = pipeline.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+        List<String> relevance = new CopyOnWriteArrayList<>();
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(List.of(entity, plain), (parsedFile, findings) ->
+                relevance.add(parsedFile.filePath().getFileName() + ":" + parsedFile.isParsed()
+                        + ":" + findings.isRelevant(jpa) + ":" + findings.isRelevant(cdi)));
+
+        // Then
+        assertThat(result.totalFilesScanned()).isEqualTo(2);
+        assertThat(result.totalFilesParsed()).isEqualTo(1);
+        assertThat(result.fileResults(jpa)).extracting(FileScanResult::filePath).containsExactly(entity);
+        assertThat(result.fileResults(cdi)).isEmpty();
+        assertThat(relevance).containsExactlyInAnyOrder(
+                "Customer.java:true:true:false",
+                "Plain.java:false:false:false");
+    }
+
+    @Test
+    void shouldProduceSameFindingsWhenParsingInBatches() throws Exception {
+        // Given
+        List<Path> files = writeProject(6, 9);
+        ScanExecutor executor = new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 4, 256, 4);
+
+        SharedParseScanPipeline perFile = new SharedParseScanPipeline(ScanMemoryBudget.shared(), executor, 1);
+        var perFileJpa = perFile.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        var perFileCdi = perFile.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+
+        SharedParseScanPipeline batched = new SharedParseScanPipeline(ScanMemoryBudget.shared(), executor, 8);
+        var batchedJpa = batched.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        var batchedCdi = batched.register("CDI Injection", new CdiInjectionScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        SharedParseScanPipeline.PipelineResult expected = perFile.scan(files);
+        SharedParseScanPipeline.PipelineResult result = batched.scan(files);
+
+        // Then
+        assertThat(result.totalFilesScanned()).isEqualTo(54);
+        assertThat(result.totalFilesParsed()).isEqualTo(expected.totalFilesParsed());
+        assertThat(result.fileResults(batchedJpa)).hasSize(18)
+                .containsExactlyElementsOf(expected.fileResults(perFileJpa));
+        assertThat(result.fileResults(batchedCdi)).isNotEmpty()
+                .containsExactlyElementsOf(expected.fileResults(perFileCdi));
+    }
+
+    @Test
+    void shouldPartitionByDirectoryWithinSizeAndCostLimits() {
+        // Given
+        Path a = Path.of("src/a");
+        Path b = Path.of("src/b");
+        List<Path> files = List.of(a.resolve("A1.java"), b.resolve("B1.java"), a.resolve("A2.java"),
+                a.resolve("A3.java"), b.resolve("B2.java"), b.resolve("Huge.java"), a.resolve("A4.java"));
+
+        // When
+        List<SharedParseScanPipeline.Batch> batches = SharedParseScanPipeline.partition(files, 3, 100,
+                file -> file.getFileName().toString().startsWith("Huge") ? 500 : 10);
+
+        // Then
+        assertThat(batches).extracting(SharedParseScanPipeline.Batch::files).containsExactly(
+                List.of(a.resolve("A1.java"), a.resolve("A2.java"), a.resolve("A3.java")),
+                List.of(a.resolve("A4.java"), b.resolve("B1.java"), b.resolve("B2.java")),
+                List.of(b.resolve("Huge.java")));
+        assertThat(batches.get(1).indexes()).containsExactly(6, 1, 4);
+    }
+
+    @Test
+    void shouldProduceSameFindingsInBatchesAsPerFile() throws Exception {
+        // Given
+        List<Path> files = writeProject(20, 40);
+        ScanExecutor executor = new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 4, 256, 4);
+        SharedParseScanPipeline perFile = new SharedParseScanPipeline(ScanMemoryBudget.shared(), executor, 1);
+        var perFileJpa = perFile.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        SharedParseScanPipeline batched = new SharedParseScanPipeline(ScanMemoryBudget.shared(), executor, 50);
+        var batchedJpa = batched.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        SharedParseScanPipeline.PipelineResult expected = perFile.scan(files);
+        SharedParseScanPipeline.PipelineResult result = batched.scan(files);
+
+        // Then
+        assertThat(result.totalFilesScanned()).isEqualTo(800);
+        assertThat(result.totalFilesParsed()).isEqualTo(expected.totalFilesParsed());
+        assertThat(result.fileResults(batchedJpa)).containsExactlyElementsOf(expected.fileResults(perFileJpa));
+    }
+
+    @Test
+    void shouldThrowInsteadOfReturningPartialResultsWhenCancelled() throws Exception {
+        // Given
+        List<Path> files = writeProject(2, 3);
+        ScanExecutor executor = new ScanExecutor(ScanExecutor.Mode.FORK_JOIN, 4, 256, 4);
+        SharedParseScanPipeline batched = new SharedParseScanPipeline(ScanMemoryBudget.shared(), executor, 4);
+        batched.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        // Then
+        try (CancellationToken.Binding binding = token.bind()) {
+            assertThatThrownBy(() -> batched.scan(files)).isInstanceOf(CancellationException.class);
+        }
+    }
+
+    @Test
+    void shouldThrowWhenInterruptedWhileScanning() throws Exception {
+        // Given
+        List<Path> files = writeProject(2, 3);
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        pipeline.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        Thread.currentThread().interrupt();
+        try {
+            // Then
+            assertThatThrownBy(() -> pipeline.scan(files)).isInstanceOf(CancellationException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void shouldReturnEmptyResultsForNoFiles() {
+        // Given
+        SharedParseScanPipeline pipeline = new SharedParseScanPipeline();
+        var handle = pipeline.register("JPA", new JpaAnnotationScannerImpl(), FileScanResult::hasIssues);
+
+        // When
+        SharedParseScanPipeline.PipelineResult result = pipeline.scan(List.of());
+
+        // Then
+        assertThat(result.totalFilesScanned()).isZero();
+        assertThat(result.fileResults(handle)).isEmpty();
+    }
+
+    /**
+     * Writes packages x classes Java files, interleaving packages in the returned list; every third
+     * file is a javax.persistence entity and every third a CDI bean that injects the entity's repository.
+     */
+    private List<Path> writeProject(int packages, int classes) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int cls = 0; cls < classes; cls++) {
+            for (int pkg = 0; pkg < packages; pkg++) {
+                String packageName = "com.example.p" + pkg;
+                Path dir = Files.createDirectories(tempDir.resolve("src/main/java/" + packageName.replace('.', '/')));
+                String body = switch (cls % 3) {
+                    case 0 -> "import javax.persistence.Entity;\nimport javax.persistence.Id;\n\n@Entity\n"
+                            + "public class Type" + cls + " {\n    @Id\n    private Long id;\n}\n";
+                    case 1 -> "import javax.inject.Inject;\n\npublic class Type" + cls + " {\n"
+                            + "    @Inject\n    private Type" + (cls - 1) + " entity;\n}\n";
+                    default -> "public class Type" + cls + " {\n    private final int value = " + cls + ";\n}\n";
+                };
+                files.add(Files.writeString(dir.resolve("Type" + cls + ".java"),
+                        "package " + packageName + ";\n\n" + body));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,113 @@
+package adrianmikula.jakartamigration.advancedscanning.service.impl;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.DependencyTreeResult;
+import adrianmikula.jakartamigration.advancedscanning.service.DependencyTreeCommandExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("slow")
+class GradleToolingApiDependencyTreeExecutorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parseTrees_shouldGroupDependenciesByProject() throws IOException {
+        // Given
+        Path app = Files.createDirectories(tempDir.resolve("app"));
+        Path lib = Files.createDirectories(tempDir.resolve("lib"));
+        String output = String.join("\n",
+                "JMPROJECT\t" + app,
+                "JMDEP\t" + app + "\tcompileClasspath\t0\torg.web\tweb-fw\t1.0\t",
+                "JMDEP\t" + app + "\tcompileClasspath\t1\tjavax.servlet\tjavax.servlet-api\t4.0.1\torg.web:web-fw",
+                "> Task :app:jakartaMigrationDependencyTree",
+                "JMPROJECT\t" + lib);
+
+        // When
+        Map<Path, DependencyTreeResult> trees = GradleToolingApiDependencyTreeExecutor.parseTrees(output);
+
+        // Then
+        List<DependencyTreeResult.DependencyNode> deps = trees.get(app.toRealPath()).getDependencies();
+        assertEquals(2, deps.size());
+        assertEquals("compileClasspath", deps.get(0).getScope());
+        assertFalse(deps.get(0).isTransitive());
+        assertNull(deps.get(0).getParentArtifactKey());
+        assertEquals("4.0.1", deps.get(1).getVersion());
+        assertEquals(1, deps.get(1).getDepth());
+        assertEquals("org.web:web-fw", deps.get(1).getParentArtifactKey());
+        assertEquals(Set.of("compileClasspath"), trees.get(app.toRealPath()).getScopes());
+        assertTrue(trees.get(lib.toRealPath()).isSuccess());
+        assertTrue(trees.get(lib.toRealPath()).getDependencies().isEmpty());
+    }
+
+    @Test
+    void buildRoot_shouldFindNearestSettingsFile() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("build"));
+        Files.createFile(root.resolve("settings.gradle.kts"));
+        Path module = Files.createDirectories(root.resolve("modules/web"));
+        Path standalone = Files.createDirectories(tempDir.resolve("standalone"));
+
+        // Then
+        assertEquals(root, GradleToolingApiDependencyTreeExecutor.buildRoot(module));
+        assertEquals(root, GradleToolingApiDependencyTreeExecutor.buildRoot(root));
+        assertEquals(standalone, GradleToolingApiDependencyTreeExecutor.buildRoot(standalone));
+    }
+
+    @Test
+    void buildInputs_shouldTrackScriptsCatalogsAndBuildSrcButNotOutputs() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("shop"));
+        Files.writeString(root.resolve("settings.gradle.kts"), "include(\"app\")");
+        Files.writeString(root.resolve("gradle.properties"), "org.gradle.caching=true");
+        Files.writeString(Files.createDirectories(root.resolve("gradle")).resolve("libs.versions.toml"), "[versions]");
+        Files.writeString(Files.createDirectories(root.resolve("app")).resolve("build.gradle.kts"), "plugins { java }");
+        Files.writeString(Files.createDirectories(root.resolve("app/src")).resolve("Main.java"), "class Main {}");
+        Path convention = Files.createDirectories(root.resolve("buildSrc/src/main/kotlin")).resolve("java-conventions.gradle.kts");
+        Files.writeString(convention, "plugins { java }");
+        Files.writeString(Files.createDirectories(root.resolve("build/tmp")).resolve("init.gradle"), "");
+        Files.writeString(Files.createDirectories(root.resolve("buildSrc/build")).resolve("output.txt"), "");
+
+        // When
+        Set<Path> inputs = GradleToolingApiDependencyTreeExecutor.buildInputs(root).keySet();
+
+        // Then
+        assertTrue(inputs.containsAll(List.of(root.resolve("settings.gradle.kts"), root.resolve("gradle.properties"),
+                root.resolve("gradle/libs.versions.toml"), root.resolve("app/build.gradle.kts"), convention)));
+        // Directories holding inputs are tracked so that added and deleted inputs are noticed
+        assertTrue(inputs.containsAll(List.of(root, root.resolve("app"), root.resolve("buildSrc/src/main/kotlin"))));
+        assertFalse(inputs.contains(root.resolve("app/src/Main.java")));
+        assertFalse(inputs.contains(root.resolve("build/tmp/init.gradle")));
+        assertFalse(inputs.contains(root.resolve("buildSrc/build/output.txt")));
+    }
+
+    @Test
+    void executeMavenDependencyTreeAsync_shouldDelegateToFallback() {
+        // Given
+        DependencyTreeCommandExecutor fallback = mock(DependencyTreeCommandExecutor.class);
+        Path pom = tempDir.resolve("pom.xml");
+        Set<String> scopes = Set.of("compile");
+        CompletableFuture<DependencyTreeResult> expected = CompletableFuture.completedFuture(DependencyTreeResult.empty());
+        when(fallback.executeMavenDependencyTreeAsync(pom, scopes)).thenReturn(expected);
+
+        // When
+        GradleToolingApiDependencyTreeExecutor executor = new GradleToolingApiDependencyTreeExecutor(fallback);
+
+        // Then
+        assertSame(expected, executor.executeMavenDependencyTreeAsync(pom, scopes));
+        executor.shutdown();
+        verify(fallback).shutdown();
+    }
+}
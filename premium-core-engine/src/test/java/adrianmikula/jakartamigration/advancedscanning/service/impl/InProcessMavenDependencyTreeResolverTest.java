@@ -0,0 +1,113 @@
+package adrianmikula.jakartamigration.advancedscanning.service.impl;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.DependencyTreeResult;
+import adrianmikula.jakartamigration.dependencyanalysis.service.EffectivePomResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("slow")
+class InProcessMavenDependencyTreeResolverTest {
+
+    private static final Set<String> SCOPES = Set.of("compile", "provided", "runtime", "test");
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private Path appPom;
+    private InProcessMavenDependencyTreeResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = tempDir.resolve("repository");
+        repositoryPom("org.web", "web-fw", "1.0",
+                dependency("javax.servlet", "javax.servlet-api", "3.1.0", "")
+                        + dependency("org.util", "util", "1.0", "")
+                        + dependency("org.opt", "opt", "1.0", "<optional>true</optional>")
+                        + dependency("junit", "junit", "4.13.2", "<scope>test</scope>")
+                        + dependency("org.run", "run", "1.0", "<scope>runtime</scope>"));
+        repositoryPom("org.util", "util", "1.0", dependency("javax.servlet", "javax.servlet-api", "2.5", ""));
+        repositoryPom("org.util", "util", "2.0", dependency("org.log", "log", "2.0", ""));
+        repositoryPom("org.log", "log", "2.0", "");
+        repositoryPom("org.run", "run", "1.0", "");
+        repositoryPom("javax.servlet", "javax.servlet-api", "3.1.0", "");
+
+        appPom = tempDir.resolve("app/pom.xml");
+        Files.createDirectories(appPom.getParent());
+        Files.writeString(appPom, "<project><groupId>com.app</groupId><artifactId>app</artifactId><version>1</version>"
+                + "<dependencyManagement><dependencies>" + dependency("org.util", "util", "2.0", "")
+                + "</dependencies></dependencyManagement><dependencies>"
+                + dependency("org.web", "web-fw", "1.0",
+                        "<exclusions><exclusion><groupId>org.run</groupId><artifactId>*</artifactId></exclusion></exclusions>")
+                + "</dependencies></project>");
+
+        resolver = new InProcessMavenDependencyTreeResolver(new EffectivePomResolver(repository));
+    }
+
+    @Test
+    void resolve_shouldWalkTransitiveDependenciesFromLocalRepository() {
+        // When
+        DependencyTreeResult result = resolver.resolve(appPom, SCOPES).orElseThrow();
+        Map<String, DependencyTreeResult.DependencyNode> nodes = result.getDependencies().stream()
+                .collect(Collectors.toMap(DependencyTreeResult.DependencyNode::getArtifactKey, Function.identity()));
+
+        // Then
+        assertEquals(Set.of("org.web:web-fw", "javax.servlet:javax.servlet-api", "org.util:util", "org.log:log"),
+                nodes.keySet());
+        assertEquals(0, nodes.get("org.web:web-fw").getDepth());
+        assertNull(nodes.get("org.web:web-fw").getParentArtifactKey());
+        // Nearest declaration wins over util's servlet 2.5, and managed versions override transitive ones
+        assertEquals("3.1.0", nodes.get("javax.servlet:javax.servlet-api").getVersion());
+        assertEquals("2.0", nodes.get("org.util:util").getVersion());
+        assertEquals(2, nodes.get("org.log:log").getDepth());
+        assertEquals("org.util:util", nodes.get("org.log:log").getParentArtifactKey());
+        assertTrue(nodes.get("org.log:log").isTransitive());
+    }
+
+    @Test
+    void resolve_shouldReturnEmptyWhenPomIsMissingFromRepository() throws IOException {
+        // Given
+        Files.delete(repository.resolve("org/util/util/2.0/util-2.0.pom"));
+
+        // When
+        Optional<DependencyTreeResult> result = resolver.resolve(appPom, SCOPES);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void resolve_shouldReturnEmptyForUnparseablePom() throws IOException {
+        // Given
+        Path empty = Files.createFile(tempDir.resolve("pom.xml"));
+
+        // Then
+        assertTrue(resolver.resolve(empty, SCOPES).isEmpty());
+    }
+
+    private void repositoryPom(String groupId, String artifactId, String version, String dependencies) throws IOException {
+        Path directory = Files.createDirectories(
+                repository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version));
+        Files.writeString(directory.resolve(artifactId + "-" + version + ".pom"),
+                "<project><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                        + version + "</version><dependencies>" + dependencies + "</dependencies></project>");
+    }
+
+    private static String dependency(String groupId, String artifactId, String version, String extra) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                + version + "</version>" + extra + "</dependency>";
+    }
+}
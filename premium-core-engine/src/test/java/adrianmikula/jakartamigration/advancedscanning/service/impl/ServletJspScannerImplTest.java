@@ -0,0 +1,76 @@
+package adrianmikula.jakartamigration.advancedscanning.service.impl;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.ServletJspUsage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AnnotatedElementContext;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.io.TempDirFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("slow")
+class ServletJspScannerImplTest {
+
+    // The scanner skips files under paths containing "tmp" or "temp", so the default temp directory cannot be used
+    @TempDir(factory = BuildDirectoryFactory.class)
+    Path projectDir;
+
+    @Test
+    void scanProject_shouldScanJspFilesWhenJavaSourcesAreParsedInBatches() throws IOException {
+        // Given
+        Path servlet = projectDir.resolve("src/main/java/com/example/HelloServlet.java");
+        Files.createDirectories(servlet.getParent());
+        Files.writeString(servlet, """
+            package com.example;
+
+            import javax.servlet.http.HttpServlet;
+
+            public class HelloServlet extends HttpServlet {
+            }
+            """);
+        Path page = projectDir.resolve("src/main/webapp/index.jsp");
+        Files.createDirectories(page.getParent());
+        Files.writeString(page, """
+            <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+            <html><body>Hello</body></html>
+            """);
+        ServletJspScannerImpl scanner = new ServletJspScannerImpl() {
+            @Override
+            protected int parseBatchSize() {
+                return 4;
+            }
+        };
+
+        // When
+        ProjectScanResult<FileScanResult<ServletJspUsage>> result = scanner.scanProject(projectDir);
+
+        // Then
+        assertEquals(2, result.totalFilesScanned());
+        List<Path> files = result.fileResults().stream().map(FileScanResult::filePath).toList();
+        assertTrue(files.contains(servlet));
+        assertTrue(files.contains(page));
+        FileScanResult<ServletJspUsage> jsp = result.fileResults().stream()
+                .filter(file -> file.filePath().equals(page))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("taglib directive", jsp.usages().get(0).context());
+    }
+
+    static class BuildDirectoryFactory implements TempDirFactory {
+        @Override
+        public Path createTempDirectory(AnnotatedElementContext elementContext, ExtensionContext extensionContext)
+                throws IOException {
+            Path parent = Files.createDirectories(Path.of("build", "servlet-jsp-scans").toAbsolutePath());
+            return Files.createTempDirectory(parent, "project");
+        }
+    }
+}
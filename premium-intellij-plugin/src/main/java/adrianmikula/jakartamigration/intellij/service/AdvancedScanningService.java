@@ -3,9 +3,12 @@
 import adrianmikula.jakartamigration.advancedscanning.domain.*;
 import adrianmikula.jakartamigration.advancedscanning.service.*;
 import adrianmikula.jakartamigration.advancedscanning.service.impl.DependencyTreeCommandExecutorImpl;
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
+import adrianmikula.jakartamigration.analysis.persistence.SqliteMigrationAnalysisStore;
 import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
 import adrianmikula.jakartamigration.intellij.ui.ScanProgressListener;
 import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import adrianmikula.jakartamigration.advancedscanning.domain.DockerCicdUsage;
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyUsage;
 import adrianmikula.jakartamigration.intellij.ui.DashboardComponent;
@@ -20,18 +23,20 @@
 import adrianmikula.jakartamigration.dependencyanalysis.domain.Dependency;
 import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyGraph;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Service for performing advanced scanning using premium core engine.
@@ -49,13 +54,42 @@ public class AdvancedScanningService {
     private long lastScanTime;
 
     private static final long CACHE_VALIDITY_MS = 5 * 60 * 1000; // 5 minutes
+
+    // Watch mode: results kept current by file events instead of rescanning
+    private volatile ProjectScanWatcher projectWatcher;
+    private volatile AdvancedScanSummary liveSummary;
     
-    // Memory optimization: Limit parallel scanning to prevent OOM
+    // Number of scan types run concurrently; heap use is bounded by the shared ScanMemoryBudget,
+    // which every scanner admits its files against
     private static final int MAX_PARALLEL_SCANS = 2;
     
-    // Use a bounded thread pool to control memory usage
-    private final java.util.concurrent.ExecutorService scanExecutor = java.util.concurrent.Executors
-            .newFixedThreadPool(MAX_PARALLEL_SCANS);
+    // Each scan type gets a thread of its own, virtual when advanced.scan.executor=virtual; the orchestrator
+    // caps how many run at once, so a timed-out scan type that has not yet stopped never holds up later scans
+    private final java.util.concurrent.ThreadFactory scanThreads =
+            ScanExecutor.shared().mode() == ScanExecutor.Mode.VIRTUAL_THREADS
+                    ? Thread.ofVirtual().name("advanced-scan-", 0).factory()
+                    : Thread.ofPlatform().name("advanced-scan-", 0).daemon(true).factory();
+
+    // Steps of a full scan, run by a ScanOrchestrator in dependency order
+    private static final String NODE_INVENTORY = "inventory";
+    private static final String NODE_JAVA_SOURCES = "java-sources";
+    private static final String NODE_BUILD_CONFIG = "build-config";
+    private static final String NODE_CONFIG_FILES = "config-files";
+    private static final String NODE_LOGGING_METRICS = "logging-metrics";
+    private static final String NODE_SERIALIZATION_CACHE = "serialization-cache";
+    private static final String NODE_REFLECTION_USAGE = "reflection-usage";
+    private static final String NODE_THIRD_PARTY_LIBS = "third-party-libs";
+    private static final String NODE_TRANSITIVE = "transitive-dependencies";
+    private static final String NODE_RECOMMENDATIONS = "recommendations";
+    private static final int SCAN_NODE_COUNT = 10;
+
+    // The transitive scan shells out to Maven/Gradle; past this it is dropped from the summary
+    private static final Duration TRANSITIVE_SCAN_DEADLINE =
+            Duration.ofSeconds(Long.getLong("advanced.scan.transitive.deadline.seconds", 600));
+
+    // Token of the full scan in progress; a new scan or cancelScan() cancels it
+    private final AtomicReference<CancellationToken> currentScanToken = new AtomicReference<>();
+    private volatile List<ScanRecipeRecommendationService.RecipeRecommendation> lastRecommendations = List.of();
 
     public AdvancedScanningService(RecipeService recipeService) {
         this.scanningModule = new AdvancedScanningModule(recipeService);
@@ -78,25 +112,29 @@ public AdvancedScanSummary scanAll(Path projectPath) {
     /**
      * Scans a project for all advanced scanning types in parallel with progress reporting.
      * Results are cached for 5 minutes using SoftReferences.
+     * <p>
+     * Scan steps run as a dependency graph with cheap scans ahead of the transitive dependency
+     * scan, and each step is reported to the listener as soon as it finishes. Starting another
+     * scan or calling {@link #cancelScan()} cancels this one. The summary carries a {@link ScanProfile}
+     * of the scan, which is also stored for the project and read back by {@link #getLastScanProfile(Path)}.
      *
      * @param projectPath Path to the project root directory
      * @param progressListener Optional listener for progress updates
      * @return AdvancedScanSummary containing combined results
+     * @throws CancellationException if the scan was cancelled
      */
     public AdvancedScanSummary scanAll(Path projectPath, ScanProgressListener progressListener) {
         LOG.info("=== Starting Advanced Scan ===");
         LOG.info("Project path: " + projectPath);
         
-        Runtime runtime = Runtime.getRuntime();
-        long maxMemory = runtime.maxMemory();
-        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
-        long availableMemory = maxMemory - usedMemory;
-        
-        LOG.info("=== Memory Status ===");
-        LOG.info("Max Memory: " + (maxMemory / 1024 / 1024) + "MB");
-        LOG.info("Used Memory: " + (usedMemory / 1024 / 1024) + "MB");
-        LOG.info("Available Memory: " + (availableMemory / 1024 / 1024) + "MB");
+        LOG.info("Scan memory budget: " + ScanMemoryBudget.shared().usage());
         
+        AdvancedScanSummary live = getLiveSummary(projectPath);
+        if (live != null) {
+            LOG.info("Returning live scan results from watch mode");
+            return live;
+        }
+
         AdvancedScanSummary existing = cachedSummaryRef.get();
         if (existing != null && cachedProjectPath != null
                 && cachedProjectPath.equals(projectPath)
@@ -105,246 +143,256 @@ public AdvancedScanSummary scanAll(Path projectPath, ScanProgressListener progre
             return existing;
         }
 
+        CancellationToken token = new CancellationToken();
+        CancellationToken previous = currentScanToken.getAndSet(token);
+        if (previous != null) {
+            LOG.info("Cancelling previous advanced scan");
+            previous.cancel();
+        }
+
         try {
-            // Memory optimization: Limit parallel scans
-            int scansToRun = Math.min(MAX_PARALLEL_SCANS, (int) (availableMemory / (25 * 1024 * 1024)));
-            if (scansToRun < MAX_PARALLEL_SCANS) {
-                LOG.info("Reducing parallel scans from " + MAX_PARALLEL_SCANS + " to " + scansToRun + " due to memory constraints");
-            }
-            
-            if (availableMemory < 100 * 1024 * 1024) {
-                LOG.info("Low memory detected, running scans sequentially");
-                return runScansSequentially(projectPath, progressListener);
-            }
-            
-            // Discover all files once per category
-            Map<FileCategory, List<Path>> allFiles = discoverAllFilesOnce(projectPath);
-            
-            java.util.List<CompletableFuture<?>> futures = new java.util.ArrayList<>();
-            
-            LOG.info("=== Starting Batch 1: Core Scans ===");
             if (progressListener != null) {
-                progressListener.onScanPhase("Advanced Scans (Batch 1/3)", 0, 3);
+                progressListener.onScanPhase("Advanced Scans", 0, SCAN_NODE_COUNT);
             }
-            
-            CompletableFuture<ProjectScanResult<FileScanResult<JpaAnnotationUsage>>> jpaFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        LOG.info("Starting JPA scan...");
-                        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> result = scanForJpaAnnotations(allFiles.get(FileCategory.JAVA));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("JPA", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-            CompletableFuture<ProjectScanResult<FileScanResult<JavaxUsage>>> bvFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        LOG.info("Starting Bean Validation scan...");
-                        ProjectScanResult<FileScanResult<JavaxUsage>> result = scanForBeanValidation(allFiles.get(FileCategory.JAVA));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("Bean Validation", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-            CompletableFuture<ProjectScanResult<FileScanResult<ServletJspUsage>>> sjFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        LOG.info("Starting Servlet/JSP scan...");
-                        ProjectScanResult<FileScanResult<ServletJspUsage>> result = scanForServletJsp(allFiles.get(FileCategory.JAVA));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("Servlet/JSP", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-            CompletableFuture<ProjectScanResult<FileScanResult<JavaxUsage>>> cdiFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        LOG.info("Starting CDI scan...");
-                        ProjectScanResult<FileScanResult<JavaxUsage>> result = scanForCdiInjection(allFiles.get(FileCategory.JAVA));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("CDI Injection", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-             
-            CompletableFuture.allOf(jpaFuture, bvFuture, sjFuture, cdiFuture).join();
-            LOG.info("Batch 1 completed");
-             
-            if (progressListener != null) {
-                progressListener.onScanPhase("Advanced Scans (Batch 2/3)", 1, 3);
+            AtomicInteger finishedNodes = new AtomicInteger();
+            ScanProfiler profiler = new ScanProfiler();
+            ScanOrchestrator.Result result = buildScanPlan(projectPath).run(token, node -> {
+                if (!node.elapsed().isZero()) {
+                    profiler.recordStep(node.id(), node.elapsed().toNanos());
+                }
+                reportNodeFinished(progressListener, node, finishedNodes.incrementAndGet());
+            });
+            if (token.isCancelled()) {
+                throw new CancellationException("Advanced scan cancelled");
             }
-             
-            CompletableFuture<ProjectScanResult<FileScanResult<BuildConfigUsage>>> bcFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        ProjectScanResult<FileScanResult<BuildConfigUsage>> result = scanForBuildConfig(allFiles.get(FileCategory.BUILD));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("Build Config", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-            CompletableFuture<ProjectScanResult<FileScanResult<JavaxUsage>>> rsFuture = CompletableFuture
-                    .supplyAsync(() -> {
-                        ProjectScanResult<FileScanResult<JavaxUsage>> result = scanForRestSoap(allFiles.get(FileCategory.JAVA));
-                        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
-                            int totalFindings = result.fileResults().stream()
-                                .mapToInt(fileScan -> fileScan.usages().size())
-                                .sum();
-                            progressListener.onSubScanComplete("REST/SOAP", totalFindings);
-                        }
-                        return result;
-                    }, scanExecutor);
-            CompletableFuture<DeprecatedApiProjectScanResult> daFuture = CompletableFuture
-                    .supplyAsync(() -> scanForDeprecatedApi(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<SecurityApiProjectScanResult> saFuture = CompletableFuture
-                    .supplyAsync(() -> scanForSecurityApi(allFiles.get(FileCategory.JAVA)), scanExecutor);
-             
-            CompletableFuture.allOf(bcFuture, rsFuture, daFuture, saFuture).join();
-            LOG.info("Batch 2 completed");
-             
-            if (progressListener != null) {
-                progressListener.onScanPhase("Advanced Scans (Batch 3/3)", 2, 3);
-            }
-             
-            CompletableFuture<JmsMessagingProjectScanResult> jmFuture = CompletableFuture
-                    .supplyAsync(() -> scanForJmsMessaging(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<TransitiveDependencyProjectScanResult> tdFuture = CompletableFuture
-                    .supplyAsync(() -> scanForTransitiveDependencies(allFiles.get(FileCategory.BUILD)), scanExecutor);
-            CompletableFuture<ConfigFileProjectScanResult> cfFuture = CompletableFuture
-                    .supplyAsync(() -> scanForConfigFiles(allFiles.get(FileCategory.CONFIG)), scanExecutor);
-            CompletableFuture<ClassloaderModuleProjectScanResult> clFuture = CompletableFuture
-                    .supplyAsync(() -> scanForClassloaderModule(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<LoggingMetricsProjectScanResult> lmFuture = CompletableFuture
-                    .supplyAsync(() -> scanForLoggingMetrics(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<SerializationCacheProjectScanResult> scFuture = CompletableFuture
-                    .supplyAsync(() -> scanForSerializationCache(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<ReflectionUsageProjectScanResult> ruFuture = CompletableFuture
-                    .supplyAsync(() -> scanForReflectionUsage(allFiles.get(FileCategory.JAVA)), scanExecutor);
-            CompletableFuture<ThirdPartyLibProjectScanResult> tpFuture = CompletableFuture
-                    .supplyAsync(() -> scanForThirdPartyLib(allFiles.get(FileCategory.BUILD)), scanExecutor);
-
-            CompletableFuture.allOf(jmFuture, tdFuture, cfFuture, clFuture, lmFuture, scFuture, ruFuture, tpFuture).join();
-            LOG.info("Batch 3 completed");
-
-            ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult = jpaFuture.join();
-            ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult = bvFuture.join();
-            ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult = sjFuture.join();
-            ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult = cdiFuture.join();
-            ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult = bcFuture.join();
-            ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult = rsFuture.join();
-            DeprecatedApiProjectScanResult deprecatedApiResult = daFuture.join();
-            SecurityApiProjectScanResult securityApiResult = saFuture.join();
-            JmsMessagingProjectScanResult jmsMessagingResult = jmFuture.join();
-            TransitiveDependencyProjectScanResult transitiveDependencyResult = tdFuture.join();
-            ConfigFileProjectScanResult configFileResult = cfFuture.join();
-            ClassloaderModuleProjectScanResult classloaderModuleResult = clFuture.join();
-            LoggingMetricsProjectScanResult loggingMetricsResult = lmFuture.join();
-            SerializationCacheProjectScanResult serializationCacheResult = scFuture.join();
-            ReflectionUsageProjectScanResult reflectionUsageResult = ruFuture.join();
-            ThirdPartyLibProjectScanResult thirdPartyLibResult = tpFuture.join();
 
+            // Nodes that failed or timed out leave their part of the summary empty
+            JavaSourceScanResults javaResults = result.value(NODE_JAVA_SOURCES, JavaSourceScanResults.class);
+            ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult = projectScanResult(result, NODE_BUILD_CONFIG);
+            profiler.include(javaResults != null ? javaResults.profile() : null);
+            profiler.include(buildConfigResult != null ? buildConfigResult.profile() : null);
+            ScanProfile profile = profiler.profile();
             AdvancedScanSummary summary = new AdvancedScanSummary(
-                    jpaResult,
-                    beanValidationResult,
-                    servletJspResult,
-                    cdiInjectionResult,
+                    javaResults != null ? javaResults.jpaResult() : null,
+                    javaResults != null ? javaResults.beanValidationResult() : null,
+                    javaResults != null ? javaResults.servletJspResult() : null,
+                    javaResults != null ? javaResults.cdiInjectionResult() : null,
                     buildConfigResult,
-                    restSoapResult,
-                    deprecatedApiResult,
-                    securityApiResult,
-                    jmsMessagingResult,
-                    transitiveDependencyResult,
-                    configFileResult,
-                    classloaderModuleResult,
-                    loggingMetricsResult,
-                    serializationCacheResult,
-                    thirdPartyLibResult);
+                    javaResults != null ? javaResults.restSoapResult() : null,
+                    javaResults != null ? javaResults.deprecatedApiResult() : null,
+                    javaResults != null ? javaResults.securityApiResult() : null,
+                    javaResults != null ? javaResults.jmsMessagingResult() : null,
+                    result.value(NODE_TRANSITIVE, TransitiveDependencyProjectScanResult.class),
+                    result.value(NODE_CONFIG_FILES, ConfigFileProjectScanResult.class),
+                    javaResults != null ? javaResults.classloaderModuleResult() : null,
+                    result.value(NODE_LOGGING_METRICS, LoggingMetricsProjectScanResult.class),
+                    result.value(NODE_SERIALIZATION_CACHE, SerializationCacheProjectScanResult.class),
+                    result.value(NODE_THIRD_PARTY_LIBS, ThirdPartyLibProjectScanResult.class),
+                    profile,
+                    SourceFindings.of(projectPath, javaResults));
 
             cachedSummaryRef = new java.lang.ref.SoftReference<>(summary);
             cachedProjectPath = projectPath;
             lastScanTime = System.currentTimeMillis();
+            LOG.info("Scan memory budget after scan: " + ScanMemoryBudget.shared().usage());
+            saveScanProfile(projectPath, profile);
 
             return summary;
+        } catch (CancellationException e) {
+            LOG.info("Advanced scan cancelled for " + projectPath);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Advanced scan interrupted");
         } catch (Exception e) {
             LOG.error("Parallel scan failed", e);
             throw new RuntimeException("Advanced scan failed", e);
+        } finally {
+            currentScanToken.compareAndSet(token, null);
         }
     }
 
     /**
-     * Determines if a file is a test file based on common test directory patterns.
+     * Stores the profile of the last scan for the project; a failure to store it does not fail the scan.
      */
-    private boolean isTestFile(Path file, Path projectRoot) {
-        String relative = projectRoot.relativize(file).toString().replace("\\", "/");
-        return relative.startsWith("src/test/") ||
-               relative.startsWith("src/tests/") ||
-               relative.startsWith("test/") ||
-               relative.startsWith("tests/") ||
-               (relative.contains("/test/") && relative.endsWith(".java")) ||
-               (relative.contains("\\test\\") && relative.endsWith(".java"));
+    private void saveScanProfile(Path projectPath, ScanProfile profile) {
+        try (CentralMigrationAnalysisStore store = new CentralMigrationAnalysisStore()) {
+            new ScanProfileStore(store).save(projectPath, profile);
+        } catch (Exception e) {
+            LOG.warn("Failed to store scan profile: " + e.getMessage());
+        }
+        ScanProfile.ScannerTiming slowest = profile.scanners().isEmpty() ? null : profile.scanners().get(0);
+        LOG.info("Advanced scan took " + profile.wallNanos() / 1_000_000 + " ms"
+                + (slowest != null ? ", slowest step " + slowest.scanner() + " " + slowest.wallMillis() + " ms" : ""));
     }
 
     /**
-     * Discovers all files once per category to avoid redundant I/O.
-     * This method walks the file tree 5-6 times total instead of 12-15 times.
+     * Returns the profile of the last advanced scan of the project, including scans from
+     * earlier sessions, or null if it has not been profiled.
      */
-    private Map<FileCategory, List<Path>> discoverAllFilesOnce(Path projectPath) {
-        Map<FileCategory, List<Path>> files = new HashMap<>();
-        
+    public ScanProfile getLastScanProfile(Path projectPath) {
+        AdvancedScanSummary summary = cachedSummaryRef.get();
+        if (summary != null && summary.profile() != null && projectPath.equals(cachedProjectPath)) {
+            return summary.profile();
+        }
+        try (CentralMigrationAnalysisStore store = new CentralMigrationAnalysisStore()) {
+            return new ScanProfileStore(store).load(projectPath);
+        } catch (Exception e) {
+            LOG.warn("Failed to load scan profile: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cancels the advanced scan in progress, if any. Scanners stop after the files they are
+     * working on, and {@link #scanAll(Path, ScanProgressListener)} throws a {@link CancellationException}.
+     */
+    public void cancelScan() {
+        CancellationToken token = currentScanToken.getAndSet(null);
+        if (token != null) {
+            LOG.info("Advanced scan cancellation requested");
+            token.cancel();
+        }
+    }
+
+    /**
+     * Builds the scan graph: the inventory feeds the shared Java parse and the other scanners,
+     * and recipe recommendations follow the scanners they are based on. The transitive dependency
+     * scan, which resolves dependencies with the build tool, runs last and within a deadline.
+     */
+    private ScanOrchestrator buildScanPlan(Path projectPath) {
+        ScanOrchestrator plan = new ScanOrchestrator(scanThreads, maxConcurrentScans());
+        plan.addNode(NODE_INVENTORY, ScanOrchestrator.PRIORITY_HIGH, null,
+                context -> discoverAllFilesOnce(projectPath));
+        plan.addNode(NODE_JAVA_SOURCES, ScanOrchestrator.PRIORITY_HIGH, null,
+                context -> scanJavaSources(projectPath, context.result(NODE_INVENTORY, ProjectInventory.class)),
+                NODE_INVENTORY);
+        plan.addNode(NODE_BUILD_CONFIG,
+                context -> scanForBuildConfig(files(context, ProjectInventory.Category.BUILD)), NODE_INVENTORY);
+        plan.addNode(NODE_CONFIG_FILES,
+                context -> scanForConfigFiles(files(context, ProjectInventory.Category.CONFIG)), NODE_INVENTORY);
+        plan.addNode(NODE_LOGGING_METRICS,
+                context -> scanForLoggingMetrics(javaFiles(context)), NODE_INVENTORY);
+        plan.addNode(NODE_SERIALIZATION_CACHE,
+                context -> scanForSerializationCache(javaFiles(context)), NODE_INVENTORY);
+        plan.addNode(NODE_REFLECTION_USAGE,
+                context -> scanForReflectionUsage(javaFiles(context)), NODE_INVENTORY);
+        plan.addNode(NODE_THIRD_PARTY_LIBS,
+                context -> scanForThirdPartyLib(files(context, ProjectInventory.Category.BUILD)), NODE_INVENTORY);
+        plan.addNode(NODE_TRANSITIVE, ScanOrchestrator.PRIORITY_LOW, TRANSITIVE_SCAN_DEADLINE,
+                context -> scanForTransitiveDependencies(files(context, ProjectInventory.Category.BUILD)), NODE_INVENTORY);
+        plan.addNode(NODE_RECOMMENDATIONS, ScanOrchestrator.PRIORITY_LOW, null,
+                context -> recommendRecipes(projectPath, context),
+                NODE_JAVA_SOURCES, NODE_BUILD_CONFIG, NODE_CONFIG_FILES, NODE_THIRD_PARTY_LIBS);
+        return plan;
+    }
+
+    private static int maxConcurrentScans() {
+        // Virtual threads are cheap to block; parsing is still capped by the ScanExecutor
+        return ScanExecutor.shared().mode() == ScanExecutor.Mode.VIRTUAL_THREADS ? Integer.MAX_VALUE : MAX_PARALLEL_SCANS;
+    }
+
+    private static List<Path> files(ScanOrchestrator.NodeContext context, ProjectInventory.Category category) {
+        return context.result(NODE_INVENTORY, ProjectInventory.class).files(category);
+    }
+
+    private static List<Path> javaFiles(ScanOrchestrator.NodeContext context) {
+        return files(context, ProjectInventory.Category.JAVA);
+    }
+
+    private List<ScanRecipeRecommendationService.RecipeRecommendation> recommendRecipes(
+            Path projectPath, ScanOrchestrator.NodeContext context) {
+        JavaSourceScanResults javaResults = context.result(NODE_JAVA_SOURCES, JavaSourceScanResults.class);
+        // Keys match ScanRecipeRecommendationServiceImpl.SCAN_TO_RECIPE_MAPPING
+        Map<String, Object> scanResults = new java.util.HashMap<>();
+        scanResults.put("JPA_ANNOTATION_SCANNER", javaResults.jpaResult());
+        scanResults.put("BEAN_VALIDATION_SCANNER", javaResults.beanValidationResult());
+        scanResults.put("SERVLET_JSP_SCANNER", javaResults.servletJspResult());
+        scanResults.put("CDI_INJECTION_SCANNER", javaResults.cdiInjectionResult());
+        scanResults.put("REST_SOAP_SCANNER", javaResults.restSoapResult());
+        scanResults.put("SECURITY_API_SCANNER", javaResults.securityApiResult());
+        scanResults.put("JMS_MESSAGING_SCANNER", javaResults.jmsMessagingResult());
+        scanResults.put("DEPRECATED_API_SCANNER", javaResults.deprecatedApiResult());
+        scanResults.put("BUILD_CONFIG_SCANNER", context.results().get(NODE_BUILD_CONFIG));
+        scanResults.put("CONFIG_FILE_SCANNER", context.results().get(NODE_CONFIG_FILES));
+        scanResults.put("THIRD_PARTY_LIB_SCANNER", context.results().get(NODE_THIRD_PARTY_LIBS));
+
+        List<ScanRecipeRecommendationService.RecipeRecommendation> recommendations =
+                getRecipeRecommendationService().getRecipeRecommendations(projectPath, scanResults);
+        lastRecommendations = List.copyOf(recommendations);
+        return recommendations;
+    }
+
+    /**
+     * Returns the recipe recommendations computed by the last full scan.
+     */
+    public List<ScanRecipeRecommendationService.RecipeRecommendation> getLastRecipeRecommendations() {
+        return lastRecommendations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> ProjectScanResult<FileScanResult<U>> projectScanResult(ScanOrchestrator.Result result, String nodeId) {
+        return result.value(nodeId, ProjectScanResult.class);
+    }
+
+    /**
+     * Reports each scan step as it finishes, so the UI shows partial results during the scan.
+     */
+    private void reportNodeFinished(ScanProgressListener progressListener, ScanOrchestrator.NodeResult node,
+                                    int finishedNodes) {
+        if (!node.isCompleted()) {
+            LOG.warn("Advanced scan step " + node.id() + " " + node.status()
+                    + (node.error() != null ? ": " + node.error().getMessage() : ""));
+        }
+        if (progressListener == null) {
+            return;
+        }
+        progressListener.onScanPhase("Advanced Scans (" + node.id() + ")", finishedNodes, SCAN_NODE_COUNT);
+        if (!node.isCompleted()) {
+            return;
+        }
+        switch (node.id()) {
+            case NODE_JAVA_SOURCES -> {
+                JavaSourceScanResults result = (JavaSourceScanResults) node.value();
+                reportSubScanComplete(progressListener, "JPA", result.jpaResult());
+                reportSubScanComplete(progressListener, "Bean Validation", result.beanValidationResult());
+                reportSubScanComplete(progressListener, "Servlet/JSP", result.servletJspResult());
+                reportSubScanComplete(progressListener, "CDI Injection", result.cdiInjectionResult());
+                reportSubScanComplete(progressListener, "REST/SOAP", result.restSoapResult());
+            }
+            case NODE_BUILD_CONFIG ->
+                    reportSubScanComplete(progressListener, "Build Config", (ProjectScanResult<? extends FileScanResult<?>>) node.value());
+            case NODE_CONFIG_FILES ->
+                    progressListener.onSubScanComplete("Config Files", ((ConfigFileProjectScanResult) node.value()).getTotalJavaxUsages());
+            case NODE_LOGGING_METRICS ->
+                    progressListener.onSubScanComplete("Logging/Metrics", ((LoggingMetricsProjectScanResult) node.value()).getTotalFindings());
+            case NODE_SERIALIZATION_CACHE ->
+                    progressListener.onSubScanComplete("Serialization/Cache", ((SerializationCacheProjectScanResult) node.value()).getTotalFindings());
+            case NODE_THIRD_PARTY_LIBS ->
+                    progressListener.onSubScanComplete("Third-Party Libs", ((ThirdPartyLibProjectScanResult) node.value()).getTotalLibraries());
+            case NODE_TRANSITIVE ->
+                    progressListener.onSubScanComplete("Transitive Dependencies", ((TransitiveDependencyProjectScanResult) node.value()).getTotalJavaxDependencies());
+            default -> {
+                // Inventory, reflection usage and recommendations are not shown as sub-scans
+            }
+        }
+    }
+
+    /**
+     * Walks the project once and buckets its files for all scanners, to avoid redundant I/O.
+     */
+    private ProjectInventory discoverAllFilesOnce(Path projectPath) {
         // Use gitignore-enabled scanner for better folder exclusion
-        ProjectFileSystemScanner scanner = ProjectFileSystemScanner.withGitIgnore(projectPath);
-        
-        // Java source files
-        files.put(FileCategory.JAVA, scanner.findFiles(projectPath, List.of(".java")));
-        
-        // Test files (filtered from .java files)
-        List<Path> javaFiles = scanner.findFiles(projectPath, List.of(".java"));
-        List<Path> testFiles = javaFiles.stream()
-                .filter(f -> isTestFile(f, projectPath))
-                .collect(Collectors.toList());
-        files.put(FileCategory.TEST, testFiles);
-        
-        // Config files
-        files.put(FileCategory.CONFIG, scanner.findFiles(projectPath, List.of(".xml", ".properties", ".yaml", ".yml")));
-        
-        // Build files (pom.xml, build.gradle, etc.)
-        files.put(FileCategory.BUILD, scanner.findFiles(projectPath, path -> {
-            String name = path.getFileName().toString();
-            return name.equals("pom.xml") || name.startsWith("build.gradle") || name.endsWith(".gradle") || name.endsWith(".gradle.kts");
-        }));
-        
-        // Dockerfiles
-        files.put(FileCategory.DOCKER, scanner.findFiles(projectPath, path -> {
-            String name = path.getFileName().toString();
-            return name.equals("Dockerfile") || name.equals("dockerfile");
-        }));
+        ProjectInventory inventory = ProjectFileSystemScanner.withGitIgnore(projectPath).inventory(projectPath);
         
-        // JSP files
-        files.put(FileCategory.JSP, scanner.findFiles(projectPath, List.of(".jsp")));
+        LOG.info("Discovered files: JAVA=" + inventory.files(ProjectInventory.Category.JAVA).size() +
+                ", TEST=" + inventory.files(ProjectInventory.Category.TEST).size() +
+                ", CONFIG=" + inventory.files(ProjectInventory.Category.CONFIG).size() +
+                ", BUILD=" + inventory.files(ProjectInventory.Category.BUILD).size() +
+                ", DOCKER=" + inventory.files(ProjectInventory.Category.DOCKER).size() +
+                ", JSP=" + inventory.files(ProjectInventory.Category.JSP).size());
         
-        LOG.info("Discovered files: JAVA=" + files.get(FileCategory.JAVA).size() +
-                ", TEST=" + files.get(FileCategory.TEST).size() +
-                ", CONFIG=" + files.get(FileCategory.CONFIG).size() +
-                ", BUILD=" + files.get(FileCategory.BUILD).size() +
-                ", DOCKER=" + files.get(FileCategory.DOCKER).size() +
-                ", JSP=" + files.get(FileCategory.JSP).size());
-        
-        return files;
-    }
-
-    private enum FileCategory {
-        JAVA, CONFIG, BUILD, DOCKER, JSP, TEST
+        return inventory;
     }
 
     // ... rest of the existing methods (getCachedSummary, setCachedSummary, getLastScanResults, 
@@ -352,6 +400,42 @@ private enum FileCategory {
     // individual scan methods needing updates, etc.)
 
     // Individual scan methods - updated to accept pre-discovered file lists
+    /**
+     * Runs all AST-based scanners over the given Java files with a single parse per file.
+     */
+    public JavaSourceScanResults scanJavaSources(List<Path> javaFiles) {
+        LOG.info("Scanning " + javaFiles.size() + " Java files with shared parse for all AST scanners");
+        return scanningModule.scanJavaSources(javaFiles);
+    }
+
+    /**
+     * Runs all AST-based scanners over the given Java files, skipping files whose findings are
+     * still valid in the project's scan index. Falls back to a full scan if the index cannot be opened.
+     */
+    public JavaSourceScanResults scanJavaSources(Path projectPath, List<Path> javaFiles) {
+        LOG.info("Scanning " + javaFiles.size() + " Java files incrementally with shared parse for all AST scanners");
+        try (SqliteMigrationAnalysisStore store = new SqliteMigrationAnalysisStore(projectPath)) {
+            return scanningModule.scanJavaSources(javaFiles, new JavaSourceScanIndex(store, projectPath));
+        } catch (RuntimeException e) {
+            LOG.warn("Scan index unavailable, running full Java source scan: " + e.getMessage());
+            return scanningModule.scanJavaSources(javaFiles);
+        }
+    }
+
+    /**
+     * Runs all AST-based scanners over the Java files of the inventory. With
+     * {@code -Dadvanced.scan.shards} above 1 the files are split across worker JVMs, otherwise
+     * they are scanned in-process with the project's scan index.
+     */
+    public JavaSourceScanResults scanJavaSources(Path projectPath, ProjectInventory inventory) {
+        ShardedScanCoordinator.Options shardOptions = ShardedScanCoordinator.Options.fromSystemProperties();
+        if (!shardOptions.isEnabled()) {
+            return scanJavaSources(projectPath, inventory.files(ProjectInventory.Category.JAVA));
+        }
+        LOG.info("Scanning Java files in " + shardOptions.shards() + " shards by " + shardOptions.partitioning());
+        return new ShardedScanCoordinator(scanningModule, shardOptions).scan(inventory);
+    }
+
     public ProjectScanResult<FileScanResult<JpaAnnotationUsage>> scanForJpaAnnotations(List<Path> javaFiles) {
         LOG.info("Scanning " + javaFiles.size() + " Java files for JPA annotations");
         return scanningModule.getJpaAnnotationScanner().scanProject(javaFiles);
@@ -432,6 +516,16 @@ public ThirdPartyLibProjectScanResult scanForThirdPartyLib(List<Path> buildAndDo
         return scanningModule.getThirdPartyLibScanner().scanProject(buildAndDockerFiles);
     }
     
+    private void reportSubScanComplete(ScanProgressListener progressListener, String scanName,
+                                       ProjectScanResult<? extends FileScanResult<?>> result) {
+        if (progressListener != null && result != null && !result.fileResults().isEmpty()) {
+            int totalFindings = result.fileResults().stream()
+                .mapToInt(fileScan -> fileScan.usages().size())
+                .sum();
+            progressListener.onSubScanComplete(scanName, totalFindings);
+        }
+    }
+
     // Update sequential scan to use pre-discovered files
     private AdvancedScanSummary runScansSequentially(Path projectPath, ScanProgressListener progressListener) {
         LOG.info("Running scans sequentially to conserve memory");
@@ -441,53 +535,36 @@ private AdvancedScanSummary runScansSequentially(Path projectPath, ScanProgressL
                 progressListener.onScanPhase("Advanced Scans (Sequential)", 0, 1);
             }
             
-            Map<FileCategory, List<Path>> allFiles = discoverAllFilesOnce(projectPath);
-            
-            ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult = scanForJpaAnnotations(allFiles.get(FileCategory.JAVA));
-            if (progressListener != null && jpaResult != null && !jpaResult.fileResults().isEmpty()) {
-                int totalFindings = jpaResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("JPA", totalFindings);
-            }
-            
-            ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult = scanForBeanValidation(allFiles.get(FileCategory.JAVA));
-            if (progressListener != null && beanValidationResult != null && !beanValidationResult.fileResults().isEmpty()) {
-                int totalFindings = beanValidationResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("Bean Validation", totalFindings);
-            }
-            
-            ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult = scanForServletJsp(allFiles.get(FileCategory.JAVA));
-            if (progressListener != null && servletJspResult != null && !servletJspResult.fileResults().isEmpty()) {
-                int totalFindings = servletJspResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("Servlet/JSP", totalFindings);
-            }
-            
-            ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult = scanForCdiInjection(allFiles.get(FileCategory.JAVA));
-            if (progressListener != null && cdiInjectionResult != null && !cdiInjectionResult.fileResults().isEmpty()) {
-                int totalFindings = cdiInjectionResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("CDI Injection", totalFindings);
-            }
-            
-            ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult = scanForBuildConfig(allFiles.get(FileCategory.BUILD));
-            if (progressListener != null && buildConfigResult != null && !buildConfigResult.fileResults().isEmpty()) {
-                int totalFindings = buildConfigResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("Build Config", totalFindings);
-            }
-            
-            ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult = scanForRestSoap(allFiles.get(FileCategory.JAVA));
-            if (progressListener != null && restSoapResult != null && !restSoapResult.fileResults().isEmpty()) {
-                int totalFindings = restSoapResult.fileResults().stream().mapToInt(fr -> fr.usages().size()).sum();
-                progressListener.onSubScanComplete("REST/SOAP", totalFindings);
-            }
+            ProjectInventory inventory = discoverAllFilesOnce(projectPath);
             
-            DeprecatedApiProjectScanResult deprecatedApiResult = scanForDeprecatedApi(allFiles.get(FileCategory.JAVA));
-            SecurityApiProjectScanResult securityApiResult = scanForSecurityApi(allFiles.get(FileCategory.JAVA));
-            JmsMessagingProjectScanResult jmsMessagingResult = scanForJmsMessaging(allFiles.get(FileCategory.JAVA));
-            ConfigFileProjectScanResult configFileResult = scanForConfigFiles(allFiles.get(FileCategory.CONFIG));
-            ClassloaderModuleProjectScanResult classloaderModuleResult = scanForClassloaderModule(allFiles.get(FileCategory.JAVA));
-            LoggingMetricsProjectScanResult loggingMetricsResult = scanForLoggingMetrics(allFiles.get(FileCategory.JAVA));
-            SerializationCacheProjectScanResult serializationCacheResult = scanForSerializationCache(allFiles.get(FileCategory.JAVA));
-            ReflectionUsageProjectScanResult reflectionUsageResult = scanForReflectionUsage(allFiles.get(FileCategory.JAVA));
-            ThirdPartyLibProjectScanResult thirdPartyLibResult = scanForThirdPartyLib(allFiles.get(FileCategory.BUILD));
+            JavaSourceScanResults javaResults = scanJavaSources(projectPath, inventory.files(ProjectInventory.Category.JAVA));
+            ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult = javaResults.jpaResult();
+            reportSubScanComplete(progressListener, "JPA", jpaResult);
+
+            ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult = javaResults.beanValidationResult();
+            reportSubScanComplete(progressListener, "Bean Validation", beanValidationResult);
+
+            ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult = javaResults.servletJspResult();
+            reportSubScanComplete(progressListener, "Servlet/JSP", servletJspResult);
+
+            ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult = javaResults.cdiInjectionResult();
+            reportSubScanComplete(progressListener, "CDI Injection", cdiInjectionResult);
+
+            ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult = scanForBuildConfig(inventory.files(ProjectInventory.Category.BUILD));
+            reportSubScanComplete(progressListener, "Build Config", buildConfigResult);
+
+            ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult = javaResults.restSoapResult();
+            reportSubScanComplete(progressListener, "REST/SOAP", restSoapResult);
+
+            DeprecatedApiProjectScanResult deprecatedApiResult = javaResults.deprecatedApiResult();
+            SecurityApiProjectScanResult securityApiResult = javaResults.securityApiResult();
+            JmsMessagingProjectScanResult jmsMessagingResult = javaResults.jmsMessagingResult();
+            ConfigFileProjectScanResult configFileResult = scanForConfigFiles(inventory.files(ProjectInventory.Category.CONFIG));
+            ClassloaderModuleProjectScanResult classloaderModuleResult = javaResults.classloaderModuleResult();
+            LoggingMetricsProjectScanResult loggingMetricsResult = scanForLoggingMetrics(inventory.files(ProjectInventory.Category.JAVA));
+            SerializationCacheProjectScanResult serializationCacheResult = scanForSerializationCache(inventory.files(ProjectInventory.Category.JAVA));
+            ReflectionUsageProjectScanResult reflectionUsageResult = scanForReflectionUsage(inventory.files(ProjectInventory.Category.JAVA));
+            ThirdPartyLibProjectScanResult thirdPartyLibResult = scanForThirdPartyLib(inventory.files(ProjectInventory.Category.BUILD));
             
             AdvancedScanSummary summary = new AdvancedScanSummary(
                     jpaResult,
@@ -504,7 +581,9 @@ private AdvancedScanSummary runScansSequentially(Path projectPath, ScanProgressL
                     classloaderModuleResult,
                     loggingMetricsResult,
                     serializationCacheResult,
-                    thirdPartyLibResult);
+                    thirdPartyLibResult,
+                    null,
+                    SourceFindings.of(projectPath, javaResults));
             
             cachedSummaryRef = new java.lang.ref.SoftReference<>(summary);
             cachedProjectPath = projectPath;
@@ -797,11 +876,97 @@ public TestContainersScanner getTestContainersScanner() {
     }
 
     public boolean hasCachedResults() {
-        return cachedSummaryRef.get() != null;
+        return liveSummary != null || cachedSummaryRef.get() != null;
     }
 
     public AdvancedScanSummary getCachedSummary() {
-        return cachedSummaryRef.get();
+        AdvancedScanSummary live = liveSummary;
+        return live != null ? live : cachedSummaryRef.get();
+    }
+
+    /**
+     * Starts watch mode for a project: runs a full scan once, then keeps the summary
+     * current as files change, so {@link #getCachedSummary()} and {@link #scanAll(Path)}
+     * return up-to-date results without rescanning. Replaces any previous watch.
+     *
+     * @param projectPath Path to the project root directory
+     * @return true if the project is being watched
+     */
+    public synchronized boolean startWatching(Path projectPath) {
+        ProjectScanWatcher current = projectWatcher;
+        if (current != null && current.isRunning() && current.projectRoot().equals(projectPath)) {
+            return true;
+        }
+        stopWatching();
+
+        ProjectScanWatcher watcher = new ProjectScanWatcher(scanningModule, projectPath);
+        watcher.addListener(results -> liveSummary = toSummary(projectPath, results));
+        try {
+            LiveScanResults initial = watcher.start();
+            liveSummary = toSummary(projectPath, initial);
+            projectWatcher = watcher;
+            LOG.info("Watch mode started for " + projectPath + ": " + initial.totalIssuesFound() + " issues");
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Could not start watch mode for " + projectPath + ": " + e.getMessage());
+            watcher.close();
+            return false;
+        }
+    }
+
+    /**
+     * Stops watch mode. The last live summary is kept as the cached summary.
+     */
+    public synchronized void stopWatching() {
+        ProjectScanWatcher watcher = projectWatcher;
+        if (watcher == null) {
+            return;
+        }
+        watcher.close();
+        projectWatcher = null;
+        AdvancedScanSummary last = liveSummary;
+        liveSummary = null;
+        if (last != null) {
+            cachedSummaryRef = new java.lang.ref.SoftReference<>(last);
+            cachedProjectPath = watcher.projectRoot();
+            lastScanTime = System.currentTimeMillis();
+        }
+        LOG.info("Watch mode stopped for " + watcher.projectRoot());
+    }
+
+    public boolean isWatching() {
+        ProjectScanWatcher watcher = projectWatcher;
+        return watcher != null && watcher.isRunning();
+    }
+
+    private AdvancedScanSummary getLiveSummary(Path projectPath) {
+        ProjectScanWatcher watcher = projectWatcher;
+        if (watcher == null || !watcher.isRunning() || !watcher.projectRoot().equals(projectPath)) {
+            return null;
+        }
+        return liveSummary;
+    }
+
+    private static AdvancedScanSummary toSummary(Path projectPath, LiveScanResults results) {
+        JavaSourceScanResults javaResults = results.javaSourceResults();
+        return new AdvancedScanSummary(
+                javaResults.jpaResult(),
+                javaResults.beanValidationResult(),
+                javaResults.servletJspResult(),
+                javaResults.cdiInjectionResult(),
+                results.buildConfigResult(),
+                javaResults.restSoapResult(),
+                javaResults.deprecatedApiResult(),
+                javaResults.securityApiResult(),
+                javaResults.jmsMessagingResult(),
+                results.transitiveDependencyResult(),
+                results.configFileResult(),
+                javaResults.classloaderModuleResult(),
+                results.loggingMetricsResult(),
+                results.serializationCacheResult(),
+                results.thirdPartyLibResult(),
+                null,
+                SourceFindings.of(projectPath, javaResults));
     }
 
     public ComprehensiveScanResults getLastScanResults() {
@@ -809,24 +974,73 @@ public ComprehensiveScanResults getLastScanResults() {
         if (summary == null) {
             return null;
         }
+        Path projectRoot = cachedProjectPath;
+        SourceFindings findings = summary.findings();
         return new ComprehensiveScanResults(
-                "",
+                projectRoot != null ? projectRoot.toString() : "",
                 LocalDateTime.now(),
-                Map.of(), // jpaResults
-                Map.of(), // beanValidationResults
-                Map.of(), // cdiResults
-                Map.of(), // servletJspResults
+                findingsMap(findings.jpa()),
+                findingsMap(findings.beanValidation()),
+                findingsMap(findings.cdiInjection()),
+                findingsMap(findings.servletJsp()),
                 Map.of(), // thirdPartyLibResults
                 Map.of(), // transitiveDependencyResults
                 Map.of(), // buildConfigResults
                 List.of(),
-                0,
+                summary.getTotalIssuesFound(),
                 new ComprehensiveScanResults.ScanSummary(0, 0, 0, 0, 0, 0)
         );
     }
 
+    private static Map<String, Object> findingsMap(FindingsView findings) {
+        return findings.isEmpty() ? Map.of() : Map.of(ComprehensiveScanResults.FINDINGS_KEY, findings);
+    }
+
+    /**
+     * Compact views of the AST scanner findings, built once when a scan completes so the tool window
+     * and reports can read them without the usage records.
+     */
+    public static record SourceFindings(
+            FindingsView jpa,
+            FindingsView beanValidation,
+            FindingsView servletJsp,
+            FindingsView cdiInjection,
+            FindingsView restSoap) {
+
+        /**
+         * @param projectRoot root that file paths are stored relative to, or null to store full paths
+         */
+        public static SourceFindings of(
+                Path projectRoot,
+                ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult,
+                ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult) {
+            return new SourceFindings(
+                    CompactFindingsStore.ofJpaUsages(projectRoot, jpaResult),
+                    CompactFindingsStore.ofJavaxUsages(projectRoot, beanValidationResult),
+                    CompactFindingsStore.ofServletJspUsages(projectRoot, servletJspResult),
+                    CompactFindingsStore.ofJavaxUsages(projectRoot, cdiInjectionResult),
+                    CompactFindingsStore.ofJavaxUsages(projectRoot, restSoapResult));
+        }
+
+        static SourceFindings of(Path projectRoot, JavaSourceScanResults javaResults) {
+            if (javaResults == null) {
+                return of(projectRoot, null, null, null, null, null);
+            }
+            return of(projectRoot, javaResults.jpaResult(), javaResults.beanValidationResult(),
+                    javaResults.servletJspResult(), javaResults.cdiInjectionResult(), javaResults.restSoapResult());
+        }
+    }
+
     /**
-     * Summary of advanced scanning results aggregated from all scanners.
+     * Summary of advanced scanning results aggregated from all scanners, with the profile of the
+     * scan that produced it (null for summaries not produced by a profiled scan).
+     * <p>
+     * The findings of the JPA, Bean Validation, Servlet/JSP, CDI and REST/SOAP scanners are held as
+     * {@link SourceFindings}; their results keep only the counts, so the usage records can be
+     * collected once the summary is built.
      */
     public static record AdvancedScanSummary(
             ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
@@ -843,7 +1057,74 @@ public static record AdvancedScanSummary(
             ClassloaderModuleProjectScanResult classloaderModuleResult,
             LoggingMetricsProjectScanResult loggingMetricsResult,
             SerializationCacheProjectScanResult serializationCacheResult,
-            ThirdPartyLibProjectScanResult thirdPartyLibResult) {
+            ThirdPartyLibProjectScanResult thirdPartyLibResult,
+            ScanProfile profile,
+            SourceFindings findings) {
+
+        public AdvancedScanSummary {
+            if (findings == null) {
+                findings = SourceFindings.of(null, jpaResult, beanValidationResult, servletJspResult,
+                        cdiInjectionResult, restSoapResult);
+            }
+            jpaResult = countsOnly(jpaResult);
+            beanValidationResult = countsOnly(beanValidationResult);
+            servletJspResult = countsOnly(servletJspResult);
+            cdiInjectionResult = countsOnly(cdiInjectionResult);
+            restSoapResult = countsOnly(restSoapResult);
+        }
+
+        public AdvancedScanSummary(
+                ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult,
+                ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult,
+                ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult,
+                DeprecatedApiProjectScanResult deprecatedApiResult,
+                SecurityApiProjectScanResult securityApiResult,
+                JmsMessagingProjectScanResult jmsMessagingResult,
+                TransitiveDependencyProjectScanResult transitiveDependencyResult,
+                ConfigFileProjectScanResult configFileResult,
+                ClassloaderModuleProjectScanResult classloaderModuleResult,
+                LoggingMetricsProjectScanResult loggingMetricsResult,
+                SerializationCacheProjectScanResult serializationCacheResult,
+                ThirdPartyLibProjectScanResult thirdPartyLibResult,
+                ScanProfile profile) {
+            this(jpaResult, beanValidationResult, servletJspResult, cdiInjectionResult, buildConfigResult,
+                    restSoapResult, deprecatedApiResult, securityApiResult, jmsMessagingResult,
+                    transitiveDependencyResult, configFileResult, classloaderModuleResult, loggingMetricsResult,
+                    serializationCacheResult, thirdPartyLibResult, profile, null);
+        }
+
+        public AdvancedScanSummary(
+                ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult,
+                ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult,
+                ProjectScanResult<FileScanResult<BuildConfigUsage>> buildConfigResult,
+                ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult,
+                DeprecatedApiProjectScanResult deprecatedApiResult,
+                SecurityApiProjectScanResult securityApiResult,
+                JmsMessagingProjectScanResult jmsMessagingResult,
+                TransitiveDependencyProjectScanResult transitiveDependencyResult,
+                ConfigFileProjectScanResult configFileResult,
+                ClassloaderModuleProjectScanResult classloaderModuleResult,
+                LoggingMetricsProjectScanResult loggingMetricsResult,
+                SerializationCacheProjectScanResult serializationCacheResult,
+                ThirdPartyLibProjectScanResult thirdPartyLibResult) {
+            this(jpaResult, beanValidationResult, servletJspResult, cdiInjectionResult, buildConfigResult,
+                    restSoapResult, deprecatedApiResult, securityApiResult, jmsMessagingResult,
+                    transitiveDependencyResult, configFileResult, classloaderModuleResult, loggingMetricsResult,
+                    serializationCacheResult, thirdPartyLibResult, null, null);
+        }
+
+        private static <T> ProjectScanResult<T> countsOnly(ProjectScanResult<T> result) {
+            if (result == null || result.fileResults().isEmpty()) {
+                return result;
+            }
+            return new ProjectScanResult<>(List.of(), result.totalFilesScanned(), result.filesWithIssues(),
+                    result.totalIssuesFound(), result.profile());
+        }
 
         public int getJpaCount() {
             return jpaResult != null ? jpaResult.totalIssuesFound() : 0;
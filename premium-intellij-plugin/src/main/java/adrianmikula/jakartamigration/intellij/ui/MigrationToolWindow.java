@@ -1587,6 +1587,11 @@ public void testPlatformsTabRefresh() {
          */
         public void dispose() {
             try {
+                if (advancedScanningService != null) {
+                    // Project closed: stop any scan still running for it
+                    advancedScanningService.cancelScan();
+                    advancedScanningService.stopWatching();
+                }
                 if (creditsService != null) {
                     creditsService.close();
                 }
@@ -4,6 +4,7 @@
 import adrianmikula.jakartamigration.intellij.service.AdvancedScanningService;
 import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
 import adrianmikula.jakartamigration.analysis.persistence.ObjectMapperService;
+import adrianmikula.jakartamigration.intellij.ui.components.FindingsTableModel;
 import adrianmikula.jakartamigration.intellij.ui.components.TruncationHelper;
 import adrianmikula.jakartamigration.intellij.ui.components.TruncationNoticePanel;
 import adrianmikula.jakartamigration.analytics.service.ErrorReportingService;
@@ -184,12 +185,9 @@ private JPanel createJpaPanel() {
 
         // Table
         String[] columns = { "File", "Line", "Annotation", "Jakarta Equivalent", "Path" };
-        jpaTable = new JBTable(new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        jpaTable = new JBTable(new FindingsTableModel(columns,
+                FindingsTableModel.Column.FILE, FindingsTableModel.Column.LINE, FindingsTableModel.Column.JAVAX,
+                FindingsTableModel.Column.JAKARTA, FindingsTableModel.Column.PATH));
         setupTable(jpaTable);
 
         // Truncation notice
@@ -213,12 +211,9 @@ private JPanel createBeanValidationPanel() {
 
         // Table
         String[] columns = { "File", "Line", "Constraint", "Jakarta Equivalent", "Path" };
-        beanValidationTable = new JBTable(new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        beanValidationTable = new JBTable(new FindingsTableModel(columns,
+                FindingsTableModel.Column.FILE, FindingsTableModel.Column.LINE, FindingsTableModel.Column.JAVAX,
+                FindingsTableModel.Column.JAKARTA, FindingsTableModel.Column.PATH));
         setupTable(beanValidationTable);
 
         // Truncation notice
@@ -242,12 +237,9 @@ private JPanel createServletJspPanel() {
 
         // Table
         String[] columns = { "File", "Line", "Class/Usage", "Type", "Jakarta Equivalent", "Path" };
-        servletJspTable = new JBTable(new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        servletJspTable = new JBTable(new FindingsTableModel(columns,
+                FindingsTableModel.Column.FILE, FindingsTableModel.Column.LINE, FindingsTableModel.Column.JAVAX,
+                FindingsTableModel.Column.DETAIL, FindingsTableModel.Column.JAKARTA, FindingsTableModel.Column.PATH));
         setupTable(servletJspTable);
 
         // Truncation notice
@@ -359,12 +351,9 @@ private JPanel createCdiInjectionPanel() {
 
         // Table
         String[] columns = { "File", "Line", "CDI Injection", "Jakarta Equivalent", "Path" };
-        cdiInjectionTable = new JBTable(new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        cdiInjectionTable = new JBTable(new FindingsTableModel(columns,
+                FindingsTableModel.Column.FILE, FindingsTableModel.Column.LINE, FindingsTableModel.Column.JAVAX,
+                FindingsTableModel.Column.JAKARTA, FindingsTableModel.Column.PATH));
         setupTable(cdiInjectionTable);
 
         // Truncation notice
@@ -388,12 +377,9 @@ private JPanel createRestSoapPanel() {
 
         // Table
         String[] columns = { "File", "Line", "REST/SOAP", "Jakarta Equivalent", "Path" };
-        restSoapTable = new JBTable(new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        });
+        restSoapTable = new JBTable(new FindingsTableModel(columns,
+                FindingsTableModel.Column.FILE, FindingsTableModel.Column.LINE, FindingsTableModel.Column.JAVAX,
+                FindingsTableModel.Column.JAKARTA, FindingsTableModel.Column.PATH));
         setupTable(restSoapTable);
 
         // Truncation notice
@@ -596,11 +582,13 @@ private void updateTabTitle(int index, String baseTitle, int issueCount) {
     }
 
     private void displayResults(AdvancedScanningService.AdvancedScanSummary summary) {
+        AdvancedScanningService.SourceFindings findings = summary.findings();
+
         // Display JPA results
         ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult = summary.jpaResult();
         int jpaIssues = 0;
         if (jpaResult != null) {
-            displayJpaResults(jpaResult);
+            displayJpaResults(jpaResult, findings.jpa());
             jpaIssues = jpaResult.hasIssues() ? jpaResult.totalIssuesFound() : 0;
         }
         updateTabTitle(0, "JPA Annotations", jpaIssues);
@@ -609,7 +597,7 @@ private void displayResults(AdvancedScanningService.AdvancedScanSummary summary)
         ProjectScanResult<FileScanResult<JavaxUsage>> beanValidationResult = summary.beanValidationResult();
         int bvIssues = 0;
         if (beanValidationResult != null) {
-            displayBeanValidationResults(beanValidationResult);
+            displayBeanValidationResults(beanValidationResult, findings.beanValidation());
             bvIssues = beanValidationResult.hasIssues() ? beanValidationResult.totalIssuesFound() : 0;
         }
         updateTabTitle(1, "Bean Validation", bvIssues);
@@ -618,7 +606,7 @@ private void displayResults(AdvancedScanningService.AdvancedScanSummary summary)
         ProjectScanResult<FileScanResult<ServletJspUsage>> servletJspResult = summary.servletJspResult();
         int servletJspIssues = 0;
         if (servletJspResult != null) {
-            displayServletJspResults(servletJspResult);
+            displayServletJspResults(servletJspResult, findings.servletJsp());
             servletJspIssues = servletJspResult.hasIssues() ? servletJspResult.totalIssuesFound() : 0;
         }
         updateTabTitle(2, "Servlet/JSP", servletJspIssues);
@@ -655,7 +643,7 @@ private void displayResults(AdvancedScanningService.AdvancedScanSummary summary)
         ProjectScanResult<FileScanResult<JavaxUsage>> cdiInjectionResult = summary.cdiInjectionResult();
         int cdiIssues = 0;
         if (cdiInjectionResult != null) {
-            displayCdiInjectionResults(cdiInjectionResult);
+            displayCdiInjectionResults(cdiInjectionResult, findings.cdiInjection());
             cdiIssues = cdiInjectionResult.hasIssues() ? cdiInjectionResult.totalIssuesFound() : 0;
         }
         updateTabTitle(6, "CDI Injection", cdiIssues);
@@ -664,7 +652,7 @@ private void displayResults(AdvancedScanningService.AdvancedScanSummary summary)
         ProjectScanResult<FileScanResult<JavaxUsage>> restSoapResult = summary.restSoapResult();
         int restSoapIssues = 0;
         if (restSoapResult != null) {
-            displayRestSoapResults(restSoapResult);
+            displayRestSoapResults(restSoapResult, findings.restSoap());
             restSoapIssues = restSoapResult.hasIssues() ? restSoapResult.totalIssuesFound() : 0;
         }
         updateTabTitle(7, "REST/SOAP", restSoapIssues);
@@ -731,29 +719,15 @@ private void displayResults(AdvancedScanningService.AdvancedScanSummary summary)
         notifyScanComplete();
     }
 
-    private void displayJpaResults(ProjectScanResult<FileScanResult<JpaAnnotationUsage>> result) {
-        DefaultTableModel model = (DefaultTableModel) jpaTable.getModel();
-        model.setRowCount(0);
+    private void displayJpaResults(ProjectScanResult<FileScanResult<JpaAnnotationUsage>> result, FindingsView findings) {
+        FindingsTableModel model = (FindingsTableModel) jpaTable.getModel();
+        model.clear();
 
         if (result.hasIssues()) {
             boolean shouldTruncate = truncationHelper.shouldTruncateResults();
             int truncationLimit = shouldTruncate ? truncationHelper.getAdvancedScanTruncationLimit() : Integer.MAX_VALUE;
-            int addedCount = 0;
-
-            for (var fileResult : result.fileResults()) {
-                for (var annotation : fileResult.usages()) {
-                    if (addedCount < truncationLimit) {
-                        model.addRow(new Object[] {
-                                fileResult.filePath().getFileName(),
-                                annotation.lineNumber(),
-                                annotation.annotationName(),
-                                annotation.jakartaEquivalent(),
-                                fileResult.filePath().toString()
-                        });
-                        addedCount++;
-                    }
-                }
-            }
+            model.setFindings(findings, truncationLimit);
+            int addedCount = model.getRowCount();
 
             // Update status label with truncation info
             int totalCount = result.totalIssuesFound();
@@ -774,29 +748,15 @@ private void displayJpaResults(ProjectScanResult<FileScanResult<JpaAnnotationUsa
         }
     }
 
-    private void displayBeanValidationResults(ProjectScanResult<FileScanResult<JavaxUsage>> result) {
-        DefaultTableModel model = (DefaultTableModel) beanValidationTable.getModel();
-        model.setRowCount(0);
+    private void displayBeanValidationResults(ProjectScanResult<FileScanResult<JavaxUsage>> result, FindingsView findings) {
+        FindingsTableModel model = (FindingsTableModel) beanValidationTable.getModel();
+        model.clear();
 
         if (result.hasIssues()) {
             boolean shouldTruncate = truncationHelper.shouldTruncateResults();
             int truncationLimit = shouldTruncate ? truncationHelper.getAdvancedScanTruncationLimit() : Integer.MAX_VALUE;
-            int addedCount = 0;
-
-            for (var fileResult : result.fileResults()) {
-                for (var usage : fileResult.usages()) {
-                    if (addedCount < truncationLimit) {
-                        model.addRow(new Object[] {
-                                fileResult.filePath().getFileName(),
-                                usage.lineNumber(),
-                                usage.className(),
-                                usage.jakartaEquivalent(),
-                                fileResult.filePath().toString()
-                        });
-                        addedCount++;
-                    }
-                }
-            }
+            model.setFindings(findings, truncationLimit);
+            int addedCount = model.getRowCount();
 
             // Update status label with truncation info
             int totalCount = result.totalIssuesFound();
@@ -817,30 +777,15 @@ private void displayBeanValidationResults(ProjectScanResult<FileScanResult<Javax
         }
     }
 
-    private void displayServletJspResults(ProjectScanResult<FileScanResult<ServletJspUsage>> result) {
-        DefaultTableModel model = (DefaultTableModel) servletJspTable.getModel();
-        model.setRowCount(0);
+    private void displayServletJspResults(ProjectScanResult<FileScanResult<ServletJspUsage>> result, FindingsView findings) {
+        FindingsTableModel model = (FindingsTableModel) servletJspTable.getModel();
+        model.clear();
 
         if (result.hasIssues()) {
             boolean shouldTruncate = truncationHelper.shouldTruncateResults();
             int truncationLimit = shouldTruncate ? truncationHelper.getAdvancedScanTruncationLimit() : Integer.MAX_VALUE;
-            int addedCount = 0;
-
-            for (var fileResult : result.fileResults()) {
-                for (var usage : fileResult.usages()) {
-                    if (addedCount < truncationLimit) {
-                        model.addRow(new Object[] {
-                                fileResult.filePath().getFileName(),
-                                usage.lineNumber(),
-                                usage.className(),
-                                usage.usageType(),
-                                usage.jakartaEquivalent(),
-                                fileResult.filePath().toString()
-                        });
-                        addedCount++;
-                    }
-                }
-            }
+            model.setFindings(findings, truncationLimit);
+            int addedCount = model.getRowCount();
 
             // Update status label with truncation info
             int totalCount = result.totalIssuesFound();
@@ -992,29 +937,15 @@ private void displayDeprecatedApiResults(DeprecatedApiProjectScanResult result)
         }
     }
 
-    private void displayCdiInjectionResults(ProjectScanResult<FileScanResult<JavaxUsage>> result) {
-        DefaultTableModel model = (DefaultTableModel) cdiInjectionTable.getModel();
-        model.setRowCount(0);
+    private void displayCdiInjectionResults(ProjectScanResult<FileScanResult<JavaxUsage>> result, FindingsView findings) {
+        FindingsTableModel model = (FindingsTableModel) cdiInjectionTable.getModel();
+        model.clear();
 
         if (result.hasIssues()) {
             boolean shouldTruncate = truncationHelper.shouldTruncateResults();
             int truncationLimit = shouldTruncate ? truncationHelper.getAdvancedScanTruncationLimit() : Integer.MAX_VALUE;
-            int addedCount = 0;
-
-            for (var fileResult : result.fileResults()) {
-                for (var usage : fileResult.usages()) {
-                    if (addedCount < truncationLimit) {
-                        model.addRow(new Object[] {
-                                fileResult.filePath().getFileName(),
-                                usage.lineNumber(),
-                                usage.className(),
-                                usage.jakartaEquivalent(),
-                                fileResult.filePath().toString()
-                        });
-                        addedCount++;
-                    }
-                }
-            }
+            model.setFindings(findings, truncationLimit);
+            int addedCount = model.getRowCount();
 
             // Update status label with truncation info
             int totalCount = result.totalIssuesFound();
@@ -1035,29 +966,15 @@ private void displayCdiInjectionResults(ProjectScanResult<FileScanResult<JavaxUs
         }
     }
 
-    private void displayRestSoapResults(ProjectScanResult<FileScanResult<JavaxUsage>> result) {
-        DefaultTableModel model = (DefaultTableModel) restSoapTable.getModel();
-        model.setRowCount(0);
+    private void displayRestSoapResults(ProjectScanResult<FileScanResult<JavaxUsage>> result, FindingsView findings) {
+        FindingsTableModel model = (FindingsTableModel) restSoapTable.getModel();
+        model.clear();
 
         if (result.hasIssues()) {
             boolean shouldTruncate = truncationHelper.shouldTruncateResults();
             int truncationLimit = shouldTruncate ? truncationHelper.getAdvancedScanTruncationLimit() : Integer.MAX_VALUE;
-            int addedCount = 0;
-
-            for (var fileResult : result.fileResults()) {
-                for (var usage : fileResult.usages()) {
-                    if (addedCount < truncationLimit) {
-                        model.addRow(new Object[] {
-                                fileResult.filePath().getFileName(),
-                                usage.lineNumber(),
-                                usage.className(),
-                                usage.jakartaEquivalent(),
-                                fileResult.filePath().toString()
-                        });
-                        addedCount++;
-                    }
-                }
-            }
+            model.setFindings(findings, truncationLimit);
+            int addedCount = model.getRowCount();
 
             // Update status label with truncation info
             int totalCount = result.totalIssuesFound();
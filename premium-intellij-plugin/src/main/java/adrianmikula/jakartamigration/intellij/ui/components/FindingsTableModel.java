@@ -0,0 +1,95 @@
+package adrianmikula.jakartamigration.intellij.ui.components;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.CompactFindingsStore;
+import adrianmikula.jakartamigration.advancedscanning.domain.FindingsView;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Read-only table model that reads cells straight from a {@link FindingsView},
+ * so scan result tables do not copy every finding into row objects.
+ */
+public class FindingsTableModel extends AbstractTableModel {
+
+    /**
+     * Finding attribute shown in a column.
+     */
+    public enum Column {
+        FILE,
+        LINE,
+        JAVAX,
+        DETAIL,
+        JAKARTA,
+        PATH
+    }
+
+    private final String[] columnNames;
+    private final Column[] columns;
+    private FindingsView findings = new CompactFindingsStore(null).view();
+    private int rowLimit;
+
+    public FindingsTableModel(String[] columnNames, Column... columns) {
+        if (columnNames.length != columns.length) {
+            throw new IllegalArgumentException("Expected a name for each of the " + columns.length + " columns");
+        }
+        this.columnNames = columnNames.clone();
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Shows the given findings, or at most {@code rowLimit} of them.
+     */
+    public void setFindings(FindingsView findings, int rowLimit) {
+        this.findings = findings;
+        this.rowLimit = Math.max(0, rowLimit);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        setFindings(new CompactFindingsStore(null).view(), 0);
+    }
+
+    public FindingsView getFindings() {
+        return findings;
+    }
+
+    @Override
+    public int getRowCount() {
+        return Math.min(findings.size(), rowLimit);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns[column] == Column.LINE ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return switch (columns[column]) {
+            case FILE -> findings.fileName(row);
+            case LINE -> findings.lineNumber(row);
+            case JAVAX -> findings.javaxName(row);
+            case DETAIL -> findings.detail(row);
+            case JAKARTA -> findings.jakartaEquivalent(row);
+            case PATH -> findings.filePath(row).toString();
+        };
+    }
+}
@@ -6,6 +6,12 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Path;
+import java.util.List;
+
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JpaAnnotationUsage;
+import adrianmikula.jakartamigration.advancedscanning.domain.ProjectScanResult;
 import adrianmikula.jakartamigration.advancedscanning.domain.ScanReason;
 import adrianmikula.jakartamigration.advancedscanning.domain.TransitiveDependencyUsage;
 import adrianmikula.jakartamigration.intellij.model.DependencyMigrationStatus;
@@ -29,6 +35,29 @@ public void testScanSummaryClassExists() {
         assertThat(AdvancedScanningService.AdvancedScanSummary.class).isNotNull();
     }
 
+    @Test
+    public void testScanSummaryKeepsFindingsViewsInsteadOfUsageRecords() {
+        Path root = Path.of("/projects/shop").toAbsolutePath();
+        ProjectScanResult<FileScanResult<JpaAnnotationUsage>> jpaResult = new ProjectScanResult<>(
+                List.of(new FileScanResult<>(root.resolve("src/Order.java"), List.of(
+                        new JpaAnnotationUsage("javax.persistence.Entity", "jakarta.persistence.Entity", 3, "Order", "class"),
+                        new JpaAnnotationUsage("javax.persistence.Id", "jakarta.persistence.Id", 5, "id", "field")), 20)),
+                10, 1, 2);
+
+        AdvancedScanningService.AdvancedScanSummary summary = new AdvancedScanningService.AdvancedScanSummary(
+                jpaResult, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, AdvancedScanningService.SourceFindings.of(root, jpaResult, null, null, null, null));
+
+        // Counts survive, the usage records are released and the findings are read through the view
+        assertThat(summary.getJpaCount()).isEqualTo(2);
+        assertThat(summary.jpaResult().filesWithIssues()).isEqualTo(1);
+        assertThat(summary.jpaResult().fileResults()).isEmpty();
+        assertThat(summary.findings().jpa().size()).isEqualTo(2);
+        assertThat(summary.findings().jpa().relativePath(1)).isEqualTo(Path.of("src/Order.java").toString());
+        assertThat(summary.findings().jpa().jakartaEquivalent(1)).isEqualTo("jakarta.persistence.Id");
+        assertThat(summary.findings().beanValidation().isEmpty()).isTrue();
+    }
+
     @ParameterizedTest
     @EnumSource(ScanReason.class)
     public void testDetermineMigrationStatusCoversAllReasons(ScanReason reason) {
@@ -1,5 +1,13 @@
 package adrianmikula.jakartamigration.mcp;
 
+import adrianmikula.jakartamigration.advancedscanning.domain.FileScanResult;
+import adrianmikula.jakartamigration.advancedscanning.domain.JavaSourceScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.LiveScanResults;
+import adrianmikula.jakartamigration.advancedscanning.domain.ScanProfile;
+import adrianmikula.jakartamigration.advancedscanning.service.AdvancedScanningModule;
+import adrianmikula.jakartamigration.advancedscanning.service.ProjectScanWatcher;
+import adrianmikula.jakartamigration.advancedscanning.service.ScanProfileStore;
+import adrianmikula.jakartamigration.analysis.persistence.CentralMigrationAnalysisStore;
 import adrianmikula.jakartamigration.dependencyanalysis.domain.DependencyAnalysisReport;
 import adrianmikula.jakartamigration.dependencyanalysis.domain.Blocker;
 import adrianmikula.jakartamigration.dependencyanalysis.service.DependencyAnalysisModule;
@@ -12,6 +20,8 @@
 import adrianmikula.jakartamigration.coderefactoring.domain.RecipeExecutionHistory;
 import adrianmikula.jakartamigration.coderefactoring.domain.RecipeExecutionResult;
 import adrianmikula.jakartamigration.coderefactoring.service.RecipeService;
+import adrianmikula.jakartamigration.util.ProjectFileSystemScanner;
+import adrianmikula.jakartamigration.util.ProjectInventory;
 import lombok.extern.slf4j.Slf4j;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
@@ -21,7 +31,13 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import adrianmikula.jakartamigration.mcp.util.JsonUtils;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
 
 /**
  * Premium MCP Tools for Jakarta Migration.
@@ -38,6 +54,12 @@ public class PremiumMigrationTools {
     private final RecipeService recipeService;
     private final DependencyAnalysisModule dependencyAnalysisModule;
 
+    // Live scan watchers by project; each keeps its project's results current between tool calls
+    private final Map<Path, ProjectScanWatcher> projectWatchers = new ConcurrentHashMap<>();
+    private volatile AdvancedScanningModule scanningModule;
+
+    private static final int DEFAULT_FINDING_FILES = 20;
+
     public PremiumMigrationTools(RecipeService recipeService, DependencyAnalysisModule dependencyAnalysisModule) {
         this.recipeService = recipeService;
         this.dependencyAnalysisModule = dependencyAnalysisModule;
@@ -455,4 +477,314 @@ public String createReport(
         }
     }
 
+    /**
+     * Returns the live advanced scan summary for a project.
+     * The first call scans the project and starts watching it; later calls return the
+     * results kept current by file events without rescanning.
+     * PREMIUM TOOL - Requires JetBrains Marketplace subscription
+     */
+    @McpTool(name = "getLiveScanSummary", description = "Returns advanced scan finding counts for a project, kept up to date by watching the project's files. The first call runs a full scan and starts watching; later calls return the current results immediately. Requires PREMIUM license.")
+    public String getLiveScanSummary(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath) {
+        try {
+            Path project = Paths.get(projectPath).toAbsolutePath().normalize();
+            if (!Files.exists(project) || !Files.isDirectory(project)) {
+                return JsonUtils.createErrorResponse("Project path does not exist or is not a directory: " + projectPath);
+            }
+
+            ProjectScanWatcher watcher = projectWatchers.computeIfAbsent(project,
+                    root -> new ProjectScanWatcher(getScanningModule(), root));
+            LiveScanResults results = watcher.results();
+            if (results == null) {
+                log.info("Starting live scan for project: {}", project);
+                try {
+                    results = watcher.start();
+                } catch (java.io.IOException e) {
+                    projectWatchers.remove(project, watcher);
+                    watcher.close();
+                    return JsonUtils.createErrorResponse("Could not watch project: " + e.getMessage());
+                }
+            }
+
+            JavaSourceScanResults javaResults = results.javaSourceResults();
+            StringBuilder json = new StringBuilder();
+            json.append("{\n");
+            json.append("  \"status\": \"success\",\n");
+            json.append("  \"edition\": \"premium\",\n");
+            json.append("  \"projectPath\": \"").append(JsonUtils.escapeJson(projectPath)).append("\",\n");
+            json.append("  \"watching\": ").append(watcher.isRunning()).append(",\n");
+            json.append("  \"version\": ").append(results.version()).append(",\n");
+            json.append("  \"updatedAt\": \"").append(results.updatedAt()).append("\",\n");
+            json.append("  \"totalFilesScanned\": ").append(javaResults.totalFilesScanned()).append(",\n");
+            json.append("  \"totalIssuesFound\": ").append(results.totalIssuesFound()).append(",\n");
+            json.append("  \"counts\": {\n");
+            json.append("    \"jpa\": ").append(javaResults.jpaResult().totalIssuesFound()).append(",\n");
+            json.append("    \"beanValidation\": ").append(javaResults.beanValidationResult().totalIssuesFound()).append(",\n");
+            json.append("    \"servletJsp\": ").append(javaResults.servletJspResult().totalIssuesFound()).append(",\n");
+            json.append("    \"cdiInjection\": ").append(javaResults.cdiInjectionResult().totalIssuesFound()).append(",\n");
+            json.append("    \"restSoap\": ").append(javaResults.restSoapResult().totalIssuesFound()).append(",\n");
+            json.append("    \"deprecatedApi\": ").append(javaResults.deprecatedApiResult().totalUsagesFound()).append(",\n");
+            json.append("    \"securityApi\": ").append(javaResults.securityApiResult().getTotalJavaxUsages()).append(",\n");
+            json.append("    \"jmsMessaging\": ").append(javaResults.jmsMessagingResult().getTotalJavaxUsages()).append(",\n");
+            json.append("    \"classloaderModule\": ").append(javaResults.classloaderModuleResult().getTotalJavaxUsages()).append(",\n");
+            json.append("    \"buildConfig\": ").append(results.buildConfigResult().totalIssuesFound()).append(",\n");
+            json.append("    \"transitiveDependencies\": ").append(results.transitiveDependencyResult().getTotalJavaxDependencies()).append(",\n");
+            json.append("    \"configFiles\": ").append(results.configFileResult().getTotalJavaxUsages()).append(",\n");
+            json.append("    \"loggingMetrics\": ").append(results.loggingMetricsResult().getTotalFindings()).append(",\n");
+            json.append("    \"serializationCache\": ").append(results.serializationCacheResult().getTotalFindings()).append(",\n");
+            json.append("    \"reflectionUsage\": ").append(results.reflectionUsageResult().getTotalUsagesFound()).append(",\n");
+            json.append("    \"thirdPartyLibraries\": ").append(results.thirdPartyLibResult().getTotalLibraries()).append("\n");
+            json.append("  }\n");
+            json.append("}");
+
+            return json.toString();
+
+        } catch (Exception e) {
+            log.error("Unexpected error getting live scan summary", e);
+            return JsonUtils.createErrorResponse("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching a project started by getLiveScanSummary.
+     * PREMIUM TOOL - Requires JetBrains Marketplace subscription
+     */
+    @McpTool(name = "stopLiveScan", description = "Stops watching a project whose live scan summary was requested, releasing its file watches. Requires PREMIUM license.")
+    public String stopLiveScan(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath) {
+        Path project = Paths.get(projectPath).toAbsolutePath().normalize();
+        ProjectScanWatcher watcher = projectWatchers.remove(project);
+        if (watcher == null) {
+            return JsonUtils.createErrorResponse("Project is not being watched: " + projectPath);
+        }
+        watcher.close();
+        log.info("Stopped live scan for project: {}", project);
+        return "{\n  \"status\": \"success\",\n  \"edition\": \"premium\",\n  \"projectPath\": \""
+                + JsonUtils.escapeJson(projectPath) + "\",\n  \"watching\": false\n}";
+    }
+
+    /**
+     * Returns where the time of the project's last advanced scan went: per phase (read, parse,
+     * match), per scanner or scan step, and for the slowest files. The profile is stored with
+     * each scan from the IDE plugin or this tool; without one, or when asked to rescan, the
+     * project's Java sources are scanned and profiled.
+     * PREMIUM TOOL - Requires JetBrains Marketplace subscription
+     */
+    @McpTool(name = "getScanProfile", description = "Returns the timing profile of the last advanced scan of a project: wall and CPU time per phase (read, parse, match), per scanner, and for the slowest files. Runs a profiled Java source scan if there is no stored profile or rescan is true. Requires PREMIUM license.")
+    public String getScanProfile(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath,
+            @McpToolParam(description = "Scan the project's Java sources again instead of returning the stored profile", required = false) Boolean rescan) {
+        try {
+            Path project = Paths.get(projectPath).toAbsolutePath().normalize();
+            if (!Files.exists(project) || !Files.isDirectory(project)) {
+                return JsonUtils.createErrorResponse("Project path does not exist or is not a directory: " + projectPath);
+            }
+
+            boolean scanned = false;
+            ScanProfile profile;
+            try (CentralMigrationAnalysisStore store = new CentralMigrationAnalysisStore()) {
+                ScanProfileStore profileStore = new ScanProfileStore(store);
+                profile = Boolean.TRUE.equals(rescan) ? null : profileStore.load(project);
+                if (profile == null) {
+                    log.info("Running profiled Java source scan for project: {}", project);
+                    List<Path> javaFiles = ProjectFileSystemScanner.withGitIgnore(project).inventory(project)
+                            .files(ProjectInventory.Category.JAVA);
+                    profile = getScanningModule().scanJavaSources(javaFiles).profile();
+                    if (profile == null) {
+                        profile = ScanProfile.empty();
+                    }
+                    profileStore.save(project, profile);
+                    scanned = true;
+                }
+            }
+
+            StringBuilder json = new StringBuilder();
+            json.append("{\n");
+            json.append("  \"status\": \"success\",\n");
+            json.append("  \"edition\": \"premium\",\n");
+            json.append("  \"projectPath\": \"").append(JsonUtils.escapeJson(projectPath)).append("\",\n");
+            json.append("  \"scanned\": ").append(scanned).append(",\n");
+            json.append("  \"wallMillis\": ").append(profile.wallNanos() / 1_000_000).append(",\n");
+            json.append("  \"cpuMillis\": ").append(profile.cpuNanos() / 1_000_000).append(",\n");
+            json.append("  \"filesProfiled\": ").append(profile.filesProfiled()).append(",\n");
+            json.append("  \"phases\": [\n");
+            for (int i = 0; i < profile.phases().size(); i++) {
+                ScanProfile.PhaseTiming phase = profile.phases().get(i);
+                json.append("    {\"phase\": \"").append(phase.phase().name().toLowerCase(java.util.Locale.ROOT)).append("\", ");
+                json.append("\"wallMillis\": ").append(phase.wallNanos() / 1_000_000).append(", ");
+                json.append("\"cpuMillis\": ").append(phase.cpuNanos() / 1_000_000).append("}");
+                json.append(i < profile.phases().size() - 1 ? ",\n" : "\n");
+            }
+            json.append("  ],\n");
+            json.append("  \"scanners\": [\n");
+            for (int i = 0; i < profile.scanners().size(); i++) {
+                ScanProfile.ScannerTiming scanner = profile.scanners().get(i);
+                json.append("    {\"scanner\": \"").append(JsonUtils.escapeJson(scanner.scanner())).append("\", ");
+                json.append("\"wallMillis\": ").append(scanner.wallNanos() / 1_000_000).append(", ");
+                json.append("\"cpuMillis\": ").append(scanner.cpuNanos() < 0 ? "null" : String.valueOf(scanner.cpuNanos() / 1_000_000)).append(", ");
+                json.append("\"files\": ").append(scanner.files()).append("}");
+                json.append(i < profile.scanners().size() - 1 ? ",\n" : "\n");
+            }
+            json.append("  ],\n");
+            json.append("  \"slowestFiles\": [\n");
+            for (int i = 0; i < profile.slowestFiles().size(); i++) {
+                ScanProfile.FileTiming file = profile.slowestFiles().get(i);
+                json.append("    {\"file\": \"").append(JsonUtils.escapeJson(String.valueOf(file.file()))).append("\", ");
+                json.append("\"scanner\": \"").append(JsonUtils.escapeJson(file.scanner())).append("\", ");
+                json.append("\"wallMillis\": ").append(file.wallNanos() / 1_000_000).append(", ");
+                json.append("\"cpuMillis\": ").append(file.cpuNanos() / 1_000_000).append(", ");
+                json.append("\"readMillis\": ").append(file.readNanos() / 1_000_000).append(", ");
+                json.append("\"parseMillis\": ").append(file.parseNanos() / 1_000_000).append(", ");
+                json.append("\"matchMillis\": ").append(file.matchNanos() / 1_000_000).append("}");
+                json.append(i < profile.slowestFiles().size() - 1 ? ",\n" : "\n");
+            }
+            json.append("  ]\n");
+            json.append("}");
+
+            return json.toString();
+
+        } catch (Exception e) {
+            log.error("Unexpected error getting scan profile", e);
+            return JsonUtils.createErrorResponse("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams one advanced scanner over a project and returns the first files with findings.
+     * Files are scanned while the project is still being walked, and the scan runs only as far as
+     * needed: once maxFiles files with findings have arrived the subscription is cancelled, which
+     * stops both the walk and the scan.
+     * PREMIUM TOOL - Requires JetBrains Marketplace subscription
+     */
+    @McpTool(name = "findFilesWithFindings", description = "Runs one advanced scanner over a project and returns the first files with findings and their usage counts. The scan stops as soon as maxFiles files with findings are found, so large projects answer quickly. Scan types: jpa, beanValidation, servletJsp, cdiInjection, restSoap, buildConfig. Requires PREMIUM license.")
+    public String findFilesWithFindings(
+            @McpToolParam(description = "Path to project root directory", required = true) String projectPath,
+            @McpToolParam(description = "Scanner to run: jpa, beanValidation, servletJsp, cdiInjection, restSoap or buildConfig", required = true) String scanType,
+            @McpToolParam(description = "Maximum number of files to return (default 20)", required = false) String maxFiles) {
+        try {
+            Path project = Paths.get(projectPath).toAbsolutePath().normalize();
+            if (!Files.exists(project) || !Files.isDirectory(project)) {
+                return JsonUtils.createErrorResponse("Project path does not exist or is not a directory: " + projectPath);
+            }
+            int fileLimit = DEFAULT_FINDING_FILES;
+            if (maxFiles != null && !maxFiles.isBlank()) {
+                try {
+                    fileLimit = Math.max(1, Integer.parseInt(maxFiles.trim()));
+                } catch (NumberFormatException e) {
+                    return JsonUtils.createErrorResponse("maxFiles must be a number: " + maxFiles);
+                }
+            }
+
+            // Files are scanned as the project walk finds them, so the first findings arrive early
+            Flow.Publisher<? extends FileScanResult<?>> findings = publishFindings(scanType, project);
+            if (findings == null) {
+                return JsonUtils.createErrorResponse("Unknown scanType: " + scanType);
+            }
+            log.info("Streaming {} findings for project: {} (at most {} files)", scanType, project, fileLimit);
+            FirstResults<FileScanResult<?>> first = collectFirst(findings, fileLimit);
+
+            StringBuilder json = new StringBuilder();
+            json.append("{\n");
+            json.append("  \"status\": \"success\",\n");
+            json.append("  \"edition\": \"premium\",\n");
+            json.append("  \"projectPath\": \"").append(JsonUtils.escapeJson(projectPath)).append("\",\n");
+            json.append("  \"scanType\": \"").append(JsonUtils.escapeJson(scanType)).append("\",\n");
+            json.append("  \"scanComplete\": ").append(first.complete()).append(",\n");
+            json.append("  \"filesReturned\": ").append(first.results().size()).append(",\n");
+            json.append("  \"files\": [\n");
+            for (int i = 0; i < first.results().size(); i++) {
+                FileScanResult<?> result = first.results().get(i);
+                json.append("    {\"file\": \"").append(JsonUtils.escapeJson(project.relativize(result.filePath()).toString())).append("\", ");
+                json.append("\"usages\": ").append(result.usages().size()).append(", ");
+                json.append("\"lines\": ").append(result.lineCount()).append("}");
+                json.append(i < first.results().size() - 1 ? ",\n" : "\n");
+            }
+            json.append("  ]\n");
+            json.append("}");
+
+            return json.toString();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return JsonUtils.createErrorResponse("Scan interrupted");
+        } catch (ExecutionException e) {
+            log.error("Streamed scan failed", e.getCause());
+            return JsonUtils.createErrorResponse("Scan failed: " + e.getCause().getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error finding files with findings", e);
+            return JsonUtils.createErrorResponse("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    private Flow.Publisher<? extends FileScanResult<?>> publishFindings(String scanType, Path project) {
+        AdvancedScanningModule module = getScanningModule();
+        return switch (scanType == null ? "" : scanType.trim()) {
+            case "jpa" -> module.getJpaAnnotationScanner().publishProject(project, null);
+            case "beanValidation" -> module.getBeanValidationScanner().publishProject(project, null);
+            case "servletJsp" -> module.getServletJspScanner().publishProject(project, null);
+            case "cdiInjection" -> module.getCdiInjectionScanner().publishProject(project, null);
+            case "restSoap" -> module.getRestSoapScanner().publishProject(project, null);
+            case "buildConfig" -> module.getBuildConfigScanner().publishProject(project, null);
+            default -> null;
+        };
+    }
+
+    /**
+     * Subscribes to a publisher and waits until it completes or {@code limit} results have arrived,
+     * cancelling the subscription in the latter case so the work behind it stops.
+     */
+    private static <R> FirstResults<R> collectFirst(Flow.Publisher<? extends R> publisher, int limit)
+            throws InterruptedException, ExecutionException {
+        List<R> results = new ArrayList<>();
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<R>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(limit);
+            }
+
+            @Override
+            public void onNext(R item) {
+                results.add(item);
+                if (results.size() >= limit) {
+                    subscription.cancel();
+                    done.complete(false);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(true);
+            }
+        });
+        // Completing the future publishes the results list to this thread
+        boolean complete = done.get();
+        return new FirstResults<>(List.copyOf(results), complete);
+    }
+
+    private record FirstResults<R>(List<R> results, boolean complete) {
+    }
+
+    private AdvancedScanningModule getScanningModule() {
+        AdvancedScanningModule module = scanningModule;
+        if (module == null) {
+            synchronized (this) {
+                module = scanningModule;
+                if (module == null) {
+                    module = new AdvancedScanningModule(recipeService);
+                    scanningModule = module;
+                }
+            }
+        }
+        return module;
+    }
+
 }
@@ -208,4 +208,60 @@ void shouldEscapeJsonSpecialCharactersCorrectly() {
         // newlines for formatting)
         assertThat(result).contains("\\n"); // Newlines in content should be escaped
     }
+
+    @Test
+    @DisplayName("Should stop streaming findings once maxFiles files are found")
+    void shouldStopStreamingFindingsAtMaxFiles() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            writeEntity("Entity" + i);
+        }
+
+        // When
+        String result = tools.findFilesWithFindings(testProjectPath.toString(), "jpa", "2");
+
+        // Then
+        assertThat(result).contains("\"status\": \"success\"");
+        assertThat(result).contains("\"filesReturned\": 2");
+        assertThat(result).contains("\"scanComplete\": false");
+    }
+
+    @Test
+    @DisplayName("Should return every file with findings when fewer than maxFiles")
+    void shouldReturnAllFilesWithFindingsBelowMaxFiles() throws Exception {
+        // Given
+        writeEntity("Customer");
+        Files.writeString(testProjectPath.resolve("Plain.java"), "public class Plain {}");
+
+        // When
+        String result = tools.findFilesWithFindings(testProjectPath.toString(), "jpa", null);
+
+        // Then
+        assertThat(result).contains("\"filesReturned\": 1");
+        assertThat(result).contains("\"scanComplete\": true");
+        assertThat(result).contains("\"file\": \"Customer.java\"");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown scan type")
+    void shouldRejectUnknownScanType() {
+        // When
+        String result = tools.findFilesWithFindings(testProjectPath.toString(), "everything", null);
+
+        // Then
+        assertThat(result).contains("\"status\": \"error\"");
+        assertThat(result).contains("Unknown scanType: everything");
+    }
+
+    private void writeEntity(String name) throws IOException {
+        Files.writeString(testProjectPath.resolve(name + ".java"), """
+            package com.example;
+
+            import javax.persistence.Entity;
+
+            @Entity
+            public class %s {
+            }
+            """.formatted(name));
+    }
 }
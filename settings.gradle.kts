@@ -12,3 +12,6 @@
 include("premium-core-engine")
 include("premium-intellij-plugin")
 include("premium-mcp-server")
+
+// JMH benchmarks (Proprietary - depends on premium modules)
+include("benchmarks")